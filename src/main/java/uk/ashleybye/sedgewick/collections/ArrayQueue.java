@@ -0,0 +1,151 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code ArrayQueue} class is a first-in-first-out queue held in a ring buffer, an
+ * alternative to the linked {@link Queue} that allocates no node per item. The buffer's capacity
+ * is a power of two, so that positions wrap with a mask rather than a division, and it doubles
+ * when full. Dequeued slots are cleared so that the queue does not keep dequeued items
+ * reachable.</p>
+ * <p>{@code clear()} empties the queue but keeps its buffer, so that one instance can be reused
+ * with no allocation after the first use. Iteration returns the items from the front, the same
+ * order as {@code Queue}.</p>
+ *
+ * @param <T> the type of item on this queue
+ */
+public class ArrayQueue<T> implements Iterable<T> {
+
+  /**
+   * The ring buffer, whose length is a power of two.
+   */
+  private T[] items;
+
+  /**
+   * The position of the front of the queue in the buffer.
+   */
+  private int front;
+
+  /**
+   * The number of items.
+   */
+  private int size;
+
+  /**
+   * Constructs an empty queue.
+   */
+  public ArrayQueue() {
+    this(8);
+  }
+
+  /**
+   * Constructs an empty queue with room for at least the specified number of items before it must
+   * grow.
+   *
+   * @param capacity the initial capacity
+   */
+  @SuppressWarnings("unchecked")
+  public ArrayQueue(int capacity) {
+    items = (T[]) new Object[capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void enqueue(T item) {
+    if (size == items.length) {
+      grow();
+    }
+    items[(front + size++) & (items.length - 1)] = item;
+  }
+
+  /**
+   * Removes and returns the item at the front of the queue.
+   *
+   * @return the front item
+   *
+   * @throws NoSuchElementException if the queue is empty
+   */
+  public T dequeue() {
+    if (size == 0) {
+      throw new NoSuchElementException("Queue underflow");
+    }
+    T item = items[front];
+    items[front] = null;
+    front = (front + 1) & (items.length - 1);
+    size--;
+
+    return item;
+  }
+
+  /**
+   * Returns the item at the front of the queue, without removing it.
+   *
+   * @return the front item
+   *
+   * @throws NoSuchElementException if the queue is empty
+   */
+  public T peek() {
+    if (size == 0) {
+      throw new NoSuchElementException("Queue underflow");
+    }
+    return items[front];
+  }
+
+  /**
+   * Removes every item, keeping the buffer for reuse. Only the occupied slots are cleared, as the
+   * rest already are, so this takes time proportional to the size rather than the capacity.
+   */
+  public void clear() {
+    int end = front + size;
+    if (end <= items.length) {
+      Arrays.fill(items, front, end, null);
+    } else {
+      Arrays.fill(items, front, items.length, null);
+      Arrays.fill(items, 0, end - items.length, null);
+    }
+    front = 0;
+    size = 0;
+  }
+
+  /**
+   * Doubles the buffer, unwrapping the items so that the front is at position 0.
+   */
+  private void grow() {
+    T[] grown = Arrays.copyOf(items, 2 * items.length);
+    System.arraycopy(items, front, grown, 0, items.length - front);
+    System.arraycopy(items, 0, grown, items.length - front, front);
+    items = grown;
+    front = 0;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new RingIterator();
+  }
+
+  private class RingIterator implements Iterator<T> {
+
+    private int index = 0;
+
+    @Override
+    public boolean hasNext() {
+      return index < size;
+    }
+
+    @Override
+    public T next() {
+      if (index == size) {
+        throw new NoSuchElementException();
+      }
+      return items[(front + index++) & (items.length - 1)];
+    }
+  }
+}
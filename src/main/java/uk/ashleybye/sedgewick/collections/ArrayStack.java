@@ -0,0 +1,122 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code ArrayStack} class is a last-in-first-out stack held in a growable array, an
+ * alternative to the linked {@link Stack} that allocates no node per item. Popped slots are
+ * cleared so that the stack does not keep popped items reachable.</p>
+ * <p>{@code clear()} empties the stack but keeps its array, so that one instance can be reused
+ * with no allocation after the first use. Iteration returns the items from the top, the same order
+ * as {@code Stack}.</p>
+ *
+ * @param <T> the type of item on this stack
+ */
+public class ArrayStack<T> implements Iterable<T> {
+
+  /**
+   * The items, from the bottom of the stack, in {@code items[0...size - 1]}.
+   */
+  private T[] items;
+
+  /**
+   * The number of items.
+   */
+  private int size;
+
+  /**
+   * Constructs an empty stack.
+   */
+  public ArrayStack() {
+    this(8);
+  }
+
+  /**
+   * Constructs an empty stack with room for the specified number of items before it must grow.
+   *
+   * @param capacity the initial capacity
+   */
+  @SuppressWarnings("unchecked")
+  public ArrayStack(int capacity) {
+    items = (T[]) new Object[Math.max(1, capacity)];
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void push(T item) {
+    if (size == items.length) {
+      items = Arrays.copyOf(items, 2 * size);
+    }
+    items[size++] = item;
+  }
+
+  /**
+   * Removes and returns the item on the top of the stack.
+   *
+   * @return the top item
+   *
+   * @throws NoSuchElementException if the stack is empty
+   */
+  public T pop() {
+    if (size == 0) {
+      throw new NoSuchElementException("Stack underflow");
+    }
+    T item = items[--size];
+    items[size] = null;
+
+    return item;
+  }
+
+  /**
+   * Returns the item on the top of the stack, without removing it.
+   *
+   * @return the top item
+   *
+   * @throws NoSuchElementException if the stack is empty
+   */
+  public T peek() {
+    if (size == 0) {
+      throw new NoSuchElementException("Stack underflow");
+    }
+    return items[size - 1];
+  }
+
+  /**
+   * Removes every item, keeping the array for reuse.
+   */
+  public void clear() {
+    Arrays.fill(items, 0, size, null);
+    size = 0;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new ArrayIterator();
+  }
+
+  private class ArrayIterator implements Iterator<T> {
+
+    private int current = size;
+
+    @Override
+    public boolean hasNext() {
+      return current > 0;
+    }
+
+    @Override
+    public T next() {
+      if (current == 0) {
+        throw new NoSuchElementException();
+      }
+      return items[--current];
+    }
+  }
+}
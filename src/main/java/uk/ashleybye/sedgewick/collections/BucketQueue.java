@@ -0,0 +1,107 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code BucketQueue} class is a {@link MonotonePriorityQueue} for keys that never exceed
+ * the last key by more than a fixed maximum, such as the distances offered by Dijkstra's algorithm
+ * on a graph whose integer weights are at most that maximum. This is Dial's algorithm: with a
+ * maximum of C, the keys on the queue lie in {@code lastKey} to {@code lastKey + C}, so a circular
+ * array of C + 1 buckets, indexed by key modulo C + 1, holds at most one key in each bucket.</p>
+ * <p>Offering an item takes constant time. Polling scans forward from the bucket of the last key
+ * to the first that is not empty; over a whole search, the scan passes each key up to the
+ * greatest distance once, so the queue suits graphs whose weights, and so distances, are
+ * small.</p>
+ */
+public class BucketQueue implements MonotonePriorityQueue {
+
+  /**
+   * The buckets, in which {@code buckets[key % buckets.length]} holds the items with that key.
+   */
+  private final IntStack[] buckets;
+
+  /**
+   * The number of entries.
+   */
+  private int size;
+
+  /**
+   * The key of the item most recently polled.
+   */
+  private long lastKey;
+
+  /**
+   * Constructs an empty bucket queue for keys at most the specified maximum greater than the last
+   * key.
+   *
+   * @param maximumIncrease the most by which a key offered may exceed the last key, such as the
+   * greatest edge weight in a graph
+   *
+   * @throws IllegalArgumentException if {@code maximumIncrease < 0}, or too large for an array of
+   * buckets
+   */
+  public BucketQueue(int maximumIncrease) {
+    if (maximumIncrease < 0 || maximumIncrease == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid maximum increase: " + maximumIncrease);
+    }
+
+    buckets = new IntStack[maximumIncrease + 1];
+    for (int bucket = 0; bucket < buckets.length; bucket++) {
+      buckets[bucket] = new IntStack(1);
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void offer(int item, long key) {
+    if (key < lastKey || key - lastKey >= buckets.length) {
+      throw new IllegalArgumentException("Key " + key + " is outside the range "
+          + lastKey + " to " + (lastKey + buckets.length - 1));
+    }
+    buckets[(int) (key % buckets.length)].push(item);
+    size++;
+  }
+
+  @Override
+  public int pollMinimum() {
+    if (size == 0) {
+      throw new NoSuchElementException("Priority queue underflow");
+    }
+
+    int bucket = (int) (lastKey % buckets.length);
+    while (buckets[bucket].isEmpty()) {
+      lastKey++;
+      bucket = bucket + 1 == buckets.length ? 0 : bucket + 1;
+    }
+
+    size--;
+    return buckets[bucket].pop();
+  }
+
+  @Override
+  public long getLastKey() {
+    return lastKey;
+  }
+
+  /**
+   * Remove every entry, and reset the last key to 0. Takes time proportional to the number of
+   * buckets.
+   */
+  @Override
+  public void clear() {
+    for (IntStack bucket : buckets) {
+      bucket.clear();
+    }
+    size = 0;
+    lastKey = 0;
+  }
+}
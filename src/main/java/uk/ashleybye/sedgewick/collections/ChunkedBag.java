@@ -0,0 +1,222 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code ChunkedBag} class is an unrolled bag: it stores its items in a list of array
+ * chunks, each twice the size of the one before, rather than as a linked list of nodes, one per
+ * item, as {@link Bag} does. Adding an item allocates only when a chunk fills, and never copies
+ * the items already added, so the bag suits adjacency-lists that are built once by many adds and
+ * then read many times.</p>
+ * <p>Items are returned most recently added first, the same order as {@code Bag}, so a {@code
+ * ChunkedBag} can replace a {@code Bag} without changing the order in which algorithms see them.
+ * Besides {@code iterator()}, it offers a {@link Cursor} that can be reset to iterate the same or
+ * another bag without allocating, positional {@code get(i)}, and a bulk {@code toArray()}.</p>
+ *
+ * @param <T> the type of the items
+ */
+public class ChunkedBag<T> implements Iterable<T> {
+
+  /**
+   * The size of the first chunk; chunk {@code k} holds {@code FIRST_CHUNK_SIZE << k} items.
+   */
+  private static final int FIRST_CHUNK_SIZE = 4;
+
+  /**
+   * Shared list of chunks of all empty bags, so that an empty bag allocates nothing.
+   */
+  private static final Object[][] EMPTY = new Object[0][];
+
+  /**
+   * The chunks, holding the items in order of addition.
+   */
+  private Object[][] chunks = EMPTY;
+
+  /**
+   * The number of items.
+   */
+  private int size;
+
+  /**
+   * Add an item to the bag.
+   *
+   * @param item the item
+   */
+  public void add(T item) {
+    int chunk = chunkOf(size);
+    if (chunk == chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunk + 1);
+      chunks[chunk] = new Object[FIRST_CHUNK_SIZE << chunk];
+    }
+    chunks[chunk][size - startOf(chunk)] = item;
+    size++;
+  }
+
+  /**
+   * Returns true if the bag is empty; false, otherwise.
+   *
+   * @return true if the bag is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get the number of items in the bag.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the item at the specified position in iteration order, in which position 0 is the most
+   * recently added and position {@code size() - 1} the first added.
+   *
+   * @param index the position, between 0 and {@code size() - 1}
+   *
+   * @return the item
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    int added = size - 1 - index;
+    int chunk = chunkOf(added);
+    return (T) chunks[chunk][added - startOf(chunk)];
+  }
+
+  /**
+   * Copy the items into a new array, in iteration order.
+   *
+   * @return the items
+   */
+  public Object[] toArray() {
+    return toArray(new Object[size]);
+  }
+
+  /**
+   * Copy the items into the specified array, in iteration order, if it is large enough; otherwise,
+   * into a new array of the same type.
+   *
+   * @param array the array
+   * @param <A> the type of the array's items
+   *
+   * @return the array holding the items
+   */
+  @SuppressWarnings("unchecked")
+  public <A> A[] toArray(A[] array) {
+    if (array.length < size) {
+      array = Arrays.copyOf(array, size);
+    }
+
+    // Copy each chunk, then reverse, so that the most recently added item comes first.
+    int copied = 0;
+    for (int chunk = 0; copied < size; chunk++) {
+      int length = Math.min(chunks[chunk].length, size - copied);
+      System.arraycopy(chunks[chunk], 0, array, copied, length);
+      copied += length;
+    }
+    for (int i = 0, j = size - 1; i < j; i++, j--) {
+      A temp = array[i];
+      array[i] = array[j];
+      array[j] = temp;
+    }
+
+    return array;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new Cursor<T>().reset(this);
+  }
+
+  /**
+   * Get the chunk holding the item at the specified position in order of addition.
+   *
+   * @param added the position in order of addition
+   *
+   * @return the chunk
+   */
+  private static int chunkOf(int added) {
+    return 31 - Integer.numberOfLeadingZeros(added / FIRST_CHUNK_SIZE + 1);
+  }
+
+  /**
+   * Get the position, in order of addition, of the first item of the specified chunk.
+   *
+   * @param chunk the chunk
+   *
+   * @return the position of its first item
+   */
+  private static int startOf(int chunk) {
+    return FIRST_CHUNK_SIZE * ((1 << chunk) - 1);
+  }
+
+  /**
+   * <p>An iterator over a bag, most recently added first, that can be reset to iterate the same
+   * bag again, or another bag, so that a search can visit many bags with a single cursor and no
+   * further allocation:</p>
+   * <pre>
+   * for (cursor.reset(bag); cursor.hasNext(); ) {
+   *   T item = cursor.next();
+   * }
+   * </pre>
+   *
+   * @param <T> the type of the items
+   */
+  public static final class Cursor<T> implements Iterator<T> {
+
+    private Object[][] chunks;
+    private int chunk;
+    private int offset;
+
+    /**
+     * Position the cursor before the most recently added item of the specified bag.
+     *
+     * @param bag the bag
+     *
+     * @return this cursor
+     */
+    public Cursor<T> reset(ChunkedBag<T> bag) {
+      chunks = bag.chunks;
+      if (bag.size == 0) {
+        chunk = -1;
+      } else {
+        chunk = chunkOf(bag.size - 1);
+        offset = bag.size - startOf(chunk);
+      }
+
+      return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return chunk >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (chunk < 0) {
+        throw new NoSuchElementException();
+      }
+
+      T item = (T) chunks[chunk][--offset];
+      if (offset == 0) {
+        chunk--;
+        if (chunk >= 0) {
+          offset = chunks[chunk].length;
+        }
+      }
+
+      return item;
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>The {@code ConcurrentArrayQueue} class is a bounded, lock-free, first-in-first-out queue for
+ * any number of producer and consumer threads, backed by a ring buffer of fixed, power-of-two
+ * capacity. It allocates nothing after construction, unlike a linked queue, which allocates a node
+ * for every item.</p>
+ * <p>Each slot of the ring has a sequence number, which tells a thread whether the slot is ready to
+ * be written or read in the current lap of the ring. A producer claims a slot by advancing the
+ * tail with compare-and-set, writes its item, and then publishes the slot by advancing its
+ * sequence; a consumer does the same with the head. A thread never waits for another: if the
+ * queue is full or empty, {@code offer()} or {@code poll()} returns at once.</p>
+ *
+ * @param <T> the type of the items, which must not be null
+ */
+public class ConcurrentArrayQueue<T> {
+
+  /**
+   * The items, in the slot given by their position modulo the capacity.
+   */
+  private final AtomicReferenceArray<T> items;
+
+  /**
+   * The sequence number of each slot: its position when ready to be written, and one more when
+   * ready to be read.
+   */
+  private final AtomicLongArray sequences;
+
+  /**
+   * The capacity less one, masking a position to its slot.
+   */
+  private final int mask;
+
+  /**
+   * The position of the next item to be offered.
+   */
+  private final AtomicLong tail = new AtomicLong();
+
+  /**
+   * The position of the next item to be polled.
+   */
+  private final AtomicLong head = new AtomicLong();
+
+  /**
+   * Constructs an empty queue with room for at least the specified number of items, rounded up to
+   * a power of two.
+   *
+   * @param capacity the minimum capacity
+   *
+   * @throws IllegalArgumentException if {@code capacity < 1} or {@code capacity > 2^30}
+   */
+  public ConcurrentArrayQueue(int capacity) {
+    if (capacity < 1 || capacity > 1 << 30) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    mask = size - 1;
+    items = new AtomicReferenceArray<>(size);
+    sequences = new AtomicLongArray(size);
+    for (int slot = 0; slot < size; slot++) {
+      sequences.set(slot, slot);
+    }
+  }
+
+  /**
+   * Get the capacity of the queue.
+   *
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Returns true if the queue is empty; false, otherwise. While other threads are offering or
+   * polling, the result may be out of date as soon as it is returned.
+   *
+   * @return true if the queue is empty
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Get the number of items on the queue. While other threads are offering or polling, the result
+   * may be out of date as soon as it is returned.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    while (true) {
+      long first = head.get();
+      long last = tail.get();
+      if (head.get() == first) {
+        return (int) Math.max(0, Math.min(last - first, mask + 1));
+      }
+    }
+  }
+
+  /**
+   * Add an item to the back of the queue, unless it is full.
+   *
+   * @param item the item
+   *
+   * @return true if the item was added; false if the queue is full
+   *
+   * @throws IllegalArgumentException if the item is null
+   */
+  public boolean offer(T item) {
+    if (item == null) {
+      throw new IllegalArgumentException("Cannot offer a null item");
+    }
+
+    long position = tail.get();
+    while (true) {
+      int slot = (int) position & mask;
+      long difference = sequences.get(slot) - position;
+      if (difference == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          items.lazySet(slot, item);
+          sequences.set(slot, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (difference < 0) {
+        // The slot still holds the item from the previous lap, so the queue is full.
+        return false;
+      } else {
+        // Another producer claimed this position first.
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Remove the item at the front of the queue, unless it is empty, or the producer that claimed the
+   * front has yet to publish its item.
+   *
+   * @return the item, or null if there is none to poll
+   */
+  public T poll() {
+    long position = head.get();
+    while (true) {
+      int slot = (int) position & mask;
+      long difference = sequences.get(slot) - (position + 1);
+      if (difference == 0) {
+        if (head.compareAndSet(position, position + 1)) {
+          T item = items.get(slot);
+          items.lazySet(slot, null);
+          sequences.set(slot, position + mask + 1);
+          return item;
+        }
+        position = head.get();
+      } else if (difference < 0) {
+        // The slot has not been written in this lap, so the queue is empty.
+        return null;
+      } else {
+        // Another consumer claimed this position first.
+        position = head.get();
+      }
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code ConcurrentBag} class is a bag to which many threads can add at once, such as the
+ * tasks of a parallel graph builder or the workers of a frontier-based search. It is striped by
+ * thread: each thread appends to its own growable array, found through a {@code ThreadLocal}, so
+ * adding takes no lock and shares no cache line with another thread. A thread's stripe is created
+ * and registered the first time it adds, which is the only step that synchronises.</p>
+ * <p>Reading merges the stripes. {@code size()}, {@code toArray()} and iteration see every item
+ * added by threads whose additions happen-before the read, for example threads that have been
+ * joined or tasks that have completed; they are not meant to run while other threads are still
+ * adding. Items of one stripe are returned in the order added, and stripes in the order their
+ * threads first added.</p>
+ *
+ * @param <T> the type of the items
+ */
+public class ConcurrentBag<T> implements Iterable<T> {
+
+  /**
+   * The stripes, in the order they were registered.
+   */
+  private final List<Stripe> stripes = new ArrayList<>();
+
+  /**
+   * The stripe of the current thread.
+   */
+  private final ThreadLocal<Stripe> stripe = ThreadLocal.withInitial(this::register);
+
+  /**
+   * The items added by one thread.
+   */
+  private static final class Stripe {
+
+    private Object[] items = new Object[16];
+    private int size;
+
+    void add(Object item) {
+      if (size == items.length) {
+        items = Arrays.copyOf(items, 2 * size);
+      }
+      items[size++] = item;
+    }
+  }
+
+  /**
+   * Create and register a stripe for the current thread.
+   *
+   * @return the stripe
+   */
+  private Stripe register() {
+    Stripe newStripe = new Stripe();
+    synchronized (stripes) {
+      stripes.add(newStripe);
+    }
+
+    return newStripe;
+  }
+
+  /**
+   * Add an item to the current thread's stripe.
+   *
+   * @param item the item
+   */
+  public void add(T item) {
+    stripe.get().add(item);
+  }
+
+  /**
+   * Get the number of items in the bag, merged across the stripes.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    int size = 0;
+    for (Stripe current : snapshot()) {
+      size += current.size;
+    }
+
+    return size;
+  }
+
+  /**
+   * Returns true if the bag is empty; false, otherwise.
+   *
+   * @return true if the bag is empty
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Copy the items of every stripe into a new array, in iteration order.
+   *
+   * @return the items
+   */
+  public Object[] toArray() {
+    Stripe[] current = snapshot();
+    int size = 0;
+    for (Stripe each : current) {
+      size += each.size;
+    }
+
+    Object[] array = new Object[size];
+    int next = 0;
+    for (Stripe each : current) {
+      System.arraycopy(each.items, 0, array, next, each.size);
+      next += each.size;
+    }
+
+    return array;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new StripeIterator(snapshot());
+  }
+
+  /**
+   * Copy the list of stripes, so that reading need not hold its lock.
+   *
+   * @return the stripes
+   */
+  private Stripe[] snapshot() {
+    synchronized (stripes) {
+      return stripes.toArray(new Stripe[0]);
+    }
+  }
+
+  private class StripeIterator implements Iterator<T> {
+
+    private final Stripe[] stripes;
+    private int stripeIndex;
+    private int itemIndex;
+
+    StripeIterator(Stripe[] stripes) {
+      this.stripes = stripes;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (stripeIndex < stripes.length && itemIndex == stripes[stripeIndex].size) {
+        stripeIndex++;
+        itemIndex = 0;
+      }
+      return stripeIndex < stripes.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return (T) stripes[stripeIndex].items[itemIndex++];
+    }
+  }
+}
@@ -0,0 +1,619 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code IndexedDoubleHeap} class is an {@link IndexedDoublePriorityQueue} implemented as
+ * an array-based heap, like {@link IndexedPriorityQueue} but specialised for primitive {@code
+ * double} keys. It holds its keys in a {@code double[]} and compares them directly, so that
+ * offering or changing a key neither boxes a {@code Double} nor calls {@code compareTo()}. Keys
+ * must not be NaN.</p>
+ * <p>The heap is d-ary, with the arity given on construction and 2 by default. A wider heap is
+ * shallower, so {@code offer()} and {@code decreaseKey()}, which only swim a key up, compare and
+ * move it fewer times, while {@code pollMinimum()} compares more children at each level it sinks
+ * through. Searches such as Dijkstra's algorithm, which decrease keys far more often than they poll
+ * them, usually run fastest with an arity of 4 or 8, whose children also share a cache line.</p>
+ * <p>As for {@code IndexedPriorityQueue}, the heap can be built from many keys at once in linear
+ * time, and batches of keys can be decreased or removed with heap order restored once per batch
+ * when that is cheaper than once per key.</p>
+ */
+public class IndexedDoubleHeap implements IndexedDoublePriorityQueue, Iterable<Integer> {
+
+  /**
+   * The maximum number of elements on the priority queue.
+   */
+  private final int maximumElements;
+
+  /**
+   * The number of children of each node in the heap.
+   */
+  private final int arity;
+
+  /**
+   * The number of elements currently on priority queue.
+   */
+  private int numElements;
+
+  /**
+   * The d-ary heap based priority queue using <em>1-based indexing</em>, in which the children of
+   * {@code i} are {@code arity * (i - 1) + 2} to {@code arity * i + 1}.
+   */
+  private final int[] priorityQueue;
+
+  /**
+   * Inverse of priorityQueue:
+   * {@code inversePriorityQueue[priorityQueue[i]] = priorityQueue[inversePriorityQueue[i]] = i}.
+   */
+  private final int[] inversePriorityQueue;
+
+  /**
+   * The keys associated with entries in the priority queue, such that {@code keys[i]} = priority of
+   * i.
+   */
+  private final double[] keys;
+
+  /**
+   * Constructs an empty binary indexed priority queue with capacity to hold the specified number of
+   * elements.
+   *
+   * @param maximumElements upper bound on the capacity of the indexed priority queue.
+   *
+   * @throws IllegalArgumentException if {@code maximumElements < 0}.
+   */
+  public IndexedDoubleHeap(int maximumElements) {
+    this(maximumElements, 2);
+  }
+
+  /**
+   * Constructs an empty d-ary indexed priority queue with capacity to hold the specified number of
+   * elements.
+   *
+   * @param maximumElements upper bound on the capacity of the indexed priority queue.
+   * @param arity the number of children of each node in the heap.
+   *
+   * @throws IllegalArgumentException if {@code maximumElements < 0} or {@code arity < 2}.
+   */
+  public IndexedDoubleHeap(int maximumElements, int arity) {
+    if (maximumElements < 0) {
+      throw new IllegalArgumentException();
+    }
+    if (arity < 2) {
+      throw new IllegalArgumentException("Arity must be at least 2: " + arity);
+    }
+
+    this.maximumElements = maximumElements;
+    this.arity = arity;
+    numElements = 0;
+    priorityQueue = new int[maximumElements + 1];
+    inversePriorityQueue = new int[maximumElements];
+    keys = new double[maximumElements];
+
+    for (int i = 0; i < maximumElements; i++) {
+      inversePriorityQueue[i] = -1;
+    }
+  }
+
+  /**
+   * Constructs a binary indexed priority queue with capacity to hold the specified number of
+   * elements, holding each of the specified keys associated with the index at the same position of
+   * {@code indices}, built bottom-up in time proportional to the number of keys.
+   *
+   * @param maximumElements upper bound on the capacity of the indexed priority queue.
+   * @param indices the indices to associate with the keys.
+   * @param keys the keys, in the same order as their indices.
+   *
+   * @throws IllegalArgumentException if {@code maximumElements < 0}, if {@code indices} and {@code
+   * keys} differ in length, or if an index appears more than once.
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   */
+  public IndexedDoubleHeap(int maximumElements, int[] indices, double[] keys) {
+    this(maximumElements, 2, indices, keys);
+  }
+
+  /**
+   * Constructs a d-ary indexed priority queue with capacity to hold the specified number of
+   * elements, holding each of the specified keys associated with the index at the same position of
+   * {@code indices}. The heap is built bottom-up, in time proportional to the number of keys,
+   * rather than in time proportional to n log n by offering them one at a time.
+   *
+   * @param maximumElements upper bound on the capacity of the indexed priority queue.
+   * @param arity the number of children of each node in the heap.
+   * @param indices the indices to associate with the keys.
+   * @param keys the keys, in the same order as their indices.
+   *
+   * @throws IllegalArgumentException if {@code maximumElements < 0}, if {@code arity < 2}, if
+   * {@code indices} and {@code keys} differ in length, or if an index appears more than once.
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   */
+  public IndexedDoubleHeap(int maximumElements, int arity, int[] indices, double[] keys) {
+    this(maximumElements, arity);
+    if (indices.length != keys.length) {
+      throw new IllegalArgumentException(
+          indices.length + " indices but " + keys.length + " keys");
+    }
+
+    for (int i = 0; i < indices.length; i++) {
+      int index = indices[i];
+      if (contains(index)) {
+        throw new IllegalArgumentException("Index " + index + " is already in the priority queue");
+      }
+      numElements++;
+      inversePriorityQueue[index] = numElements;
+      priorityQueue[numElements] = index;
+      this.keys[index] = keys[i];
+    }
+    heapify();
+  }
+
+  /**
+   * Returns the number of children of each node in the heap.
+   *
+   * @return the arity of the heap.
+   */
+  public int getArity() {
+    return arity;
+  }
+
+  /**
+   * Returns true if this priority queue is empty.
+   *
+   * @return {@code true} if this priority queue is empty; {@code false}, otherwise.
+   */
+  @Override
+  public boolean isEmpty() {
+    return numElements == 0;
+  }
+
+  /**
+   * Returns {@code true} if this indexed priority queue contains the specified {@code index}.
+   *
+   * @param index {@code index} whose presence in this minimum priority queue is to be tested.
+   *
+   * @return {@code true} if this minimum priority queue contains the specified {@code index};
+   * {@code false} otherwise.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   */
+  @Override
+  public boolean contains(int index) {
+    validateIndex(index);
+    return inversePriorityQueue[index] != -1;
+  }
+
+  /**
+   * Returns the number of keys on this priority queue.
+   *
+   * @return the number of keys on this priority queue
+   */
+  @Override
+  public int size() {
+    return numElements;
+  }
+
+  /**
+   * Associates the specified {@code key} with the specified {@code index}.
+   *
+   * @param index the index to associate with the specified {@code key}.
+   * @param key the key to associate with the specified {@code index}
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws IllegalArgumentException if an item is already associated with {@code index}.
+   */
+  @Override
+  public void offer(int index, double key) {
+    if (contains(index)) {
+      throw new IllegalArgumentException("Index " + index + " is already in the priority queue");
+    }
+
+    numElements++;
+    inversePriorityQueue[index] = numElements;
+    priorityQueue[numElements] = index;
+    keys[index] = key;
+    swim(numElements);
+  }
+
+  /**
+   * Returns an index associated with a minimum key.
+   *
+   * @return an index associated with a minimum key.
+   *
+   * @throws NoSuchElementException if this priority queue is empty.
+   */
+  @Override
+  public int getMinimumIndex() {
+    if (numElements == 0) {
+      throw new NoSuchElementException("Priority queue underflow");
+    }
+    return priorityQueue[1];
+  }
+
+  /**
+   * Returns a minimum key.
+   *
+   * @return a minimum key.
+   *
+   * @throws NoSuchElementException if this priority queue is empty.
+   */
+  @Override
+  public double getMinimumKey() {
+    if (numElements == 0) {
+      throw new NoSuchElementException("Priority queue underflow");
+    }
+    return keys[priorityQueue[1]];
+  }
+
+  /**
+   * Removes a minimum key and returns its associated index.
+   *
+   * @return an index associated with a minimum key.
+   *
+   * @throws NoSuchElementException if this priority queue is empty.
+   */
+  @Override
+  public int pollMinimum() {
+    if (numElements == 0) {
+      throw new NoSuchElementException("Priority queue underflow");
+    }
+    int min = priorityQueue[1];
+    exchange(1, numElements--);
+    sink(1);
+    inversePriorityQueue[min] = -1; // Remove.
+    return min;
+  }
+
+  /**
+   * Returns the key associated with {@code index}.
+   *
+   * @param index the index of the key to return.
+   *
+   * @return the key associated with {@code index}.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  @Override
+  public double getKeyFor(int index) {
+    requireContains(index);
+    return keys[index];
+  }
+
+  /**
+   * Change the key associated with {@code index} to the specified value.
+   *
+   * @param index the index of the key to change.
+   * @param key change the key associated with {@code index} to this key.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  public void changeKey(int index, double key) {
+    requireContains(index);
+    keys[index] = key;
+    swim(inversePriorityQueue[index]);
+    sink(inversePriorityQueue[index]);
+  }
+
+  /**
+   * Decrease the key associated with {@code index} to the specified value.
+   *
+   * @param index the index of the key to decrease.
+   * @param key decrease the key associated with {@code index} to this key.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws IllegalArgumentException if {@code key >= getKeyFor(index)}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  @Override
+  public void decreaseKey(int index, double key) {
+    requireContains(index);
+    if (keys[index] <= key) {
+      throw new IllegalArgumentException(
+          "Calling decreaseKey() with given argument would not strictly decrease the key");
+    }
+    keys[index] = key;
+    swim(inversePriorityQueue[index]);
+  }
+
+  /**
+   * Increase the key associated with {@code index} to the specified value.
+   *
+   * @param index the index of the key to increase.
+   * @param key increase the key associated with {@code index} to this key.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws IllegalArgumentException if {@code key <= getKeyFor(index)}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  public void increaseKey(int index, double key) {
+    requireContains(index);
+    if (keys[index] >= key) {
+      throw new IllegalArgumentException(
+          "Calling increaseKey() with given argument would not strictly increase the key");
+    }
+    keys[index] = key;
+    sink(inversePriorityQueue[index]);
+  }
+
+  /**
+   * Remove the key associated with {@code index}.
+   *
+   * @param index the index of the key to remove.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  @Override
+  public void remove(int index) {
+    requireContains(index);
+
+    int inverseIndex = inversePriorityQueue[index];
+    exchange(inverseIndex, numElements--);
+    if (inverseIndex <= numElements) {
+      // The last key now fills the gap, and may belong above or below it.
+      swim(inverseIndex);
+      sink(inverseIndex);
+    }
+    inversePriorityQueue[index] = -1;
+  }
+
+  /**
+   * Decrease the key associated with each of the specified indices to the key at the same position
+   * of {@code keys}, with the same effect as calling {@code decreaseKey()} for each in turn. When
+   * the batch is large enough, the keys are all changed first and heap order is then restored once,
+   * bottom-up, in time proportional to the size of the queue.
+   *
+   * @param indices the indices of the keys to decrease.
+   * @param keys the new keys, in the same order as their indices.
+   *
+   * @throws IllegalArgumentException if {@code indices} and {@code keys} differ in length, or if a
+   * key would not strictly decrease, in which case the keys before it have been decreased.
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   * @throws NoSuchElementException if no key is associated with an index, in which case the keys
+   * before it have been decreased.
+   */
+  public void decreaseKeys(int[] indices, double[] keys) {
+    if (indices.length != keys.length) {
+      throw new IllegalArgumentException(
+          indices.length + " indices but " + keys.length + " keys");
+    }
+    if (!isWorthHeapifying(indices.length)) {
+      for (int i = 0; i < indices.length; i++) {
+        decreaseKey(indices[i], keys[i]);
+      }
+      return;
+    }
+
+    try {
+      for (int i = 0; i < indices.length; i++) {
+        int index = indices[i];
+        requireContains(index);
+        if (this.keys[index] <= keys[i]) {
+          throw new IllegalArgumentException(
+              "Calling decreaseKey() with given argument would not strictly decrease the key");
+        }
+        this.keys[index] = keys[i];
+      }
+    } finally {
+      heapify();
+    }
+  }
+
+  /**
+   * Remove the keys associated with each of the specified indices, with the same effect as calling
+   * {@code remove()} for each in turn. When the batch is large enough, the keys are all removed
+   * first and the heap is then compacted and its order restored once, bottom-up, in time
+   * proportional to the size of the queue.
+   *
+   * @param indices the indices of the keys to remove.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   * @throws NoSuchElementException if no key is associated with an index, including one already
+   * removed earlier in the batch, in which case the keys before it have been removed.
+   */
+  public void removeAll(int[] indices) {
+    if (!isWorthHeapifying(indices.length)) {
+      for (int index : indices) {
+        remove(index);
+      }
+      return;
+    }
+
+    try {
+      for (int index : indices) {
+        requireContains(index);
+        inversePriorityQueue[index] = -1;
+      }
+    } finally {
+      // Close the gaps left by the removed indices, then restore heap order.
+      int kept = 0;
+      for (int i = 1; i <= numElements; i++) {
+        int index = priorityQueue[i];
+        if (inversePriorityQueue[index] != -1) {
+          priorityQueue[++kept] = index;
+          inversePriorityQueue[index] = kept;
+        }
+      }
+      numElements = kept;
+      heapify();
+    }
+  }
+
+  /**
+   * Removes every key, in time proportional to the number of keys on the queue rather than to its
+   * capacity.
+   */
+  @Override
+  public void clear() {
+    for (int i = 1; i <= numElements; i++) {
+      inversePriorityQueue[priorityQueue[i]] = -1;
+    }
+    numElements = 0;
+  }
+
+  /**
+   * Checks that {@code index} is within the capacity of this priority queue.
+   *
+   * @param index the index.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   */
+  private void validateIndex(int index) {
+    if (index < 0 || index >= maximumElements) {
+      throw new IndexOutOfBoundsException();
+    }
+  }
+
+  /**
+   * Checks that a key is associated with {@code index}.
+   *
+   * @param index the index.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  private void requireContains(int index) {
+    if (!contains(index)) {
+      throw new NoSuchElementException("Index " + index + " is not in the priority queue");
+    }
+  }
+
+  /**
+   * Returns true if restoring heap order over the whole heap, which takes time proportional to its
+   * size, is expected to be cheaper than restoring it after changing each of {@code count} keys,
+   * which takes time proportional to the height of the heap for each.
+   *
+   * @param count the number of keys to change.
+   *
+   * @return {@code true} if heapifying the whole heap is expected to be cheaper.
+   */
+  private boolean isWorthHeapifying(int count) {
+    int height = 0;
+    for (long capacity = 1; capacity <= numElements; capacity = capacity * arity + 1) {
+      height++;
+    }
+    return (long) count * height > numElements;
+  }
+
+  /**
+   * Heap helper function to restore heap order over the whole heap, by <em>sinking</em> each parent
+   * from the last to the first, in time proportional to the size of the heap.
+   */
+  private void heapify() {
+    int lastParent = numElements < 2 ? 0 : (numElements - 2) / arity + 1;
+    for (int index = lastParent; index >= 1; index--) {
+      sink(index);
+    }
+  }
+
+  /**
+   * General helper function to determine if the key for the minimum priority queue index {@code i}
+   * is greater than the key for the minimum priority queue index {@code j}.
+   *
+   * @param i the index to determine whether it is greater.
+   * @param j the index to compare to.
+   *
+   * @return {@code true} if {@code i} is greater than {@code} j.
+   */
+  private boolean isGreaterThan(int i, int j) {
+    return keys[priorityQueue[i]] > keys[priorityQueue[j]];
+  }
+
+  /**
+   * General helper function to exchange the items at {@code i} and {@code j}.
+   *
+   * @param i the index to exchange with {@code j}.
+   * @param j the index to exchange with {@code i}.
+   */
+  private void exchange(int i, int j) {
+    int temp = priorityQueue[i];
+    priorityQueue[i] = priorityQueue[j];
+    priorityQueue[j] = temp;
+    inversePriorityQueue[priorityQueue[i]] = i;
+    inversePriorityQueue[priorityQueue[j]] = j;
+  }
+
+  /**
+   * Heap helper function to <em>swim</em> {@code index} up the heap.
+   *
+   * @param index the index to <em>swim</em>.
+   */
+  private void swim(int index) {
+    while (index > 1 && isGreaterThan((index - 2) / arity + 1, index)) {
+      int parent = (index - 2) / arity + 1;
+      exchange(index, parent);
+      index = parent;
+    }
+  }
+
+  /**
+   * Heap helper function to <em>sink</em> {@code index} down the heap, exchanging it with the least
+   * of its children, the first if several are equal, until none is less.
+   *
+   * @param index the index to <em>sink</em>.
+   */
+  private void sink(int index) {
+    // Parents past lastParent have no children; comparing against it avoids overflowing the index
+    // of the first child in a large, wide heap.
+    int lastParent = numElements < 2 ? 0 : (numElements - 2) / arity + 1;
+    while (index <= lastParent) {
+      int first = arity * (index - 1) + 2;
+      int last = Math.min(first + arity - 1, numElements);
+      int j = first;
+      for (int child = first + 1; child <= last; child++) {
+        if (isGreaterThan(j, child)) {
+          j = child;
+        }
+      }
+      if (!isGreaterThan(index, j)) {
+        break;
+      }
+      exchange(index, j);
+      index = j;
+    }
+  }
+
+  /**
+   * Returns an iterator that iterates over the keys on the minimum priority queue in ascending
+   * order. The iterator doesn't implement {@code remove()} since it's optional.
+   *
+   * @return an iterator that iterates over the keys in ascending order.
+   */
+  @Override
+  public Iterator<Integer> iterator() {
+    return new HeapIterator();
+  }
+
+  private class HeapIterator implements Iterator<Integer> {
+
+    // Create a new priorityQueue.
+    private IndexedDoubleHeap copy;
+
+    // Add all elements to a copy of heap.
+    // Takes linear time since already in heap order so no keys move.
+    public HeapIterator() {
+      copy = new IndexedDoubleHeap(maximumElements, arity);
+      for (int i = 1; i <= numElements; i++) {
+        copy.offer(priorityQueue[i], keys[priorityQueue[i]]);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !copy.isEmpty();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Integer next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return copy.pollMinimum();
+    }
+  }
+}
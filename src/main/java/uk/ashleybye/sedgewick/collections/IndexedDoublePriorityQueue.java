@@ -0,0 +1,121 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code IndexedDoublePriorityQueue} interface is a minimum priority queue of the integer
+ * indices {@code 0} to {@code maximumElements - 1}, each with a primitive {@code double} key. It
+ * has the contract of {@link IndexedPriorityQueue}, without boxing the keys, and can be emptied
+ * with {@code clear()} in time proportional to the number of keys on it, so that one queue can be
+ * reused for a series of searches over the same vertices.</p>
+ * <p>Algorithms such as {@code DijkstraShortestPath} and {@code PrimMinimumSpanningTree} accept any
+ * implementation, so that the caller can choose the one that suits the graph:
+ * {@link IndexedDoubleHeap}, a d-ary heap, or {@link IndexedPairingHeap}, whose {@code
+ * decreaseKey()} takes amortised constant time.</p>
+ */
+public interface IndexedDoublePriorityQueue {
+
+  /**
+   * Returns true if this priority queue is empty.
+   *
+   * @return {@code true} if this priority queue is empty; {@code false}, otherwise.
+   */
+  boolean isEmpty();
+
+  /**
+   * Returns {@code true} if this indexed priority queue contains the specified {@code index}.
+   *
+   * @param index {@code index} whose presence in this minimum priority queue is to be tested.
+   *
+   * @return {@code true} if this minimum priority queue contains the specified {@code index};
+   * {@code false} otherwise.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   */
+  boolean contains(int index);
+
+  /**
+   * Returns the number of keys on this priority queue.
+   *
+   * @return the number of keys on this priority queue
+   */
+  int size();
+
+  /**
+   * Associates the specified {@code key} with the specified {@code index}.
+   *
+   * @param index the index to associate with the specified {@code key}.
+   * @param key the key to associate with the specified {@code index}
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws IllegalArgumentException if an item is already associated with {@code index}.
+   */
+  void offer(int index, double key);
+
+  /**
+   * Returns an index associated with a minimum key.
+   *
+   * @return an index associated with a minimum key.
+   *
+   * @throws NoSuchElementException if this priority queue is empty.
+   */
+  int getMinimumIndex();
+
+  /**
+   * Returns a minimum key.
+   *
+   * @return a minimum key.
+   *
+   * @throws NoSuchElementException if this priority queue is empty.
+   */
+  double getMinimumKey();
+
+  /**
+   * Removes a minimum key and returns its associated index.
+   *
+   * @return an index associated with a minimum key.
+   *
+   * @throws NoSuchElementException if this priority queue is empty.
+   */
+  int pollMinimum();
+
+  /**
+   * Returns the key associated with {@code index}.
+   *
+   * @param index the index of the key to return.
+   *
+   * @return the key associated with {@code index}.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  double getKeyFor(int index);
+
+  /**
+   * Decrease the key associated with {@code index} to the specified value.
+   *
+   * @param index the index of the key to decrease.
+   * @param key decrease the key associated with {@code index} to this key.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws IllegalArgumentException if {@code key >= getKeyFor(index)}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  void decreaseKey(int index, double key);
+
+  /**
+   * Remove the key associated with {@code index}.
+   *
+   * @param index the index of the key to remove.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  void remove(int index);
+
+  /**
+   * Removes every key, in time proportional to the number of keys on the queue rather than to its
+   * capacity.
+   */
+  void clear();
+}
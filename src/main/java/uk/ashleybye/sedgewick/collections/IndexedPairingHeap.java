@@ -0,0 +1,125 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code IndexedPairingHeap} class is an {@link IndexedDoublePriorityQueue} backed by a
+ * {@link PairingHeap}, keeping the handle of each index so that it can be found in constant time.
+ * Offering an index and decreasing its key take amortised constant time, against the logarithmic
+ * time of {@link IndexedDoubleHeap}, which suits dense graphs on which Dijkstra's and Prim's
+ * algorithms decrease keys far more often than they poll them.</p>
+ */
+public class IndexedPairingHeap implements IndexedDoublePriorityQueue {
+
+  /**
+   * The maximum number of elements on the priority queue.
+   */
+  private final int maximumElements;
+
+  /**
+   * The heap of indices.
+   */
+  private final PairingHeap heap;
+
+  /**
+   * The most recent handle of each index; an index is on the queue only if its handle is on the
+   * heap.
+   */
+  private final PairingHeap.Handle[] handles;
+
+  /**
+   * Constructs an empty indexed priority queue with capacity to hold the specified number of
+   * elements.
+   *
+   * @param maximumElements upper bound on the capacity of the indexed priority queue.
+   *
+   * @throws IllegalArgumentException if {@code maximumElements < 0}.
+   */
+  public IndexedPairingHeap(int maximumElements) {
+    if (maximumElements < 0) {
+      throw new IllegalArgumentException();
+    }
+
+    this.maximumElements = maximumElements;
+    heap = new PairingHeap();
+    handles = new PairingHeap.Handle[maximumElements];
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return heap.isEmpty();
+  }
+
+  @Override
+  public boolean contains(int index) {
+    if (index < 0 || index >= maximumElements) {
+      throw new IndexOutOfBoundsException();
+    }
+    return handles[index] != null && heap.contains(handles[index]);
+  }
+
+  @Override
+  public int size() {
+    return heap.size();
+  }
+
+  @Override
+  public void offer(int index, double key) {
+    if (contains(index)) {
+      throw new IllegalArgumentException("Index " + index + " is already in the priority queue");
+    }
+    handles[index] = heap.offer(index, key);
+  }
+
+  @Override
+  public int getMinimumIndex() {
+    return heap.getMinimum().getItem();
+  }
+
+  @Override
+  public double getMinimumKey() {
+    return heap.getMinimum().getKey();
+  }
+
+  @Override
+  public int pollMinimum() {
+    return heap.pollMinimum();
+  }
+
+  @Override
+  public double getKeyFor(int index) {
+    requireContains(index);
+    return handles[index].getKey();
+  }
+
+  @Override
+  public void decreaseKey(int index, double key) {
+    requireContains(index);
+    heap.decreaseKey(handles[index], key);
+  }
+
+  @Override
+  public void remove(int index) {
+    requireContains(index);
+    heap.remove(handles[index]);
+  }
+
+  @Override
+  public void clear() {
+    heap.clear();
+  }
+
+  /**
+   * Checks that a key is associated with {@code index}.
+   *
+   * @param index the index.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements}.
+   * @throws NoSuchElementException no key is associated with {@code index}.
+   */
+  private void requireContains(int index) {
+    if (!contains(index)) {
+      throw new NoSuchElementException("Index " + index + " is not in the priority queue");
+    }
+  }
+}
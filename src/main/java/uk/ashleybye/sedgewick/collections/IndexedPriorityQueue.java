@@ -15,6 +15,9 @@ import java.util.NoSuchElementException;
  * <a href="http://algs4.cs.princeton.edu/24pq">Section 2.4</a> of <i>Algorithms, 4th Edition</i> by
  * Robert Sedgewick and Kevin Wayne. It uses a binary heap along with an array to associate keys
  * with integers in the given range.</p>
+ * <p>When many keys are known at once, the queue can be built from them in linear time, and
+ * batches of keys can be decreased or removed with {@code decreaseKeys()} and {@code removeAll()},
+ * which restore heap order once for the whole batch when that is cheaper than once per key.</p>
  *
  * @param <K> the generic type of key on this priority queue
  */
@@ -71,6 +74,40 @@ public class IndexedPriorityQueue<K extends Comparable<K>> implements Iterable<I
     }
   }
 
+  /**
+   * Constructs an indexed priority queue with capacity to hold the specified number of elements,
+   * holding each of the specified keys associated with the index at the same position of {@code
+   * indices}. The heap is built bottom-up, in time proportional to the number of keys, rather than
+   * in time proportional to n log n by offering them one at a time.
+   *
+   * @param maximumElements upper bound on the capacity of the indexed priority queue.
+   * @param indices the indices to associate with the keys.
+   * @param keys the keys, in the same order as their indices.
+   *
+   * @throws IllegalArgumentException if {@code maximumElements < 0}, if {@code indices} and {@code
+   * keys} differ in length, or if an index appears more than once.
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   */
+  public IndexedPriorityQueue(int maximumElements, int[] indices, K[] keys) {
+    this(maximumElements);
+    if (indices.length != keys.length) {
+      throw new IllegalArgumentException(
+          indices.length + " indices but " + keys.length + " keys");
+    }
+
+    for (int i = 0; i < indices.length; i++) {
+      int index = indices[i];
+      if (contains(index)) {
+        throw new IllegalArgumentException("Index " + index + " is already in the priority queue");
+      }
+      numElements++;
+      inversePriorityQueue[index] = numElements;
+      priorityQueue[numElements] = index;
+      this.keys[index] = keys[i];
+    }
+    heapify();
+  }
+
   /**
    * Returns true if this priority queue is empty.
    *
@@ -297,6 +334,117 @@ public class IndexedPriorityQueue<K extends Comparable<K>> implements Iterable<I
     inversePriorityQueue[index] = -1;
   }
 
+  /**
+   * Decrease the key associated with each of the specified indices to the key at the same position
+   * of {@code keys}, with the same effect as calling {@code decreaseKey()} for each in turn. When
+   * the batch is large enough, the keys are all changed first and heap order is then restored once,
+   * bottom-up, in time proportional to the size of the queue.
+   *
+   * @param indices the indices of the keys to decrease.
+   * @param keys the new keys, in the same order as their indices.
+   *
+   * @throws IllegalArgumentException if {@code indices} and {@code keys} differ in length, or if a
+   * key would not strictly decrease, in which case the keys before it have been decreased.
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   * @throws NoSuchElementException if no key is associated with an index, in which case the keys
+   * before it have been decreased.
+   */
+  public void decreaseKeys(int[] indices, K[] keys) {
+    if (indices.length != keys.length) {
+      throw new IllegalArgumentException(
+          indices.length + " indices but " + keys.length + " keys");
+    }
+    if (!isWorthHeapifying(indices.length)) {
+      for (int i = 0; i < indices.length; i++) {
+        decreaseKey(indices[i], keys[i]);
+      }
+      return;
+    }
+
+    try {
+      for (int i = 0; i < indices.length; i++) {
+        int index = indices[i];
+        if (!contains(index)) {
+          throw new NoSuchElementException("Index " + index + " is not in the priority queue");
+        }
+        if (this.keys[index].compareTo(keys[i]) <= 0) {
+          throw new IllegalArgumentException(
+              "Calling decreaseKey() with given argument would not strictly decrease the key");
+        }
+        this.keys[index] = keys[i];
+      }
+    } finally {
+      heapify();
+    }
+  }
+
+  /**
+   * Remove the keys associated with each of the specified indices, with the same effect as calling
+   * {@code remove()} for each in turn. When the batch is large enough, the keys are all removed
+   * first and the heap is then compacted and its order restored once, bottom-up, in time
+   * proportional to the size of the queue.
+   *
+   * @param indices the indices of the keys to remove.
+   *
+   * @throws IndexOutOfBoundsException unless {@code 0 <= index < maximumElements} for every index.
+   * @throws NoSuchElementException if no key is associated with an index, including one already
+   * removed earlier in the batch, in which case the keys before it have been removed.
+   */
+  public void removeAll(int[] indices) {
+    if (!isWorthHeapifying(indices.length)) {
+      for (int index : indices) {
+        remove(index);
+      }
+      return;
+    }
+
+    try {
+      for (int index : indices) {
+        if (!contains(index)) {
+          throw new NoSuchElementException("Index " + index + " is not in the priority queue");
+        }
+        inversePriorityQueue[index] = -1;
+        keys[index] = null;
+      }
+    } finally {
+      // Close the gaps left by the removed indices, then restore heap order.
+      int kept = 0;
+      for (int i = 1; i <= numElements; i++) {
+        int index = priorityQueue[i];
+        if (inversePriorityQueue[index] != -1) {
+          priorityQueue[++kept] = index;
+          inversePriorityQueue[index] = kept;
+        }
+      }
+      numElements = kept;
+      heapify();
+    }
+  }
+
+  /**
+   * Returns true if restoring heap order over the whole heap, which takes time proportional to its
+   * size, is expected to be cheaper than restoring it after changing each of {@code count} keys,
+   * which takes time proportional to the logarithm of its size for each.
+   *
+   * @param count the number of keys to change.
+   *
+   * @return {@code true} if heapifying the whole heap is expected to be cheaper.
+   */
+  private boolean isWorthHeapifying(int count) {
+    int height = 32 - Integer.numberOfLeadingZeros(numElements);
+    return (long) count * height > numElements;
+  }
+
+  /**
+   * Heap helper function to restore heap order over the whole heap, by <em>sinking</em> each parent
+   * from the last to the first, in time proportional to the size of the heap.
+   */
+  private void heapify() {
+    for (int index = numElements / 2; index >= 1; index--) {
+      sink(index);
+    }
+  }
+
   /**
    * General helper function to determine if the key for the minimum priority queue index {@code i}
    * is greater than the key for the minimum priority queue index {@code j}.
@@ -0,0 +1,129 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>The {@code IntBag} class is a bag of primitive integers, held in a growable {@code int[]}
+ * rather than as a linked list of boxed {@code Integer} nodes. Adding an item takes amortised
+ * constant time and allocates only when the array doubles.</p>
+ * <p>Items are returned most recently added first, the same order as {@link Bag}, so an {@code
+ * IntBag} can replace a {@code Bag<Integer>} without changing the order in which algorithms see
+ * them. Besides the {@code Iterable} interface, which must allocate an iterator and box each item,
+ * it offers two allocation-free ways to visit the items: an index-based cursor, {@code for (int i
+ * = 0; i < bag.size(); i++) bag.get(i)}, and {@code forEachInt(IntConsumer)}.</p>
+ */
+public class IntBag implements Iterable<Integer> {
+
+  /**
+   * Shared backing array of all empty bags, so that an empty bag allocates nothing.
+   */
+  private static final int[] EMPTY = new int[0];
+
+  /**
+   * The items, in order of addition, in {@code items[0...size - 1]}.
+   */
+  private int[] items = EMPTY;
+
+  /**
+   * The number of items.
+   */
+  private int size;
+
+  /**
+   * Add an item to the bag.
+   *
+   * @param item the item
+   */
+  public void add(int item) {
+    if (size == items.length) {
+      items = Arrays.copyOf(items, Math.max(2, 2 * size));
+    }
+    items[size++] = item;
+  }
+
+  /**
+   * Returns true if the bag is empty; false, otherwise.
+   *
+   * @return true if the bag is empty
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Get the number of items in the bag.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the item at the specified position in iteration order, in which position 0 is the most
+   * recently added.
+   *
+   * @param index the position, between 0 and {@code size() - 1}
+   *
+   * @return the item
+   *
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public int get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+    }
+    return items[size - 1 - index];
+  }
+
+  /**
+   * Perform the specified action on each item, most recently added first, without boxing.
+   *
+   * @param action the action
+   */
+  public void forEachInt(IntConsumer action) {
+    for (int i = size - 1; i >= 0; i--) {
+      action.accept(items[i]);
+    }
+  }
+
+  /**
+   * Copy the items into a new array, in iteration order.
+   *
+   * @return the items
+   */
+  public int[] toArray() {
+    int[] array = new int[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = items[size - 1 - i];
+    }
+
+    return array;
+  }
+
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new ArrayIterator();
+  }
+
+  private class ArrayIterator implements PrimitiveIterator.OfInt {
+
+    private int current = size;
+
+    @Override
+    public boolean hasNext() {
+      return current > 0;
+    }
+
+    @Override
+    public int nextInt() {
+      if (current == 0) {
+        throw new NoSuchElementException();
+      }
+      return items[--current];
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>The {@code IntQueue} class is a first-in-first-out queue of primitive integers, held in a ring
+ * buffer rather than as a linked list of boxed {@code Integer} nodes. The buffer's capacity is a
+ * power of two, so that positions wrap with a mask rather than a division, and it doubles when
+ * full. Enqueue and dequeue take amortised constant time and allocate nothing once the buffer has
+ * grown to the largest size needed.</p>
+ * <p>{@code clear()} empties the queue but keeps its buffer, so that one instance can serve many
+ * searches with no allocation after the first. Iteration returns the items from the front, the
+ * same order as {@link Queue}.</p>
+ */
+public class IntQueue implements Iterable<Integer> {
+
+  /**
+   * The ring buffer, whose length is a power of two.
+   */
+  private int[] items;
+
+  /**
+   * The position of the front of the queue in the buffer.
+   */
+  private int front;
+
+  /**
+   * The number of items.
+   */
+  private int size;
+
+  /**
+   * Constructs an empty queue.
+   */
+  public IntQueue() {
+    this(8);
+  }
+
+  /**
+   * Constructs an empty queue with room for at least the specified number of items before it must
+   * grow.
+   *
+   * @param capacity the initial capacity
+   */
+  public IntQueue(int capacity) {
+    items = new int[capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void enqueue(int item) {
+    if (size == items.length) {
+      grow();
+    }
+    items[(front + size++) & (items.length - 1)] = item;
+  }
+
+  /**
+   * Removes and returns the item at the front of the queue.
+   *
+   * @return the front item
+   *
+   * @throws NoSuchElementException if the queue is empty
+   */
+  public int dequeue() {
+    if (size == 0) {
+      throw new NoSuchElementException("Queue underflow");
+    }
+    int item = items[front];
+    front = (front + 1) & (items.length - 1);
+    size--;
+
+    return item;
+  }
+
+  /**
+   * Returns the item at the front of the queue, without removing it.
+   *
+   * @return the front item
+   *
+   * @throws NoSuchElementException if the queue is empty
+   */
+  public int peek() {
+    if (size == 0) {
+      throw new NoSuchElementException("Queue underflow");
+    }
+    return items[front];
+  }
+
+  /**
+   * Removes every item, keeping the buffer for reuse.
+   */
+  public void clear() {
+    front = 0;
+    size = 0;
+  }
+
+  /**
+   * Doubles the buffer, unwrapping the items so that the front is at position 0.
+   */
+  private void grow() {
+    int[] grown = new int[2 * items.length];
+    int firstPart = items.length - front;
+    System.arraycopy(items, front, grown, 0, firstPart);
+    System.arraycopy(items, 0, grown, firstPart, front);
+    items = grown;
+    front = 0;
+  }
+
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new RingIterator();
+  }
+
+  private class RingIterator implements PrimitiveIterator.OfInt {
+
+    private int index = 0;
+
+    @Override
+    public boolean hasNext() {
+      return index < size;
+    }
+
+    @Override
+    public int nextInt() {
+      if (index == size) {
+        throw new NoSuchElementException();
+      }
+      return items[(front + index++) & (items.length - 1)];
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * <p>The {@code IntStack} class is a last-in-first-out stack of primitive integers, held in a
+ * growable {@code int[]} rather than as a linked list of boxed {@code Integer} nodes. Push and pop
+ * take amortised constant time and allocate nothing once the array has grown to the largest size
+ * needed.</p>
+ * <p>{@code clear()} empties the stack but keeps its array, so that one instance can serve many
+ * searches with no allocation after the first. Iteration returns the items from the top, the same
+ * order as {@link Stack}.</p>
+ */
+public class IntStack implements Iterable<Integer> {
+
+  /**
+   * The items, from the bottom of the stack, in {@code items[0...size - 1]}.
+   */
+  private int[] items;
+
+  /**
+   * The number of items.
+   */
+  private int size;
+
+  /**
+   * Constructs an empty stack.
+   */
+  public IntStack() {
+    this(8);
+  }
+
+  /**
+   * Constructs an empty stack with room for the specified number of items before it must grow.
+   *
+   * @param capacity the initial capacity
+   */
+  public IntStack(int capacity) {
+    items = new int[Math.max(1, capacity)];
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void push(int item) {
+    if (size == items.length) {
+      items = Arrays.copyOf(items, 2 * size);
+    }
+    items[size++] = item;
+  }
+
+  /**
+   * Removes and returns the item on the top of the stack.
+   *
+   * @return the top item
+   *
+   * @throws NoSuchElementException if the stack is empty
+   */
+  public int pop() {
+    if (size == 0) {
+      throw new NoSuchElementException("Stack underflow");
+    }
+    return items[--size];
+  }
+
+  /**
+   * Returns the item on the top of the stack, without removing it.
+   *
+   * @return the top item
+   *
+   * @throws NoSuchElementException if the stack is empty
+   */
+  public int peek() {
+    if (size == 0) {
+      throw new NoSuchElementException("Stack underflow");
+    }
+    return items[size - 1];
+  }
+
+  /**
+   * Removes every item, keeping the array for reuse.
+   */
+  public void clear() {
+    size = 0;
+  }
+
+  @Override
+  public PrimitiveIterator.OfInt iterator() {
+    return new ArrayIterator();
+  }
+
+  private class ArrayIterator implements PrimitiveIterator.OfInt {
+
+    private int current = size;
+
+    @Override
+    public boolean hasNext() {
+      return current > 0;
+    }
+
+    @Override
+    public int nextInt() {
+      if (current == 0) {
+        throw new NoSuchElementException();
+      }
+      return items[--current];
+    }
+  }
+}
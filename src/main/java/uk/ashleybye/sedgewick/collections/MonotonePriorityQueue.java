@@ -0,0 +1,63 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code MonotonePriorityQueue} interface is a minimum priority queue of integer items with
+ * non-negative {@code long} keys, in which no key offered may be less than the key of the item
+ * most recently polled. Dijkstra's algorithm with non-negative integer weights uses a queue in
+ * just this way, and the restriction lets implementations such as {@link RadixHeap} and {@link
+ * BucketQueue} find the minimum without comparing keys pairwise.</p>
+ * <p>The queues are not indexed: an item may be offered more than once, and each offer is polled
+ * separately. A search offers a vertex again when it finds a shorter path, and skips an entry
+ * whose key is greater than the distance it has since recorded.</p>
+ */
+public interface MonotonePriorityQueue {
+
+  /**
+   * Returns true if the queue is empty; false, otherwise.
+   *
+   * @return true if the queue is empty
+   */
+  boolean isEmpty();
+
+  /**
+   * Get the number of entries on the queue.
+   *
+   * @return the number of entries
+   */
+  int size();
+
+  /**
+   * Add an item with the specified key.
+   *
+   * @param item the item
+   * @param key the key, no less than {@code getLastKey()}
+   *
+   * @throws IllegalArgumentException if the key is less than {@code getLastKey()}, or outside the
+   * range the queue supports
+   */
+  void offer(int item, long key);
+
+  /**
+   * Remove an item with a minimum key, which becomes the last key.
+   *
+   * @return the item
+   *
+   * @throws NoSuchElementException if the queue is empty
+   */
+  int pollMinimum();
+
+  /**
+   * Get the key of the item most recently polled, which is the least key that may be offered; 0
+   * if none has been polled since the queue was created or cleared.
+   *
+   * @return the last key
+   */
+  long getLastKey();
+
+  /**
+   * Remove every entry, and reset the last key to 0.
+   */
+  void clear();
+}
@@ -0,0 +1,236 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>The {@code MultiQueue} class is a thread-safe, relaxed minimum priority queue of integer
+ * items with primitive {@code double} keys, for many threads offering and polling at once. It
+ * holds several binary heaps, each behind its own lock. {@code offer()} adds to a heap chosen at
+ * random, and {@code poll()} samples two heaps at random and takes the minimum of the one whose
+ * minimum is less. A thread that finds a heap locked tries another rather than waiting, so threads
+ * rarely contend.</p>
+ * <p>The order is relaxed: {@code poll()} returns an item whose key is close to, but not always,
+ * the least on the queue; with {@code c} heaps per thread, the expected rank of the key returned
+ * is proportional to the number of heaps. Label-correcting searches, which relax a vertex again
+ * whenever its distance improves, tolerate this, as do other searches that only need to process
+ * low keys early to avoid wasted work.</p>
+ */
+public class MultiQueue {
+
+  /**
+   * The number of heaps per thread used by the default constructor.
+   */
+  private static final int HEAPS_PER_THREAD = 2;
+
+  /**
+   * The heaps.
+   */
+  private final Heap[] heaps;
+
+  /**
+   * The number of entries offered and not yet polled, counted before an entry is added to a heap,
+   * so that it is never zero while an entry is on the queue.
+   */
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * A polled entry. Each thread can reuse one entry for every call to {@code poll()}.
+   */
+  public static final class Entry {
+
+    private int item;
+    private double key;
+
+    /**
+     * Get the item.
+     *
+     * @return the item
+     */
+    public int getItem() {
+      return item;
+    }
+
+    /**
+     * Get the key.
+     *
+     * @return the key
+     */
+    public double getKey() {
+      return key;
+    }
+  }
+
+  /**
+   * Constructs an empty queue with two heaps for each available processor.
+   */
+  public MultiQueue() {
+    this(HEAPS_PER_THREAD * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructs an empty queue with the specified number of heaps. More heaps reduce contention
+   * between threads, at the cost of a more relaxed order.
+   *
+   * @param numHeaps the number of heaps
+   *
+   * @throws IllegalArgumentException if {@code numHeaps < 1}
+   */
+  public MultiQueue(int numHeaps) {
+    if (numHeaps < 1) {
+      throw new IllegalArgumentException("Number of heaps must be at least 1: " + numHeaps);
+    }
+
+    heaps = new Heap[numHeaps];
+    for (int heap = 0; heap < numHeaps; heap++) {
+      heaps[heap] = new Heap();
+    }
+  }
+
+  /**
+   * Returns true if the queue is empty; false, otherwise. While other threads are offering or
+   * polling, the result may be out of date as soon as it is returned.
+   *
+   * @return true if the queue is empty
+   */
+  public boolean isEmpty() {
+    return size.get() == 0;
+  }
+
+  /**
+   * Get the number of entries on the queue. While other threads are offering or polling, the result
+   * may be out of date as soon as it is returned.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return size.get();
+  }
+
+  /**
+   * Add an item with the specified key to a heap chosen at random.
+   *
+   * @param item the item
+   * @param key the key, which must not be NaN
+   */
+  public void offer(int item, double key) {
+    size.incrementAndGet();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    while (true) {
+      Heap heap = heaps[random.nextInt(heaps.length)];
+      if (heap.lock.tryLock()) {
+        try {
+          heap.offer(item, key);
+          return;
+        } finally {
+          heap.lock.unlock();
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove an item with a low key, and store it and its key in the specified entry. Returns false
+   * only if the queue is empty; an entry whose offer is still in progress on another thread is
+   * waited for.
+   *
+   * @param entry the entry in which to store the item and its key
+   *
+   * @return true if an item was polled; false if the queue is empty
+   */
+  public boolean poll(Entry entry) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int attempts = 0;
+    while (size.get() > 0) {
+      Heap heap;
+      if (attempts++ < 2 * heaps.length) {
+        Heap first = heaps[random.nextInt(heaps.length)];
+        Heap second = heaps[random.nextInt(heaps.length)];
+        heap = first.minimum <= second.minimum ? first : second;
+        if (heap.minimum == Double.POSITIVE_INFINITY || !heap.lock.tryLock()) {
+          continue;
+        }
+      } else {
+        // Sampling keeps missing the few remaining entries, so take them in turn.
+        heap = heaps[attempts % heaps.length];
+        heap.lock.lock();
+      }
+
+      try {
+        if (heap.size > 0) {
+          heap.poll(entry);
+          size.decrementAndGet();
+          return true;
+        }
+      } finally {
+        heap.lock.unlock();
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * A binary heap of items and keys, using <em>1-based indexing</em>, accessed only while its lock
+   * is held.
+   */
+  private static final class Heap {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int[] items = new int[16];
+    private double[] keys = new double[16];
+    private int size;
+
+    /**
+     * The least key on the heap, or {@code Double.POSITIVE_INFINITY} if it is empty; read without
+     * the lock to choose between heaps.
+     */
+    private volatile double minimum = Double.POSITIVE_INFINITY;
+
+    void offer(int item, double key) {
+      if (size + 1 == items.length) {
+        items = Arrays.copyOf(items, 2 * items.length);
+        keys = Arrays.copyOf(keys, 2 * keys.length);
+      }
+
+      // Swim the new entry up from the end.
+      int index = ++size;
+      while (index > 1 && keys[index / 2] > key) {
+        items[index] = items[index / 2];
+        keys[index] = keys[index / 2];
+        index /= 2;
+      }
+      items[index] = item;
+      keys[index] = key;
+      minimum = keys[1];
+    }
+
+    void poll(Entry entry) {
+      entry.item = items[1];
+      entry.key = keys[1];
+
+      // Sink the last entry down from the root.
+      int item = items[size];
+      double key = keys[size];
+      size--;
+      int index = 1;
+      while (2 * index <= size) {
+        int child = 2 * index;
+        if (child < size && keys[child] > keys[child + 1]) {
+          child++;
+        }
+        if (key <= keys[child]) {
+          break;
+        }
+        items[index] = items[child];
+        keys[index] = keys[child];
+        index = child;
+      }
+      items[index] = item;
+      keys[index] = key;
+      minimum = size == 0 ? Double.POSITIVE_INFINITY : keys[1];
+    }
+  }
+}
@@ -0,0 +1,341 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code PairingHeap} class is an addressable, mergeable minimum priority queue of integer
+ * items with primitive {@code double} keys. Offering an item returns a {@link Handle}, through
+ * which its key can later be decreased, or the item removed, without searching for it.</p>
+ * <p>The heap is a tree in which each node's key is no greater than its children's, each node
+ * holding its children in a list. {@code offer()}, {@code decreaseKey()} and {@code meld()} link
+ * two trees by making the root with the greater key the first child of the other, in constant
+ * time. {@code pollMinimum()} removes the root and links its children in two passes, pairing them
+ * left to right and then folding the pairs right to left, taking amortised logarithmic time. The
+ * amortised cost of {@code decreaseKey()} is not known to be constant, but is at most {@code
+ * O(2^(2 sqrt(log log n)))} and in practice behaves as if it were, with far less overhead than a
+ * Fibonacci heap.</p>
+ * <p>Keys must not be NaN. Handles are only valid in the heap that returned them, or in a heap
+ * into which that heap has since been melded.</p>
+ */
+public class PairingHeap {
+
+  /**
+   * The root of the heap, with a minimum key; null if the heap is empty.
+   */
+  private Handle root;
+
+  /**
+   * The number of items on the heap.
+   */
+  private int size;
+
+  /**
+   * A node of the heap, through which an item's key can be decreased or the item removed.
+   */
+  public static final class Handle {
+
+    private final int item;
+    private double key;
+
+    /**
+     * The first of the list of children.
+     */
+    private Handle child;
+
+    /**
+     * The next sibling in the list of children of this node's parent.
+     */
+    private Handle sibling;
+
+    /**
+     * The previous sibling, or the parent if this is a first child; null for a root, or a node that
+     * has been removed.
+     */
+    private Handle previous;
+
+    private Handle(int item, double key) {
+      this.item = item;
+      this.key = key;
+    }
+
+    /**
+     * Get the item.
+     *
+     * @return the item
+     */
+    public int getItem() {
+      return item;
+    }
+
+    /**
+     * Get the current key of the item.
+     *
+     * @return the key
+     */
+    public double getKey() {
+      return key;
+    }
+  }
+
+  /**
+   * Returns true if the heap is empty; false, otherwise.
+   *
+   * @return true if the heap is empty
+   */
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  /**
+   * Get the number of items on the heap.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns true if the item with the specified handle is on the heap; false if it has been
+   * removed.
+   *
+   * @param handle the handle
+   *
+   * @return true if the item is on the heap
+   */
+  public boolean contains(Handle handle) {
+    return handle == root || handle.previous != null;
+  }
+
+  /**
+   * Add an item with the specified key to the heap, in constant time.
+   *
+   * @param item the item
+   * @param key the key
+   *
+   * @return the handle of the item
+   */
+  public Handle offer(int item, double key) {
+    Handle handle = new Handle(item, key);
+    root = root == null ? handle : link(root, handle);
+    size++;
+
+    return handle;
+  }
+
+  /**
+   * Get the handle of an item with a minimum key.
+   *
+   * @return the handle
+   *
+   * @throws NoSuchElementException if the heap is empty
+   */
+  public Handle getMinimum() {
+    if (root == null) {
+      throw new NoSuchElementException("Priority queue underflow");
+    }
+    return root;
+  }
+
+  /**
+   * Remove an item with a minimum key.
+   *
+   * @return the item
+   *
+   * @throws NoSuchElementException if the heap is empty
+   */
+  public int pollMinimum() {
+    Handle minimum = getMinimum();
+    root = minimum.child == null ? null : combineSiblings(minimum.child);
+    minimum.child = null;
+    size--;
+
+    return minimum.item;
+  }
+
+  /**
+   * Decrease the key of the item with the specified handle, in amortised constant time.
+   *
+   * @param handle the handle
+   * @param key the new key
+   *
+   * @throws NoSuchElementException if the item has been removed
+   * @throws IllegalArgumentException if the key would not strictly decrease
+   */
+  public void decreaseKey(Handle handle, double key) {
+    requireContains(handle);
+    if (handle.key <= key) {
+      throw new IllegalArgumentException(
+          "Calling decreaseKey() with given argument would not strictly decrease the key");
+    }
+
+    handle.key = key;
+    if (handle != root) {
+      detach(handle);
+      root = link(root, handle);
+    }
+  }
+
+  /**
+   * Remove the item with the specified handle, in amortised logarithmic time.
+   *
+   * @param handle the handle
+   *
+   * @throws NoSuchElementException if the item has been removed
+   */
+  public void remove(Handle handle) {
+    requireContains(handle);
+    if (handle == root) {
+      pollMinimum();
+      return;
+    }
+
+    detach(handle);
+    if (handle.child != null) {
+      root = link(root, combineSiblings(handle.child));
+      handle.child = null;
+    }
+    size--;
+  }
+
+  /**
+   * Move every item of the other heap to this heap, in constant time, leaving the other heap
+   * empty. The handles of the moved items remain valid in this heap.
+   *
+   * @param other the other heap
+   *
+   * @throws IllegalArgumentException if the other heap is this heap
+   */
+  public void meld(PairingHeap other) {
+    if (other == this) {
+      throw new IllegalArgumentException("Cannot meld a heap with itself");
+    }
+    if (other.root != null) {
+      root = root == null ? other.root : link(root, other.root);
+      size += other.size;
+      other.root = null;
+      other.size = 0;
+    }
+  }
+
+  /**
+   * Remove every item, in time proportional to the number of items, so that none of their handles
+   * remains on the heap.
+   */
+  public void clear() {
+    ArrayStack<Handle> stack = new ArrayStack<>();
+    if (root != null) {
+      stack.push(root);
+    }
+    while (!stack.isEmpty()) {
+      Handle handle = stack.pop();
+      if (handle.child != null) {
+        stack.push(handle.child);
+      }
+      if (handle.sibling != null) {
+        stack.push(handle.sibling);
+      }
+      handle.child = null;
+      handle.sibling = null;
+      handle.previous = null;
+    }
+    root = null;
+    size = 0;
+  }
+
+  /**
+   * Checks that the item with the specified handle is on the heap.
+   *
+   * @param handle the handle
+   *
+   * @throws NoSuchElementException if the item has been removed
+   */
+  private void requireContains(Handle handle) {
+    if (!contains(handle)) {
+      throw new NoSuchElementException("Item " + handle.item + " is not in the priority queue");
+    }
+  }
+
+  /**
+   * Link two roots, making the one with the greater key the first child of the other. If the keys
+   * are equal, the first remains the root.
+   *
+   * @param first the first root
+   * @param second the second root
+   *
+   * @return the root of the linked tree
+   */
+  private static Handle link(Handle first, Handle second) {
+    Handle parent = second.key < first.key ? second : first;
+    Handle child = parent == first ? second : first;
+
+    child.previous = parent;
+    child.sibling = parent.child;
+    if (parent.child != null) {
+      parent.child.previous = child;
+    }
+    parent.child = child;
+
+    return parent;
+  }
+
+  /**
+   * Cut the subtree rooted at the specified node, which is not the root, from its parent.
+   *
+   * @param handle the node
+   */
+  private static void detach(Handle handle) {
+    if (handle.previous.child == handle) {
+      handle.previous.child = handle.sibling;
+    } else {
+      handle.previous.sibling = handle.sibling;
+    }
+    if (handle.sibling != null) {
+      handle.sibling.previous = handle.previous;
+    }
+    handle.previous = null;
+    handle.sibling = null;
+  }
+
+  /**
+   * Link a list of siblings into a single tree, in two passes: first linking them in pairs from
+   * left to right, then linking each pair into the result from right to left.
+   *
+   * @param first the first of the siblings
+   *
+   * @return the root of the tree
+   */
+  private static Handle combineSiblings(Handle first) {
+    // Link pairs from left to right, stacking each linked pair through its sibling field, so that
+    // the rightmost pair ends on top.
+    Handle pairs = null;
+    Handle current = first;
+    while (current != null) {
+      Handle pair = current;
+      Handle next = pair.sibling;
+      current = next == null ? null : next.sibling;
+      pair.previous = null;
+      pair.sibling = null;
+      if (next != null) {
+        next.previous = null;
+        next.sibling = null;
+        pair = link(pair, next);
+      }
+      pair.sibling = pairs;
+      pairs = pair;
+    }
+
+    // Fold the pairs from right to left.
+    Handle result = pairs;
+    pairs = pairs.sibling;
+    result.sibling = null;
+    while (pairs != null) {
+      Handle next = pairs.sibling;
+      pairs.sibling = null;
+      result = link(pairs, result);
+      pairs = next;
+    }
+
+    return result;
+  }
+}
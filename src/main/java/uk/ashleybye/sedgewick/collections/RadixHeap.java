@@ -0,0 +1,150 @@
+package uk.ashleybye.sedgewick.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>The {@code RadixHeap} class is a {@link MonotonePriorityQueue} that sorts its entries into
+ * buckets by the highest bit in which their key differs from the last key. Bucket 0 holds the
+ * entries whose key equals the last key, and bucket {@code i} those whose key first differs from
+ * it in bit {@code i - 1}. Polling pops from bucket 0; when that is empty, the first non-empty
+ * bucket is scanned for its minimum, which becomes the last key, and its entries are redistributed
+ * into lower buckets.</p>
+ * <p>An entry only ever moves to a lower bucket, so offering and polling take amortised time
+ * proportional to the number of bits in a key, whatever the range of the keys, with no comparison
+ * between keys except when finding a bucket's minimum.</p>
+ */
+public class RadixHeap implements MonotonePriorityQueue {
+
+  /**
+   * One bucket for keys equal to the last key, and one for each bit in which a key can differ.
+   */
+  private static final int NUM_BUCKETS = Long.SIZE + 1;
+
+  /**
+   * The items of each bucket, in {@code items[bucket][0...sizes[bucket] - 1]}.
+   */
+  private final int[][] items = new int[NUM_BUCKETS][];
+
+  /**
+   * The keys of each bucket, parallel to the items.
+   */
+  private final long[][] keys = new long[NUM_BUCKETS][];
+
+  /**
+   * The number of entries in each bucket.
+   */
+  private final int[] sizes = new int[NUM_BUCKETS];
+
+  /**
+   * The number of entries.
+   */
+  private int size;
+
+  /**
+   * The key of the item most recently polled.
+   */
+  private long lastKey;
+
+  /**
+   * Constructs an empty radix heap.
+   */
+  public RadixHeap() {
+    for (int bucket = 0; bucket < NUM_BUCKETS; bucket++) {
+      items[bucket] = new int[4];
+      keys[bucket] = new long[4];
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void offer(int item, long key) {
+    if (key < lastKey) {
+      throw new IllegalArgumentException(
+          "Key " + key + " is less than the last key polled, " + lastKey);
+    }
+    add(bucketOf(key), item, key);
+    size++;
+  }
+
+  @Override
+  public int pollMinimum() {
+    if (size == 0) {
+      throw new NoSuchElementException("Priority queue underflow");
+    }
+
+    if (sizes[0] == 0) {
+      int bucket = 1;
+      while (sizes[bucket] == 0) {
+        bucket++;
+      }
+
+      long minimum = keys[bucket][0];
+      for (int i = 1; i < sizes[bucket]; i++) {
+        minimum = Math.min(minimum, keys[bucket][i]);
+      }
+      lastKey = minimum;
+
+      // Every key in the bucket now differs from the last key in a lower bit, if at all.
+      int bucketSize = sizes[bucket];
+      sizes[bucket] = 0;
+      for (int i = 0; i < bucketSize; i++) {
+        add(bucketOf(keys[bucket][i]), items[bucket][i], keys[bucket][i]);
+      }
+    }
+
+    size--;
+    return items[0][--sizes[0]];
+  }
+
+  @Override
+  public long getLastKey() {
+    return lastKey;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(sizes, 0);
+    size = 0;
+    lastKey = 0;
+  }
+
+  /**
+   * Get the bucket for the specified key: 0 if it equals the last key; otherwise, one more than the
+   * index of the highest bit in which it differs.
+   *
+   * @param key the key
+   *
+   * @return the bucket
+   */
+  private int bucketOf(long key) {
+    return Long.SIZE - Long.numberOfLeadingZeros(key ^ lastKey);
+  }
+
+  /**
+   * Add an entry to the specified bucket, growing its arrays if full.
+   *
+   * @param bucket the bucket
+   * @param item the item
+   * @param key the key
+   */
+  private void add(int bucket, int item, long key) {
+    int bucketSize = sizes[bucket];
+    if (bucketSize == items[bucket].length) {
+      items[bucket] = Arrays.copyOf(items[bucket], 2 * bucketSize);
+      keys[bucket] = Arrays.copyOf(keys[bucket], 2 * bucketSize);
+    }
+    items[bucket][bucketSize] = item;
+    keys[bucket][bucketSize] = key;
+    sizes[bucket] = bucketSize + 1;
+  }
+}
@@ -0,0 +1,103 @@
+package uk.ashleybye.sedgewick.collections.test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import uk.ashleybye.sedgewick.collections.ConcurrentArrayQueue;
+import uk.ashleybye.sedgewick.collections.ConcurrentBag;
+
+public class ConcurrentQueueTest {
+
+  private static final int MAXIMUM_THREADS = 64;
+  private static final int NUM_ROUNDS = 3;
+
+  /**
+   * The work of one thread, performing the specified number of operations.
+   */
+  private interface Work {
+
+    void run(int operations);
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+
+    if (args.length != 1) {
+      System.out.println("Usage: java ConcurrentQueueTest totalOperations");
+      System.exit(0);
+    }
+
+    int totalOperations = Integer.parseInt(args[0]);
+    Object item = new Object();
+
+    for (int round = 0; round < NUM_ROUNDS; round++) {
+      System.out.println("Round " + (round + 1) + " (operations per ms):");
+      System.out.println("  threads  ConcurrentArrayQueue  ConcurrentLinkedQueue"
+          + "  ConcurrentBag  ConcurrentLinkedQueue.add");
+      for (int numThreads = 1; numThreads <= MAXIMUM_THREADS; numThreads *= 2) {
+        // Each thread offers then polls, so that the queue neither fills nor empties for long.
+        ConcurrentArrayQueue<Object> arrayQueue = new ConcurrentArrayQueue<>(1 << 16);
+        double arrayQueueRate = run(numThreads, totalOperations, operations -> {
+          for (int operation = 0; operation < operations; operation += 2) {
+            while (!arrayQueue.offer(item)) {
+              Thread.yield();
+            }
+            arrayQueue.poll();
+          }
+        });
+
+        ConcurrentLinkedQueue<Object> linkedQueue = new ConcurrentLinkedQueue<>();
+        double linkedQueueRate = run(numThreads, totalOperations, operations -> {
+          for (int operation = 0; operation < operations; operation += 2) {
+            linkedQueue.offer(item);
+            linkedQueue.poll();
+          }
+        });
+
+        ConcurrentBag<Object> bag = new ConcurrentBag<>();
+        double bagRate = run(numThreads, totalOperations, operations -> {
+          for (int operation = 0; operation < operations; operation++) {
+            bag.add(item);
+          }
+        });
+
+        ConcurrentLinkedQueue<Object> addQueue = new ConcurrentLinkedQueue<>();
+        double addRate = run(numThreads, totalOperations, operations -> {
+          for (int operation = 0; operation < operations; operation++) {
+            addQueue.add(item);
+          }
+        });
+
+        System.out.printf("  %7d  %20.0f  %21.0f  %13.0f  %25.0f%n",
+            numThreads, arrayQueueRate, linkedQueueRate, bagRate, addRate);
+      }
+    }
+  }
+
+  /**
+   * Run the work on the specified number of threads, dividing the operations between them, and
+   * return the operations per millisecond from the start of the first to the end of the last.
+   */
+  private static double run(int numThreads, int totalOperations, Work work)
+      throws InterruptedException {
+    CountDownLatch start = new CountDownLatch(1);
+    Thread[] threads = new Thread[numThreads];
+    for (int thread = 0; thread < numThreads; thread++) {
+      threads[thread] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        work.run(totalOperations / numThreads);
+      });
+      threads[thread].start();
+    }
+
+    long startTime = System.nanoTime();
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    return totalOperations / ((System.nanoTime() - startTime) / 1e6);
+  }
+}
@@ -1,7 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.ArrayStack;
 
 public class AcyclicLongestPath {
 
@@ -24,6 +24,39 @@ public class AcyclicLongestPath {
     }
   }
 
+  /**
+   * Compute the longest paths tree from the {@code sourceVertex} of the specified compact, acyclic
+   * {@code graph}. Edges are relaxed by index, reading primitive arrays only; {@code
+   * DirectedEdge} objects are created once, for the edges of the final longest paths tree.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   */
+  public AcyclicLongestPath(CompactEdgeWeightedDigraph graph, int sourceVertex) {
+    int[] edgeIndexTo = new int[graph.getNumVertices()];
+    edgeTo = new DirectedEdge[graph.getNumVertices()];
+    distanceTo = new double[graph.getNumVertices()];
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      distanceTo[vertex] = Double.NEGATIVE_INFINITY;
+      edgeIndexTo[vertex] = -1;
+    }
+    distanceTo[sourceVertex] = 0.0;
+
+    // The unweighted view shares the graph's arrays, so sorting it copies nothing.
+    TopologicalSort topologicalSort = new TopologicalSort(graph.toDigraph());
+
+    for (int vertex : topologicalSort.getTopologicalOrder()) {
+      relax(graph, vertex, edgeIndexTo);
+    }
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      if (edgeIndexTo[vertex] != -1) {
+        edgeTo[vertex] = graph.getEdge(edgeIndexTo[vertex]);
+      }
+    }
+  }
+
   /**
    * Relaxes the edges of the specified {@code vertex} in the {@code graph}.
    *
@@ -42,6 +75,24 @@ public class AcyclicLongestPath {
     }
   }
 
+  /**
+   * Relaxes the edges of the specified {@code vertex} in the compact {@code graph}, recording the
+   * index of the last edge on each improved path in {@code edgeIndexTo}.
+   *
+   * @param graph the graph
+   * @param vertex the vertex
+   * @param edgeIndexTo vertex-indexed array of the index of the last edge on the longest path
+   */
+  private void relax(CompactEdgeWeightedDigraph graph, int vertex, int[] edgeIndexTo) {
+    for (int edge = graph.getEdgeOffset(vertex); edge < graph.getEdgeOffset(vertex + 1); edge++) {
+      int v = graph.to(edge);
+      if (distanceTo[v] < distanceTo[vertex] + graph.getWeight(edge)) {
+        distanceTo[v] = distanceTo[vertex] + graph.getWeight(edge);
+        edgeIndexTo[v] = edge;
+      }
+    }
+  }
+
   /**
    * Get the distance from the source vertex to the specified {@code vertex}.
    *
@@ -66,7 +117,7 @@ public class AcyclicLongestPath {
       return Optional.empty();
     }
 
-    Stack<DirectedEdge> path = new Stack<>();
+    ArrayStack<DirectedEdge> path = new ArrayStack<>();
     for (DirectedEdge edge = edgeTo[vertex]; edge != null; edge = edgeTo[edge.from()]) {
       path.push(edge);
     }
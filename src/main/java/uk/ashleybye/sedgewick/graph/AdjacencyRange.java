@@ -0,0 +1,83 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@code Iterable} view of the adjacent vertices stored in {@code targets[low...high - 1]} of a
+ * compressed sparse row adjacency array. Nothing is copied; the view reads the backing array
+ * directly.
+ */
+class AdjacencyRange implements Iterable<Integer> {
+
+  /**
+   * The backing array of adjacent vertices.
+   */
+  private final int[] targets;
+
+  /**
+   * The first index of the range (inclusive).
+   */
+  private final int low;
+
+  /**
+   * The last index of the range (exclusive).
+   */
+  private final int high;
+
+  /**
+   * Construct a view over {@code targets[low...high - 1]}.
+   *
+   * @param targets the backing array
+   * @param low the first index (inclusive)
+   * @param high the last index (exclusive)
+   */
+  AdjacencyRange(int[] targets, int low, int high) {
+    this.targets = targets;
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Get the adjacent vertex at the specified position of {@code targets[low...high - 1]}, without
+   * creating a view.
+   *
+   * @param targets the backing array
+   * @param low the first index (inclusive)
+   * @param high the last index (exclusive)
+   * @param index the position, between 0 and {@code high - low - 1}
+   *
+   * @return the adjacent vertex
+   *
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  static int get(int[] targets, int low, int high, int index) {
+    if (index < 0 || index >= high - low) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", degree: " + (high - low));
+    }
+    return targets[low + index];
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return new RangeIterator();
+  }
+
+  private class RangeIterator implements Iterator<Integer> {
+
+    private int current = low;
+
+    @Override
+    public boolean hasNext() {
+      return current < high;
+    }
+
+    @Override
+    public Integer next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return targets[current++];
+    }
+  }
+}
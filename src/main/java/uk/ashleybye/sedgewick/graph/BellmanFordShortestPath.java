@@ -3,7 +3,8 @@ package uk.ashleybye.sedgewick.graph;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.ArrayStack;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
 
 /**
  * Implementation of the Bellman-Ford algorithm for determining shortest paths. Uses the presence of
@@ -11,6 +12,11 @@ import uk.ashleybye.sedgewick.collections.Stack;
  */
 public class BellmanFordShortestPath {
 
+  /**
+   * Cursor over the edges adjacent to the vertex being relaxed, reused for every vertex.
+   */
+  private final ChunkedBag.Cursor<DirectedEdge> cursor = new ChunkedBag.Cursor<>();
+
   /**
    * Vertex-indexed array containing length of path from source to vertex at index.
    */
@@ -73,6 +79,45 @@ public class BellmanFordShortestPath {
     }
   }
 
+  /**
+   * Constructs a new instance of {@code BellmanFordShortestPath} for the specified compact {@code
+   * graph} and {@code sourceVertex}. Proceeds exactly as for an {@code EdgeWeightedDigraph}, but
+   * relaxes edges by index, reading primitive arrays only; {@code DirectedEdge} objects are created
+   * only when checking for negative cycles, and once for the edges of the final shortest paths
+   * tree.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   */
+  public BellmanFordShortestPath(CompactEdgeWeightedDigraph graph, int sourceVertex) {
+    int[] edgeIndexTo = new int[graph.getNumVertices()];
+    distanceTo = new double[graph.getNumVertices()];
+    edgeTo = new DirectedEdge[graph.getNumVertices()];
+    onQueue = new boolean[graph.getNumVertices()];
+    queue = new ArrayDeque<>();
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      distanceTo[vertex] = Double.POSITIVE_INFINITY;
+      edgeIndexTo[vertex] = -1;
+    }
+
+    distanceTo[sourceVertex] = 0.0;
+    queue.offer(sourceVertex);
+    onQueue[sourceVertex] = true;
+
+    while (!queue.isEmpty() && !this.hasNegativeCycle()) {
+      int vertex = queue.remove();
+      onQueue[vertex] = false;
+      relax(graph, vertex, edgeIndexTo);
+    }
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      if (edgeIndexTo[vertex] != -1) {
+        edgeTo[vertex] = graph.getEdge(edgeIndexTo[vertex]);
+      }
+    }
+  }
+
   /**
    * Relaxes the specified {@code vertx} for the given {@code graph}. If the distance from the
    * source of any vertices adjacent to the {@code vertx} is greater than the distance to the {@code
@@ -94,7 +139,9 @@ public class BellmanFordShortestPath {
    * @param vertex the vertex
    */
   private void relax(EdgeWeightedDigraph graph, int vertex) {
-    for (DirectedEdge edge : graph.adjacentTo(vertex)) {
+    graph.adjacentTo(vertex, cursor);
+    while (cursor.hasNext()) {
+      DirectedEdge edge = cursor.next();
       int adjacentVertex = edge.to();
       if (distanceTo[adjacentVertex] > distanceTo[vertex] + edge.getWeight()) {
         distanceTo[adjacentVertex] = distanceTo[vertex] + edge.getWeight();
@@ -112,6 +159,34 @@ public class BellmanFordShortestPath {
     }
   }
 
+  /**
+   * Relaxes the specified {@code vertex} for the given compact {@code graph}, as for {@code
+   * relax(EdgeWeightedDigraph, int)}, recording the index of the last edge on each improved path in
+   * {@code edgeIndexTo}.
+   *
+   * @param graph the graph
+   * @param vertex the vertex
+   * @param edgeIndexTo vertex-indexed array of the index of the last edge on the shortest path
+   */
+  private void relax(CompactEdgeWeightedDigraph graph, int vertex, int[] edgeIndexTo) {
+    for (int edge = graph.getEdgeOffset(vertex); edge < graph.getEdgeOffset(vertex + 1); edge++) {
+      int adjacentVertex = graph.to(edge);
+      if (distanceTo[adjacentVertex] > distanceTo[vertex] + graph.getWeight(edge)) {
+        distanceTo[adjacentVertex] = distanceTo[vertex] + graph.getWeight(edge);
+        edgeIndexTo[adjacentVertex] = edge;
+
+        if (!onQueue[adjacentVertex]) {
+          queue.offer(adjacentVertex);
+          onQueue[adjacentVertex] = true;
+        }
+      }
+
+      if (cost++ % graph.getNumVertices() == 0) {
+        findNegativeCycle(graph, edgeIndexTo);
+      }
+    }
+  }
+
   /**
    * Creates a shortest path tree and checks to see whether a negative cycle that is reachable from
    * the source vertex has formed. This negative cycle must, as per p677, exist in the sub-graph
@@ -131,6 +206,27 @@ public class BellmanFordShortestPath {
     negativeCycle = cycleFinder.getCycle().orElse(null);
   }
 
+  /**
+   * Checks for a negative cycle, as for {@code findNegativeCycle()}, in the shortest path tree
+   * recorded by edge index in {@code edgeIndexTo}.
+   *
+   * @param graph the graph
+   * @param edgeIndexTo vertex-indexed array of the index of the last edge on the shortest path
+   */
+  private void findNegativeCycle(CompactEdgeWeightedDigraph graph, int[] edgeIndexTo) {
+    int numVertices = edgeIndexTo.length;
+    EdgeWeightedDigraph shortestPathTree = new EdgeWeightedDigraph(numVertices);
+
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      if (edgeIndexTo[vertex] != -1) {
+        shortestPathTree.addEdge(graph.getEdge(edgeIndexTo[vertex]));
+      }
+    }
+
+    EdgeWeightedDirectedCycle cycleFinder = new EdgeWeightedDirectedCycle(shortestPathTree);
+    negativeCycle = cycleFinder.getCycle().orElse(null);
+  }
+
   /**
    * Returns true if the graph has a negative cycle; false, otherwise.
    *
@@ -169,7 +265,7 @@ public class BellmanFordShortestPath {
    * @return the optional shortest path
    */
   public Optional<Iterable<DirectedEdge>> shortestPathTo(int vertex) {
-    Stack<DirectedEdge> path = new Stack<>();
+    ArrayStack<DirectedEdge> path = new ArrayStack<>();
     for (DirectedEdge edge = edgeTo[vertex]; edge != null; edge = edgeTo[edge.from()]) {
       path.push(edge);
     }
@@ -38,7 +38,9 @@ public class Bipartite {
    */
   private void depthFirstSearch(Graph graph, int vertex) {
     markedVertices[vertex] = true;
-    for (int adjacentVertex : graph.adjacentTo(vertex)) {
+    int degree = graph.getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int adjacentVertex = graph.adjacentTo(vertex, i);
       if (!markedVertices[adjacentVertex]) {
         vertexColour[adjacentVertex] = !vertexColour[vertex];
         depthFirstSearch(graph, adjacentVertex);
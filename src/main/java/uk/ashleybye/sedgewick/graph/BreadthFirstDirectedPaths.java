@@ -1,8 +1,8 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Queue;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.IntQueue;
+import uk.ashleybye.sedgewick.collections.IntStack;
 
 /**
  * Uses a breadth first search to find the shortest path to all vertices from a given source vertex.
@@ -40,13 +40,15 @@ public class BreadthFirstDirectedPaths {
      * marked as visited the first time it is encountered, and an edge to the previous vertex
      * recorded.
      */
-    Queue<Integer> queue = new Queue<>();
+    IntQueue queue = new IntQueue();
     markedVertices[sourceVertex] = true;
     queue.enqueue(sourceVertex);
 
     while (!queue.isEmpty()) {
       int head = queue.dequeue();
-      for (int tail : digraph.adjacentTo(head)) {
+      int degree = digraph.getOutDegree(head);
+      for (int i = 0; i < degree; i++) {
+        int tail = digraph.adjacentTo(head, i);
         if (!markedVertices[tail]) {
           edgeTo[tail] = head;
           markedVertices[tail] = true;
@@ -81,7 +83,7 @@ public class BreadthFirstDirectedPaths {
       return Optional.empty();
     }
 
-    Stack<Integer> path = new Stack<>();
+    IntStack path = new IntStack();
     for (int v = vertex; v != sourceVertex; v = edgeTo[v]) {
       path.push(v);
     }
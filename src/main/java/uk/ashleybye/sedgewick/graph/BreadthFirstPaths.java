@@ -1,8 +1,8 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Queue;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.IntQueue;
+import uk.ashleybye.sedgewick.collections.IntStack;
 
 /**
  * Uses a breadth first search to find the shortest path to all vertices from a given source vertex.
@@ -40,13 +40,15 @@ public class BreadthFirstPaths {
      * marked as visited the first time it is encountered, and an edge to the previous vertex
      * recorded.
      */
-    Queue<Integer> queue = new Queue<>();
+    IntQueue queue = new IntQueue();
     markedVertices[sourceVertex] = true;
     queue.enqueue(sourceVertex);
 
     while (!queue.isEmpty()) {
       int nextVertex = queue.dequeue();
-      for (int adjacentVertex : graph.adjacentTo(nextVertex)) {
+      int degree = graph.getDegree(nextVertex);
+      for (int i = 0; i < degree; i++) {
+        int adjacentVertex = graph.adjacentTo(nextVertex, i);
         if (!markedVertices[adjacentVertex]) {
           edgeTo[adjacentVertex] = nextVertex;
           markedVertices[adjacentVertex] = true;
@@ -81,7 +83,7 @@ public class BreadthFirstPaths {
       return Optional.empty();
     }
 
-    Stack<Integer> path = new Stack<>();
+    IntStack path = new IntStack();
     for (int v = vertex; v != sourceVertex; v = edgeTo[v]) {
       path.push(v);
     }
@@ -0,0 +1,198 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+
+/**
+ * An immutable directed graph stored in compressed sparse row (CSR) form. The tail vertices of the
+ * edges leaving every head vertex are packed end to end into a single {@code int[]} of length E,
+ * with a second {@code int[]} of length V + 1 recording the offset at which each head vertex's
+ * tail vertices begin. The vertices adjacent to v are therefore {@code
+ * targets[offsets[v]...offsets[v + 1] - 1]}.
+ *
+ * This provides: space usage of exactly V + 1 + E integers, with no per-edge objects; constant
+ * time to find the out-degree of a vertex; and, time proportional to the out-degree of a vertex to
+ * iterate through all vertices adjacent to it, reading contiguous memory rather than chasing
+ * pointers. Edges cannot be added once the digraph is built.
+ *
+ * Adjacent vertices are stored in the same order in which {@link Digraph} would return them, so any
+ * algorithm that accepts a {@code Digraph} produces identical results when given a {@code
+ * CompactDigraph} built from the same source.
+ */
+public class CompactDigraph extends Digraph {
+
+  /**
+   * Vertex-indexed offsets into {@code targets}, such that the vertices adjacent to v are stored in
+   * {@code targets[offsets[v]...offsets[v + 1] - 1]}.
+   */
+  private final int[] offsets;
+
+  /**
+   * The adjacent vertices of every vertex, packed end to end.
+   */
+  private final int[] targets;
+
+  /**
+   * Create a compact copy of the specified digraph.
+   *
+   * @param digraph The digraph to copy.
+   */
+  public CompactDigraph(Digraph digraph) {
+    super(digraph.getNumVertices(), digraph.getNumEdges());
+    offsets = new int[digraph.getNumVertices() + 1];
+
+    for (int head = 0; head < digraph.getNumVertices(); head++) {
+      int degree = 0;
+      for (int ignored : digraph.adjacentTo(head)) {
+        degree++;
+      }
+      offsets[head + 1] = offsets[head] + degree;
+    }
+
+    targets = new int[offsets[digraph.getNumVertices()]];
+    for (int head = 0, position = 0; head < digraph.getNumVertices(); head++) {
+      for (int tail : digraph.adjacentTo(head)) {
+        targets[position++] = tail;
+      }
+    }
+  }
+
+  /**
+   * Create a compact directed graph by reading input from a file, in the same format as that
+   * accepted by {@link Digraph#Digraph(String)}. The edges are read once into a pair of primitive
+   * arrays and then scattered into place, so no intermediate adjacency-lists are built.
+   *
+   * @param fileName The path to the file containing the source data.
+   *
+   * @throws IOException If the specified file cannot be loaded.
+   */
+  public CompactDigraph(String fileName) throws IOException {
+    this(EdgeList.read(fileName));
+  }
+
+  /**
+   * Create a compact directed graph from the specified list of edges, each directed from {@code
+   * us[e]} to {@code vs[e]}.
+   *
+   * @param edges The edges.
+   */
+  CompactDigraph(EdgeList edges) {
+    super(edges.numVertices, edges.getNumEdges());
+    offsets = new int[getNumVertices() + 1];
+    targets = new int[getNumEdges()];
+
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      offsets[edges.us[e] + 1]++;
+    }
+    for (int head = 0; head < getNumVertices(); head++) {
+      offsets[head + 1] += offsets[head];
+    }
+
+    // Fill each vertex's range from the back, so that the most recently read edge comes first, as
+    // it would in the Bag used by Digraph.
+    int[] next = new int[getNumVertices()];
+    for (int head = 0; head < getNumVertices(); head++) {
+      next[head] = offsets[head + 1];
+    }
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      targets[--next[edges.us[e]]] = edges.vs[e];
+    }
+  }
+
+  /**
+   * Create a compact directed graph directly from its offsets and targets arrays, which are used
+   * as is rather than copied.
+   *
+   * @param offsets Vertex-indexed offsets into {@code targets}, of length V + 1.
+   * @param targets The adjacent vertices of every vertex, packed end to end.
+   */
+  CompactDigraph(int[] offsets, int[] targets) {
+    super(offsets.length - 1, targets.length);
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  /**
+   * Unsupported: a compact digraph is immutable.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    throw new UnsupportedOperationException("CompactDigraph is immutable");
+  }
+
+  /**
+   * Creates a compact digraph that is the reverse of this digraph, in time proportional to V + E
+   * and without building any intermediate adjacency-lists.
+   *
+   * @return The reverse of this digraph.
+   */
+  @Override
+  public CompactDigraph reverse() {
+    int[] reversedOffsets = new int[getNumVertices() + 1];
+    int[] reversedTargets = new int[getNumEdges()];
+
+    for (int e = 0; e < targets.length; e++) {
+      reversedOffsets[targets[e] + 1]++;
+    }
+    for (int tail = 0; tail < getNumVertices(); tail++) {
+      reversedOffsets[tail + 1] += reversedOffsets[tail];
+    }
+
+    // Fill from the back to match the order produced by Digraph.reverse().
+    int[] next = new int[getNumVertices()];
+    for (int tail = 0; tail < getNumVertices(); tail++) {
+      next[tail] = reversedOffsets[tail + 1];
+    }
+    for (int head = 0; head < getNumVertices(); head++) {
+      for (int e = offsets[head]; e < offsets[head + 1]; e++) {
+        reversedTargets[--next[targets[e]]] = head;
+      }
+    }
+
+    return new CompactDigraph(reversedOffsets, reversedTargets);
+  }
+
+  /**
+   * Gets the out-degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges leaving the specified vertex.
+   */
+  @Override
+  public int getOutDegree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return new AdjacencyRange(targets, offsets[vertex], offsets[vertex + 1]);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getOutDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return AdjacencyRange.get(targets, offsets[vertex], offsets[vertex + 1], index);
+  }
+}
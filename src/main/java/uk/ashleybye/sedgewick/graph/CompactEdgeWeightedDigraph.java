@@ -0,0 +1,254 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable directed graph with weighted edges, stored as a struct of arrays. Rather than a
+ * {@code DirectedEdge} object per edge held in a vertex-indexed array of adjacency-lists, the head,
+ * tail and weight of every edge are held in three parallel primitive arrays, sorted by head vertex.
+ * A fourth, vertex-indexed, array records the index of the first edge leaving each vertex, so the
+ * edges leaving v are those with indices {@code getEdgeOffset(v)...getEdgeOffset(v + 1) - 1}.
+ *
+ * Edge relaxation therefore reads {@code to(e)} and {@code getWeight(e)} from contiguous memory
+ * without dereferencing any objects, and the graph occupies 4(V + 1) + 16E bytes with no per-edge
+ * headers. Edges leaving each vertex are stored in the same order in which {@link
+ * EdgeWeightedDigraph} would return them, so algorithms produce identical results on either form.
+ * {@code DirectedEdge} objects are only created when explicitly requested, via {@code getEdge()}
+ * or {@code adjacentTo()}.
+ */
+public class CompactEdgeWeightedDigraph {
+
+  /**
+   * The number of vertices in the graph.
+   */
+  private final int numVertices;
+
+  /**
+   * Vertex-indexed array of the index of the first edge leaving each vertex, of length V + 1.
+   */
+  private final int[] offsets;
+
+  /**
+   * Edge-indexed array of the vertex at the head of each edge.
+   */
+  private final int[] from;
+
+  /**
+   * Edge-indexed array of the vertex at the tail of each edge.
+   */
+  private final int[] to;
+
+  /**
+   * Edge-indexed array of the weight of each edge.
+   */
+  private final double[] weights;
+
+  /**
+   * Construct a compact copy of the specified edge-weighted digraph.
+   *
+   * @param graph The graph to copy.
+   */
+  public CompactEdgeWeightedDigraph(EdgeWeightedDigraph graph) {
+    numVertices = graph.getNumVertices();
+    offsets = new int[numVertices + 1];
+    from = new int[graph.getNumEdges()];
+    to = new int[graph.getNumEdges()];
+    weights = new double[graph.getNumEdges()];
+
+    int position = 0;
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex] = position;
+      for (DirectedEdge edge : graph.adjacentTo(vertex)) {
+        from[position] = edge.from();
+        to[position] = edge.to();
+        weights[position] = edge.getWeight();
+        position++;
+      }
+    }
+    offsets[numVertices] = position;
+  }
+
+  /**
+   * Construct a compact edge-weighted digraph from the specified source file, in the same format as
+   * that accepted by {@link EdgeWeightedDigraph#EdgeWeightedDigraph(String)}.
+   *
+   * @param fileName The source file.
+   *
+   * @throws IOException If the source file cannot be read.
+   */
+  public CompactEdgeWeightedDigraph(String fileName) throws IOException {
+    this(EdgeList.readWeighted(fileName));
+  }
+
+  /**
+   * Construct a compact edge-weighted digraph from the specified weighted list of edges, each
+   * directed from {@code us[e]} to {@code vs[e]}.
+   *
+   * @param edges The edges.
+   */
+  CompactEdgeWeightedDigraph(EdgeList edges) {
+    numVertices = edges.numVertices;
+    offsets = new int[numVertices + 1];
+    from = new int[edges.getNumEdges()];
+    to = new int[edges.getNumEdges()];
+    weights = new double[edges.getNumEdges()];
+
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      offsets[edges.us[e] + 1]++;
+    }
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    // Fill each vertex's range from the back, so that the most recently read edge comes first, as
+    // it would in the Bag used by EdgeWeightedDigraph.
+    int[] next = new int[numVertices];
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      next[vertex] = offsets[vertex + 1];
+    }
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      int position = --next[edges.us[e]];
+      from[position] = edges.us[e];
+      to[position] = edges.vs[e];
+      weights[position] = edges.weights[e];
+    }
+  }
+
+  /**
+   * Construct a compact edge-weighted digraph directly from its offsets, tail vertex and weight
+   * arrays, which are used as is rather than copied. The head vertex array is derived from the
+   * offsets.
+   *
+   * @param offsets Vertex-indexed array of the index of the first edge leaving each vertex.
+   * @param to Edge-indexed array of the vertex at the tail of each edge.
+   * @param weights Edge-indexed array of the weight of each edge.
+   */
+  CompactEdgeWeightedDigraph(int[] offsets, int[] to, double[] weights) {
+    this.numVertices = offsets.length - 1;
+    this.offsets = offsets;
+    this.from = new int[to.length];
+    this.to = to;
+    this.weights = weights;
+
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+        from[edge] = vertex;
+      }
+    }
+  }
+
+  /**
+   * Get the number of vertices in the graph.
+   *
+   * @return The number of vertices.
+   */
+  public int getNumVertices() {
+    return numVertices;
+  }
+
+  /**
+   * Get the number of edges in the graph.
+   *
+   * @return The number of edges.
+   */
+  public int getNumEdges() {
+    return to.length;
+  }
+
+  /**
+   * Get the index of the first edge leaving the specified vertex. The edges leaving {@code vertex}
+   * are those with indices {@code getEdgeOffset(vertex)...getEdgeOffset(vertex + 1) - 1}, and
+   * {@code getEdgeOffset(getNumVertices())} is the number of edges.
+   *
+   * @param vertex The vertex, between 0 and V inclusive.
+   *
+   * @return The index of the first edge leaving the vertex.
+   */
+  public int getEdgeOffset(int vertex) {
+    return offsets[vertex];
+  }
+
+  /**
+   * Get the number of edges leaving the specified vertex.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The out-degree of the vertex.
+   */
+  public int getOutDegree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * Get the vertex at the head of the specified edge.
+   *
+   * @param edge The edge index.
+   *
+   * @return The vertex the edge points from.
+   */
+  public int from(int edge) {
+    return from[edge];
+  }
+
+  /**
+   * Get the vertex at the tail of the specified edge.
+   *
+   * @param edge The edge index.
+   *
+   * @return The vertex the edge points to.
+   */
+  public int to(int edge) {
+    return to[edge];
+  }
+
+  /**
+   * Get the weight of the specified edge.
+   *
+   * @param edge The edge index.
+   *
+   * @return The weight of the edge.
+   */
+  public double getWeight(int edge) {
+    return weights[edge];
+  }
+
+  /**
+   * Create a {@code DirectedEdge} representing the specified edge.
+   *
+   * @param edge The edge index.
+   *
+   * @return A new directed edge with the same head, tail and weight.
+   */
+  public DirectedEdge getEdge(int edge) {
+    return new DirectedEdge(from[edge], to[edge], weights[edge]);
+  }
+
+  /**
+   * Get the edges leaving the specified vertex. A new {@code DirectedEdge} is created for each edge,
+   * so this is intended for convenience rather than for use on hot paths.
+   *
+   * @param vertex The vertex.
+   *
+   * @return Edges leaving the vertex.
+   */
+  public Iterable<DirectedEdge> adjacentTo(int vertex) {
+    List<DirectedEdge> edges = new ArrayList<>(getOutDegree(vertex));
+    for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+      edges.add(getEdge(edge));
+    }
+
+    return edges;
+  }
+
+  /**
+   * Get an unweighted view of this graph, sharing its offsets and tail vertex arrays rather than
+   * copying them. Adjacent vertices are returned in the same order as the edges of this graph.
+   *
+   * @return The unweighted digraph.
+   */
+  public CompactDigraph toDigraph() {
+    return new CompactDigraph(offsets, to);
+  }
+}
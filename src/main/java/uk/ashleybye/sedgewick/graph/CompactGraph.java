@@ -0,0 +1,168 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+
+/**
+ * An immutable undirected graph stored in compressed sparse row (CSR) form. Rather than a
+ * vertex-indexed array of linked adjacency-lists of boxed integers, the adjacent vertices of every
+ * vertex are packed end to end into a single {@code int[]} of length 2E, with a second {@code
+ * int[]} of length V + 1 recording the offset at which each vertex's adjacent vertices begin. The
+ * vertices adjacent to v are therefore {@code targets[offsets[v]...offsets[v + 1] - 1]}.
+ *
+ * This provides: space usage of exactly V + 1 + 2E integers, with no per-edge objects; constant
+ * time to find the degree of a vertex; and, time proportional to the degree of a vertex to iterate
+ * through all vertices adjacent to it, reading contiguous memory rather than chasing pointers.
+ * Edges cannot be added once the graph is built.
+ *
+ * Adjacent vertices are stored in the same order in which {@link Graph} would return them, so any
+ * algorithm that accepts a {@code Graph} produces identical results when given a {@code
+ * CompactGraph} built from the same source.
+ */
+public class CompactGraph extends Graph {
+
+  /**
+   * Vertex-indexed offsets into {@code targets}, such that the vertices adjacent to v are stored in
+   * {@code targets[offsets[v]...offsets[v + 1] - 1]}.
+   */
+  private final int[] offsets;
+
+  /**
+   * The adjacent vertices of every vertex, packed end to end.
+   */
+  private final int[] targets;
+
+  /**
+   * Create a compact copy of the specified graph.
+   *
+   * @param graph The graph to copy.
+   */
+  public CompactGraph(Graph graph) {
+    super(graph.getNumVertices(), graph.getNumEdges());
+    offsets = new int[graph.getNumVertices() + 1];
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      int degree = 0;
+      for (int ignored : graph.adjacentTo(vertex)) {
+        degree++;
+      }
+      offsets[vertex + 1] = offsets[vertex] + degree;
+    }
+
+    targets = new int[offsets[graph.getNumVertices()]];
+    for (int vertex = 0, position = 0; vertex < graph.getNumVertices(); vertex++) {
+      for (int adjacentVertex : graph.adjacentTo(vertex)) {
+        targets[position++] = adjacentVertex;
+      }
+    }
+  }
+
+  /**
+   * Create a compact undirected graph by reading input from a file, in the same format as that
+   * accepted by {@link Graph#Graph(String)}. The edges are read once into a pair of primitive arrays
+   * and then scattered into place, so no intermediate adjacency-lists are built.
+   *
+   * @param fileName The path to the file containing the source data.
+   *
+   * @throws IOException If the specified file cannot be loaded.
+   */
+  public CompactGraph(String fileName) throws IOException {
+    this(EdgeList.read(fileName));
+  }
+
+  /**
+   * Create a compact undirected graph from the specified list of edges.
+   *
+   * @param edges The edges.
+   */
+  CompactGraph(EdgeList edges) {
+    super(edges.numVertices, edges.getNumEdges());
+    offsets = new int[getNumVertices() + 1];
+    targets = new int[2 * getNumEdges()];
+
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      offsets[edges.us[e] + 1]++;
+      offsets[edges.vs[e] + 1]++;
+    }
+    for (int vertex = 0; vertex < getNumVertices(); vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    // Fill each vertex's range from the back, so that the most recently read edge comes first, as
+    // it would in the Bag used by Graph.
+    int[] next = new int[getNumVertices()];
+    for (int vertex = 0; vertex < getNumVertices(); vertex++) {
+      next[vertex] = offsets[vertex + 1];
+    }
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      targets[--next[edges.us[e]]] = edges.vs[e];
+      targets[--next[edges.vs[e]]] = edges.us[e];
+    }
+  }
+
+  /**
+   * Create a compact undirected graph directly from its offsets and targets arrays, which are used
+   * as is rather than copied.
+   *
+   * @param numEdges The number of edges, half the length of {@code targets}.
+   * @param offsets Vertex-indexed offsets into {@code targets}, of length V + 1.
+   * @param targets The adjacent vertices of every vertex, packed end to end.
+   */
+  CompactGraph(int numEdges, int[] offsets, int[] targets) {
+    super(offsets.length - 1, numEdges);
+    this.offsets = offsets;
+    this.targets = targets;
+  }
+
+  /**
+   * Unsupported: a compact graph is immutable.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    throw new UnsupportedOperationException("CompactGraph is immutable");
+  }
+
+  /**
+   * Gets the degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of vertices adjacent to the specified vertex.
+   */
+  @Override
+  public int getDegree(int vertex) {
+    return offsets[vertex + 1] - offsets[vertex];
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return new AdjacencyRange(targets, offsets[vertex], offsets[vertex + 1]);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return AdjacencyRange.get(targets, offsets[vertex], offsets[vertex + 1], index);
+  }
+}
@@ -0,0 +1,162 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+
+/**
+ * An immutable directed graph whose adjacency-lists are sorted, gap-encoded and stored as
+ * variable-length integers in a single {@code byte[]}, for graphs too large to hold even as a
+ * {@link CompactDigraph}. A vertex-indexed array of byte offsets gives random access to each list,
+ * and {@code adjacentTo()} decodes the list as it is iterated, so any algorithm that accepts a
+ * {@code Digraph}, such as {@link BreadthFirstDirectedPaths}, {@link DirectedDepthFirstSearch} or
+ * {@link TransitiveClosure}, runs on it directly.
+ *
+ * Where adjacent vertices are numbered close to one another, as they tend to be in web and social
+ * graphs (and can be made to be by renumbering the vertices), each edge occupies one or two bytes
+ * rather than the four of a {@code CompactDigraph}, at the cost of a few shifts per adjacent
+ * vertex to decode it. Lists longer than 32 vertices also carry a skip table of up to a quarter
+ * of a byte per edge, so that {@code adjacentTo(vertex, index)} takes constant time. The encoded
+ * size is given by {@code getEncodedBytes()}. The encoded lists must total less than 2GB.
+ *
+ * Adjacent vertices are returned in ascending order, rather than in the order in which the edges
+ * were added, so algorithms may return different (but equally valid) paths and orders than they do
+ * for a {@code Digraph} built from the same source.
+ */
+public class CompressedDigraph extends Digraph {
+
+  /**
+   * The compressed adjacency-lists.
+   */
+  private final VarintAdjacency adjacency;
+
+  /**
+   * Create a compressed copy of the specified digraph. To compress a digraph too large to load as
+   * a {@code Digraph}, write it once with {@link GraphFile} and compress the {@link MappedDigraph},
+   * which keeps the uncompressed adjacency-lists off the heap.
+   *
+   * @param digraph The digraph to copy.
+   *
+   * @throws IllegalArgumentException If the compressed adjacency-lists would exceed 2GB.
+   */
+  public CompressedDigraph(Digraph digraph) {
+    this(digraph.getNumEdges(),
+        VarintAdjacency.of(digraph.getNumVertices(), digraph.getNumEdges(), digraph::adjacentTo));
+  }
+
+  /**
+   * Create a compressed directed graph by reading input from a file, in the same format as that
+   * accepted by {@link Digraph#Digraph(String)}.
+   *
+   * @param fileName The path to the file containing the source data.
+   *
+   * @throws IOException If the specified file cannot be loaded.
+   */
+  public CompressedDigraph(String fileName) throws IOException {
+    this(new CompactDigraph(fileName));
+  }
+
+  /**
+   * Create a compressed directed graph from its already compressed adjacency-lists.
+   *
+   * @param numEdges The number of edges.
+   * @param adjacency The compressed adjacency-lists.
+   */
+  private CompressedDigraph(int numEdges, VarintAdjacency adjacency) {
+    super(adjacency.getNumVertices(), numEdges);
+    this.adjacency = adjacency;
+  }
+
+  /**
+   * Unsupported: a compressed digraph is immutable.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    throw new UnsupportedOperationException("CompressedDigraph is immutable");
+  }
+
+  /**
+   * Creates a compressed digraph that is the reverse of this digraph, in time proportional to V + E
+   * and without building any intermediate adjacency-lists of boxed integers.
+   *
+   * @return The reverse of this digraph.
+   */
+  @Override
+  public CompressedDigraph reverse() {
+    int[] offsets = new int[getNumVertices() + 1];
+    for (int head = 0; head < getNumVertices(); head++) {
+      for (int tail : adjacentTo(head)) {
+        offsets[tail + 1]++;
+      }
+    }
+    for (int tail = 0; tail < getNumVertices(); tail++) {
+      offsets[tail + 1] += offsets[tail];
+    }
+
+    int[] targets = new int[getNumEdges()];
+    int[] next = new int[getNumVertices()];
+    System.arraycopy(offsets, 0, next, 0, getNumVertices());
+    for (int head = 0; head < getNumVertices(); head++) {
+      for (int tail : adjacentTo(head)) {
+        targets[next[tail]++] = head;
+      }
+    }
+
+    return new CompressedDigraph(getNumEdges(), VarintAdjacency.of(getNumVertices(),
+        getNumEdges(), tail -> new AdjacencyRange(targets, offsets[tail], offsets[tail + 1])));
+  }
+
+  /**
+   * Gets the out-degree of the specified vertex, decoding only the length of its adjacency-list.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges leaving the specified vertex.
+   */
+  @Override
+  public int getOutDegree(int vertex) {
+    return adjacency.degree(vertex);
+  }
+
+  /**
+   * Gets the number of bytes occupied by the compressed adjacency-lists and their index.
+   *
+   * @return The number of bytes.
+   */
+  public long getEncodedBytes() {
+    return adjacency.getEncodedBytes();
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex, in ascending order.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return adjacency.adjacentTo(vertex);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * ascending order in which {@code adjacentTo(vertex)} returns them. The list is decoded from the
+   * nearest entry of its skip table, so this takes constant time, and visiting every adjacent
+   * vertex by position takes time proportional to the degree, as iterating them does.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getOutDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return adjacency.adjacentTo(vertex, index);
+  }
+}
@@ -0,0 +1,110 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+
+/**
+ * An immutable undirected graph whose adjacency-lists are sorted, gap-encoded and stored as
+ * variable-length integers in a single {@code byte[]}, for graphs too large to hold even as a
+ * {@link CompactGraph}. A vertex-indexed array of byte offsets gives random access to each list,
+ * and {@code adjacentTo()} decodes the list as it is iterated, so any algorithm that accepts a
+ * {@code Graph} runs on it directly.
+ *
+ * See {@link CompressedDigraph} for the space and time trade-off. As there, adjacent vertices are
+ * returned in ascending order rather than in the order in which the edges were added.
+ */
+public class CompressedGraph extends Graph {
+
+  /**
+   * The compressed adjacency-lists.
+   */
+  private final VarintAdjacency adjacency;
+
+  /**
+   * Create a compressed copy of the specified graph.
+   *
+   * @param graph The graph to copy.
+   *
+   * @throws IllegalArgumentException If the compressed adjacency-lists would exceed 2GB.
+   */
+  public CompressedGraph(Graph graph) {
+    super(graph.getNumVertices(), graph.getNumEdges());
+    adjacency = VarintAdjacency.of(graph.getNumVertices(), 2L * graph.getNumEdges(),
+        graph::adjacentTo);
+  }
+
+  /**
+   * Create a compressed undirected graph by reading input from a file, in the same format as that
+   * accepted by {@link Graph#Graph(String)}.
+   *
+   * @param fileName The path to the file containing the source data.
+   *
+   * @throws IOException If the specified file cannot be loaded.
+   */
+  public CompressedGraph(String fileName) throws IOException {
+    this(new CompactGraph(fileName));
+  }
+
+  /**
+   * Unsupported: a compressed graph is immutable.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    throw new UnsupportedOperationException("CompressedGraph is immutable");
+  }
+
+  /**
+   * Gets the degree of the specified vertex, decoding only the length of its adjacency-list.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of vertices adjacent to the specified vertex.
+   */
+  @Override
+  public int getDegree(int vertex) {
+    return adjacency.degree(vertex);
+  }
+
+  /**
+   * Gets the number of bytes occupied by the compressed adjacency-lists and their index.
+   *
+   * @return The number of bytes.
+   */
+  public long getEncodedBytes() {
+    return adjacency.getEncodedBytes();
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex, in ascending order.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return adjacency.adjacentTo(vertex);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * ascending order in which {@code adjacentTo(vertex)} returns them. The list is decoded from the
+   * nearest entry of its skip table, so this takes constant time, and visiting every adjacent
+   * vertex by position takes time proportional to the degree, as iterating them does.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return adjacency.adjacentTo(vertex, index);
+  }
+}
@@ -42,7 +42,9 @@ public class ConnectedComponents {
     markedVertices[vertex] = true;
     componentIdentifiers[vertex] = componentCount;
 
-    for (int adjacentVertex : graph.adjacentTo(vertex)) {
+    int degree = graph.getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int adjacentVertex = graph.adjacentTo(vertex, i);
       if (!markedVertices[adjacentVertex]) {
         depthFirstSearch(graph, adjacentVertex);
       }
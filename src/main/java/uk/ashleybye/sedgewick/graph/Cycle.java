@@ -37,7 +37,9 @@ public class Cycle {
    */
   private void depthFirstSearch(Graph graph, int u, int v) {
     markedVertices[u] = true;
-    for (int vertex : graph.adjacentTo(u)) {
+    int degree = graph.getDegree(u);
+    for (int i = 0; i < degree; i++) {
+      int vertex = graph.adjacentTo(u, i);
       if (!markedVertices[vertex]) {
         depthFirstSearch(graph, vertex, u);
       } else if (vertex != v) {
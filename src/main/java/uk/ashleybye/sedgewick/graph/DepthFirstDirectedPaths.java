@@ -1,7 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.IntStack;
 
 /**
  * Uses Depth First Search to visit all vertices connected to a given source vertex. The end vertex
@@ -37,7 +37,9 @@ public class DepthFirstDirectedPaths {
    */
   private void directedDepthFirstSearch(Digraph digraph, int vertex) {
     markedVertices[vertex] = true;
-    for (int adjacentVertex : digraph.adjacentTo(vertex)) {
+    int degree = digraph.getOutDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int adjacentVertex = digraph.adjacentTo(vertex, i);
       if (!markedVertices[adjacentVertex]) {
         edgeTo[adjacentVertex] = vertex;
         directedDepthFirstSearch(digraph, adjacentVertex);
@@ -68,7 +70,7 @@ public class DepthFirstDirectedPaths {
       return Optional.empty();
     }
 
-    Stack<Integer> path = new Stack<>();
+    IntStack path = new IntStack();
     for (int v = vertex; v != sourceVertex; v = edgeTo[v]) {
       path.push(v);
     }
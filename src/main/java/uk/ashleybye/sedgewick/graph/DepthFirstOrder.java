@@ -1,7 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
-import uk.ashleybye.sedgewick.collections.Queue;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.IntQueue;
+import uk.ashleybye.sedgewick.collections.IntStack;
 
 /**
  * The class conducts a depth first search ordering of vertices in a directed acyclic graph.
@@ -16,9 +16,9 @@ public class DepthFirstOrder {
 
   private boolean[] markedVertices;
 
-  private Queue<Integer> preOrder;
-  private Queue<Integer> postOrder;
-  private Stack<Integer> reversePostOrder;
+  private IntQueue preOrder;
+  private IntQueue postOrder;
+  private IntStack reversePostOrder;
 
   /**
    * Constructs an instance of DepthFirstOrder and computes the pre-, post- and reverse post-order
@@ -27,9 +27,9 @@ public class DepthFirstOrder {
    * @param graph The directed acyclic graph.
    */
   public DepthFirstOrder(Digraph graph) {
-    preOrder = new Queue<>();
-    postOrder = new Queue<>();
-    reversePostOrder = new Stack<>();
+    preOrder = new IntQueue(graph.getNumVertices());
+    postOrder = new IntQueue(graph.getNumVertices());
+    reversePostOrder = new IntStack(graph.getNumVertices());
 
     markedVertices = new boolean[graph.getNumVertices()];
 
@@ -47,9 +47,9 @@ public class DepthFirstOrder {
    * @param graph The edge-weighted directed graph.
    */
   public DepthFirstOrder(EdgeWeightedDigraph graph) {
-    preOrder = new Queue<>();
-    postOrder = new Queue<>();
-    reversePostOrder = new Stack<>();
+    preOrder = new IntQueue(graph.getNumVertices());
+    postOrder = new IntQueue(graph.getNumVertices());
+    reversePostOrder = new IntStack(graph.getNumVertices());
 
     markedVertices = new boolean[graph.getNumVertices()];
 
@@ -71,7 +71,9 @@ public class DepthFirstOrder {
     preOrder.enqueue(head);
 
     markedVertices[head] = true;
-    for (int tail : graph.adjacentTo(head)) {
+    int degree = graph.getOutDegree(head);
+    for (int i = 0; i < degree; i++) {
+      int tail = graph.adjacentTo(head, i);
       if (!markedVertices[tail]) {
         depthFirstSearch(graph, tail);
       }
@@ -92,7 +94,9 @@ public class DepthFirstOrder {
     preOrder.enqueue(head);
 
     markedVertices[head] = true;
-    for (DirectedEdge tail : graph.adjacentTo(head)) {
+    int degree = graph.getOutDegree(head);
+    for (int i = 0; i < degree; i++) {
+      DirectedEdge tail = graph.adjacentTo(head, i);
       if (!markedVertices[tail.to()]) {
         depthFirstSearch(graph, tail.to());
       }
@@ -1,7 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.IntStack;
 
 /**
  * Uses Depth First Search to visit all vertices connected to a given source vertex. The end vertex
@@ -37,7 +37,9 @@ public class DepthFirstPaths {
    */
   private void depthFirstSearch(Graph graph, int vertex) {
     markedVertices[vertex] = true;
-    for (int adjacentVertex : graph.adjacentTo(vertex)) {
+    int degree = graph.getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int adjacentVertex = graph.adjacentTo(vertex, i);
       if (!markedVertices[adjacentVertex]) {
         edgeTo[adjacentVertex] = vertex;
         depthFirstSearch(graph, adjacentVertex);
@@ -68,7 +70,7 @@ public class DepthFirstPaths {
       return Optional.empty();
     }
 
-    Stack<Integer> path = new Stack<>();
+    IntStack path = new IntStack();
     for (int v = vertex; v != sourceVertex; v = edgeTo[v]) {
       path.push(v);
     }
@@ -34,7 +34,9 @@ public class DepthFirstSearch {
   private void depthFirstSearch(Graph graph, int vertex) {
     markedVertices[vertex] = true;
     markedVerticesCount++;
-    for (int adjacentVertex : graph.adjacentTo(vertex)) {
+    int degree = graph.getDegree(vertex);
+    for (int i = 0; i < degree; i++) {
+      int adjacentVertex = graph.adjacentTo(vertex, i);
       if (!markedVertices[adjacentVertex]) {
         depthFirstSearch(graph, adjacentVertex);
       }
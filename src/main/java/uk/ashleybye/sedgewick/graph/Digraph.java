@@ -1,11 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Scanner;
-import uk.ashleybye.sedgewick.collections.Bag;
+import uk.ashleybye.sedgewick.collections.IntBag;
 
 /**
  * The Digraph type stores a representation of a directed graph in an adjacency-list. Vertices are
@@ -37,9 +33,23 @@ public class Digraph {
   private int numEdges;
 
   /**
-   * The adjacency lists.
+   * The adjacency lists, each a bag of primitive vertex numbers, so that adding an edge neither
+   * boxes its vertices nor allocates a list node.
    */
-  private Bag<Integer>[] adjacencyLists;
+  private IntBag[] adjacencyLists;
+
+  /**
+   * Vertex-indexed offsets into {@code incomingVertices}, or null until {@code incomingTo()} or
+   * {@code getInDegree()} is first called, and again after an edge is added.
+   */
+  private int[] incomingOffsets;
+
+  /**
+   * The head vertices of the edges entering every vertex, packed end to end, such that those
+   * entering v are stored in {@code incomingVertices[incomingOffsets[v]...incomingOffsets[v + 1] -
+   * 1]}.
+   */
+  private int[] incomingVertices;
 
   /**
    * Create a V-vertex directed graph with zero edges.
@@ -49,12 +59,25 @@ public class Digraph {
   public Digraph(int numVertices) {
     this.numVertices = numVertices;
     this.numEdges = 0;
-    adjacencyLists = (Bag<Integer>[]) new Bag[numVertices];
+    adjacencyLists = new IntBag[numVertices];
     for (int vertex = 0; vertex < numVertices; vertex++) {
-      adjacencyLists[vertex] = new Bag<>();
+      adjacencyLists[vertex] = new IntBag();
     }
   }
 
+  /**
+   * Create a V-vertex, E-edge directed graph without allocating any adjacency-lists. For use by
+   * subclasses that provide their own adjacency storage, which must override {@code addEdge()},
+   * {@code getOutDegree()} and both forms of {@code adjacentTo()}.
+   *
+   * @param numVertices The number of vertices.
+   * @param numEdges The number of edges.
+   */
+  protected Digraph(int numVertices, int numEdges) {
+    this.numVertices = numVertices;
+    this.numEdges = numEdges;
+  }
+
   /**
    * Create an directed graph by reading input from a file.
    *
@@ -69,23 +92,24 @@ public class Digraph {
    * 238 245
    * ...
    *
+   * The file may be gzip-compressed.
+   *
    * @param fileName The path to the file containing the source data.
    *
    * @throws IOException If the specified file cannot be loaded.
    */
   public Digraph(String fileName) throws IOException {
-    Path filePath = Paths.get(fileName);
-    try (Scanner scanner = new Scanner(Files.newInputStream(filePath))) {
-      this.numVertices = scanner.nextInt();
-      this.numEdges = scanner.nextInt();
-      adjacencyLists = (Bag<Integer>[]) new Bag[numVertices];
+    try (GraphTextReader reader = new GraphTextReader(fileName)) {
+      this.numVertices = reader.nextInt();
+      this.numEdges = reader.nextInt();
+      adjacencyLists = new IntBag[numVertices];
       for (int vertex = 0; vertex < numVertices; vertex++) {
-        adjacencyLists[vertex] = new Bag<>();
+        adjacencyLists[vertex] = new IntBag();
       }
 
       for (int e = 0; e < numEdges; e++) {
-        int u = scanner.nextInt();
-        int v = scanner.nextInt();
+        int u = reader.nextInt();
+        int v = reader.nextInt();
         this.addEdge(u, v);
 
         // numEdges is incremented in addEdge(), so decrement to keep E constant.
@@ -123,6 +147,8 @@ public class Digraph {
   public void addEdge(int u, int v) {
     adjacencyLists[u].add(v);
     numEdges++;
+    incomingOffsets = null;
+    incomingVertices = null;
   }
 
   /**
@@ -132,8 +158,8 @@ public class Digraph {
    * @return The reverse of this digraph.
    */
   public Digraph reverse() {
-    Digraph reversed = new Digraph(numVertices);
-    for (int head = 0; head < numVertices; head++) {
+    Digraph reversed = new Digraph(getNumVertices());
+    for (int head = 0; head < getNumVertices(); head++) {
       for (int tail : this.adjacentTo(head)) {
         reversed.addEdge(tail, head);
       }
@@ -153,6 +179,119 @@ public class Digraph {
     return adjacencyLists[vertex];
   }
 
+  /**
+   * Gets the out-degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges leaving the specified vertex.
+   */
+  public int getOutDegree(int vertex) {
+    return adjacencyLists[vertex].size();
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them. Together with {@code
+   * getOutDegree()} this is a cursor over the adjacent vertices that needs no iterator, so a search
+   * can visit them without allocating:
+   *
+   * int degree = digraph.getOutDegree(head);
+   * for (int i = 0; i < degree; i++) {
+   *   int tail = digraph.adjacentTo(head, i);
+   * }
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getOutDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  public int adjacentTo(int vertex, int index) {
+    return adjacencyLists[vertex].get(index);
+  }
+
+  /**
+   * Gets the vertices with edges to the specified vertex, in the same order in which {@code
+   * Digraph.reverse().adjacentTo(vertex)} would return them. The incoming adjacency-lists of all
+   * vertices are built together, in time proportional to V + E, on the first call after the digraph
+   * was created or last changed, and are then cached as two {@code int[]}s, so that algorithms that
+   * follow edges backwards need not build a reversed copy of the digraph.
+   *
+   * @param vertex The vertex to get incoming adjacent vertices for.
+   *
+   * @return The vertices with edges to the specified vertex.
+   */
+  public Iterable<Integer> incomingTo(int vertex) {
+    buildIncoming();
+    return new AdjacencyRange(incomingVertices, incomingOffsets[vertex],
+        incomingOffsets[vertex + 1]);
+  }
+
+  /**
+   * Gets the in-degree of the specified vertex, building the incoming adjacency-lists as for
+   * {@code incomingTo()} if needed.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges entering the specified vertex.
+   */
+  public int getInDegree(int vertex) {
+    buildIncoming();
+    return incomingOffsets[vertex + 1] - incomingOffsets[vertex];
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices with edges to the specified vertex,
+   * in the order in which {@code incomingTo(vertex)} returns them, building the incoming
+   * adjacency-lists as for {@code incomingTo()} if needed.
+   *
+   * @param vertex The vertex to get an incoming adjacent vertex for.
+   * @param index The position, between 0 and {@code getInDegree(vertex) - 1}.
+   *
+   * @return The incoming adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  public int incomingTo(int vertex, int index) {
+    buildIncoming();
+    return AdjacencyRange.get(incomingVertices, incomingOffsets[vertex],
+        incomingOffsets[vertex + 1], index);
+  }
+
+  /**
+   * Build the incoming adjacency-lists, unless they are already cached.
+   */
+  private void buildIncoming() {
+    if (incomingOffsets != null) {
+      return;
+    }
+
+    int[] offsets = new int[getNumVertices() + 1];
+    for (int head = 0; head < getNumVertices(); head++) {
+      for (int tail : adjacentTo(head)) {
+        offsets[tail + 1]++;
+      }
+    }
+    for (int tail = 0; tail < getNumVertices(); tail++) {
+      offsets[tail + 1] += offsets[tail];
+    }
+
+    // Fill from the back to match the order produced by reverse().
+    int[] vertices = new int[offsets[getNumVertices()]];
+    int[] next = new int[getNumVertices()];
+    System.arraycopy(offsets, 1, next, 0, getNumVertices());
+    for (int head = 0; head < getNumVertices(); head++) {
+      for (int tail : adjacentTo(head)) {
+        vertices[--next[tail]] = head;
+      }
+    }
+
+    incomingVertices = vertices;
+    incomingOffsets = offsets;
+  }
+
   /**
    * Gets a {@code String} representation of this graph, in the following format:
    *
@@ -167,9 +306,9 @@ public class Digraph {
   @Override
   public String toString() {
     StringBuilder stringBuilder = new StringBuilder();
-    stringBuilder.append(numVertices).append(" vertices, ").append(numEdges).append(" edges")
-        .append("\n");
-    for (int v = 0; v < numVertices; v++) {
+    stringBuilder.append(getNumVertices()).append(" vertices, ").append(getNumEdges())
+        .append(" edges").append("\n");
+    for (int v = 0; v < getNumVertices(); v++) {
       stringBuilder.append(v).append(": ");
       for (int w : this.adjacentTo(v)) {
         stringBuilder.append(w).append(" ");
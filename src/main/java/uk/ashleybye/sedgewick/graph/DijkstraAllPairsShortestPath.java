@@ -1,6 +1,8 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
+import uk.ashleybye.sedgewick.collections.IndexedDoubleHeap;
+import uk.ashleybye.sedgewick.collections.IndexedDoublePriorityQueue;
 
 /**
  * Uses {@code DijkstraShortestPath} to compute shortest path between all pairs of vertices in the
@@ -15,13 +17,16 @@ public class DijkstraAllPairsShortestPath {
 
   /**
    * Construct a new instance, computing the shortest paths between every vertex in the {@code
-   * graph}.
+   * graph}. A single priority queue is shared by the searches from each vertex, and each search
+   * leaves it empty, so it is allocated once rather than once per vertex.
    */
   public DijkstraAllPairsShortestPath(EdgeWeightedDigraph graph) {
     allPairs = new DijkstraShortestPath[graph.getNumVertices()];
+    IndexedDoublePriorityQueue priorityQueue = new IndexedDoubleHeap(
+        graph.getNumVertices());
 
     for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
-      allPairs[vertex] = new DijkstraShortestPath(graph, vertex);
+      allPairs[vertex] = new DijkstraShortestPath(graph, vertex, priorityQueue);
     }
   }
 
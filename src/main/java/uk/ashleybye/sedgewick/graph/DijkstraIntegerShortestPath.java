@@ -0,0 +1,178 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Optional;
+import uk.ashleybye.sedgewick.collections.ArrayStack;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
+import uk.ashleybye.sedgewick.collections.MonotonePriorityQueue;
+import uk.ashleybye.sedgewick.collections.RadixHeap;
+
+/**
+ * <p>Implements Dijkstra's algorithm for finding shortest paths in an edge weighted digraph whose
+ * weights are all non-negative integers, such as hop costs or seconds. Distances are summed as
+ * {@code long}s, so they are exact, with no floating-point error.</p>
+ * <p>Because the weights are non-negative, the distances polled never decrease, which lets the
+ * search use a {@link MonotonePriorityQueue}: a {@link RadixHeap} by default, or a {@code
+ * BucketQueue} sized to the greatest weight when the weights are small. These queues are not
+ * indexed, so a vertex is offered again each time a shorter path to it is found, and entries whose
+ * key is greater than the vertex's current distance are skipped when polled.</p>
+ */
+public class DijkstraIntegerShortestPath {
+
+  /**
+   * Cursor over the edges adjacent to the vertex being relaxed, reused for every vertex.
+   */
+  private final ChunkedBag.Cursor<DirectedEdge> cursor = new ChunkedBag.Cursor<>();
+
+  /**
+   * Vertex-indexed array of directed edges, containing the last edge on the shortest known path
+   * from the source vertex to the vertex at the index.
+   */
+  private DirectedEdge[] edgeTo;
+
+  /**
+   * Vertex-indexed array of the length of the shortest known path from the source vertex, or
+   * {@code Long.MAX_VALUE} for a vertex not yet reached.
+   */
+  private long[] distanceTo;
+
+  /**
+   * Construct a new instance of DijkstraIntegerShortestPath with the specified {@code graph} and
+   * compute the shortest paths tree from the {@code sourceVertex}, using a radix heap.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   *
+   * @throws IllegalArgumentException if a weight is negative or not an integer
+   * @throws ArithmeticException if the length of a path overflows a {@code long}
+   */
+  public DijkstraIntegerShortestPath(EdgeWeightedDigraph graph, int sourceVertex) {
+    this(graph, sourceVertex, new RadixHeap());
+  }
+
+  /**
+   * Construct a new instance of DijkstraIntegerShortestPath with the specified {@code graph} and
+   * compute the shortest paths tree from the {@code sourceVertex}, using the specified {@code
+   * priorityQueue}. The queue is cleared first, so that one queue can be shared by a series of
+   * searches.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   * @param priorityQueue the priority queue, which must accept any key up to the greatest weight
+   * more than the last key polled
+   *
+   * @throws IllegalArgumentException if a weight is negative or not an integer
+   * @throws ArithmeticException if the length of a path overflows a {@code long}
+   */
+  public DijkstraIntegerShortestPath(EdgeWeightedDigraph graph, int sourceVertex,
+      MonotonePriorityQueue priorityQueue) {
+    validateWeights(graph);
+
+    edgeTo = new DirectedEdge[graph.getNumVertices()];
+    distanceTo = new long[graph.getNumVertices()];
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      distanceTo[vertex] = Long.MAX_VALUE;
+    }
+    distanceTo[sourceVertex] = 0;
+
+    priorityQueue.clear();
+    priorityQueue.offer(sourceVertex, 0);
+    while (!priorityQueue.isEmpty()) {
+      int vertex = priorityQueue.pollMinimum();
+      if (priorityQueue.getLastKey() == distanceTo[vertex]) {
+        relax(graph, vertex, priorityQueue);
+      }
+    }
+  }
+
+  /**
+   * Checks every edge in the {@code graph}, whether or not it is reachable from the source vertex,
+   * so that a bad weight is rejected whichever vertex the search starts from.
+   *
+   * @param graph the graph
+   *
+   * @throws IllegalArgumentException if a weight is negative or not an integer
+   */
+  private void validateWeights(EdgeWeightedDigraph graph) {
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      graph.adjacentTo(vertex, cursor);
+      while (cursor.hasNext()) {
+        DirectedEdge edge = cursor.next();
+        double weight = edge.getWeight();
+        if ((long) weight != weight || weight < 0) {
+          throw new IllegalArgumentException("Edge " + edge + " does not have a non-negative "
+              + "integer weight");
+        }
+      }
+    }
+  }
+
+  /**
+   * Relaxes the edges of the specified {@code vertex} in the {@code graph}, offering each vertex
+   * to which a shorter path is found to the {@code priorityQueue}.
+   *
+   * @param graph the graph
+   * @param vertex the vertex
+   * @param priorityQueue the priority queue
+   *
+   * @throws ArithmeticException if the length of a path overflows a {@code long}
+   */
+  private void relax(EdgeWeightedDigraph graph, int vertex, MonotonePriorityQueue priorityQueue) {
+    graph.adjacentTo(vertex, cursor);
+    while (cursor.hasNext()) {
+      DirectedEdge edge = cursor.next();
+      long distance = Math.addExact(distanceTo[vertex], (long) edge.getWeight());
+
+      int adjacentVertex = edge.to();
+      if (distanceTo[adjacentVertex] > distance) {
+        distanceTo[adjacentVertex] = distance;
+        edgeTo[adjacentVertex] = edge;
+        priorityQueue.offer(adjacentVertex, distanceTo[adjacentVertex]);
+      }
+    }
+  }
+
+  /**
+   * Get the distance from the source vertex to the specified {@code vertex}.
+   *
+   * @param vertex the vertex
+   *
+   * @return the distance, or {@code Long.MAX_VALUE} if there is no path
+   */
+  public long getDistanceTo(int vertex) {
+    return distanceTo[vertex];
+  }
+
+  /**
+   * Returns true if there is a path from the source vertex to the specified {@code vertex}; false,
+   * otherwise.
+   *
+   * @param vertex the vertex
+   *
+   * @return true if a path exists; false, otherwise
+   */
+  public boolean hasPathTo(int vertex) {
+    return distanceTo[vertex] < Long.MAX_VALUE;
+  }
+
+  /**
+   * Optional path from the source vertex to the specified {@code vertex}. If no path exists, the
+   * contained value will not be present.
+   *
+   * @param vertex the vertex
+   *
+   * @return the optional shortest path
+   */
+  public Optional<Iterable<DirectedEdge>> shortestPathTo(int vertex) {
+    if (!hasPathTo(vertex)) {
+      return Optional.empty();
+    }
+
+    ArrayStack<DirectedEdge> path = new ArrayStack<>();
+    for (DirectedEdge edge = edgeTo[vertex]; edge != null; edge = edgeTo[edge.from()]) {
+      path.push(edge);
+    }
+
+    return Optional.of(path);
+  }
+}
@@ -1,8 +1,10 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.IndexedPriorityQueue;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.ArrayStack;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
+import uk.ashleybye.sedgewick.collections.IndexedDoubleHeap;
+import uk.ashleybye.sedgewick.collections.IndexedDoublePriorityQueue;
 
 /**
  * Implements Dijkstra's algorithm for finding shortest paths in an edge weighted digraph.
@@ -11,6 +13,11 @@ import uk.ashleybye.sedgewick.collections.Stack;
  */
 public class DijkstraShortestPath {
 
+  /**
+   * Cursor over the edges adjacent to the vertex being relaxed, reused for every vertex.
+   */
+  private final ChunkedBag.Cursor<DirectedEdge> cursor = new ChunkedBag.Cursor<>();
+
   /**
    * Vertex-indexed array of directed edges, populated and updated during edge relaxation, to
    * contain the lowest weight edge that links the vertex at the index to the source vertex.
@@ -28,7 +35,7 @@ public class DijkstraShortestPath {
    * Indexed priority queue ensures that the vertex with the least distance from the source vertex
    * is processed next during relaxation.
    */
-  private IndexedPriorityQueue<Double> priorityQueue;
+  private IndexedDoublePriorityQueue priorityQueue;
 
   /**
    * Construct a new isntance of DijkstraShortestPath with the specified {@code graph} and compute
@@ -38,9 +45,26 @@ public class DijkstraShortestPath {
    * @param sourceVertex the source vertex
    */
   public DijkstraShortestPath(EdgeWeightedDigraph graph, int sourceVertex) {
+    this(graph, sourceVertex, new IndexedDoubleHeap(graph.getNumVertices()));
+  }
+
+  /**
+   * Construct a new instance of DijkstraShortestPath with the specified {@code graph} and compute
+   * the shortest paths tree from the {@code sourceVertex}, using the specified {@code
+   * priorityQueue}, such as a d-ary {@code IndexedDoubleHeap} of a chosen arity or an {@code
+   * IndexedPairingHeap}. The queue is cleared first, so that one queue can be shared by a series of
+   * searches over the same graph.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   * @param priorityQueue the priority queue, with capacity for every vertex in the graph
+   */
+  public DijkstraShortestPath(EdgeWeightedDigraph graph, int sourceVertex,
+      IndexedDoublePriorityQueue priorityQueue) {
     edgeTo = new DirectedEdge[graph.getNumVertices()];
     distanceTo = new double[graph.getNumVertices()];
-    priorityQueue = new IndexedPriorityQueue<>(graph.getNumVertices());
+    this.priorityQueue = priorityQueue;
+    priorityQueue.clear();
 
     for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
       distanceTo[vertex] = Double.POSITIVE_INFINITY;
@@ -53,6 +77,55 @@ public class DijkstraShortestPath {
     }
   }
 
+  /**
+   * Construct a new instance of DijkstraShortestPath with the specified compact {@code graph} and
+   * compute the shortest paths tree from the {@code sourceVertex}. Edges are relaxed by index,
+   * reading primitive arrays only; {@code DirectedEdge} objects are created once, for the edges of
+   * the final shortest paths tree.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   */
+  public DijkstraShortestPath(CompactEdgeWeightedDigraph graph, int sourceVertex) {
+    this(graph, sourceVertex, new IndexedDoubleHeap(graph.getNumVertices()));
+  }
+
+  /**
+   * Construct a new instance of DijkstraShortestPath with the specified compact {@code graph} and
+   * compute the shortest paths tree from the {@code sourceVertex}, using the specified {@code
+   * priorityQueue}. The queue is cleared first, so that one queue can be shared by a series of
+   * searches over the same graph.
+   *
+   * @param graph the graph
+   * @param sourceVertex the source vertex
+   * @param priorityQueue the priority queue, with capacity for every vertex in the graph
+   */
+  public DijkstraShortestPath(CompactEdgeWeightedDigraph graph, int sourceVertex,
+      IndexedDoublePriorityQueue priorityQueue) {
+    int[] edgeIndexTo = new int[graph.getNumVertices()];
+    edgeTo = new DirectedEdge[graph.getNumVertices()];
+    distanceTo = new double[graph.getNumVertices()];
+    this.priorityQueue = priorityQueue;
+    priorityQueue.clear();
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      distanceTo[vertex] = Double.POSITIVE_INFINITY;
+      edgeIndexTo[vertex] = -1;
+    }
+    distanceTo[sourceVertex] = 0.0;
+
+    priorityQueue.offer(sourceVertex, 0.0);
+    while (!priorityQueue.isEmpty()) {
+      relax(graph, priorityQueue.pollMinimum(), edgeIndexTo);
+    }
+
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      if (edgeIndexTo[vertex] != -1) {
+        edgeTo[vertex] = graph.getEdge(edgeIndexTo[vertex]);
+      }
+    }
+  }
+
   /**
    * Relaxes the edges of the specified {@code vertex} in the {@code graph}.
    *
@@ -60,13 +133,38 @@ public class DijkstraShortestPath {
    * @param vertex the vertex
    */
   private void relax(EdgeWeightedDigraph graph, int vertex) {
-    for (DirectedEdge edge : graph.adjacentTo(vertex)) {
+    graph.adjacentTo(vertex, cursor);
+    while (cursor.hasNext()) {
+      DirectedEdge edge = cursor.next();
       int adjacentVertex = edge.to();
       if (distanceTo[adjacentVertex] > distanceTo[vertex] + edge.getWeight()) {
         distanceTo[adjacentVertex] = distanceTo[vertex] + edge.getWeight();
         edgeTo[adjacentVertex] = edge;
         if (priorityQueue.contains(adjacentVertex)) {
-          priorityQueue.changeKey(adjacentVertex, distanceTo[adjacentVertex]);
+          priorityQueue.decreaseKey(adjacentVertex, distanceTo[adjacentVertex]);
+        } else {
+          priorityQueue.offer(adjacentVertex, distanceTo[adjacentVertex]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Relaxes the edges of the specified {@code vertex} in the compact {@code graph}, recording the
+   * index of the last edge on each improved path in {@code edgeIndexTo}.
+   *
+   * @param graph the graph
+   * @param vertex the vertex
+   * @param edgeIndexTo vertex-indexed array of the index of the last edge on the shortest path
+   */
+  private void relax(CompactEdgeWeightedDigraph graph, int vertex, int[] edgeIndexTo) {
+    for (int edge = graph.getEdgeOffset(vertex); edge < graph.getEdgeOffset(vertex + 1); edge++) {
+      int adjacentVertex = graph.to(edge);
+      if (distanceTo[adjacentVertex] > distanceTo[vertex] + graph.getWeight(edge)) {
+        distanceTo[adjacentVertex] = distanceTo[vertex] + graph.getWeight(edge);
+        edgeIndexTo[adjacentVertex] = edge;
+        if (priorityQueue.contains(adjacentVertex)) {
+          priorityQueue.decreaseKey(adjacentVertex, distanceTo[adjacentVertex]);
         } else {
           priorityQueue.offer(adjacentVertex, distanceTo[adjacentVertex]);
         }
@@ -98,7 +196,7 @@ public class DijkstraShortestPath {
       return Optional.empty();
     }
 
-    Stack<DirectedEdge> path = new Stack<>();
+    ArrayStack<DirectedEdge> path = new ArrayStack<>();
     for (DirectedEdge edge = edgeTo[vertex]; edge != null; edge = edgeTo[edge.from()]) {
       path.push(edge);
     }
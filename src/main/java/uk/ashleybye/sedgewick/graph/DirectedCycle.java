@@ -1,7 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.IntStack;
 
 /**
  * Detects cycles in the given digraph. It is possible that an exponential number of cycles exist.
@@ -14,7 +14,7 @@ public class DirectedCycle {
 
   private boolean[] markedVertices;
   private int[] edgeTo;
-  private Stack<Integer> cycle;
+  private IntStack cycle;
   private boolean[] onStack;
 
   /**
@@ -48,14 +48,16 @@ public class DirectedCycle {
     markedVertices[head] = true;
     onStack[head] = true;
 
-    for (int tail : graph.adjacentTo(head)) {
+    int degree = graph.getOutDegree(head);
+    for (int i = 0; i < degree; i++) {
+      int tail = graph.adjacentTo(head, i);
       if (this.hasCycle()) {
         return;
       } else if (!markedVertices[tail]) {
         edgeTo[tail] = head;
         depthFirstSearch(graph, tail);
       } else if (onStack[tail]) {
-        cycle = new Stack<>();
+        cycle = new IntStack();
         for (int vertex = head; vertex != tail; vertex = edgeTo[vertex]) {
           cycle.push(vertex);
         }
@@ -39,7 +39,9 @@ public class DirectedDepthFirstSearch {
    */
   private void depthFirstSearch(Digraph digraph, int head) {
     markedVertices[head] = true;
-    for (int tail : digraph.adjacentTo(head)) {
+    int degree = digraph.getOutDegree(head);
+    for (int i = 0; i < degree; i++) {
+      int tail = digraph.adjacentTo(head, i);
       if (!markedVertices[tail]) {
         depthFirstSearch(digraph, tail);
       }
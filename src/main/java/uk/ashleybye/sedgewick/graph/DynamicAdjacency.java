@@ -0,0 +1,582 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable adjacency storage supporting removal of edges and vertices, shared by {@link
+ * DynamicGraph} and {@link DynamicDigraph}.
+ *
+ * Every edge is given an integer id, and appears once in the adjacency array of each of its
+ * vertices: in the outgoing array of its head vertex and the incoming array of its tail vertex.
+ * For an undirected graph, the outgoing and incoming arrays are one and the same. Each array entry
+ * holds both the adjacent vertex, for fast iteration, and the edge id; each edge records its
+ * position in both arrays. An entry is removed by moving the last entry of the array into its
+ * place and updating the moved edge's recorded position, in constant time.
+ *
+ * Edges joining the same pair of vertices are chained in a doubly-linked list, the first of which
+ * is found by a hash map keyed on the pair, so an edge can be found from its vertices in expected
+ * constant time. Removed edge ids are reused.
+ */
+class DynamicAdjacency {
+
+  /**
+   * Marks the absence of an edge id.
+   */
+  private static final int NONE = -1;
+
+  /**
+   * True if edges are directed; false, if the outgoing and incoming arrays are the same.
+   */
+  private final boolean directed;
+
+  /**
+   * The number of vertices.
+   */
+  private int numVertices;
+
+  /**
+   * The number of edges.
+   */
+  private int numEdges;
+
+  /**
+   * Vertex-indexed arrays of the vertices adjacent to each vertex by an outgoing edge.
+   */
+  private int[][] outNeighbours;
+
+  /**
+   * Vertex-indexed arrays of the ids of the edges corresponding to {@code outNeighbours}.
+   */
+  private int[][] outEdges;
+
+  /**
+   * Vertex-indexed number of entries in use in {@code outNeighbours} and {@code outEdges}.
+   */
+  private int[] outSizes;
+
+  /**
+   * Vertex-indexed arrays of the vertices adjacent to each vertex by an incoming edge.
+   */
+  private int[][] inNeighbours;
+
+  /**
+   * Vertex-indexed arrays of the ids of the edges corresponding to {@code inNeighbours}.
+   */
+  private int[][] inEdges;
+
+  /**
+   * Vertex-indexed number of entries in use in {@code inNeighbours} and {@code inEdges}.
+   */
+  private int[] inSizes;
+
+  /**
+   * Edge-indexed head vertex of each edge.
+   */
+  private int[] edgeFrom = new int[0];
+
+  /**
+   * Edge-indexed tail vertex of each edge.
+   */
+  private int[] edgeTo = new int[0];
+
+  /**
+   * Edge-indexed position of each edge in the outgoing array of its head vertex.
+   */
+  private int[] fromPositions = new int[0];
+
+  /**
+   * Edge-indexed position of each edge in the incoming array of its tail vertex.
+   */
+  private int[] toPositions = new int[0];
+
+  /**
+   * Edge-indexed next edge joining the same pair of vertices, or {@code NONE}. Also links the free
+   * list of unused edge ids.
+   */
+  private int[] nextParallel = new int[0];
+
+  /**
+   * Edge-indexed previous edge joining the same pair of vertices, or {@code NONE}.
+   */
+  private int[] previousParallel = new int[0];
+
+  /**
+   * The first unused edge id, or {@code NONE}.
+   */
+  private int firstFree = NONE;
+
+  /**
+   * The number of edge ids ever allocated.
+   */
+  private int numEdgeIds;
+
+  /**
+   * The first edge joining each pair of vertices, keyed on the pair.
+   */
+  private final Map<Long, Integer> firstParallel = new HashMap<>();
+
+  /**
+   * Create storage for the specified number of vertices and no edges.
+   *
+   * @param numVertices The number of vertices.
+   * @param directed True if edges are directed.
+   */
+  DynamicAdjacency(int numVertices, boolean directed) {
+    this.directed = directed;
+    int capacity = Math.max(numVertices, 4);
+    outNeighbours = new int[capacity][];
+    outEdges = new int[capacity][];
+    outSizes = new int[capacity];
+    if (directed) {
+      inNeighbours = new int[capacity][];
+      inEdges = new int[capacity][];
+      inSizes = new int[capacity];
+    } else {
+      inNeighbours = outNeighbours;
+      inEdges = outEdges;
+      inSizes = outSizes;
+    }
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      addVertex();
+    }
+  }
+
+  /**
+   * Get the number of vertices.
+   *
+   * @return The number of vertices.
+   */
+  int getNumVertices() {
+    return numVertices;
+  }
+
+  /**
+   * Get the number of edges.
+   *
+   * @return The number of edges.
+   */
+  int getNumEdges() {
+    return numEdges;
+  }
+
+  /**
+   * Add a vertex with no edges, in amortised constant time.
+   *
+   * @return The new vertex, numbered V.
+   */
+  int addVertex() {
+    if (numVertices == outSizes.length) {
+      int capacity = 2 * numVertices;
+      outNeighbours = Arrays.copyOf(outNeighbours, capacity);
+      outEdges = Arrays.copyOf(outEdges, capacity);
+      outSizes = Arrays.copyOf(outSizes, capacity);
+      if (directed) {
+        inNeighbours = Arrays.copyOf(inNeighbours, capacity);
+        inEdges = Arrays.copyOf(inEdges, capacity);
+        inSizes = Arrays.copyOf(inSizes, capacity);
+      } else {
+        inNeighbours = outNeighbours;
+        inEdges = outEdges;
+        inSizes = outSizes;
+      }
+    }
+
+    outNeighbours[numVertices] = new int[2];
+    outEdges[numVertices] = new int[2];
+    outSizes[numVertices] = 0;
+    if (directed) {
+      inNeighbours[numVertices] = new int[2];
+      inEdges[numVertices] = new int[2];
+      inSizes[numVertices] = 0;
+    }
+
+    return numVertices++;
+  }
+
+  /**
+   * Add an edge from u to v, in amortised constant time.
+   *
+   * @param u The head vertex.
+   * @param v The tail vertex.
+   */
+  void addEdge(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+
+    int edge = allocateEdge();
+    edgeFrom[edge] = u;
+    edgeTo[edge] = v;
+    fromPositions[edge] = append(outNeighbours, outEdges, outSizes, u, v, edge);
+    toPositions[edge] = append(inNeighbours, inEdges, inSizes, v, u, edge);
+
+    Long key = key(u, v);
+    Integer first = firstParallel.get(key);
+    previousParallel[edge] = NONE;
+    nextParallel[edge] = first == null ? NONE : first;
+    if (first != null) {
+      previousParallel[first] = edge;
+    }
+    firstParallel.put(key, edge);
+    numEdges++;
+  }
+
+  /**
+   * Returns true if there is an edge from u to v; false, otherwise. Takes expected constant time.
+   *
+   * @param u The head vertex.
+   * @param v The tail vertex.
+   *
+   * @return True if the edge exists.
+   */
+  boolean hasEdge(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    return firstParallel.containsKey(key(u, v));
+  }
+
+  /**
+   * Remove one edge from u to v, if there is one, in expected constant time.
+   *
+   * @param u The head vertex.
+   * @param v The tail vertex.
+   *
+   * @return True if an edge was removed; false, if there was no such edge.
+   */
+  boolean removeEdge(int u, int v) {
+    validateVertex(u);
+    validateVertex(v);
+    Integer edge = firstParallel.get(key(u, v));
+    if (edge == null) {
+      return false;
+    }
+
+    removeEdge(edge);
+    return true;
+  }
+
+  /**
+   * Remove the specified vertex and all its edges, in time proportional to the degrees of the
+   * removed vertex and of vertex V - 1. To keep the vertices numbered 0 to V - 1, vertex V - 1 is
+   * then renumbered as the removed vertex.
+   *
+   * @param vertex The vertex to remove.
+   *
+   * @return The former number of the vertex now numbered {@code vertex}, which is {@code vertex}
+   *     itself if it was the last vertex.
+   */
+  int removeVertex(int vertex) {
+    validateVertex(vertex);
+    while (outSizes[vertex] > 0) {
+      removeEdge(outEdges[vertex][outSizes[vertex] - 1]);
+    }
+    while (inSizes[vertex] > 0) {
+      removeEdge(inEdges[vertex][inSizes[vertex] - 1]);
+    }
+
+    int last = numVertices - 1;
+    if (vertex != last) {
+      renumber(last, vertex);
+    }
+    outNeighbours[last] = null;
+    outEdges[last] = null;
+    if (directed) {
+      inNeighbours[last] = null;
+      inEdges[last] = null;
+    }
+    numVertices--;
+
+    return last;
+  }
+
+  /**
+   * Get the number of outgoing edges of the specified vertex.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The out-degree.
+   */
+  int outDegree(int vertex) {
+    validateVertex(vertex);
+    return outSizes[vertex];
+  }
+
+  /**
+   * Get the number of incoming edges of the specified vertex.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The in-degree.
+   */
+  int inDegree(int vertex) {
+    validateVertex(vertex);
+    return inSizes[vertex];
+  }
+
+  /**
+   * Get a view of the vertices adjacent to the specified vertex by its outgoing edges. The view is
+   * invalidated by any change to the vertex's edges.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The adjacent vertices.
+   */
+  Iterable<Integer> outgoing(int vertex) {
+    validateVertex(vertex);
+    return new AdjacencyRange(outNeighbours[vertex], 0, outSizes[vertex]);
+  }
+
+  /**
+   * Get a view of the vertices adjacent to the specified vertex by its incoming edges. The view is
+   * invalidated by any change to the vertex's edges.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The adjacent vertices.
+   */
+  Iterable<Integer> incoming(int vertex) {
+    validateVertex(vertex);
+    return new AdjacencyRange(inNeighbours[vertex], 0, inSizes[vertex]);
+  }
+
+  /**
+   * Get the vertex adjacent to the specified vertex by its outgoing edge at the specified position,
+   * in the order of {@code outgoing(vertex)}.
+   *
+   * @param vertex The vertex.
+   * @param index The position, between 0 and {@code outDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   */
+  int outgoing(int vertex, int index) {
+    validateVertex(vertex);
+    return AdjacencyRange.get(outNeighbours[vertex], 0, outSizes[vertex], index);
+  }
+
+  /**
+   * Get the vertex adjacent to the specified vertex by its incoming edge at the specified position,
+   * in the order of {@code incoming(vertex)}.
+   *
+   * @param vertex The vertex.
+   * @param index The position, between 0 and {@code inDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   */
+  int incoming(int vertex, int index) {
+    validateVertex(vertex);
+    return AdjacencyRange.get(inNeighbours[vertex], 0, inSizes[vertex], index);
+  }
+
+  /**
+   * Remove the specified edge from both of its adjacency arrays and from its parallel chain, and
+   * free its id.
+   *
+   * @param edge The edge id.
+   */
+  private void removeEdge(int edge) {
+    removeEntry(outNeighbours, outEdges, outSizes, edgeFrom[edge], fromPositions[edge], true);
+    removeEntry(inNeighbours, inEdges, inSizes, edgeTo[edge], toPositions[edge], false);
+
+    int previous = previousParallel[edge];
+    int next = nextParallel[edge];
+    if (previous == NONE) {
+      Long key = key(edgeFrom[edge], edgeTo[edge]);
+      if (next == NONE) {
+        firstParallel.remove(key);
+      } else {
+        firstParallel.put(key, next);
+      }
+    } else {
+      nextParallel[previous] = next;
+    }
+    if (next != NONE) {
+      previousParallel[next] = previous;
+    }
+
+    nextParallel[edge] = firstFree;
+    firstFree = edge;
+    numEdges--;
+  }
+
+  /**
+   * Renumber vertex {@code from}, which must be the last vertex, as the vertex {@code to}, which
+   * must have no edges.
+   *
+   * @param from The current number of the vertex.
+   * @param to The new number of the vertex.
+   */
+  private void renumber(int from, int to) {
+    // Unkey the edge chains, since their keys contain the old vertex number.
+    forEachEdge(from, edge -> {
+      if (previousParallel[edge] == NONE) {
+        firstParallel.remove(key(edgeFrom[edge], edgeTo[edge]));
+      }
+    });
+
+    // Point the far entry of each edge at the new number, then relabel the edge itself.
+    forEachEdge(from, edge -> {
+      if (edgeFrom[edge] == from) {
+        inNeighbours[edgeTo[edge]][toPositions[edge]] = to;
+      }
+      if (edgeTo[edge] == from) {
+        outNeighbours[edgeFrom[edge]][fromPositions[edge]] = to;
+      }
+    });
+    forEachEdge(from, edge -> {
+      if (edgeFrom[edge] == from) {
+        edgeFrom[edge] = to;
+      }
+      if (edgeTo[edge] == from) {
+        edgeTo[edge] = to;
+      }
+    });
+
+    forEachEdge(from, edge -> {
+      if (previousParallel[edge] == NONE) {
+        firstParallel.put(key(edgeFrom[edge], edgeTo[edge]), edge);
+      }
+    });
+
+    outNeighbours[to] = outNeighbours[from];
+    outEdges[to] = outEdges[from];
+    outSizes[to] = outSizes[from];
+    if (directed) {
+      inNeighbours[to] = inNeighbours[from];
+      inEdges[to] = inEdges[from];
+      inSizes[to] = inSizes[from];
+    }
+  }
+
+  /**
+   * Apply {@code action} to the id of every edge in the adjacency arrays of the specified vertex.
+   * Self-loops are visited more than once.
+   *
+   * @param vertex The vertex.
+   * @param action The action.
+   */
+  private void forEachEdge(int vertex, IntConsumer action) {
+    for (int i = 0; i < outSizes[vertex]; i++) {
+      action.accept(outEdges[vertex][i]);
+    }
+    if (directed) {
+      for (int i = 0; i < inSizes[vertex]; i++) {
+        action.accept(inEdges[vertex][i]);
+      }
+    }
+  }
+
+  /**
+   * Append an entry to the specified adjacency array, growing it if needed.
+   *
+   * @param neighbours Vertex-indexed adjacent vertex arrays.
+   * @param edges Vertex-indexed edge id arrays.
+   * @param sizes Vertex-indexed numbers of entries in use.
+   * @param vertex The vertex whose array to append to.
+   * @param neighbour The adjacent vertex.
+   * @param edge The edge id.
+   *
+   * @return The position of the new entry.
+   */
+  private static int append(int[][] neighbours, int[][] edges, int[] sizes, int vertex,
+      int neighbour, int edge) {
+    int position = sizes[vertex]++;
+    if (position == neighbours[vertex].length) {
+      neighbours[vertex] = Arrays.copyOf(neighbours[vertex], 2 * position);
+      edges[vertex] = Arrays.copyOf(edges[vertex], 2 * position);
+    }
+    neighbours[vertex][position] = neighbour;
+    edges[vertex][position] = edge;
+
+    return position;
+  }
+
+  /**
+   * Remove the entry at the specified position of an adjacency array by moving the last entry into
+   * its place.
+   *
+   * @param neighbours Vertex-indexed adjacent vertex arrays.
+   * @param edges Vertex-indexed edge id arrays.
+   * @param sizes Vertex-indexed numbers of entries in use.
+   * @param vertex The vertex whose array to remove from.
+   * @param position The position of the entry to remove.
+   * @param outgoing True if the array is an outgoing array.
+   */
+  private void removeEntry(int[][] neighbours, int[][] edges, int[] sizes, int vertex,
+      int position, boolean outgoing) {
+    int last = --sizes[vertex];
+    if (position == last) {
+      return;
+    }
+
+    int moved = edges[vertex][last];
+    neighbours[vertex][position] = neighbours[vertex][last];
+    edges[vertex][position] = moved;
+
+    // In an undirected graph the moved entry may be either end of its edge; for a self-loop both
+    // ends are in this array, so compare positions as well as vertices.
+    boolean fromEnd = directed ? outgoing
+        : edgeFrom[moved] == vertex && fromPositions[moved] == last;
+    if (fromEnd) {
+      fromPositions[moved] = position;
+    } else {
+      toPositions[moved] = position;
+    }
+  }
+
+  /**
+   * Get an unused edge id, growing the edge arrays if needed.
+   *
+   * @return The edge id.
+   */
+  private int allocateEdge() {
+    if (firstFree != NONE) {
+      int edge = firstFree;
+      firstFree = nextParallel[edge];
+      return edge;
+    }
+
+    if (numEdgeIds == edgeFrom.length) {
+      int capacity = Math.max(8, 2 * numEdgeIds);
+      edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+      edgeTo = Arrays.copyOf(edgeTo, capacity);
+      fromPositions = Arrays.copyOf(fromPositions, capacity);
+      toPositions = Arrays.copyOf(toPositions, capacity);
+      nextParallel = Arrays.copyOf(nextParallel, capacity);
+      previousParallel = Arrays.copyOf(previousParallel, capacity);
+    }
+
+    return numEdgeIds++;
+  }
+
+  /**
+   * Get the hash map key for the pair of vertices, which for an undirected graph is independent of
+   * their order.
+   *
+   * @param u The head vertex.
+   * @param v The tail vertex.
+   *
+   * @return The key.
+   */
+  private Long key(int u, int v) {
+    if (!directed && u > v) {
+      return ((long) v << 32) | u;
+    }
+    return ((long) u << 32) | v;
+  }
+
+  /**
+   * Check that the specified vertex exists.
+   *
+   * @param vertex The vertex.
+   *
+   * @throws IndexOutOfBoundsException If the vertex is not between 0 and V - 1.
+   */
+  private void validateVertex(int vertex) {
+    if (vertex < 0 || vertex >= numVertices) {
+      throw new IndexOutOfBoundsException(
+          "vertex " + vertex + " is not between 0 and " + (numVertices - 1));
+    }
+  }
+}
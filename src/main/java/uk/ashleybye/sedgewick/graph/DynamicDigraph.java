@@ -0,0 +1,225 @@
+package uk.ashleybye.sedgewick.graph;
+
+/**
+ * A directed graph that, unlike {@link Digraph}, supports removing edges and adding and removing
+ * vertices, so that a changing topology can be updated in place rather than rebuilt. The following
+ * take amortised constant time: adding a vertex or an edge; removing an edge by its vertices; and,
+ * testing whether an edge exists. Removing a vertex takes time proportional to its in- and
+ * out-degree plus those of vertex V - 1, which is renumbered to fill the gap, so that the vertices
+ * are always numbered 0 to V - 1 as the search classes expect.
+ *
+ * Each vertex's outgoing and incoming adjacent vertices are held in growable {@code int[]}s, and
+ * an edge is removed by moving the last entry into its place, so adjacent vertices are not
+ * returned in any particular order. See {@link DynamicAdjacency} for the details.
+ *
+ * Any algorithm that accepts a {@code Digraph} can be run on a {@code DynamicDigraph}, provided the
+ * digraph is not changed while the algorithm is running; the results describe the digraph as it
+ * was when the algorithm ran.
+ */
+public class DynamicDigraph extends Digraph {
+
+  /**
+   * The adjacency storage.
+   */
+  private final DynamicAdjacency adjacency;
+
+  /**
+   * Create a V-vertex dynamic directed graph with zero edges.
+   *
+   * @param numVertices The number of vertices.
+   */
+  public DynamicDigraph(int numVertices) {
+    super(0, 0);
+    adjacency = new DynamicAdjacency(numVertices, true);
+  }
+
+  /**
+   * Create a dynamic copy of the specified digraph.
+   *
+   * @param digraph The digraph to copy.
+   */
+  public DynamicDigraph(Digraph digraph) {
+    this(digraph.getNumVertices());
+    for (int head = 0; head < digraph.getNumVertices(); head++) {
+      for (int tail : digraph.adjacentTo(head)) {
+        addEdge(head, tail);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of vertices in this graph.
+   *
+   * @return The number of vertices.
+   */
+  @Override
+  public int getNumVertices() {
+    return adjacency.getNumVertices();
+  }
+
+  /**
+   * Gets the number of edges in this graph.
+   *
+   * @return The number of edges.
+   */
+  @Override
+  public int getNumEdges() {
+    return adjacency.getNumEdges();
+  }
+
+  /**
+   * Add a vertex with no edges to this digraph.
+   *
+   * @return The new vertex, which is numbered V - 1 once it has been added.
+   */
+  public int addVertex() {
+    return adjacency.addVertex();
+  }
+
+  /**
+   * Remove the specified vertex and all edges to and from it from this digraph. Vertex V - 1 is then
+   * renumbered as {@code vertex}, unless {@code vertex} was itself vertex V - 1.
+   *
+   * @param vertex The vertex to remove.
+   *
+   * @return The former number of the vertex now numbered {@code vertex}.
+   */
+  public int removeVertex(int vertex) {
+    return adjacency.removeVertex(vertex);
+  }
+
+  /**
+   * Add a directed edge from vertex u to vertex v in this digraph.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    adjacency.addEdge(u, v);
+  }
+
+  /**
+   * Remove one directed edge from vertex u to vertex v from this digraph, if there is one.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @return True if an edge was removed; false, if there was no such edge.
+   */
+  public boolean removeEdge(int u, int v) {
+    return adjacency.removeEdge(u, v);
+  }
+
+  /**
+   * Returns true if there is an edge from vertex u to vertex v; false, otherwise.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @return True if the edge exists.
+   */
+  public boolean hasEdge(int u, int v) {
+    return adjacency.hasEdge(u, v);
+  }
+
+  /**
+   * Creates a dynamic digraph that is the reverse of this digraph.
+   *
+   * @return The reverse of this digraph.
+   */
+  @Override
+  public DynamicDigraph reverse() {
+    DynamicDigraph reversed = new DynamicDigraph(getNumVertices());
+    for (int head = 0; head < getNumVertices(); head++) {
+      for (int tail : adjacentTo(head)) {
+        reversed.addEdge(tail, head);
+      }
+    }
+
+    return reversed;
+  }
+
+  /**
+   * Gets the out-degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges leaving the specified vertex.
+   */
+  @Override
+  public int getOutDegree(int vertex) {
+    return adjacency.outDegree(vertex);
+  }
+
+  /**
+   * Gets the in-degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges entering the specified vertex.
+   */
+  @Override
+  public int getInDegree(int vertex) {
+    return adjacency.inDegree(vertex);
+  }
+
+  /**
+   * Gets the vertices with edges to the specified vertex, which are maintained as edges are added
+   * and removed rather than built on demand. The returned view must not be used after the edges of
+   * the vertex have changed.
+   *
+   * @param vertex The vertex to get incoming adjacent vertices for.
+   *
+   * @return The vertices with edges to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> incomingTo(int vertex) {
+    return adjacency.incoming(vertex);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices with edges to the specified vertex,
+   * in the order in which {@code incomingTo(vertex)} returns them.
+   *
+   * @param vertex The vertex to get an incoming adjacent vertex for.
+   * @param index The position, between 0 and {@code getInDegree(vertex) - 1}.
+   *
+   * @return The incoming adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int incomingTo(int vertex, int index) {
+    return adjacency.incoming(vertex, index);
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex. The returned view must not be used after
+   * the edges of the vertex have changed.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return adjacency.outgoing(vertex);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getOutDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return adjacency.outgoing(vertex, index);
+  }
+}
@@ -0,0 +1,174 @@
+package uk.ashleybye.sedgewick.graph;
+
+/**
+ * An undirected graph that, unlike {@link Graph}, supports removing edges and adding and removing
+ * vertices, so that a changing topology can be updated in place rather than rebuilt. The following
+ * take amortised constant time: adding a vertex or an edge; removing an edge by its vertices; and,
+ * testing whether an edge exists. Removing a vertex takes time proportional to its degree plus the
+ * degree of vertex V - 1, which is renumbered to fill the gap, so that the vertices are always
+ * numbered 0 to V - 1 as the search classes expect.
+ *
+ * Each vertex's adjacent vertices are held in a growable {@code int[]}, and an edge is removed by
+ * moving the last entry into its place, so adjacent vertices are not returned in any particular
+ * order. See {@link DynamicAdjacency} for the details.
+ *
+ * Any algorithm that accepts a {@code Graph} can be run on a {@code DynamicGraph}, provided the
+ * graph is not changed while the algorithm is running; the results describe the graph as it was
+ * when the algorithm ran.
+ */
+public class DynamicGraph extends Graph {
+
+  /**
+   * The adjacency storage.
+   */
+  private final DynamicAdjacency adjacency;
+
+  /**
+   * Create a V-vertex dynamic undirected graph with zero edges.
+   *
+   * @param numVertices The number of vertices.
+   */
+  public DynamicGraph(int numVertices) {
+    super(0, 0);
+    adjacency = new DynamicAdjacency(numVertices, false);
+  }
+
+  /**
+   * Create a dynamic copy of the specified graph.
+   *
+   * @param graph The graph to copy.
+   */
+  public DynamicGraph(Graph graph) {
+    this(graph.getNumVertices());
+    for (int u = 0; u < graph.getNumVertices(); u++) {
+      boolean selfLoop = false;
+      for (int v : graph.adjacentTo(u)) {
+        // Each edge appears once at each end, so add it from its lower end only. A self-loop
+        // appears twice at its only end, so add it every other time.
+        if (u == v) {
+          selfLoop = !selfLoop;
+        }
+        if (u < v || (u == v && selfLoop)) {
+          addEdge(u, v);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the number of vertices in this graph.
+   *
+   * @return The number of vertices.
+   */
+  @Override
+  public int getNumVertices() {
+    return adjacency.getNumVertices();
+  }
+
+  /**
+   * Gets the number of edges in this graph.
+   *
+   * @return The number of edges.
+   */
+  @Override
+  public int getNumEdges() {
+    return adjacency.getNumEdges();
+  }
+
+  /**
+   * Add a vertex with no edges to this graph.
+   *
+   * @return The new vertex, which is numbered V - 1 once it has been added.
+   */
+  public int addVertex() {
+    return adjacency.addVertex();
+  }
+
+  /**
+   * Remove the specified vertex and all its edges from this graph. Vertex V - 1 is then renumbered
+   * as {@code vertex}, unless {@code vertex} was itself vertex V - 1.
+   *
+   * @param vertex The vertex to remove.
+   *
+   * @return The former number of the vertex now numbered {@code vertex}.
+   */
+  public int removeVertex(int vertex) {
+    return adjacency.removeVertex(vertex);
+  }
+
+  /**
+   * Add an undirected edge from vertex u to vertex v in this graph.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    adjacency.addEdge(u, v);
+  }
+
+  /**
+   * Remove one undirected edge between vertex u and vertex v from this graph, if there is one.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @return True if an edge was removed; false, if there was no such edge.
+   */
+  public boolean removeEdge(int u, int v) {
+    return adjacency.removeEdge(u, v);
+  }
+
+  /**
+   * Returns true if there is an edge between vertex u and vertex v; false, otherwise.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @return True if the edge exists.
+   */
+  public boolean hasEdge(int u, int v) {
+    return adjacency.hasEdge(u, v);
+  }
+
+  /**
+   * Gets the degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of vertices adjacent to the specified vertex.
+   */
+  @Override
+  public int getDegree(int vertex) {
+    return adjacency.outDegree(vertex);
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex. The returned view must not be used after
+   * the edges of the vertex have changed.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return adjacency.outgoing(vertex);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return adjacency.outgoing(vertex, index);
+  }
+}
@@ -1,6 +1,6 @@
 package uk.ashleybye.sedgewick.graph;
 
-import uk.ashleybye.sedgewick.collections.Queue;
+import uk.ashleybye.sedgewick.collections.IntQueue;
 
 /**
  * Algorithm to calculate eccentricity, based on BreadthFirstPaths algorithm in Algorithms, 4th
@@ -12,6 +12,10 @@ import uk.ashleybye.sedgewick.collections.Queue;
  * either is true.
  *
  * Not studied, but quick assessment is that growth factor: ~ V^2.
+ *
+ * As there are V searches, they share a single queue, cleared before each search, and a single
+ * vertex-indexed array recording the search in which each vertex was last visited, so that nothing
+ * needs to be allocated or reset between searches.
  */
 public class Eccentricity {
 
@@ -30,6 +34,23 @@ public class Eccentricity {
    */
   private int diameter;
 
+  /**
+   * The queue of vertices to visit, shared by every search.
+   */
+  private final IntQueue queue;
+
+  /**
+   * Vertex-indexed array of one more than the source vertex of the last search to visit each
+   * vertex, so that zero means not yet visited by any search.
+   */
+  private final int[] visitedBy;
+
+  /**
+   * Vertex-indexed array of the distance of each vertex from the source of the search that last
+   * visited it.
+   */
+  private final int[] distanceToSource;
+
   /**
    * Construct a new instance of {@code Eccentricity} and compute the eccentricity of each vertex in
    * the {@code graph}. Calculate {@code radius} and {@code diameter} based on the eccentricity for
@@ -41,6 +62,9 @@ public class Eccentricity {
     eccentricities = new int[graph.getNumVertices()];
     radius = Integer.MAX_VALUE;
     diameter = Integer.MIN_VALUE;
+    queue = new IntQueue(graph.getNumVertices());
+    visitedBy = new int[graph.getNumVertices()];
+    distanceToSource = new int[graph.getNumVertices()];
 
     for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
       eccentricities[vertex] = breadthFirstSearch(graph, vertex);
@@ -68,21 +92,20 @@ public class Eccentricity {
      * marked as visited the first time it is encountered, and a distance to the source vertex
      * recorded.
      */
-    Queue<Integer> queue = new Queue<>();
-    boolean[] isVisisted = new boolean[graph.getNumVertices()];
-    int[] distanceToSource = new int[graph.getNumVertices()];
-
-    isVisisted[sourceVertex] = true;
+    queue.clear();
+    visitedBy[sourceVertex] = sourceVertex + 1;
     distanceToSource[sourceVertex] = 0;
     queue.enqueue(sourceVertex);
 
     int eccentricity = 0;
     while (!queue.isEmpty()) {
       int thisVertex = queue.dequeue();
-      for (int adjacentVertex : graph.adjacentTo(thisVertex)) {
-        if (!isVisisted[adjacentVertex]) {
+      int degree = graph.getDegree(thisVertex);
+      for (int i = 0; i < degree; i++) {
+        int adjacentVertex = graph.adjacentTo(thisVertex, i);
+        if (visitedBy[adjacentVertex] != sourceVertex + 1) {
           distanceToSource[adjacentVertex] = distanceToSource[thisVertex] + 1;
-          isVisisted[adjacentVertex] = true;
+          visitedBy[adjacentVertex] = sourceVertex + 1;
           queue.enqueue(adjacentVertex);
 
           if (distanceToSource[adjacentVertex] > eccentricity) {
@@ -0,0 +1,123 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+
+/**
+ * A list of edges held in parallel primitive arrays, such that the e-th edge connects {@code us[e]}
+ * to {@code vs[e]} with, for weighted edges, weight {@code weights[e]}. Used as an intermediate form
+ * when building graphs whose final layout depends on knowing every edge in advance.
+ */
+class EdgeList {
+
+  /**
+   * The number of vertices.
+   */
+  final int numVertices;
+
+  /**
+   * Edge-indexed array of the first vertex of each edge.
+   */
+  final int[] us;
+
+  /**
+   * Edge-indexed array of the second vertex of each edge.
+   */
+  final int[] vs;
+
+  /**
+   * Edge-indexed array of the weight of each edge, or {@code null} if the edges are unweighted.
+   */
+  final double[] weights;
+
+  /**
+   * Construct a new edge list.
+   *
+   * @param numVertices the number of vertices
+   * @param us edge-indexed array of the first vertex of each edge
+   * @param vs edge-indexed array of the second vertex of each edge
+   */
+  EdgeList(int numVertices, int[] us, int[] vs) {
+    this(numVertices, us, vs, null);
+  }
+
+  /**
+   * Construct a new weighted edge list.
+   *
+   * @param numVertices the number of vertices
+   * @param us edge-indexed array of the first vertex of each edge
+   * @param vs edge-indexed array of the second vertex of each edge
+   * @param weights edge-indexed array of the weight of each edge
+   */
+  EdgeList(int numVertices, int[] us, int[] vs, double[] weights) {
+    this.numVertices = numVertices;
+    this.us = us;
+    this.vs = vs;
+    this.weights = weights;
+  }
+
+  /**
+   * Get the number of edges.
+   *
+   * @return the number of edges
+   */
+  int getNumEdges() {
+    return us.length;
+  }
+
+  /**
+   * Read an edge list from a file in the format accepted by {@link Graph#Graph(String)} and {@link
+   * Digraph#Digraph(String)}.
+   *
+   * @param fileName the path to the file containing the source data
+   *
+   * @return the edge list
+   *
+   * @throws IOException if the specified file cannot be loaded
+   */
+  static EdgeList read(String fileName) throws IOException {
+    try (GraphTextReader reader = new GraphTextReader(fileName)) {
+      int numVertices = reader.nextInt();
+      int numEdges = reader.nextInt();
+      int[] us = new int[numEdges];
+      int[] vs = new int[numEdges];
+      for (int e = 0; e < numEdges; e++) {
+        us[e] = reader.nextInt();
+        vs[e] = reader.nextInt();
+      }
+
+      return new EdgeList(numVertices, us, vs);
+    } catch (IOException exception) {
+      throw new IOException("Could not open file: " + fileName);
+    }
+  }
+
+  /**
+   * Read a weighted edge list from a file in the format accepted by {@link
+   * EdgeWeightedGraph#EdgeWeightedGraph(String)} and {@link
+   * EdgeWeightedDigraph#EdgeWeightedDigraph(String)}.
+   *
+   * @param fileName the path to the file containing the source data
+   *
+   * @return the weighted edge list
+   *
+   * @throws IOException if the specified file cannot be loaded
+   */
+  static EdgeList readWeighted(String fileName) throws IOException {
+    try (GraphTextReader reader = new GraphTextReader(fileName)) {
+      int numVertices = reader.nextInt();
+      int numEdges = reader.nextInt();
+      int[] us = new int[numEdges];
+      int[] vs = new int[numEdges];
+      double[] weights = new double[numEdges];
+      for (int e = 0; e < numEdges; e++) {
+        us[e] = reader.nextInt();
+        vs[e] = reader.nextInt();
+        weights[e] = reader.nextDouble();
+      }
+
+      return new EdgeList(numVertices, us, vs, weights);
+    } catch (IOException exception) {
+      throw new IOException("Could not open file: " + fileName);
+    }
+  }
+}
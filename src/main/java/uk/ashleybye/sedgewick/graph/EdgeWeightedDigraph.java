@@ -1,11 +1,10 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Scanner;
-import uk.ashleybye.sedgewick.collections.Bag;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
 
 /**
  * The class represents a directed graph with weighted edges. Edges are stored in a vertex-indexed
@@ -30,7 +29,19 @@ public class EdgeWeightedDigraph {
   /**
    * The adjacency-lists of edges.
    */
-  private Bag<DirectedEdge>[] adjacencyLists;
+  private ChunkedBag<DirectedEdge>[] adjacencyLists;
+
+  /**
+   * Vertex-indexed offsets into {@code incomingEdges}, or null until {@code incomingTo()} or {@code
+   * getInDegree()} is first called, and again after an edge is added.
+   */
+  private int[] incomingOffsets;
+
+  /**
+   * The edges entering every vertex, packed end to end, such that those entering v are stored in
+   * {@code incomingEdges[incomingOffsets[v]...incomingOffsets[v + 1] - 1]}.
+   */
+  private DirectedEdge[] incomingEdges;
 
   /**
    * Construct a new instance of EdgeWeightedDigraph with the specified number of vertices and zero
@@ -41,10 +52,10 @@ public class EdgeWeightedDigraph {
   public EdgeWeightedDigraph(int numVertices) {
     this.numVertices = numVertices;
     this.numEdges = 0;
-    adjacencyLists = (Bag<DirectedEdge>[]) new Bag[numVertices];
+    adjacencyLists = (ChunkedBag<DirectedEdge>[]) new ChunkedBag[numVertices];
 
     for (int vertex = 0; vertex < numVertices; vertex++) {
-      adjacencyLists[vertex] = new Bag<>();
+      adjacencyLists[vertex] = new ChunkedBag<>();
     }
   }
 
@@ -60,26 +71,26 @@ public class EdgeWeightedDigraph {
    * 19 23 0.57
    * ...
    *
+   * The file may be gzip-compressed.
+   *
    * @param fileName The source file.
    *
    * @throws IOException If the source file cannot be read.
    */
   public EdgeWeightedDigraph(String fileName) throws IOException {
-    Path filePath = Paths.get(fileName);
-
-    try (Scanner scanner = new Scanner(Files.newInputStream(filePath))) {
-      this.numVertices = scanner.nextInt();
-      this.numEdges = scanner.nextInt();
-      adjacencyLists = (Bag<DirectedEdge>[]) new Bag[numVertices];
+    try (GraphTextReader reader = new GraphTextReader(fileName)) {
+      this.numVertices = reader.nextInt();
+      this.numEdges = reader.nextInt();
+      adjacencyLists = (ChunkedBag<DirectedEdge>[]) new ChunkedBag[numVertices];
 
       for (int vertex = 0; vertex < numVertices; vertex++) {
-        adjacencyLists[vertex] = new Bag<>();
+        adjacencyLists[vertex] = new ChunkedBag<>();
       }
 
       for (int e = 0; e < numEdges; e++) {
-        int from = scanner.nextInt();
-        int to = scanner.nextInt();
-        double weight = scanner.nextDouble();
+        int from = reader.nextInt();
+        int to = reader.nextInt();
+        double weight = reader.nextDouble();
         this.addEdge(new DirectedEdge(from, to, weight));
 
         // numEdges is incremented in addEdge(), so decrement to keep E constant.
@@ -116,6 +127,8 @@ public class EdgeWeightedDigraph {
   public void addEdge(DirectedEdge edge) {
     adjacencyLists[edge.from()].add(edge);
     numEdges++;
+    incomingOffsets = null;
+    incomingEdges = null;
   }
 
   /**
@@ -130,19 +143,164 @@ public class EdgeWeightedDigraph {
   }
 
   /**
-   * Get an iterable list of all edges in the graph. Includes parallel edges and excludes
-   * self-loops.
+   * Get the out-degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
    *
-   * @return Iterable list of edges.
+   * @return The number of edges leaving the vertex.
    */
-  public Iterable<DirectedEdge> getEdges() {
-    Bag<DirectedEdge> edges = new Bag<>();
+  public int getOutDegree(int vertex) {
+    return adjacencyLists[vertex].size();
+  }
+
+  /**
+   * Get the edge at the specified position of the edges adjacent to the specified vertex, in the
+   * same order as {@code adjacentTo()}. Together with {@code getOutDegree()} this is a cursor over
+   * the edges that needs no iterator, and that a recursive search can keep in a local variable.
+   *
+   * @param vertex The vertex.
+   * @param index The position, between 0 and {@code getOutDegree(vertex) - 1}.
+   *
+   * @return The edge.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  public DirectedEdge adjacentTo(int vertex, int index) {
+    return adjacencyLists[vertex].get(index);
+  }
+
+  /**
+   * Reset the specified cursor to iterate the edges adjacent to the specified vertex, in the same
+   * order as {@code adjacentTo()}, so that a search can visit every vertex with a single cursor
+   * rather than allocating an iterator for each.
+   *
+   * @param vertex The vertex.
+   * @param cursor The cursor to reset.
+   *
+   * @return The cursor.
+   */
+  public ChunkedBag.Cursor<DirectedEdge> adjacentTo(int vertex,
+      ChunkedBag.Cursor<DirectedEdge> cursor) {
+    return cursor.reset(adjacencyLists[vertex]);
+  }
+
+  /**
+   * Get the edges entering the specified vertex. The incoming edges of all vertices are gathered
+   * together, in time proportional to V + E, on the first call after the graph was created or last
+   * changed, and are then cached, so that algorithms that follow edges backwards, such as a search
+   * for shortest paths to a target vertex, need not build a reversed copy of the graph. The edges
+   * are the same {@code DirectedEdge} objects returned by {@code adjacentTo()}, and are not
+   * reversed.
+   *
+   * @param vertex The vertex.
+   *
+   * @return Edges entering the vertex.
+   */
+  public Iterable<DirectedEdge> incomingTo(int vertex) {
+    buildIncoming();
+    return Arrays.asList(incomingEdges)
+        .subList(incomingOffsets[vertex], incomingOffsets[vertex + 1]);
+  }
+
+  /**
+   * Get the in-degree of the specified vertex, gathering the incoming edges as for {@code
+   * incomingTo()} if needed.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges entering the vertex.
+   */
+  public int getInDegree(int vertex) {
+    buildIncoming();
+    return incomingOffsets[vertex + 1] - incomingOffsets[vertex];
+  }
+
+  /**
+   * Gather the incoming edges of every vertex, unless they are already cached.
+   */
+  private void buildIncoming() {
+    if (incomingOffsets != null) {
+      return;
+    }
+
+    int[] offsets = new int[numVertices + 1];
     for (int vertex = 0; vertex < numVertices; vertex++) {
       for (DirectedEdge edge : adjacentTo(vertex)) {
-        edges.add(edge);
+        offsets[edge.to() + 1]++;
       }
     }
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
 
-    return edges;
+    DirectedEdge[] edges = new DirectedEdge[offsets[numVertices]];
+    int[] next = new int[numVertices];
+    System.arraycopy(offsets, 1, next, 0, numVertices);
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      for (DirectedEdge edge : adjacentTo(vertex)) {
+        edges[--next[edge.to()]] = edge;
+      }
+    }
+
+    incomingEdges = edges;
+    incomingOffsets = offsets;
+  }
+
+  /**
+   * Get an iterable view of all edges in the graph. Includes parallel edges and excludes
+   * self-loops. The view copies nothing: it iterates the adjacency-lists in place, each time it is
+   * iterated, so it reflects edges added later.
+   *
+   * @return Iterable view of edges.
+   */
+  public Iterable<DirectedEdge> getEdges() {
+    return EdgeIterator::new;
+  }
+
+  /**
+   * Iterates the edges, in the order in which a {@code Bag} of them gathered vertex by vertex
+   * would: vertices in descending order, and the edges of each in the order they were added.
+   */
+  private class EdgeIterator implements Iterator<DirectedEdge> {
+
+    private int vertex = numVertices;
+    private int index;
+    private DirectedEdge next;
+
+    EdgeIterator() {
+      advance();
+    }
+
+    /**
+     * Find the next edge, if any, setting {@code next} to null if there are no more.
+     */
+    private void advance() {
+      next = null;
+      while (next == null) {
+        while (index == 0) {
+          if (--vertex < 0) {
+            return;
+          }
+          index = adjacencyLists[vertex].size();
+        }
+        DirectedEdge edge = adjacencyLists[vertex].get(--index);
+        next = edge;
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public DirectedEdge next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      DirectedEdge edge = next;
+      advance();
+      return edge;
+    }
   }
 }
@@ -1,7 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.util.Optional;
-import uk.ashleybye.sedgewick.collections.Stack;
+import uk.ashleybye.sedgewick.collections.ArrayStack;
 
 /**
  * Detects cycles in the given edge-weighted directed graph. It is possible that an exponential
@@ -14,7 +14,7 @@ public class EdgeWeightedDirectedCycle {
 
   private boolean[] markedVertices;
   private DirectedEdge[] edgeTo;
-  private Stack<DirectedEdge> cycle;
+  private ArrayStack<DirectedEdge> cycle;
   private boolean[] onStack;
 
   /**
@@ -55,7 +55,7 @@ public class EdgeWeightedDirectedCycle {
         edgeTo[tail.to()] = tail;
         depthFirstSearch(graph, tail.to());
       } else if (onStack[tail.to()]) {
-        cycle = new Stack<>();
+        cycle = new ArrayStack<>();
         DirectedEdge edge = tail;
         while (edge.from() != tail.to()) {
           cycle.push(edge);
@@ -1,11 +1,9 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Scanner;
-import uk.ashleybye.sedgewick.collections.Bag;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
 
 /**
  * The class represents an undirected graph with weighted edges. Edges are stored in a
@@ -30,7 +28,7 @@ public class EdgeWeightedGraph {
   /**
    * The adjacency-lists of edges.
    */
-  private Bag<Edge>[] adjacencyLists;
+  private ChunkedBag<Edge>[] adjacencyLists;
 
   /**
    * Construct a new instance of EdgeWeightedGraph with the specified number of vertices and zero
@@ -41,10 +39,10 @@ public class EdgeWeightedGraph {
   public EdgeWeightedGraph(int numVertices) {
     this.numVertices = numVertices;
     this.numEdges = 0;
-    adjacencyLists = (Bag<Edge>[]) new Bag[numVertices];
+    adjacencyLists = (ChunkedBag<Edge>[]) new ChunkedBag[numVertices];
 
     for (int vertex = 0; vertex < numVertices; vertex++) {
-      adjacencyLists[vertex] = new Bag<>();
+      adjacencyLists[vertex] = new ChunkedBag<>();
     }
   }
 
@@ -60,26 +58,26 @@ public class EdgeWeightedGraph {
    * 19 23 0.57
    * ...
    *
+   * The file may be gzip-compressed.
+   *
    * @param fileName The source file.
    *
    * @throws IOException If the source file cannot be read.
    */
   public EdgeWeightedGraph(String fileName) throws IOException {
-    Path filePath = Paths.get(fileName);
-
-    try (Scanner scanner = new Scanner(Files.newInputStream(filePath))) {
-      this.numVertices = scanner.nextInt();
-      this.numEdges = scanner.nextInt();
-      adjacencyLists = (Bag<Edge>[]) new Bag[numVertices];
+    try (GraphTextReader reader = new GraphTextReader(fileName)) {
+      this.numVertices = reader.nextInt();
+      this.numEdges = reader.nextInt();
+      adjacencyLists = (ChunkedBag<Edge>[]) new ChunkedBag[numVertices];
 
       for (int vertex = 0; vertex < numVertices; vertex++) {
-        adjacencyLists[vertex] = new Bag<>();
+        adjacencyLists[vertex] = new ChunkedBag<>();
       }
 
       for (int e = 0; e < numEdges; e++) {
-        int u = scanner.nextInt();
-        int v = scanner.nextInt();
-        double weight = scanner.nextDouble();
+        int u = reader.nextInt();
+        int v = reader.nextInt();
+        double weight = reader.nextDouble();
         this.addEdge(new Edge(u, v, weight));
 
         // numEdges is incremented in addEdge(), so decrement to keep E constant.
@@ -133,21 +131,104 @@ public class EdgeWeightedGraph {
   }
 
   /**
-   * Get an iterable list of all edges in the graph. Includes parallel edges and excludes
-   * self-loops.
+   * Get the degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges incident to the vertex.
+   */
+  public int getDegree(int vertex) {
+    return adjacencyLists[vertex].size();
+  }
+
+  /**
+   * Get the edge at the specified position of the edges adjacent to the specified vertex, in the
+   * same order as {@code adjacentTo()}. Together with {@code getDegree()} this is a cursor over the
+   * edges that needs no iterator, and that a recursive search can keep in a local variable.
+   *
+   * @param vertex The vertex.
+   * @param index The position, between 0 and {@code getDegree(vertex) - 1}.
+   *
+   * @return The edge.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  public Edge adjacentTo(int vertex, int index) {
+    return adjacencyLists[vertex].get(index);
+  }
+
+  /**
+   * Reset the specified cursor to iterate the edges adjacent to the specified vertex, in the same
+   * order as {@code adjacentTo()}, so that a search can visit every vertex with a single cursor
+   * rather than allocating an iterator for each.
+   *
+   * @param vertex The vertex.
+   * @param cursor The cursor to reset.
+   *
+   * @return The cursor.
+   */
+  public ChunkedBag.Cursor<Edge> adjacentTo(int vertex, ChunkedBag.Cursor<Edge> cursor) {
+    return cursor.reset(adjacencyLists[vertex]);
+  }
+
+  /**
+   * Get an iterable view of all edges in the graph. Includes parallel edges and excludes
+   * self-loops. The view copies nothing: it iterates the adjacency-lists in place, each time it is
+   * iterated, so it reflects edges added later.
    *
-   * @return Iterable list of edges.
+   * @return Iterable view of edges.
    */
   public Iterable<Edge> getEdges() {
-    Bag<Edge> edges = new Bag<>();
-    for (int vertex = 0; vertex < numVertices; vertex++) {
-      for (Edge edge : adjacentTo(vertex)) {
+    return EdgeIterator::new;
+  }
+
+  /**
+   * Iterates the edges once each, from the vertex with the lower number, in the order in which a
+   * {@code Bag} of them gathered vertex by vertex would: vertices in descending order, and the
+   * edges of each in the order they were added.
+   */
+  private class EdgeIterator implements Iterator<Edge> {
+
+    private int vertex = numVertices;
+    private int index;
+    private Edge next;
+
+    EdgeIterator() {
+      advance();
+    }
+
+    /**
+     * Find the next edge, if any, setting {@code next} to null if there are no more.
+     */
+    private void advance() {
+      next = null;
+      while (next == null) {
+        while (index == 0) {
+          if (--vertex < 0) {
+            return;
+          }
+          index = adjacencyLists[vertex].size();
+        }
+        Edge edge = adjacencyLists[vertex].get(--index);
         if (edge.getOtherVertex(vertex) > vertex) {
-          edges.add(edge);
+          next = edge;
         }
       }
     }
 
-    return edges;
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Edge next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Edge edge = next;
+      advance();
+      return edge;
+    }
   }
 }
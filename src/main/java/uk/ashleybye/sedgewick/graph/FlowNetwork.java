@@ -1,12 +1,8 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 
 public class FlowNetwork {
@@ -42,26 +38,26 @@ public class FlowNetwork {
   }
 
   /**
-   * Construct a {@code FlowNetwork} from the given {@code sourceFile}.
+   * Construct a {@code FlowNetwork} from the given {@code sourceFile}, which may be
+   * gzip-compressed.
    *
    * @param sourceFile the source file
    *
    * @throws IOException if the source file cannot be read
    */
   public FlowNetwork(String sourceFile) throws IOException {
-    Path filePath = Paths.get(sourceFile);
-    try (Scanner scanner = new Scanner(Files.newInputStream(filePath))) {
-      this.numVertices = scanner.nextInt();
+    try (GraphTextReader reader = new GraphTextReader(sourceFile)) {
+      this.numVertices = reader.nextInt();
       this.adjacencyLists = (List<FlowEdge>[]) new List[numVertices];
 
       for (int vertex = 0; vertex < this.numVertices; vertex++) {
         adjacencyLists[vertex] = new ArrayList<>();
       }
 
-      int edges = scanner.nextInt();
+      int edges = reader.nextInt();
       for (int edge = 0; edge < edges; edge++) {
-        FlowEdge flowEdge = new FlowEdge(scanner.nextInt(), scanner.nextInt(),
-            scanner.nextDouble());
+        FlowEdge flowEdge = new FlowEdge(reader.nextInt(), reader.nextInt(),
+            reader.nextDouble());
         this.addEdge(flowEdge);
       }
     } catch (IOException exception) {
@@ -109,6 +105,32 @@ public class FlowNetwork {
     return adjacencyLists[vertex];
   }
 
+  /**
+   * Get the number of edges adjacent to the given {@code vertex}.
+   *
+   * @param vertex the vertex
+   *
+   * @return the number of adjacent edges
+   */
+  public int getDegree(int vertex) {
+    return adjacencyLists[vertex].size();
+  }
+
+  /**
+   * Get the edge at the given {@code index} of the edges adjacent to the given {@code vertex}, in
+   * the same order as {@code getEdgesAdjacentTo()}, without allocating an iterator.
+   *
+   * @param vertex the vertex
+   * @param index the position, between 0 and {@code getDegree(vertex) - 1}
+   *
+   * @return the adjacent edge
+   *
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  public FlowEdge getEdgeAdjacentTo(int vertex, int index) {
+    return adjacencyLists[vertex].get(index);
+  }
+
   /**
    * Get all the edges in this {@code FlowNetwork}.
    *
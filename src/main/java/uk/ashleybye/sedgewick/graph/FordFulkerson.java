@@ -67,7 +67,8 @@ public class FordFulkerson {
 
     while (!queue.isEmpty()) {
       int vertex = queue.remove();
-      for (FlowEdge edge : graph.getEdgesAdjacentTo(vertex)) {
+      for (int i = 0; i < graph.getDegree(vertex); i++) {
+        FlowEdge edge = graph.getEdgeAdjacentTo(vertex, i);
         int adjacentVertex = edge.other(vertex);
         if (edge.residualCapacityTo(adjacentVertex) > 0 && !isMarked[adjacentVertex]) {
           edgeTo[adjacentVertex] = edge;
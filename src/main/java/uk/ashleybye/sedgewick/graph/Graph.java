@@ -1,11 +1,7 @@
 package uk.ashleybye.sedgewick.graph;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Scanner;
-import uk.ashleybye.sedgewick.collections.Bag;
+import uk.ashleybye.sedgewick.collections.IntBag;
 
 /**
  * The Graph type stores a representation of a graph in an adjacency-list. Vertices are represented
@@ -41,9 +37,10 @@ public class Graph {
   private int numEdges;
 
   /**
-   * The adjacency lists.
+   * The adjacency lists, each a bag of primitive vertex numbers, so that adding an edge neither
+   * boxes its vertices nor allocates a list node.
    */
-  private Bag<Integer>[] adjacencyLists;
+  private IntBag[] adjacencyLists;
 
   /**
    * Create a V-vertex undirected graph with zero edges.
@@ -53,12 +50,25 @@ public class Graph {
   public Graph(int numVertices) {
     this.numVertices = numVertices;
     this.numEdges = 0;
-    adjacencyLists = (Bag<Integer>[]) new Bag[numVertices];
+    adjacencyLists = new IntBag[numVertices];
     for (int vertex = 0; vertex < numVertices; vertex++) {
-      adjacencyLists[vertex] = new Bag<>();
+      adjacencyLists[vertex] = new IntBag();
     }
   }
 
+  /**
+   * Create a V-vertex, E-edge undirected graph without allocating any adjacency-lists. For use by
+   * subclasses that provide their own adjacency storage, which must override {@code addEdge()},
+   * {@code getDegree()} and both forms of {@code adjacentTo()}.
+   *
+   * @param numVertices The number of vertices.
+   * @param numEdges The number of edges.
+   */
+  protected Graph(int numVertices, int numEdges) {
+    this.numVertices = numVertices;
+    this.numEdges = numEdges;
+  }
+
   /**
    * Create an undirected graph by reading input from a file.
    *
@@ -73,23 +83,24 @@ public class Graph {
    * 238 245
    * ...
    *
+   * The file may be gzip-compressed.
+   *
    * @param fileName The path to the file containing the source data.
    *
    * @throws IOException If the specified file cannot be loaded.
    */
   public Graph(String fileName) throws IOException {
-    Path filePath = Paths.get(fileName);
-    try (Scanner scanner = new Scanner(Files.newInputStream(filePath))) {
-      this.numVertices = scanner.nextInt();
-      this.numEdges = scanner.nextInt();
-      adjacencyLists = (Bag<Integer>[]) new Bag[numVertices];
+    try (GraphTextReader reader = new GraphTextReader(fileName)) {
+      this.numVertices = reader.nextInt();
+      this.numEdges = reader.nextInt();
+      adjacencyLists = new IntBag[numVertices];
       for (int vertex = 0; vertex < numVertices; vertex++) {
-        adjacencyLists[vertex] = new Bag<>();
+        adjacencyLists[vertex] = new IntBag();
       }
 
       for (int e = 0; e < numEdges; e++) {
-        int u = scanner.nextInt();
-        int v = scanner.nextInt();
+        int u = reader.nextInt();
+        int v = reader.nextInt();
         this.addEdge(u, v);
 
         // numEdges is incremented in addEdge(), so decrement to keep E constant.
@@ -141,6 +152,39 @@ public class Graph {
     return adjacencyLists[vertex];
   }
 
+  /**
+   * Gets the degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of vertices adjacent to the specified vertex.
+   */
+  public int getDegree(int vertex) {
+    return adjacencyLists[vertex].size();
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them. Together with {@code getDegree()}
+   * this is a cursor over the adjacent vertices that needs no iterator, so a search can visit them
+   * without allocating:
+   *
+   * int degree = graph.getDegree(vertex);
+   * for (int i = 0; i < degree; i++) {
+   *   int adjacentVertex = graph.adjacentTo(vertex, i);
+   * }
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  public int adjacentTo(int vertex, int index) {
+    return adjacencyLists[vertex].get(index);
+  }
+
   /**
    * Gets a {@code String} representation of this graph, in the following format:
    *
@@ -155,9 +199,9 @@ public class Graph {
   @Override
   public String toString() {
     StringBuilder stringBuilder = new StringBuilder();
-    stringBuilder.append(numVertices).append(" vertices, ").append(numEdges).append(" edges")
-        .append("\n");
-    for (int v = 0; v < numVertices; v++) {
+    stringBuilder.append(getNumVertices()).append(" vertices, ").append(getNumEdges())
+        .append(" edges").append("\n");
+    for (int v = 0; v < getNumVertices(); v++) {
       stringBuilder.append(v).append(": ");
       for (int w : this.adjacentTo(v)) {
         stringBuilder.append(w).append(" ");
@@ -0,0 +1,480 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes graphs in a binary on-disk layout, so that a graph parsed once from text can be
+ * reopened later without any parsing at all. Every file starts with a 24 byte header of six
+ * big-endian integers: the magic number, the layout version, the graph type, V, E and the number of
+ * adjacency entries. The header is followed by either:
+ *
+ * - a compressed sparse row layout, used for {@code Graph}, {@code Digraph} and {@code
+ * EdgeWeightedDigraph}: V + 1 integer offsets, then the adjacency entries as integers, then, for
+ * the weighted digraph, one double weight per adjacency entry; or,
+ *
+ * - an edge list layout, used for {@code EdgeWeightedGraph} and {@code FlowNetwork}: E integer u
+ * vertices, E integer v vertices and E double weights (or capacities).
+ *
+ * Compressed sparse row files for {@code Graph} and {@code Digraph} are opened with {@link
+ * MappedGraph} and {@link MappedDigraph}, which map the file into memory with {@code
+ * FileChannel.map} rather than reading it. The adjacency then lives off-heap in the operating
+ * system's page cache, where it is shared by every process that maps the same file. The remaining
+ * types are read into the heap with bulk copies, since their algorithms work on mutable or object
+ * edges. Each section of a file is mapped as a single region, which Java limits to 2GB: that is, up
+ * to 2^29 adjacency entries, or 2^28 weights.
+ */
+public final class GraphFile {
+
+  /**
+   * Magic number identifying a binary graph file: "SGBF".
+   */
+  private static final int MAGIC = 0x53474246;
+
+  /**
+   * The current layout version.
+   */
+  private static final int VERSION = 1;
+
+  /**
+   * The size of the header, in bytes.
+   */
+  static final int HEADER_BYTES = 24;
+
+  /*
+   * Graph types recorded in the header.
+   */
+  static final int GRAPH = 1;
+  static final int DIGRAPH = 2;
+  static final int EDGE_WEIGHTED_GRAPH = 3;
+  static final int EDGE_WEIGHTED_DIGRAPH = 4;
+  static final int FLOW_NETWORK = 5;
+
+  private GraphFile() {
+  }
+
+  /**
+   * Write the specified graph in compressed sparse row layout. Adjacent vertices are written in the
+   * order returned by {@code graph.adjacentTo()}, so algorithms produce identical results on the
+   * {@link MappedGraph} reopened from the file.
+   *
+   * @param graph the graph
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Graph graph, String fileName) throws IOException {
+    int[] offsets = new int[graph.getNumVertices() + 1];
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      int degree = 0;
+      for (int ignored : graph.adjacentTo(vertex)) {
+        degree++;
+      }
+      offsets[vertex + 1] = offsets[vertex] + degree;
+    }
+
+    try (DataOutputStream output = open(fileName)) {
+      writeHeader(output, GRAPH, graph.getNumVertices(), graph.getNumEdges(),
+          offsets[graph.getNumVertices()]);
+      for (int offset : offsets) {
+        output.writeInt(offset);
+      }
+      for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+        for (int adjacentVertex : graph.adjacentTo(vertex)) {
+          output.writeInt(adjacentVertex);
+        }
+      }
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Write the specified digraph in compressed sparse row layout. Adjacent vertices are written in
+   * the order returned by {@code digraph.adjacentTo()}, so algorithms produce identical results on
+   * the {@link MappedDigraph} reopened from the file.
+   *
+   * @param digraph the digraph
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Digraph digraph, String fileName) throws IOException {
+    try (DataOutputStream output = open(fileName)) {
+      writeHeader(output, DIGRAPH, digraph.getNumVertices(), digraph.getNumEdges(),
+          digraph.getNumEdges());
+      int offset = 0;
+      output.writeInt(offset);
+      for (int head = 0; head < digraph.getNumVertices(); head++) {
+        for (int ignored : digraph.adjacentTo(head)) {
+          offset++;
+        }
+        output.writeInt(offset);
+      }
+      for (int head = 0; head < digraph.getNumVertices(); head++) {
+        for (int tail : digraph.adjacentTo(head)) {
+          output.writeInt(tail);
+        }
+      }
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Write the specified edge-weighted digraph in compressed sparse row layout, with edges in the
+   * order returned by {@code graph.adjacentTo()}.
+   *
+   * @param graph the graph
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(EdgeWeightedDigraph graph, String fileName) throws IOException {
+    write(new CompactEdgeWeightedDigraph(graph), fileName);
+  }
+
+  /**
+   * Write the specified compact edge-weighted digraph in compressed sparse row layout.
+   *
+   * @param graph the graph
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(CompactEdgeWeightedDigraph graph, String fileName) throws IOException {
+    try (DataOutputStream output = open(fileName)) {
+      writeHeader(output, EDGE_WEIGHTED_DIGRAPH, graph.getNumVertices(), graph.getNumEdges(),
+          graph.getNumEdges());
+      for (int vertex = 0; vertex <= graph.getNumVertices(); vertex++) {
+        output.writeInt(graph.getEdgeOffset(vertex));
+      }
+      for (int edge = 0; edge < graph.getNumEdges(); edge++) {
+        output.writeInt(graph.to(edge));
+      }
+      for (int edge = 0; edge < graph.getNumEdges(); edge++) {
+        output.writeDouble(graph.getWeight(edge));
+      }
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Write the specified edge-weighted graph in edge list layout. Unlike {@code graph.getEdges()},
+   * self-loops are included.
+   *
+   * @param graph the graph
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(EdgeWeightedGraph graph, String fileName) throws IOException {
+    writeEdgeList(EDGE_WEIGHTED_GRAPH, edgesOf(graph), fileName);
+  }
+
+  /**
+   * Write the capacities of the specified flow network in edge list layout. Flows are not written.
+   *
+   * @param network the flow network
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(FlowNetwork network, String fileName) throws IOException {
+    writeEdgeList(FLOW_NETWORK, edgesOf(network), fileName);
+  }
+
+  /**
+   * Read an edge-weighted digraph written by {@code write()}, with bulk copies and no parsing.
+   *
+   * @param fileName the file to read
+   *
+   * @return the graph
+   *
+   * @throws IOException if the file cannot be read or is not an edge-weighted digraph file
+   */
+  public static CompactEdgeWeightedDigraph readEdgeWeightedDigraph(String fileName)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      int[] header = readHeader(channel, EDGE_WEIGHTED_DIGRAPH, fileName);
+      int numVertices = header[0];
+      int numTargets = header[2];
+
+      long position = HEADER_BYTES;
+      int[] offsets = new int[numVertices + 1];
+      mapInts(channel, position, offsets.length).get(offsets);
+      position += 4L * offsets.length;
+      int[] to = new int[numTargets];
+      mapInts(channel, position, numTargets).get(to);
+      position += 4L * numTargets;
+      double[] weights = new double[numTargets];
+      mapDoubles(channel, position, numTargets).get(weights);
+
+      return new CompactEdgeWeightedDigraph(offsets, to, weights);
+    }
+  }
+
+  /**
+   * Read an edge-weighted graph written by {@code write()}, with bulk copies and no parsing.
+   *
+   * @param fileName the file to read
+   *
+   * @return the graph
+   *
+   * @throws IOException if the file cannot be read or is not an edge-weighted graph file
+   */
+  public static EdgeWeightedGraph readEdgeWeightedGraph(String fileName) throws IOException {
+    EdgeList edges = readEdgeList(EDGE_WEIGHTED_GRAPH, fileName);
+    EdgeWeightedGraph graph = new EdgeWeightedGraph(edges.numVertices);
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      graph.addEdge(new Edge(edges.us[e], edges.vs[e], edges.weights[e]));
+    }
+
+    return graph;
+  }
+
+  /**
+   * Read a flow network written by {@code write()}, with bulk copies and no parsing. Every edge has
+   * zero flow.
+   *
+   * @param fileName the file to read
+   *
+   * @return the flow network
+   *
+   * @throws IOException if the file cannot be read or is not a flow network file
+   */
+  public static FlowNetwork readFlowNetwork(String fileName) throws IOException {
+    EdgeList edges = readEdgeList(FLOW_NETWORK, fileName);
+    FlowNetwork network = new FlowNetwork(edges.numVertices);
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      network.addEdge(new FlowEdge(edges.us[e], edges.vs[e], edges.weights[e]));
+    }
+
+    return network;
+  }
+
+  /**
+   * Get the edges of the specified edge-weighted graph, each once, including self-loops.
+   *
+   * @param graph the graph
+   *
+   * @return the weighted edges
+   */
+  static EdgeList edgesOf(EdgeWeightedGraph graph) {
+    int[] us = new int[graph.getNumEdges()];
+    int[] vs = new int[graph.getNumEdges()];
+    double[] weights = new double[graph.getNumEdges()];
+
+    int e = 0;
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      // A self-loop appears twice in its vertex's adjacency-list, so keep every other one.
+      boolean keepSelfLoop = false;
+      for (Edge edge : graph.adjacentTo(vertex)) {
+        int otherVertex = edge.getOtherVertex(vertex);
+        if (otherVertex == vertex) {
+          keepSelfLoop = !keepSelfLoop;
+        }
+        if (otherVertex > vertex || (otherVertex == vertex && keepSelfLoop)) {
+          us[e] = vertex;
+          vs[e] = otherVertex;
+          weights[e] = edge.getWeight();
+          e++;
+        }
+      }
+    }
+
+    return new EdgeList(graph.getNumVertices(), us, vs, weights);
+  }
+
+  /**
+   * Get the edges of the specified flow network, each once, with their capacities as weights.
+   *
+   * @param network the flow network
+   *
+   * @return the edges, weighted by capacity
+   */
+  static EdgeList edgesOf(FlowNetwork network) {
+    int[] us = new int[network.getNumEdges()];
+    int[] vs = new int[network.getNumEdges()];
+    double[] capacities = new double[network.getNumEdges()];
+
+    int e = 0;
+    for (int vertex = 0; vertex < network.getNumVertices(); vertex++) {
+      // Each edge appears in the adjacency-lists of both its vertices; keep it at its head only.
+      boolean keepSelfLoop = false;
+      for (FlowEdge edge : network.getEdgesAdjacentTo(vertex)) {
+        if (edge.from() == edge.to()) {
+          keepSelfLoop = !keepSelfLoop;
+        }
+        if (edge.from() == vertex && (edge.to() != vertex || keepSelfLoop)) {
+          us[e] = edge.from();
+          vs[e] = edge.to();
+          capacities[e] = edge.getCapacity();
+          e++;
+        }
+      }
+    }
+
+    return new EdgeList(network.getNumVertices(), us, vs, capacities);
+  }
+
+  /**
+   * Open a buffered data output stream, truncating any existing file.
+   *
+   * @param fileName the file to write
+   *
+   * @return the stream
+   *
+   * @throws IOException if the file cannot be opened
+   */
+  private static DataOutputStream open(String fileName) throws IOException {
+    return new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(Paths.get(fileName)), 1 << 16));
+  }
+
+  /**
+   * Write the file header.
+   *
+   * @param output the stream to write to
+   * @param type the graph type
+   * @param numVertices the number of vertices
+   * @param numEdges the number of edges
+   * @param numTargets the number of adjacency entries
+   *
+   * @throws IOException if the header cannot be written
+   */
+  private static void writeHeader(DataOutputStream output, int type, int numVertices, int numEdges,
+      int numTargets) throws IOException {
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    output.writeInt(type);
+    output.writeInt(numVertices);
+    output.writeInt(numEdges);
+    output.writeInt(numTargets);
+  }
+
+  /**
+   * Write an edge list layout file.
+   *
+   * @param type the graph type
+   * @param edges the weighted edges
+   * @param fileName the file to write
+   *
+   * @throws IOException if the file cannot be written
+   */
+  private static void writeEdgeList(int type, EdgeList edges, String fileName) throws IOException {
+    try (DataOutputStream output = open(fileName)) {
+      writeHeader(output, type, edges.numVertices, edges.getNumEdges(), edges.getNumEdges());
+      for (int u : edges.us) {
+        output.writeInt(u);
+      }
+      for (int v : edges.vs) {
+        output.writeInt(v);
+      }
+      for (double weight : edges.weights) {
+        output.writeDouble(weight);
+      }
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Read an edge list layout file.
+   *
+   * @param type the expected graph type
+   * @param fileName the file to read
+   *
+   * @return the weighted edges
+   *
+   * @throws IOException if the file cannot be read or is not of the expected type
+   */
+  private static EdgeList readEdgeList(int type, String fileName) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      int[] header = readHeader(channel, type, fileName);
+      int numEdges = header[1];
+
+      long position = HEADER_BYTES;
+      int[] us = new int[numEdges];
+      mapInts(channel, position, numEdges).get(us);
+      position += 4L * numEdges;
+      int[] vs = new int[numEdges];
+      mapInts(channel, position, numEdges).get(vs);
+      position += 4L * numEdges;
+      double[] weights = new double[numEdges];
+      mapDoubles(channel, position, numEdges).get(weights);
+
+      return new EdgeList(header[0], us, vs, weights);
+    }
+  }
+
+  /**
+   * Read and validate the header of a binary graph file.
+   *
+   * @param channel the channel to read from
+   * @param type the expected graph type
+   * @param fileName the file name, for error messages
+   *
+   * @return V, E and the number of adjacency entries
+   *
+   * @throws IOException if the header cannot be read or does not match the expected type
+   */
+  static int[] readHeader(FileChannel channel, int type, String fileName) throws IOException {
+    if (channel.size() < HEADER_BYTES) {
+      throw new IOException("Not a binary graph file: " + fileName);
+    }
+    ByteBuffer header = channel.map(MapMode.READ_ONLY, 0, HEADER_BYTES);
+    if (header.getInt() != MAGIC) {
+      throw new IOException("Not a binary graph file: " + fileName);
+    }
+    if (header.getInt() != VERSION) {
+      throw new IOException("Unsupported binary graph file version: " + fileName);
+    }
+    if (header.getInt() != type) {
+      throw new IOException("Binary graph file is of the wrong graph type: " + fileName);
+    }
+
+    return new int[]{header.getInt(), header.getInt(), header.getInt()};
+  }
+
+  /**
+   * Map a read-only region of integers.
+   *
+   * @param channel the channel to map
+   * @param position the byte position of the first integer
+   * @param length the number of integers
+   *
+   * @return the mapped integers
+   *
+   * @throws IOException if the region cannot be mapped
+   */
+  static IntBuffer mapInts(FileChannel channel, long position, int length) throws IOException {
+    return channel.map(MapMode.READ_ONLY, position, 4L * length).asIntBuffer();
+  }
+
+  /**
+   * Map a read-only region of doubles.
+   *
+   * @param channel the channel to map
+   * @param position the byte position of the first double
+   * @param length the number of doubles
+   *
+   * @return the mapped doubles
+   *
+   * @throws IOException if the region cannot be mapped
+   */
+  static DoubleBuffer mapDoubles(FileChannel channel, long position, int length)
+      throws IOException {
+    return channel.map(MapMode.READ_ONLY, position, 8L * length).asDoubleBuffer();
+  }
+}
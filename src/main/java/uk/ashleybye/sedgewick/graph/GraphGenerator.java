@@ -0,0 +1,545 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Seeded generators of large synthetic graphs, for measuring how algorithms scale. Each generator
+ * describes a random graph model; the same model and seed always produce the same edges, in the
+ * same order, whatever the target. The available models are:
+ *
+ * 1. Erdos-Renyi: E edges, each between two distinct vertices chosen uniformly at random;
+ *
+ * 2. R-MAT: E edges in 2^scale vertices, each placed by recursively choosing one quadrant of the
+ * adjacency matrix with fixed probabilities, giving the skewed, power-law degrees of social and web
+ * graphs;
+ *
+ * 3. grid: a rows by columns lattice in which each vertex is joined to its neighbours to the right
+ * and below, like a road network, with a pair of opposing edges in each direction when directed;
+ *
+ * 4. DAG: E edges, each directed from the lower to the higher of two distinct positions in a random
+ * topological order, so the digraph is acyclic; and,
+ *
+ * 5. complete: an edge between every pair of distinct vertices, in each direction when directed.
+ *
+ * The random models draw edges independently, so they may contain parallel edges, but never
+ * self-loops. Every edge is given a weight (or capacity) drawn uniformly from 0.00, 0.01, ...,
+ * 0.99, as in the files under {@code data/}, whether or not the target is weighted.
+ *
+ * Edges are streamed straight into the target rather than gathered into an intermediate list. The
+ * immutable compact targets are built in two passes over the same seed, the first counting the
+ * degree of each vertex and the second placing each edge directly in its final position, and files
+ * are written one edge at a time, so even graphs with hundreds of millions of edges need no memory
+ * beyond the target itself.
+ */
+public abstract class GraphGenerator {
+
+  /**
+   * The seed from which every pass generates the same edges.
+   */
+  private final long seed;
+
+  /**
+   * The number of vertices.
+   */
+  private final int numVertices;
+
+  /**
+   * Receives each generated edge.
+   */
+  private interface EdgeSink {
+
+    /**
+     * Receive an edge.
+     *
+     * @param u The first vertex.
+     * @param v The second vertex.
+     * @param cents The weight of the edge, in hundredths.
+     *
+     * @throws IOException If the edge cannot be written.
+     */
+    void accept(int u, int v, int cents) throws IOException;
+  }
+
+  /**
+   * Construct a generator.
+   *
+   * @param seed The seed.
+   * @param numVertices The number of vertices.
+   */
+  private GraphGenerator(long seed, int numVertices) {
+    if (numVertices < 0) {
+      throw new IllegalArgumentException("Number of vertices must be non-negative: "
+          + numVertices);
+    }
+    this.seed = seed;
+    this.numVertices = numVertices;
+  }
+
+  /**
+   * Create an Erdos-Renyi generator of E edges, each between two distinct vertices chosen
+   * uniformly at random.
+   *
+   * @param numVertices The number of vertices, at least 2 if there are any edges.
+   * @param numEdges The number of edges.
+   * @param seed The seed.
+   *
+   * @return The generator.
+   */
+  public static GraphGenerator erdosRenyi(int numVertices, int numEdges, long seed) {
+    requireRandomEdges(numVertices, numEdges);
+    return new GraphGenerator(seed, numVertices) {
+      @Override
+      long countEdges(boolean directed) {
+        return numEdges;
+      }
+
+      @Override
+      void generate(boolean directed, SplittableRandom random, EdgeSink sink) throws IOException {
+        for (int e = 0; e < numEdges; e++) {
+          int u = random.nextInt(numVertices);
+          int v = random.nextInt(numVertices - 1);
+          sink.accept(u, v < u ? v : v + 1, random.nextInt(100));
+        }
+      }
+    };
+  }
+
+  /**
+   * Create an R-MAT generator of E edges in 2^scale vertices, with the commonly used quadrant
+   * probabilities 0.57, 0.19, 0.19 and 0.05.
+   *
+   * @param scale The base 2 logarithm of the number of vertices, between 1 and 30.
+   * @param numEdges The number of edges.
+   * @param seed The seed.
+   *
+   * @return The generator.
+   */
+  public static GraphGenerator rmat(int scale, int numEdges, long seed) {
+    return rmat(scale, numEdges, 0.57, 0.19, 0.19, seed);
+  }
+
+  /**
+   * Create an R-MAT generator of E edges in 2^scale vertices. Each edge is placed by choosing, at
+   * each of {@code scale} levels, the top-left, top-right, bottom-left or bottom-right quadrant of
+   * the remaining adjacency matrix with probabilities a, b, c and 1 - a - b - c. Self-loops are
+   * discarded and redrawn, so b + c must be positive: with only the diagonal quadrants, every edge
+   * would be a self-loop.
+   *
+   * @param scale The base 2 logarithm of the number of vertices, between 1 and 30.
+   * @param numEdges The number of edges.
+   * @param a The probability of the top-left quadrant.
+   * @param b The probability of the top-right quadrant.
+   * @param c The probability of the bottom-left quadrant.
+   * @param seed The seed.
+   *
+   * @return The generator.
+   */
+  public static GraphGenerator rmat(int scale, int numEdges, double a, double b, double c,
+      long seed) {
+    if (scale < 1 || scale > 30) {
+      throw new IllegalArgumentException("Scale must be between 1 and 30: " + scale);
+    }
+    if (a < 0 || b < 0 || c < 0 || a + b + c > 1) {
+      throw new IllegalArgumentException("Invalid quadrant probabilities");
+    }
+    if (!(b + c > 0)) {
+      throw new IllegalArgumentException("Off-diagonal quadrant probabilities b + c must be "
+          + "positive, or every edge would be a self-loop");
+    }
+    requireRandomEdges(1 << scale, numEdges);
+    return new GraphGenerator(seed, 1 << scale) {
+      @Override
+      long countEdges(boolean directed) {
+        return numEdges;
+      }
+
+      @Override
+      void generate(boolean directed, SplittableRandom random, EdgeSink sink) throws IOException {
+        for (int e = 0; e < numEdges; e++) {
+          int u;
+          int v;
+          do {
+            u = 0;
+            v = 0;
+            for (int bit = 1 << (scale - 1); bit > 0; bit >>>= 1) {
+              double quadrant = random.nextDouble();
+              if (quadrant >= a + b + c) {
+                u |= bit;
+                v |= bit;
+              } else if (quadrant >= a + b) {
+                u |= bit;
+              } else if (quadrant >= a) {
+                v |= bit;
+              }
+            }
+          } while (u == v);
+          sink.accept(u, v, random.nextInt(100));
+        }
+      }
+    };
+  }
+
+  /**
+   * Create a generator of a rows by columns grid, in which vertex {@code row * columns + column}
+   * is joined to its neighbours to the right and below. When directed, each pair of neighbours is
+   * joined by an edge in each direction.
+   *
+   * @param rows The number of rows.
+   * @param columns The number of columns.
+   * @param seed The seed, from which the weights are drawn.
+   *
+   * @return The generator.
+   */
+  public static GraphGenerator grid(int rows, int columns, long seed) {
+    if (rows < 0 || columns < 0 || (long) rows * columns > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Invalid grid size: " + rows + " x " + columns);
+    }
+    return new GraphGenerator(seed, rows * columns) {
+      @Override
+      long countEdges(boolean directed) {
+        long numEdges = rows == 0 || columns == 0
+            ? 0 : (long) rows * (columns - 1) + (long) columns * (rows - 1);
+        return directed ? 2 * numEdges : numEdges;
+      }
+
+      @Override
+      void generate(boolean directed, SplittableRandom random, EdgeSink sink) throws IOException {
+        for (int row = 0; row < rows; row++) {
+          for (int column = 0; column < columns; column++) {
+            int vertex = row * columns + column;
+            if (column + 1 < columns) {
+              join(vertex, vertex + 1, directed, random, sink);
+            }
+            if (row + 1 < rows) {
+              join(vertex, vertex + columns, directed, random, sink);
+            }
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Create a generator of a random directed acyclic graph of E edges. The vertices are placed in a
+   * random topological order, and each edge joins two distinct positions chosen uniformly at
+   * random, directed from the earlier to the later.
+   *
+   * @param numVertices The number of vertices, at least 2 if there are any edges.
+   * @param numEdges The number of edges.
+   * @param seed The seed.
+   *
+   * @return The generator.
+   */
+  public static GraphGenerator dag(int numVertices, int numEdges, long seed) {
+    requireRandomEdges(numVertices, numEdges);
+
+    // Shuffle the topological order once, so that every pass uses the same order.
+    int[] order = new int[numVertices];
+    SplittableRandom shuffle = new SplittableRandom(~seed);
+    for (int i = 0; i < numVertices; i++) {
+      int j = shuffle.nextInt(i + 1);
+      order[i] = order[j];
+      order[j] = i;
+    }
+
+    return new GraphGenerator(seed, numVertices) {
+      @Override
+      long countEdges(boolean directed) {
+        return numEdges;
+      }
+
+      @Override
+      void generate(boolean directed, SplittableRandom random, EdgeSink sink) throws IOException {
+        for (int e = 0; e < numEdges; e++) {
+          int u = random.nextInt(numVertices);
+          int v = random.nextInt(numVertices - 1);
+          v = v < u ? v : v + 1;
+          sink.accept(order[Math.min(u, v)], order[Math.max(u, v)], random.nextInt(100));
+        }
+      }
+    };
+  }
+
+  /**
+   * Create a generator of a complete graph, with an edge between every pair of distinct vertices,
+   * in each direction when directed.
+   *
+   * @param numVertices The number of vertices.
+   * @param seed The seed, from which the weights are drawn.
+   *
+   * @return The generator.
+   */
+  public static GraphGenerator complete(int numVertices, long seed) {
+    return new GraphGenerator(seed, numVertices) {
+      @Override
+      long countEdges(boolean directed) {
+        long numEdges = (long) numVertices * (numVertices - 1) / 2;
+        return directed ? 2 * numEdges : numEdges;
+      }
+
+      @Override
+      void generate(boolean directed, SplittableRandom random, EdgeSink sink) throws IOException {
+        for (int u = 0; u < numVertices; u++) {
+          for (int v = u + 1; v < numVertices; v++) {
+            join(u, v, directed, random, sink);
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Check that the specified number of random edges, between distinct vertices, is possible.
+   *
+   * @param numVertices The number of vertices.
+   * @param numEdges The number of edges.
+   */
+  private static void requireRandomEdges(int numVertices, int numEdges) {
+    if (numEdges < 0) {
+      throw new IllegalArgumentException("Number of edges must be non-negative: " + numEdges);
+    }
+    if (numEdges > 0 && numVertices < 2) {
+      throw new IllegalArgumentException("Edges need at least two vertices");
+    }
+  }
+
+  /**
+   * Generate an edge joining the specified vertices, and its opposite if directed.
+   *
+   * @param u The first vertex.
+   * @param v The second vertex.
+   * @param directed True if the target is directed.
+   * @param random The source of weights.
+   * @param sink The sink.
+   *
+   * @throws IOException If an edge cannot be written.
+   */
+  private static void join(int u, int v, boolean directed, SplittableRandom random, EdgeSink sink)
+      throws IOException {
+    sink.accept(u, v, random.nextInt(100));
+    if (directed) {
+      sink.accept(v, u, random.nextInt(100));
+    }
+  }
+
+  /**
+   * Get the number of edges the model generates.
+   *
+   * @param directed True if the target is directed.
+   *
+   * @return The number of edges.
+   */
+  abstract long countEdges(boolean directed);
+
+  /**
+   * Generate every edge of the model, in order.
+   *
+   * @param directed True if the target is directed.
+   * @param random The source of randomness, seeded afresh for each pass.
+   * @param sink The sink.
+   *
+   * @throws IOException If an edge cannot be written.
+   */
+  abstract void generate(boolean directed, SplittableRandom random, EdgeSink sink)
+      throws IOException;
+
+  /**
+   * Get the number of vertices.
+   *
+   * @return The number of vertices.
+   */
+  public int getNumVertices() {
+    return numVertices;
+  }
+
+  /**
+   * Get the number of edges the model generates, which must fit in an {@code int} for the graph to
+   * be built or written.
+   *
+   * @param directed True if the target is directed.
+   *
+   * @return The number of edges.
+   */
+  public long getNumEdges(boolean directed) {
+    return countEdges(directed);
+  }
+
+  /**
+   * Generate an undirected graph.
+   *
+   * @return The graph.
+   */
+  public CompactGraph graph() {
+    int numEdges = requireIntEdges(false);
+    if (2L * numEdges > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Too many edges for an undirected compact graph, which holds "
+          + "each edge in both adjacency-lists: " + numEdges);
+    }
+    int[] offsets = new int[numVertices + 1];
+    run(false, (u, v, cents) -> {
+      offsets[u + 1]++;
+      offsets[v + 1]++;
+    });
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    // Fill each adjacency-list from the back, so that vertices are adjacent in the same order as
+    // in a Graph built with addEdge().
+    int[] targets = new int[offsets[numVertices]];
+    int[] next = Arrays.copyOfRange(offsets, 1, numVertices + 1);
+    run(false, (u, v, cents) -> {
+      targets[--next[u]] = v;
+      targets[--next[v]] = u;
+    });
+
+    return new CompactGraph(numEdges, offsets, targets);
+  }
+
+  /**
+   * Generate a digraph.
+   *
+   * @return The digraph.
+   */
+  public CompactDigraph digraph() {
+    requireIntEdges(true);
+    int[] offsets = new int[numVertices + 1];
+    run(true, (u, v, cents) -> offsets[u + 1]++);
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    int[] targets = new int[offsets[numVertices]];
+    int[] next = Arrays.copyOfRange(offsets, 1, numVertices + 1);
+    run(true, (u, v, cents) -> targets[--next[u]] = v);
+
+    return new CompactDigraph(offsets, targets);
+  }
+
+  /**
+   * Generate an edge-weighted digraph.
+   *
+   * @return The graph.
+   */
+  public CompactEdgeWeightedDigraph edgeWeightedDigraph() {
+    requireIntEdges(true);
+    int[] offsets = new int[numVertices + 1];
+    run(true, (u, v, cents) -> offsets[u + 1]++);
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    int[] targets = new int[offsets[numVertices]];
+    double[] weights = new double[targets.length];
+    int[] next = Arrays.copyOfRange(offsets, 1, numVertices + 1);
+    run(true, (u, v, cents) -> {
+      int edge = --next[u];
+      targets[edge] = v;
+      weights[edge] = cents / 100.0;
+    });
+
+    return new CompactEdgeWeightedDigraph(offsets, targets, weights);
+  }
+
+  /**
+   * Generate an edge-weighted graph.
+   *
+   * @return The graph.
+   */
+  public EdgeWeightedGraph edgeWeightedGraph() {
+    requireIntEdges(false);
+    EdgeWeightedGraph graph = new EdgeWeightedGraph(numVertices);
+    run(false, (u, v, cents) -> graph.addEdge(new Edge(u, v, cents / 100.0)));
+
+    return graph;
+  }
+
+  /**
+   * Generate a flow network, in which the weight of each edge is its capacity.
+   *
+   * @return The flow network.
+   */
+  public FlowNetwork flowNetwork() {
+    requireIntEdges(true);
+    FlowNetwork network = new FlowNetwork(numVertices);
+    run(true, (u, v, cents) -> network.addEdge(new FlowEdge(u, v, cents / 100.0)));
+
+    return network;
+  }
+
+  /**
+   * Write the generated graph to a file in the format read by the graph constructors: V, E and then
+   * one edge per line, with its weight if {@code weighted}. The file is gzip-compressed if its name
+   * ends with ".gz".
+   *
+   * @param fileName The file to write.
+   * @param directed True to generate a directed graph.
+   * @param weighted True to write the weight of each edge.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public void write(String fileName, boolean directed, boolean weighted) throws IOException {
+    int numEdges = requireIntEdges(directed);
+    // The file is closed even if writing the gzip header fails.
+    try (OutputStream file = Files.newOutputStream(Paths.get(fileName));
+        OutputStream stream = fileName.endsWith(".gz") ? new GZIPOutputStream(file, 1 << 16) : file;
+        Writer writer = new BufferedWriter(
+            new OutputStreamWriter(stream, StandardCharsets.US_ASCII), 1 << 16)) {
+      writer.write(numVertices + "\n" + numEdges + "\n");
+      char[] weight = {' ', '0', '.', '0', '0'};
+      generate(directed, new SplittableRandom(seed), (u, v, cents) -> {
+        writer.write(Integer.toString(u));
+        writer.write(' ');
+        writer.write(Integer.toString(v));
+        if (weighted) {
+          weight[3] = (char) ('0' + cents / 10);
+          weight[4] = (char) ('0' + cents % 10);
+          writer.write(weight);
+        }
+        writer.write('\n');
+      });
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Check that the number of edges fits in an {@code int}.
+   *
+   * @param directed True if the target is directed.
+   *
+   * @return The number of edges.
+   */
+  private int requireIntEdges(boolean directed) {
+    long numEdges = countEdges(directed);
+    if (numEdges > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Too many edges: " + numEdges);
+    }
+
+    return (int) numEdges;
+  }
+
+  /**
+   * Generate every edge of the model into an in-memory sink.
+   *
+   * @param directed True if the target is directed.
+   * @param sink The sink, which does not throw.
+   */
+  private void run(boolean directed, EdgeSink sink) {
+    try {
+      generate(directed, new SplittableRandom(seed), sink);
+    } catch (IOException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+}
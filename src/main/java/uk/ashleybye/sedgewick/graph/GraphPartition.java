@@ -0,0 +1,646 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * A graph split into k shards, each of which holds its own compressed sparse row adjacency over
+ * its own local vertex numbers, so that each can be processed by a different thread with no shared
+ * mutable state. Every vertex is owned by exactly one shard. A shard numbers its owned vertices
+ * 0 to {@code getNumOwned() - 1}, in increasing global order, followed by any other vertices its
+ * edges touch, its ghosts, also in increasing global order.
+ *
+ * Two strategies are offered:
+ *
+ * 1. edge-cut, which gives each shard a contiguous range of vertices, balanced by degree, together
+ * with all the edges leaving them. Edges between shards are held by the owner of each end, and the
+ * far end appears in each shard as a ghost with no edges of its own; and,
+ *
+ * 2. vertex-cut, which gives each edge to a shard chosen by hashing its vertices, and vertex v to
+ * shard v mod k. A vertex with edges in several shards is replicated in each, as a ghost (or
+ * mirror) wherever it is not owned, with its local edges. This balances edges evenly however
+ * skewed the degrees.
+ *
+ * Parallel algorithms, such as {@link ParallelConnectedComponents} and {@link
+ * ParallelBreadthFirstPaths}, process each shard's local edges independently and then exchange
+ * messages about ghost vertices with their owners. With the edge-cut strategy, renumbering the
+ * vertices first with a {@link VertexOrdering} keeps more edges within a shard.
+ */
+public final class GraphPartition {
+
+  /**
+   * The available partitioning strategies.
+   */
+  public enum Strategy {
+    EDGE_CUT, VERTEX_CUT
+  }
+
+  /**
+   * The number of vertices in the whole graph.
+   */
+  private final int numVertices;
+
+  /**
+   * The number of edges in the whole graph.
+   */
+  private final int numEdges;
+
+  /**
+   * True if the edges are directed.
+   */
+  private final boolean directed;
+
+  /**
+   * The strategy used to partition the graph.
+   */
+  private final Strategy strategy;
+
+  /**
+   * Vertex-indexed shard that owns each vertex.
+   */
+  private final int[] owners;
+
+  /**
+   * The shards.
+   */
+  private final Shard[] shards;
+
+  /**
+   * Vertex-indexed offsets into {@code replicaShards}.
+   */
+  private final int[] replicaOffsets;
+
+  /**
+   * The shards, other than its owner, in which each vertex has local edges, packed end to end.
+   */
+  private final int[] replicaShards;
+
+  /**
+   * Partition the specified undirected graph into the specified number of shards, using the common
+   * {@code ForkJoinPool} to build the shards.
+   *
+   * @param graph The graph.
+   * @param numShards The number of shards.
+   * @param strategy The partitioning strategy.
+   *
+   * @return The partitioned graph.
+   */
+  public static GraphPartition of(Graph graph, int numShards, Strategy strategy) {
+    IntList us = new IntList();
+    IntList vs = new IntList();
+    for (int u = 0; u < graph.getNumVertices(); u++) {
+      boolean selfLoop = false;
+      for (int v : graph.adjacentTo(u)) {
+        // Each edge appears once at each end, so take it from its lower end only. A self-loop
+        // appears twice at its only end, so take it every other time.
+        if (u == v) {
+          selfLoop = !selfLoop;
+        }
+        if (u < v || (u == v && selfLoop)) {
+          us.add(u);
+          vs.add(v);
+        }
+      }
+    }
+
+    EdgeList edges = new EdgeList(graph.getNumVertices(), us.toArray(), vs.toArray());
+    return new GraphPartition(edges, false, numShards, strategy, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Partition the specified edge-weighted digraph into the specified number of shards, using the
+   * common {@code ForkJoinPool} to build the shards.
+   *
+   * @param graph The graph.
+   * @param numShards The number of shards.
+   * @param strategy The partitioning strategy.
+   *
+   * @return The partitioned graph.
+   */
+  public static GraphPartition of(EdgeWeightedDigraph graph, int numShards, Strategy strategy) {
+    int[] us = new int[graph.getNumEdges()];
+    int[] vs = new int[graph.getNumEdges()];
+    double[] weights = new double[graph.getNumEdges()];
+    int e = 0;
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      for (DirectedEdge edge : graph.adjacentTo(vertex)) {
+        us[e] = edge.from();
+        vs[e] = edge.to();
+        weights[e] = edge.getWeight();
+        e++;
+      }
+    }
+
+    EdgeList edges = new EdgeList(graph.getNumVertices(), us, vs, weights);
+    return new GraphPartition(edges, true, numShards, strategy, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Partition the specified list of edges.
+   *
+   * @param edges The edges.
+   * @param directed True if the edges are directed.
+   * @param numShards The number of shards.
+   * @param strategy The partitioning strategy.
+   * @param pool The pool in which to build the shards.
+   */
+  private GraphPartition(EdgeList edges, boolean directed, int numShards, Strategy strategy,
+      ForkJoinPool pool) {
+    if (numShards < 1) {
+      throw new IllegalArgumentException("Number of shards must be positive: " + numShards);
+    }
+    this.numVertices = edges.numVertices;
+    this.numEdges = edges.getNumEdges();
+    this.directed = directed;
+    this.strategy = strategy;
+    this.owners = new int[numVertices];
+    this.shards = new Shard[numShards];
+
+    // Assign the vertices and edges to shards. Under edge-cut, an undirected edge between two
+    // shards is held by both.
+    IntList[] buckets = new IntList[numShards];
+    for (int shard = 0; shard < numShards; shard++) {
+      buckets[shard] = new IntList();
+    }
+    if (strategy == Strategy.EDGE_CUT) {
+      assignRanges(edges, numShards);
+      for (int e = 0; e < numEdges; e++) {
+        buckets[owners[edges.us[e]]].add(e);
+        if (!directed && owners[edges.vs[e]] != owners[edges.us[e]]) {
+          buckets[owners[edges.vs[e]]].add(e);
+        }
+      }
+    } else {
+      for (int vertex = 0; vertex < numVertices; vertex++) {
+        owners[vertex] = vertex % numShards;
+      }
+      for (int e = 0; e < numEdges; e++) {
+        buckets[shardOf(edges.us[e], edges.vs[e], numShards)].add(e);
+      }
+    }
+
+    // Bucket the owned vertices by shard in a single counting pass, in increasing order.
+    int[] ownedOffsets = new int[numShards + 1];
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      ownedOffsets[owners[vertex] + 1]++;
+    }
+    for (int shard = 0; shard < numShards; shard++) {
+      ownedOffsets[shard + 1] += ownedOffsets[shard];
+    }
+    int[] ownedVertices = new int[numVertices];
+    int[] nextOwned = Arrays.copyOf(ownedOffsets, numShards);
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      ownedVertices[nextOwned[owners[vertex]]++] = vertex;
+    }
+
+    forEachShard(pool, numShards, shard -> shards[shard] = new Shard(shard, edges, buckets[shard],
+        ownedVertices, ownedOffsets[shard], ownedOffsets[shard + 1]));
+
+    // Record, for each vertex, the other shards in which it has local edges.
+    replicaOffsets = new int[numVertices + 1];
+    for (Shard shard : shards) {
+      for (int local = shard.numOwned; local < shard.localToGlobal.length; local++) {
+        if (shard.getDegree(local) > 0) {
+          replicaOffsets[shard.localToGlobal[local] + 1]++;
+        }
+      }
+    }
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      replicaOffsets[vertex + 1] += replicaOffsets[vertex];
+    }
+    replicaShards = new int[replicaOffsets[numVertices]];
+    int[] next = Arrays.copyOf(replicaOffsets, numVertices);
+    for (Shard shard : shards) {
+      for (int local = shard.numOwned; local < shard.localToGlobal.length; local++) {
+        if (shard.getDegree(local) > 0) {
+          replicaShards[next[shard.localToGlobal[local]]++] = shard.id;
+        }
+      }
+    }
+  }
+
+  /**
+   * Assign each shard a contiguous range of vertices, such that each range has roughly the same
+   * total of degree plus one.
+   *
+   * @param edges The edges.
+   * @param numShards The number of shards.
+   */
+  private void assignRanges(EdgeList edges, int numShards) {
+    long[] work = new long[numVertices + 1];
+    for (int e = 0; e < numEdges; e++) {
+      work[edges.us[e] + 1]++;
+      if (!directed) {
+        work[edges.vs[e] + 1]++;
+      }
+    }
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      work[vertex + 1] += work[vertex] + 1;
+    }
+
+    int shard = 0;
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      while (shard < numShards - 1 && work[vertex] >= work[numVertices] * (shard + 1) / numShards) {
+        shard++;
+      }
+      owners[vertex] = shard;
+    }
+  }
+
+  /**
+   * Choose the shard of an edge under vertex-cut, independently of the order of its vertices if
+   * the edges are undirected.
+   *
+   * @param u The first vertex.
+   * @param v The second vertex.
+   * @param numShards The number of shards.
+   *
+   * @return The shard.
+   */
+  private int shardOf(int u, int v, int numShards) {
+    if (!directed && u > v) {
+      int swap = u;
+      u = v;
+      v = swap;
+    }
+    int hash = (u * 0x9E3779B1 + v) * 0x85EBCA6B;
+    return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % numShards;
+  }
+
+  /**
+   * Run {@code action} for each shard in parallel in the specified pool, and wait for them all to
+   * complete.
+   *
+   * @param pool The pool.
+   * @param numShards The number of shards.
+   * @param action The action, given the shard index.
+   */
+  static void forEachShard(ForkJoinPool pool, int numShards, IntConsumer action) {
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(numShards);
+    for (int shard = 0; shard < numShards; shard++) {
+      int index = shard;
+      tasks.add(ForkJoinTask.adapt(() -> action.accept(index)));
+    }
+    pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+  }
+
+  /**
+   * Get the number of vertices in the whole graph.
+   *
+   * @return The number of vertices.
+   */
+  public int getNumVertices() {
+    return numVertices;
+  }
+
+  /**
+   * Get the number of edges in the whole graph.
+   *
+   * @return The number of edges.
+   */
+  public int getNumEdges() {
+    return numEdges;
+  }
+
+  /**
+   * Returns true if the edges are directed; false, otherwise.
+   *
+   * @return True if the graph is directed.
+   */
+  public boolean isDirected() {
+    return directed;
+  }
+
+  /**
+   * Get the strategy used to partition the graph.
+   *
+   * @return The strategy.
+   */
+  public Strategy getStrategy() {
+    return strategy;
+  }
+
+  /**
+   * Get the number of shards.
+   *
+   * @return The number of shards.
+   */
+  public int getNumShards() {
+    return shards.length;
+  }
+
+  /**
+   * Get the specified shard.
+   *
+   * @param shard The shard index.
+   *
+   * @return The shard.
+   */
+  public Shard getShard(int shard) {
+    return shards[shard];
+  }
+
+  /**
+   * Get the shard that owns the specified vertex.
+   *
+   * @param vertex The global vertex.
+   *
+   * @return The owning shard index.
+   */
+  public int getOwner(int vertex) {
+    return owners[vertex];
+  }
+
+  /**
+   * Get the shards, other than its owner, in which the specified vertex has local edges. Under
+   * edge-cut, ghosts have no edges, so this is always empty.
+   *
+   * @param vertex The global vertex.
+   *
+   * @return The shard indices.
+   */
+  public Iterable<Integer> getReplicaShards(int vertex) {
+    return new AdjacencyRange(replicaShards, replicaOffsets[vertex], replicaOffsets[vertex + 1]);
+  }
+
+  /**
+   * Get the total number of ghost vertices across all shards, a measure of the communication
+   * needed between shards.
+   *
+   * @return The number of ghosts.
+   */
+  public int getNumGhosts() {
+    int numGhosts = 0;
+    for (Shard shard : shards) {
+      numGhosts += shard.getNumLocal() - shard.getNumOwned();
+    }
+
+    return numGhosts;
+  }
+
+  /**
+   * One shard of a partitioned graph: the adjacency of its local vertices in compressed sparse row
+   * form, and the maps between its local vertex numbers and global vertex numbers.
+   */
+  public final class Shard {
+
+    /**
+     * The index of this shard.
+     */
+    private final int id;
+
+    /**
+     * The number of vertices owned by this shard, which are numbered first.
+     */
+    private final int numOwned;
+
+    /**
+     * Local-vertex-indexed global vertex numbers: the owned vertices, then the ghosts, each in
+     * increasing order.
+     */
+    private final int[] localToGlobal;
+
+    /**
+     * Local-vertex-indexed offsets into {@code targets}, of length {@code getNumLocal() + 1}.
+     */
+    private final int[] offsets;
+
+    /**
+     * The local adjacent vertices of every local vertex, packed end to end.
+     */
+    private final int[] targets;
+
+    /**
+     * The weights corresponding to {@code targets}, or null if the graph is unweighted.
+     */
+    private final double[] weights;
+
+    /**
+     * Build the shard from the edges assigned to it.
+     *
+     * @param id The index of this shard.
+     * @param edges All the edges of the graph.
+     * @param bucket The indices of the edges assigned to this shard.
+     * @param ownedVertices The owned vertices of every shard, grouped by shard.
+     * @param ownedStart The index in {@code ownedVertices} of this shard's first owned vertex.
+     * @param ownedEnd The index in {@code ownedVertices} after this shard's last owned vertex.
+     */
+    private Shard(int id, EdgeList edges, IntList bucket, int[] ownedVertices, int ownedStart,
+        int ownedEnd) {
+      this.id = id;
+
+      // Gather the other vertices touched by this shard's edges, to follow the owned vertices.
+      IntList ghosts = new IntList();
+      for (int i = 0; i < bucket.size(); i++) {
+        int e = bucket.get(i);
+        if (owners[edges.us[e]] != id) {
+          ghosts.add(edges.us[e]);
+        }
+        if (owners[edges.vs[e]] != id) {
+          ghosts.add(edges.vs[e]);
+        }
+      }
+      int[] sortedGhosts = ghosts.toArray();
+      Arrays.sort(sortedGhosts);
+      int numGhosts = 0;
+      for (int i = 0; i < sortedGhosts.length; i++) {
+        if (i == 0 || sortedGhosts[i] != sortedGhosts[i - 1]) {
+          sortedGhosts[numGhosts++] = sortedGhosts[i];
+        }
+      }
+
+      numOwned = ownedEnd - ownedStart;
+      localToGlobal = new int[numOwned + numGhosts];
+      System.arraycopy(ownedVertices, ownedStart, localToGlobal, 0, numOwned);
+      System.arraycopy(sortedGhosts, 0, localToGlobal, numOwned, numGhosts);
+
+      // Lay out the local adjacency. Under edge-cut, only the owned end of an edge between shards
+      // is given the edge here; its far end is a ghost with no edges.
+      boolean edgeCut = strategy == Strategy.EDGE_CUT;
+      offsets = new int[localToGlobal.length + 1];
+      for (int i = 0; i < bucket.size(); i++) {
+        int e = bucket.get(i);
+        if (!edgeCut || owners[edges.us[e]] == id) {
+          offsets[toLocal(edges.us[e]) + 1]++;
+        }
+        if (!directed && (!edgeCut || owners[edges.vs[e]] == id)) {
+          offsets[toLocal(edges.vs[e]) + 1]++;
+        }
+      }
+      for (int local = 0; local < localToGlobal.length; local++) {
+        offsets[local + 1] += offsets[local];
+      }
+
+      targets = new int[offsets[localToGlobal.length]];
+      weights = edges.weights == null ? null : new double[targets.length];
+      int[] next = Arrays.copyOf(offsets, localToGlobal.length);
+      for (int i = 0; i < bucket.size(); i++) {
+        int e = bucket.get(i);
+        int u = toLocal(edges.us[e]);
+        int v = toLocal(edges.vs[e]);
+        if (!edgeCut || owners[edges.us[e]] == id) {
+          place(next[u]++, v, edges, e);
+        }
+        if (!directed && (!edgeCut || owners[edges.vs[e]] == id)) {
+          place(next[v]++, u, edges, e);
+        }
+      }
+    }
+
+    /**
+     * Store an adjacent vertex, and its weight if any.
+     *
+     * @param position The position in {@code targets}.
+     * @param target The local adjacent vertex.
+     * @param edges All the edges of the graph.
+     * @param e The index of the edge.
+     */
+    private void place(int position, int target, EdgeList edges, int e) {
+      targets[position] = target;
+      if (weights != null) {
+        weights[position] = edges.weights[e];
+      }
+    }
+
+    /**
+     * Get the index of this shard.
+     *
+     * @return The shard index.
+     */
+    public int getId() {
+      return id;
+    }
+
+    /**
+     * Get the number of vertices owned by this shard, which are numbered first.
+     *
+     * @return The number of owned vertices.
+     */
+    public int getNumOwned() {
+      return numOwned;
+    }
+
+    /**
+     * Get the number of local vertices, owned and ghost.
+     *
+     * @return The number of local vertices.
+     */
+    public int getNumLocal() {
+      return localToGlobal.length;
+    }
+
+    /**
+     * Returns true if the specified local vertex is owned by this shard; false, if it is a ghost.
+     *
+     * @param local The local vertex.
+     *
+     * @return True if the vertex is owned.
+     */
+    public boolean isOwned(int local) {
+      return local < numOwned;
+    }
+
+    /**
+     * Get the global number of the specified local vertex.
+     *
+     * @param local The local vertex.
+     *
+     * @return The global vertex.
+     */
+    public int toGlobal(int local) {
+      return localToGlobal[local];
+    }
+
+    /**
+     * Get the local number of the specified global vertex, in time logarithmic in the number of
+     * local vertices.
+     *
+     * @param global The global vertex.
+     *
+     * @return The local vertex, or -1 if the vertex is not local to this shard.
+     */
+    public int toLocal(int global) {
+      int local = owners[global] == id
+          ? Arrays.binarySearch(localToGlobal, 0, numOwned, global)
+          : Arrays.binarySearch(localToGlobal, numOwned, localToGlobal.length, global);
+      return local < 0 ? -1 : local;
+    }
+
+    /**
+     * Get the shard that owns the specified local vertex.
+     *
+     * @param local The local vertex.
+     *
+     * @return The owning shard index.
+     */
+    public int getOwner(int local) {
+      return owners[localToGlobal[local]];
+    }
+
+    /**
+     * Get the number of local edges leaving the specified local vertex.
+     *
+     * @param local The local vertex.
+     *
+     * @return The local degree.
+     */
+    public int getDegree(int local) {
+      return offsets[local + 1] - offsets[local];
+    }
+
+    /**
+     * Get the index in {@code getTarget()} of the first edge leaving the specified local vertex.
+     * The edges leaving {@code local} have indices {@code getEdgeOffset(local)...
+     * getEdgeOffset(local + 1) - 1}.
+     *
+     * @param local The local vertex, between 0 and {@code getNumLocal()} inclusive.
+     *
+     * @return The index of the first edge.
+     */
+    public int getEdgeOffset(int local) {
+      return offsets[local];
+    }
+
+    /**
+     * Get the local vertex at the far end of the specified local edge.
+     *
+     * @param edge The edge index.
+     *
+     * @return The local adjacent vertex.
+     */
+    public int getTarget(int edge) {
+      return targets[edge];
+    }
+
+    /**
+     * Get the weight of the specified local edge.
+     *
+     * @param edge The edge index.
+     *
+     * @return The weight.
+     *
+     * @throws UnsupportedOperationException If the graph is unweighted.
+     */
+    public double getWeight(int edge) {
+      if (weights == null) {
+        throw new UnsupportedOperationException("Graph is unweighted");
+      }
+      return weights[edge];
+    }
+
+    /**
+     * Get the local vertices adjacent to the specified local vertex.
+     *
+     * @param local The local vertex.
+     *
+     * @return The local adjacent vertices.
+     */
+    public Iterable<Integer> adjacentTo(int local) {
+      return new AdjacencyRange(targets, offsets[local], offsets[local + 1]);
+    }
+  }
+}
@@ -0,0 +1,793 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Saves built graphs to versioned, checksummed binary snapshots, and reloads them in a single
+ * sequential read with no parsing or symbol table lookups. Unlike {@link GraphFile}, whose layout
+ * is designed to be mapped into memory in place, a snapshot is read once, start to finish, into
+ * the heap, which lets it hold variable length sections such as the vertex names of a {@code
+ * SymbolGraph} or {@code SymbolDigraph}, and lets every byte be verified before the graph is used.
+ *
+ * Every snapshot starts with three big-endian integers: the magic number, the snapshot version and
+ * the graph type. These are followed by the body and finally by the CRC-32 of everything before
+ * it, as a long. The body is one of:
+ *
+ * - for {@code Graph} and {@code Digraph}: V, E, the number of adjacency entries N, V + 1 integer
+ * offsets and N integer adjacent vertices;
+ *
+ * - for {@code EdgeWeightedDigraph}: as for {@code Digraph}, followed by N double weights;
+ *
+ * - for {@code EdgeWeightedGraph} and {@code FlowNetwork}: V, E, E integer u vertices, E integer v
+ * vertices and E double weights (or capacities); or,
+ *
+ * - for {@code SymbolGraph} and {@code SymbolDigraph}: the V vertex names, each as an integer
+ * length followed by that many bytes of UTF-8, followed by the body of the underlying graph or
+ * digraph.
+ *
+ * Adjacent vertices are saved in the order returned by {@code adjacentTo()}, so algorithms produce
+ * identical results on the reloaded graph, which is the compact, immutable equivalent where one
+ * exists. Flows are not saved: every edge of a reloaded flow network has zero flow.
+ */
+public final class GraphSnapshot {
+
+  /**
+   * Magic number identifying a graph snapshot: "SGSS".
+   */
+  private static final int MAGIC = 0x53475353;
+
+  /**
+   * The current snapshot version. Increment this whenever the layout changes.
+   */
+  private static final int VERSION = 1;
+
+  /*
+   * Graph types recorded in the header, extending those of GraphFile.
+   */
+  private static final int SYMBOL_GRAPH = 6;
+  private static final int SYMBOL_DIGRAPH = 7;
+
+  /**
+   * The size of the buffer through which integers and doubles are copied, in bytes.
+   */
+  private static final int CHUNK_BYTES = 1 << 16;
+
+  private GraphSnapshot() {
+  }
+
+  /**
+   * Save the specified graph.
+   *
+   * @param graph The graph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(Graph graph, String fileName) throws IOException {
+    try (SnapshotOutput output = new SnapshotOutput(fileName, GraphFile.GRAPH)) {
+      writeAdjacency(output, graph.getNumVertices(), graph.getNumEdges(), graph::adjacentTo);
+      output.finish();
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Save the specified digraph.
+   *
+   * @param digraph The digraph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(Digraph digraph, String fileName) throws IOException {
+    try (SnapshotOutput output = new SnapshotOutput(fileName, GraphFile.DIGRAPH)) {
+      writeAdjacency(output, digraph.getNumVertices(), digraph.getNumEdges(),
+          digraph::adjacentTo);
+      output.finish();
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Save the specified edge-weighted digraph.
+   *
+   * @param graph The graph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(EdgeWeightedDigraph graph, String fileName) throws IOException {
+    save(new CompactEdgeWeightedDigraph(graph), fileName);
+  }
+
+  /**
+   * Save the specified compact edge-weighted digraph.
+   *
+   * @param graph The graph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(CompactEdgeWeightedDigraph graph, String fileName) throws IOException {
+    try (SnapshotOutput output = new SnapshotOutput(fileName, GraphFile.EDGE_WEIGHTED_DIGRAPH)) {
+      int[] offsets = new int[graph.getNumVertices() + 1];
+      for (int vertex = 0; vertex <= graph.getNumVertices(); vertex++) {
+        offsets[vertex] = graph.getEdgeOffset(vertex);
+      }
+      int[] targets = new int[graph.getNumEdges()];
+      double[] weights = new double[graph.getNumEdges()];
+      for (int edge = 0; edge < graph.getNumEdges(); edge++) {
+        targets[edge] = graph.to(edge);
+        weights[edge] = graph.getWeight(edge);
+      }
+
+      output.writeInt(graph.getNumVertices());
+      output.writeInt(graph.getNumEdges());
+      output.writeInt(targets.length);
+      output.writeInts(offsets);
+      output.writeInts(targets);
+      output.writeDoubles(weights);
+      output.finish();
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Save the specified edge-weighted graph, including any self-loops.
+   *
+   * @param graph The graph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(EdgeWeightedGraph graph, String fileName) throws IOException {
+    saveEdgeList(GraphFile.EDGE_WEIGHTED_GRAPH, GraphFile.edgesOf(graph), fileName);
+  }
+
+  /**
+   * Save the capacities of the specified flow network. Flows are not saved.
+   *
+   * @param network The flow network.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(FlowNetwork network, String fileName) throws IOException {
+    saveEdgeList(GraphFile.FLOW_NETWORK, GraphFile.edgesOf(network), fileName);
+  }
+
+  /**
+   * Save the specified symbol graph: the names of its vertices, then its graph.
+   *
+   * @param symbolGraph The symbol graph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(SymbolGraph symbolGraph, String fileName) throws IOException {
+    Graph graph = symbolGraph.getGraph();
+    try (SnapshotOutput output = new SnapshotOutput(fileName, SYMBOL_GRAPH)) {
+      writeNames(output, graph.getNumVertices(), symbolGraph::nameOf);
+      writeAdjacency(output, graph.getNumVertices(), graph.getNumEdges(), graph::adjacentTo);
+      output.finish();
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Save the specified symbol digraph: the names of its vertices, then its digraph.
+   *
+   * @param symbolDigraph The symbol digraph.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  public static void save(SymbolDigraph symbolDigraph, String fileName) throws IOException {
+    Digraph digraph = symbolDigraph.getDigraph();
+    try (SnapshotOutput output = new SnapshotOutput(fileName, SYMBOL_DIGRAPH)) {
+      writeNames(output, digraph.getNumVertices(), symbolDigraph::nameOf);
+      writeAdjacency(output, digraph.getNumVertices(), digraph.getNumEdges(),
+          digraph::adjacentTo);
+      output.finish();
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Load a graph saved by {@code save()}.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the file cannot be read, is not a graph snapshot or is corrupt.
+   */
+  public static CompactGraph loadGraph(String fileName) throws IOException {
+    try (SnapshotInput input = new SnapshotInput(fileName, GraphFile.GRAPH)) {
+      CompactGraph graph = readGraph(input);
+      input.finish();
+
+      return graph;
+    }
+  }
+
+  /**
+   * Load a digraph saved by {@code save()}.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The digraph.
+   *
+   * @throws IOException If the file cannot be read, is not a digraph snapshot or is corrupt.
+   */
+  public static CompactDigraph loadDigraph(String fileName) throws IOException {
+    try (SnapshotInput input = new SnapshotInput(fileName, GraphFile.DIGRAPH)) {
+      CompactDigraph digraph = readDigraph(input);
+      input.finish();
+
+      return digraph;
+    }
+  }
+
+  /**
+   * Load an edge-weighted digraph saved by {@code save()}.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the file cannot be read, is not an edge-weighted digraph snapshot or is
+   *     corrupt.
+   */
+  public static CompactEdgeWeightedDigraph loadEdgeWeightedDigraph(String fileName)
+      throws IOException {
+    try (SnapshotInput input = new SnapshotInput(fileName, GraphFile.EDGE_WEIGHTED_DIGRAPH)) {
+      int numVertices = input.readCount();
+      input.readCount();
+      int numTargets = input.readCount();
+      int[] offsets = input.readInts(numVertices + 1);
+      int[] targets = input.readInts(numTargets);
+      double[] weights = input.readDoubles(numTargets);
+      input.finish();
+
+      return new CompactEdgeWeightedDigraph(offsets, targets, weights);
+    }
+  }
+
+  /**
+   * Load an edge-weighted graph saved by {@code save()}.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the file cannot be read, is not an edge-weighted graph snapshot or is
+   *     corrupt.
+   */
+  public static EdgeWeightedGraph loadEdgeWeightedGraph(String fileName) throws IOException {
+    EdgeList edges = loadEdgeList(GraphFile.EDGE_WEIGHTED_GRAPH, fileName);
+    EdgeWeightedGraph graph = new EdgeWeightedGraph(edges.numVertices);
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      graph.addEdge(new Edge(edges.us[e], edges.vs[e], edges.weights[e]));
+    }
+
+    return graph;
+  }
+
+  /**
+   * Load a flow network saved by {@code save()}. Every edge has zero flow.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The flow network.
+   *
+   * @throws IOException If the file cannot be read, is not a flow network snapshot or is corrupt.
+   */
+  public static FlowNetwork loadFlowNetwork(String fileName) throws IOException {
+    EdgeList edges = loadEdgeList(GraphFile.FLOW_NETWORK, fileName);
+    FlowNetwork network = new FlowNetwork(edges.numVertices);
+    for (int e = 0; e < edges.getNumEdges(); e++) {
+      network.addEdge(new FlowEdge(edges.us[e], edges.vs[e], edges.weights[e]));
+    }
+
+    return network;
+  }
+
+  /**
+   * Load a symbol graph saved by {@code save()}. Its underlying graph is a {@link CompactGraph}.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The symbol graph.
+   *
+   * @throws IOException If the file cannot be read, is not a symbol graph snapshot or is corrupt.
+   */
+  public static SymbolGraph loadSymbolGraph(String fileName) throws IOException {
+    try (SnapshotInput input = new SnapshotInput(fileName, SYMBOL_GRAPH)) {
+      String[] names = readNames(input);
+      CompactGraph graph = readGraph(input);
+      input.finish();
+      if (names.length != graph.getNumVertices()) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+
+      return new SymbolGraph(names, graph);
+    }
+  }
+
+  /**
+   * Load a symbol digraph saved by {@code save()}. Its underlying digraph is a {@link
+   * CompactDigraph}.
+   *
+   * @param fileName The file to read.
+   *
+   * @return The symbol digraph.
+   *
+   * @throws IOException If the file cannot be read, is not a symbol digraph snapshot or is
+   *     corrupt.
+   */
+  public static SymbolDigraph loadSymbolDigraph(String fileName) throws IOException {
+    try (SnapshotInput input = new SnapshotInput(fileName, SYMBOL_DIGRAPH)) {
+      String[] names = readNames(input);
+      CompactDigraph digraph = readDigraph(input);
+      input.finish();
+      if (names.length != digraph.getNumVertices()) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+
+      return new SymbolDigraph(names, digraph);
+    }
+  }
+
+  /**
+   * Write V, E and the adjacency of every vertex in compressed sparse row layout.
+   *
+   * @param output The snapshot to write to.
+   * @param numVertices The number of vertices.
+   * @param numEdges The number of edges.
+   * @param adjacentTo The adjacent vertices of each vertex.
+   *
+   * @throws IOException If the adjacency cannot be written.
+   */
+  private static void writeAdjacency(SnapshotOutput output, int numVertices, int numEdges,
+      IntFunction<Iterable<Integer>> adjacentTo) throws IOException {
+    int[] offsets = new int[numVertices + 1];
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      int degree = 0;
+      for (int ignored : adjacentTo.apply(vertex)) {
+        degree++;
+      }
+      offsets[vertex + 1] = offsets[vertex] + degree;
+    }
+    int[] targets = new int[offsets[numVertices]];
+    for (int vertex = 0, entry = 0; vertex < numVertices; vertex++) {
+      for (int adjacentVertex : adjacentTo.apply(vertex)) {
+        targets[entry++] = adjacentVertex;
+      }
+    }
+
+    output.writeInt(numVertices);
+    output.writeInt(numEdges);
+    output.writeInt(targets.length);
+    output.writeInts(offsets);
+    output.writeInts(targets);
+  }
+
+  /**
+   * Read a graph body written by {@code writeAdjacency()}.
+   *
+   * @param input The snapshot to read from.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the body cannot be read.
+   */
+  private static CompactGraph readGraph(SnapshotInput input) throws IOException {
+    int numVertices = input.readCount();
+    int numEdges = input.readCount();
+    int numTargets = input.readCount();
+    int[] offsets = input.readInts(numVertices + 1);
+    int[] targets = input.readInts(numTargets);
+
+    return new CompactGraph(numEdges, offsets, targets);
+  }
+
+  /**
+   * Read a digraph body written by {@code writeAdjacency()}.
+   *
+   * @param input The snapshot to read from.
+   *
+   * @return The digraph.
+   *
+   * @throws IOException If the body cannot be read.
+   */
+  private static CompactDigraph readDigraph(SnapshotInput input) throws IOException {
+    int numVertices = input.readCount();
+    input.readCount();
+    int numTargets = input.readCount();
+    int[] offsets = input.readInts(numVertices + 1);
+    int[] targets = input.readInts(numTargets);
+
+    return new CompactDigraph(offsets, targets);
+  }
+
+  /**
+   * Write the name of every vertex, each as its length in bytes followed by its UTF-8 encoding.
+   *
+   * @param output The snapshot to write to.
+   * @param numVertices The number of vertices.
+   * @param nameOf The name of each vertex.
+   *
+   * @throws IOException If the names cannot be written.
+   */
+  private static void writeNames(SnapshotOutput output, int numVertices,
+      IntFunction<String> nameOf) throws IOException {
+    output.writeInt(numVertices);
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      byte[] name = nameOf.apply(vertex).getBytes(StandardCharsets.UTF_8);
+      output.writeInt(name.length);
+      output.write(name);
+    }
+  }
+
+  /**
+   * Read the names written by {@code writeNames()}.
+   *
+   * @param input The snapshot to read from.
+   *
+   * @return Vertex-indexed names.
+   *
+   * @throws IOException If the names cannot be read.
+   */
+  private static String[] readNames(SnapshotInput input) throws IOException {
+    String[] names = new String[input.readCount()];
+    byte[] buffer = new byte[64];
+    for (int vertex = 0; vertex < names.length; vertex++) {
+      int length = input.readCount();
+      if (length > buffer.length) {
+        buffer = new byte[Math.max(length, 2 * buffer.length)];
+      }
+      input.readBytes(buffer, length);
+      names[vertex] = new String(buffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    return names;
+  }
+
+  /**
+   * Save an edge list body.
+   *
+   * @param type The graph type.
+   * @param edges The weighted edges.
+   * @param fileName The file to write.
+   *
+   * @throws IOException If the file cannot be written.
+   */
+  private static void saveEdgeList(int type, EdgeList edges, String fileName) throws IOException {
+    try (SnapshotOutput output = new SnapshotOutput(fileName, type)) {
+      output.writeInt(edges.numVertices);
+      output.writeInt(edges.getNumEdges());
+      output.writeInts(edges.us);
+      output.writeInts(edges.vs);
+      output.writeDoubles(edges.weights);
+      output.finish();
+    } catch (IOException exception) {
+      throw new IOException("Could not write file: " + fileName);
+    }
+  }
+
+  /**
+   * Load an edge list body.
+   *
+   * @param type The expected graph type.
+   * @param fileName The file to read.
+   *
+   * @return The weighted edges.
+   *
+   * @throws IOException If the file cannot be read, is not of the expected type or is corrupt.
+   */
+  private static EdgeList loadEdgeList(int type, String fileName) throws IOException {
+    try (SnapshotInput input = new SnapshotInput(fileName, type)) {
+      int numVertices = input.readCount();
+      int numEdges = input.readCount();
+      int[] us = input.readInts(numEdges);
+      int[] vs = input.readInts(numEdges);
+      double[] weights = input.readDoubles(numEdges);
+      input.finish();
+
+      return new EdgeList(numVertices, us, vs, weights);
+    }
+  }
+
+  /**
+   * A buffered output stream that writes the snapshot header on opening, keeps a running CRC-32
+   * of everything written and appends it on {@code finish()}. Arrays are copied through a byte
+   * buffer in chunks rather than written one value at a time.
+   */
+  private static final class SnapshotOutput extends DataOutputStream {
+
+    /**
+     * The running checksum.
+     */
+    private final CRC32 checksum;
+
+    /**
+     * The buffer through which arrays are copied.
+     */
+    private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_BYTES);
+
+    /**
+     * Open the snapshot, truncating any existing file, and write its header.
+     *
+     * @param fileName The file to write.
+     * @param type The graph type.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    SnapshotOutput(String fileName, int type) throws IOException {
+      this(new CRC32(), fileName);
+      writeInt(MAGIC);
+      writeInt(VERSION);
+      writeInt(type);
+    }
+
+    /**
+     * Open the snapshot.
+     *
+     * @param checksum The checksum to keep.
+     * @param fileName The file to write.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    private SnapshotOutput(CRC32 checksum, String fileName) throws IOException {
+      super(new CheckedOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(Paths.get(fileName)), CHUNK_BYTES),
+          checksum));
+      this.checksum = checksum;
+    }
+
+    /**
+     * Write an array of integers.
+     *
+     * @param values The integers.
+     *
+     * @throws IOException If the integers cannot be written.
+     */
+    void writeInts(int[] values) throws IOException {
+      for (int value : values) {
+        if (chunk.remaining() < Integer.BYTES) {
+          drain();
+        }
+        chunk.putInt(value);
+      }
+      drain();
+    }
+
+    /**
+     * Write an array of doubles.
+     *
+     * @param values The doubles.
+     *
+     * @throws IOException If the doubles cannot be written.
+     */
+    void writeDoubles(double[] values) throws IOException {
+      for (double value : values) {
+        if (chunk.remaining() < Double.BYTES) {
+          drain();
+        }
+        chunk.putDouble(value);
+      }
+      drain();
+    }
+
+    /**
+     * Write the contents of the chunk buffer and empty it.
+     *
+     * @throws IOException If the contents cannot be written.
+     */
+    private void drain() throws IOException {
+      write(chunk.array(), 0, chunk.position());
+      chunk.clear();
+    }
+
+    /**
+     * Append the checksum of everything written so far.
+     *
+     * @throws IOException If the checksum cannot be written.
+     */
+    void finish() throws IOException {
+      writeLong(checksum.getValue());
+    }
+  }
+
+  /**
+   * A buffered input stream that checks the snapshot header on opening, keeps a running CRC-32 of
+   * everything read and compares it with the stored checksum on {@code finish()}.
+   */
+  private static final class SnapshotInput extends DataInputStream {
+
+    /**
+     * The file name, for error messages.
+     */
+    private final String fileName;
+
+    /**
+     * The size of the file, in bytes, which bounds every count so that a corrupt count cannot
+     * allocate more than the file could hold before the checksum is verified.
+     */
+    private final long fileSize;
+
+    /**
+     * The running checksum.
+     */
+    private final CRC32 checksum;
+
+    /**
+     * The buffer through which arrays are copied.
+     */
+    private final byte[] chunk = new byte[CHUNK_BYTES];
+
+    /**
+     * Open the snapshot and check its header.
+     *
+     * @param fileName The file to read.
+     * @param type The expected graph type.
+     *
+     * @throws IOException If the file cannot be opened or is not a snapshot of the expected type.
+     */
+    SnapshotInput(String fileName, int type) throws IOException {
+      this(new CRC32(), fileName);
+      try {
+        if (readInt() != MAGIC) {
+          throw new IOException("Not a graph snapshot: " + fileName);
+        }
+        if (readInt() != VERSION) {
+          throw new IOException("Unsupported graph snapshot version: " + fileName);
+        }
+        if (readInt() != type) {
+          throw new IOException("Graph snapshot is of the wrong graph type: " + fileName);
+        }
+      } catch (EOFException exception) {
+        close();
+        throw new IOException("Not a graph snapshot: " + fileName);
+      } catch (IOException exception) {
+        close();
+        throw exception;
+      }
+    }
+
+    /**
+     * Open the snapshot.
+     *
+     * @param checksum The checksum to keep.
+     * @param fileName The file to read.
+     *
+     * @throws IOException If the file cannot be opened.
+     */
+    private SnapshotInput(CRC32 checksum, String fileName) throws IOException {
+      super(new CheckedInputStream(
+          new BufferedInputStream(Files.newInputStream(Paths.get(fileName)), CHUNK_BYTES),
+          checksum));
+      this.fileName = fileName;
+      this.fileSize = Files.size(Paths.get(fileName));
+      this.checksum = checksum;
+    }
+
+    /**
+     * Read a count, which must be between zero and the size of the file.
+     *
+     * @return The count.
+     *
+     * @throws IOException If the count cannot be read or is out of range.
+     */
+    int readCount() throws IOException {
+      int count;
+      try {
+        count = readInt();
+      } catch (EOFException exception) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+      if (count < 0 || count > fileSize) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+
+      return count;
+    }
+
+    /**
+     * Read an array of integers.
+     *
+     * @param length The number of integers.
+     *
+     * @return The integers.
+     *
+     * @throws IOException If the integers cannot be read.
+     */
+    int[] readInts(int length) throws IOException {
+      int[] values = new int[length];
+      for (int read = 0; read < length; ) {
+        int count = Math.min(length - read, CHUNK_BYTES / Integer.BYTES);
+        readBytes(chunk, count * Integer.BYTES);
+        ByteBuffer.wrap(chunk, 0, count * Integer.BYTES).asIntBuffer().get(values, read, count);
+        read += count;
+      }
+
+      return values;
+    }
+
+    /**
+     * Read an array of doubles.
+     *
+     * @param length The number of doubles.
+     *
+     * @return The doubles.
+     *
+     * @throws IOException If the doubles cannot be read.
+     */
+    double[] readDoubles(int length) throws IOException {
+      double[] values = new double[length];
+      for (int read = 0; read < length; ) {
+        int count = Math.min(length - read, CHUNK_BYTES / Double.BYTES);
+        readBytes(chunk, count * Double.BYTES);
+        ByteBuffer.wrap(chunk, 0, count * Double.BYTES).asDoubleBuffer()
+            .get(values, read, count);
+        read += count;
+      }
+
+      return values;
+    }
+
+    /**
+     * Read the specified number of bytes, reporting a truncated file as corrupt.
+     *
+     * @param buffer The buffer to read into.
+     * @param length The number of bytes.
+     *
+     * @throws IOException If the bytes cannot be read.
+     */
+    void readBytes(byte[] buffer, int length) throws IOException {
+      try {
+        readFully(buffer, 0, length);
+      } catch (EOFException exception) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+    }
+
+    /**
+     * Compare the checksum of everything read with the stored checksum, and check that nothing
+     * follows it.
+     *
+     * @throws IOException If the checksums differ or the file is longer than expected.
+     */
+    void finish() throws IOException {
+      long expected = checksum.getValue();
+      long stored;
+      try {
+        stored = readLong();
+      } catch (EOFException exception) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+      if (stored != expected || read() != -1) {
+        throw new IOException("Corrupt graph snapshot: " + fileName);
+      }
+    }
+  }
+}
@@ -0,0 +1,337 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads whitespace-separated integers and doubles from a graph text file, such as those in the
+ * {@code data} directory, as a replacement for {@code java.util.Scanner}. Scanner matches every
+ * token against a regular expression, which limits it to a few megabytes per second; this reader
+ * instead fills a byte buffer directly from the file and converts each token with a hand-rolled
+ * tokenizer, so that it reads at close to disk speed and allocates nothing per token.
+ *
+ * Files compressed with gzip are detected by their magic number and decompressed transparently,
+ * whatever their name.
+ *
+ * Doubles are converted exactly as {@code Double.parseDouble()} would convert them: tokens with at
+ * most 15 significant digits and no exponent, which covers every file in {@code data}, are
+ * computed with a single correctly rounded division by a power of ten; any other token falls back
+ * to {@code Double.parseDouble()}. As for Scanner, a malformed token results in an {@code
+ * InputMismatchException} and reading past the end of the file in a {@code
+ * NoSuchElementException}.
+ */
+class GraphTextReader implements Closeable {
+
+  /**
+   * The size of the read buffer, in bytes.
+   */
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  /**
+   * Powers of ten that are exactly representable as doubles.
+   */
+  private static final double[] POWERS_OF_TEN = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /**
+   * The (possibly decompressing) source of bytes.
+   */
+  private final InputStream input;
+
+  /**
+   * The read buffer.
+   */
+  private final byte[] buffer = new byte[BUFFER_SIZE];
+
+  /**
+   * The index of the next unread byte in {@code buffer}.
+   */
+  private int position;
+
+  /**
+   * The number of valid bytes in {@code buffer}.
+   */
+  private int limit;
+
+  /**
+   * The number of bytes read from {@code input} before the current contents of {@code buffer}.
+   */
+  private long bufferStart;
+
+  /**
+   * The bytes of the current token, which may have spanned two fills of {@code buffer}.
+   */
+  private byte[] token = new byte[32];
+
+  /**
+   * The number of bytes in the current token.
+   */
+  private int tokenLength;
+
+  /**
+   * Open the specified file, decompressing it if it is gzip-compressed.
+   *
+   * @param fileName the path to the file
+   *
+   * @throws IOException if the file cannot be opened
+   */
+  GraphTextReader(String fileName) throws IOException {
+    PushbackInputStream stream = new PushbackInputStream(
+        Files.newInputStream(Paths.get(fileName)), 2);
+    byte[] magic = new byte[2];
+    int read = stream.read(magic);
+    if (read > 0) {
+      stream.unread(magic, 0, read);
+    }
+
+    if (read == 2 && isGzipMagic(magic[0], magic[1])) {
+      input = new GZIPInputStream(stream, BUFFER_SIZE);
+    } else {
+      input = stream;
+    }
+  }
+
+  /**
+   * Read from the specified stream of uncompressed text.
+   *
+   * @param input the stream
+   */
+  GraphTextReader(InputStream input) {
+    this.input = input;
+  }
+
+  /**
+   * Returns true if the two bytes are the gzip magic number; false, otherwise.
+   *
+   * @param first the first byte of a file
+   * @param second the second byte of a file
+   *
+   * @return true if the bytes identify a gzip-compressed file
+   */
+  static boolean isGzipMagic(byte first, byte second) {
+    return (first & 0xff) == 0x1f && (second & 0xff) == 0x8b;
+  }
+
+  /**
+   * Skip whitespace and return true if another token follows.
+   *
+   * @return true if there is another token; false, at the end of the input
+   *
+   * @throws IOException if the input cannot be read
+   */
+  boolean hasNext() throws IOException {
+    int b = read();
+    while (b != -1 && b <= ' ') {
+      b = read();
+    }
+    if (b == -1) {
+      return false;
+    }
+
+    // The byte just read is still in the buffer, so step back over it.
+    position--;
+    return true;
+  }
+
+  /**
+   * Get the number of bytes of (uncompressed) input consumed so far, up to and including the byte
+   * that ended the last token.
+   *
+   * @return the number of bytes consumed
+   */
+  long getPosition() {
+    return bufferStart + position;
+  }
+
+  /**
+   * Read the next token as an integer.
+   *
+   * @return the integer
+   *
+   * @throws IOException if the file cannot be read
+   * @throws InputMismatchException if the token is not an integer
+   * @throws NoSuchElementException if there are no more tokens
+   */
+  int nextInt() throws IOException {
+    readToken();
+
+    int i = 0;
+    boolean negative = false;
+    if (token[0] == '-' || token[0] == '+') {
+      negative = token[0] == '-';
+      i++;
+    }
+    if (i == tokenLength) {
+      throw new InputMismatchException(tokenString());
+    }
+
+    long value = 0;
+    for (; i < tokenLength; i++) {
+      int digit = token[i] - '0';
+      if (digit < 0 || digit > 9) {
+        throw new InputMismatchException(tokenString());
+      }
+      value = 10 * value + digit;
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        throw new InputMismatchException(tokenString());
+      }
+    }
+
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      throw new InputMismatchException(tokenString());
+    }
+    return (int) value;
+  }
+
+  /**
+   * Read the next token as a double.
+   *
+   * @return the double
+   *
+   * @throws IOException if the file cannot be read
+   * @throws InputMismatchException if the token is not a number
+   * @throws NoSuchElementException if there are no more tokens
+   */
+  double nextDouble() throws IOException {
+    readToken();
+
+    int i = 0;
+    boolean negative = false;
+    if (token[0] == '-' || token[0] == '+') {
+      negative = token[0] == '-';
+      i++;
+    }
+
+    // Accumulate up to 15 significant digits, which a long holds exactly, noting the position of
+    // the decimal point.
+    long mantissa = 0;
+    boolean seenDigit = false;
+    int digits = 0;
+    int fractionDigits = 0;
+    boolean seenPoint = false;
+    for (; i < tokenLength; i++) {
+      byte b = token[i];
+      if (b >= '0' && b <= '9') {
+        if (digits == 15) {
+          return parseFallback();
+        }
+        if (mantissa != 0 || b != '0') {
+          digits++;
+        }
+        mantissa = 10 * mantissa + (b - '0');
+        seenDigit = true;
+        if (seenPoint) {
+          fractionDigits++;
+        }
+      } else if (b == '.' && !seenPoint) {
+        seenPoint = true;
+      } else {
+        // An exponent, or anything else unusual, is left to the JDK.
+        return parseFallback();
+      }
+    }
+
+    if (!seenDigit) {
+      throw new InputMismatchException(tokenString());
+    }
+    if (fractionDigits >= POWERS_OF_TEN.length) {
+      return parseFallback();
+    }
+
+    // Both operands are exact, so the single division is correctly rounded.
+    double value = mantissa / POWERS_OF_TEN[fractionDigits];
+    return negative ? -value : value;
+  }
+
+  /**
+   * Close the underlying file.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    input.close();
+  }
+
+  /**
+   * Convert the current token with {@code Double.parseDouble()}.
+   *
+   * @return the double
+   *
+   * @throws InputMismatchException if the token is not a number
+   */
+  private double parseFallback() {
+    try {
+      return Double.parseDouble(tokenString());
+    } catch (NumberFormatException exception) {
+      throw new InputMismatchException(tokenString());
+    }
+  }
+
+  /**
+   * Get the current token as a string, for error messages and the slow path only.
+   *
+   * @return the token
+   */
+  private String tokenString() {
+    return new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Skip whitespace and copy the next token into {@code token}.
+   *
+   * @throws IOException if the file cannot be read
+   * @throws NoSuchElementException if there are no more tokens
+   */
+  private void readToken() throws IOException {
+    int b = read();
+    while (b != -1 && b <= ' ') {
+      b = read();
+    }
+    if (b == -1) {
+      throw new NoSuchElementException();
+    }
+
+    tokenLength = 0;
+    while (b != -1 && b > ' ') {
+      if (tokenLength == token.length) {
+        byte[] larger = new byte[2 * token.length];
+        System.arraycopy(token, 0, larger, 0, tokenLength);
+        token = larger;
+      }
+      token[tokenLength++] = (byte) b;
+      b = read();
+    }
+  }
+
+  /**
+   * Read the next byte, refilling the buffer when it is exhausted.
+   *
+   * @return the next byte, or -1 at the end of the file
+   *
+   * @throws IOException if the file cannot be read
+   */
+  private int read() throws IOException {
+    if (position == limit) {
+      bufferStart += limit;
+      limit = input.read(buffer, 0, BUFFER_SIZE);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position++] & 0xff;
+  }
+}
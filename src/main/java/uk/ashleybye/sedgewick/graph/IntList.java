@@ -0,0 +1,67 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive integers, used to gather vertices and messages without boxing.
+ */
+class IntList {
+
+  /**
+   * The elements, in {@code elements[0...size - 1]}.
+   */
+  private int[] elements = new int[8];
+
+  /**
+   * The number of elements.
+   */
+  private int size;
+
+  /**
+   * Append an element, growing the backing array if needed.
+   *
+   * @param element The element.
+   */
+  void add(int element) {
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, 2 * size);
+    }
+    elements[size++] = element;
+  }
+
+  /**
+   * Get the element at the specified index.
+   *
+   * @param index The index, between 0 and {@code size() - 1}.
+   *
+   * @return The element.
+   */
+  int get(int index) {
+    return elements[index];
+  }
+
+  /**
+   * Get the number of elements.
+   *
+   * @return The number of elements.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Remove all elements, keeping the backing array for reuse.
+   */
+  void clear() {
+    size = 0;
+  }
+
+  /**
+   * Copy the elements into a new array.
+   *
+   * @return The elements.
+   */
+  int[] toArray() {
+    return Arrays.copyOf(elements, size);
+  }
+}
@@ -0,0 +1,84 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.nio.IntBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An {@code Iterable} view of the adjacent vertices stored in {@code targets[low...high - 1]} of a
+ * memory-mapped compressed sparse row adjacency buffer. Nothing is copied; the view reads the
+ * mapped buffer directly.
+ */
+class MappedAdjacencyRange implements Iterable<Integer> {
+
+  /**
+   * The mapped buffer of adjacent vertices.
+   */
+  private final IntBuffer targets;
+
+  /**
+   * The first index of the range (inclusive).
+   */
+  private final int low;
+
+  /**
+   * The last index of the range (exclusive).
+   */
+  private final int high;
+
+  /**
+   * Construct a view over {@code targets[low...high - 1]}.
+   *
+   * @param targets the mapped buffer
+   * @param low the first index (inclusive)
+   * @param high the last index (exclusive)
+   */
+  MappedAdjacencyRange(IntBuffer targets, int low, int high) {
+    this.targets = targets;
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * Get the adjacent vertex at the specified position of {@code targets[low...high - 1]}, without
+   * creating a view.
+   *
+   * @param targets the mapped buffer
+   * @param low the first index (inclusive)
+   * @param high the last index (exclusive)
+   * @param index the position, between 0 and {@code high - low - 1}
+   *
+   * @return the adjacent vertex
+   *
+   * @throws IndexOutOfBoundsException if the position is out of range
+   */
+  static int get(IntBuffer targets, int low, int high, int index) {
+    if (index < 0 || index >= high - low) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", degree: " + (high - low));
+    }
+    return targets.get(low + index);
+  }
+
+  @Override
+  public Iterator<Integer> iterator() {
+    return new RangeIterator();
+  }
+
+  private class RangeIterator implements Iterator<Integer> {
+
+    private int current = low;
+
+    @Override
+    public boolean hasNext() {
+      return current < high;
+    }
+
+    @Override
+    public Integer next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return targets.get(current++);
+    }
+  }
+}
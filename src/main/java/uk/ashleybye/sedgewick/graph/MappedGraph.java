@@ -0,0 +1,130 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An immutable undirected graph whose compressed sparse row adjacency is memory-mapped from a binary
+ * graph file written by {@link GraphFile#write(Graph, String)}. Opening the graph reads only the
+ * file header: the offsets and adjacent vertices stay off-heap in the operating system's page
+ * cache, are paged in as they are first touched, and are shared with every other process that maps
+ * the same file. Heap usage is therefore independent of the size of the graph.
+ *
+ * Adjacent vertices are returned in the order in which they were written, so any algorithm that
+ * accepts a {@code Graph} produces identical results when given the {@code MappedGraph} of a
+ * written graph.
+ */
+public class MappedGraph extends Graph {
+
+  /**
+   * Mapped vertex-indexed offsets into {@code targets}, such that the vertices adjacent to v are
+   * stored in {@code targets[offsets[v]...offsets[v + 1] - 1]}.
+   */
+  private final IntBuffer offsets;
+
+  /**
+   * The mapped adjacent vertices of every vertex, packed end to end.
+   */
+  private final IntBuffer targets;
+
+  /**
+   * Map the undirected graph in the specified binary graph file.
+   *
+   * @param fileName The path to the binary graph file.
+   *
+   * @throws IOException If the file cannot be mapped or is not a binary undirected graph file.
+   */
+  public MappedGraph(String fileName) throws IOException {
+    this(fileName, open(fileName));
+  }
+
+  /**
+   * Create a mapped graph from its already-read header.
+   *
+   * @param fileName The path to the binary graph file.
+   * @param header V, E and the number of adjacency entries.
+   *
+   * @throws IOException If the file cannot be mapped.
+   */
+  private MappedGraph(String fileName, int[] header) throws IOException {
+    super(header[0], header[1]);
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      long position = GraphFile.HEADER_BYTES;
+      offsets = GraphFile.mapInts(channel, position, header[0] + 1);
+      position += 4L * (header[0] + 1);
+      targets = GraphFile.mapInts(channel, position, header[2]);
+    }
+  }
+
+  /**
+   * Read and validate the header of the specified binary graph file.
+   *
+   * @param fileName The path to the binary graph file.
+   *
+   * @return V, E and the number of adjacency entries.
+   *
+   * @throws IOException If the file cannot be read or is not a binary undirected graph file.
+   */
+  private static int[] open(String fileName) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      return GraphFile.readHeader(channel, GraphFile.GRAPH, fileName);
+    }
+  }
+
+  /**
+   * Unsupported: a mapped graph is immutable.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    throw new UnsupportedOperationException("MappedGraph is immutable");
+  }
+
+  /**
+   * Gets the degree of the specified vertex, in constant time.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of vertices adjacent to the specified vertex.
+   */
+  @Override
+  public int getDegree(int vertex) {
+    return offsets.get(vertex + 1) - offsets.get(vertex);
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return new MappedAdjacencyRange(targets, offsets.get(vertex), offsets.get(vertex + 1));
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex, in
+   * the order in which {@code adjacentTo(vertex)} returns them.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return MappedAdjacencyRange.get(targets, offsets.get(vertex), offsets.get(vertex + 1),
+        index);
+  }
+}
@@ -0,0 +1,233 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import uk.ashleybye.sedgewick.collections.IntStack;
+
+/**
+ * Uses a level-synchronous breadth first search over a partitioned graph to find the shortest path
+ * to all vertices from a given source vertex. Each level is processed in three supersteps, each of
+ * which runs every shard in parallel:
+ *
+ * 1. each shard expands its frontier along its local edges, visiting adjacent vertices it owns
+ * directly and sending a discovery message to the owner of any other;
+ *
+ * 2. each owner visits the vertices it has been sent that are not yet visited, and sends an
+ * activation message to every other shard in which a newly visited vertex has local edges; and,
+ *
+ * 3. each shard builds its next frontier from its newly visited vertices and the activations it
+ * has received.
+ *
+ * Only the owner of a vertex writes its distance and path, and messages are processed in shard
+ * order, so the search needs no locks. Distances equal those of a sequential breadth first search;
+ * paths are shortest paths, but may differ from those of {@link BreadthFirstPaths} where there is
+ * more than one.
+ */
+public class ParallelBreadthFirstPaths {
+
+  private final int[] distTo;
+  private final int[] edgeTo;
+  private final int sourceVertex;
+
+  /**
+   * Construct an instance of ParallelBreadthFirstPaths for the specified partitioned graph and
+   * source vertex, using the common {@code ForkJoinPool}.
+   *
+   * @param partition The partitioned graph to conduct the breadth first search on.
+   * @param sourceVertex The vertex from which to conduct the search.
+   */
+  public ParallelBreadthFirstPaths(GraphPartition partition, int sourceVertex) {
+    this(partition, sourceVertex, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Construct an instance of ParallelBreadthFirstPaths for the specified partitioned graph and
+   * source vertex, processing the shards in the specified pool.
+   *
+   * @param partition The partitioned graph to conduct the breadth first search on.
+   * @param sourceVertex The vertex from which to conduct the search.
+   * @param pool The pool in which to process the shards.
+   */
+  public ParallelBreadthFirstPaths(GraphPartition partition, int sourceVertex, ForkJoinPool pool) {
+    distTo = new int[partition.getNumVertices()];
+    edgeTo = new int[partition.getNumVertices()];
+    this.sourceVertex = sourceVertex;
+    Arrays.fill(distTo, -1);
+    breadthFirstSearch(partition, pool);
+  }
+
+  /**
+   * Compute the breadth first (shortest) paths from the source vertex to all other vertices in the
+   * graph.
+   *
+   * @param partition The partitioned graph to conduct the breadth first search on.
+   * @param pool The pool in which to process the shards.
+   */
+  private void breadthFirstSearch(GraphPartition partition, ForkJoinPool pool) {
+    int numShards = partition.getNumShards();
+    IntList[] frontiers = newLists(numShards);
+    IntList[] visited = newLists(numShards);
+    IntList[][] discoveries = new IntList[numShards][];
+    IntList[][] activations = new IntList[numShards][];
+    for (int shard = 0; shard < numShards; shard++) {
+      discoveries[shard] = newLists(numShards);
+      activations[shard] = newLists(numShards);
+    }
+
+    // Start from the source vertex in its owner and in each of its replicas.
+    distTo[sourceVertex] = 0;
+    int owner = partition.getOwner(sourceVertex);
+    frontiers[owner].add(partition.getShard(owner).toLocal(sourceVertex));
+    for (int replica : partition.getReplicaShards(sourceVertex)) {
+      frontiers[replica].add(partition.getShard(replica).toLocal(sourceVertex));
+    }
+
+    for (int level = 0; !allEmpty(frontiers); level++) {
+      int nextLevel = level + 1;
+
+      // Expand each frontier along the local edges.
+      GraphPartition.forEachShard(pool, numShards, index -> {
+        GraphPartition.Shard shard = partition.getShard(index);
+        IntList frontier = frontiers[index];
+        for (int i = 0; i < frontier.size(); i++) {
+          int vertex = frontier.get(i);
+          int parent = shard.toGlobal(vertex);
+          for (int e = shard.getEdgeOffset(vertex); e < shard.getEdgeOffset(vertex + 1); e++) {
+            int adjacentVertex = shard.getTarget(e);
+            int global = shard.toGlobal(adjacentVertex);
+            if (shard.isOwned(adjacentVertex)) {
+              if (distTo[global] < 0) {
+                distTo[global] = nextLevel;
+                edgeTo[global] = parent;
+                visited[index].add(global);
+              }
+            } else {
+              IntList outbox = discoveries[index][shard.getOwner(adjacentVertex)];
+              outbox.add(global);
+              outbox.add(parent);
+            }
+          }
+        }
+      });
+
+      // Visit the discovered vertices at their owners, and activate their replicas.
+      GraphPartition.forEachShard(pool, numShards, index -> {
+        for (int sender = 0; sender < numShards; sender++) {
+          IntList inbox = discoveries[sender][index];
+          for (int i = 0; i < inbox.size(); i += 2) {
+            int global = inbox.get(i);
+            if (distTo[global] < 0) {
+              distTo[global] = nextLevel;
+              edgeTo[global] = inbox.get(i + 1);
+              visited[index].add(global);
+            }
+          }
+          inbox.clear();
+        }
+        for (int i = 0; i < visited[index].size(); i++) {
+          int global = visited[index].get(i);
+          for (int replica : partition.getReplicaShards(global)) {
+            activations[index][replica].add(global);
+          }
+        }
+      });
+
+      // Build the next frontiers.
+      GraphPartition.forEachShard(pool, numShards, index -> {
+        GraphPartition.Shard shard = partition.getShard(index);
+        IntList frontier = frontiers[index];
+        frontier.clear();
+        for (int i = 0; i < visited[index].size(); i++) {
+          frontier.add(shard.toLocal(visited[index].get(i)));
+        }
+        visited[index].clear();
+        for (int sender = 0; sender < numShards; sender++) {
+          IntList inbox = activations[sender][index];
+          for (int i = 0; i < inbox.size(); i++) {
+            frontier.add(shard.toLocal(inbox.get(i)));
+          }
+          inbox.clear();
+        }
+      });
+    }
+  }
+
+  /**
+   * Create an array of empty lists.
+   *
+   * @param length The number of lists.
+   *
+   * @return The lists.
+   */
+  private static IntList[] newLists(int length) {
+    IntList[] lists = new IntList[length];
+    for (int i = 0; i < length; i++) {
+      lists[i] = new IntList();
+    }
+
+    return lists;
+  }
+
+  /**
+   * Returns true if every list is empty; false, otherwise.
+   *
+   * @param lists The lists.
+   *
+   * @return True if all the lists are empty.
+   */
+  private static boolean allEmpty(IntList[] lists) {
+    for (IntList list : lists) {
+      if (list.size() > 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns true if there is a path from the source vertex to the specified vertex; false,
+   * otherwise.
+   *
+   * @param vertex The last vertex in the path from the source vertex.
+   *
+   * @return True if a path exists; false, otherwise.
+   */
+  public boolean hasPathTo(int vertex) {
+    return distTo[vertex] >= 0;
+  }
+
+  /**
+   * Get the number of edges in the shortest path from the source vertex to the specified vertex.
+   *
+   * @param vertex The last vertex in the path from the source vertex.
+   *
+   * @return The length of the shortest path, or -1 if there is no path.
+   */
+  public int getDistanceTo(int vertex) {
+    return distTo[vertex];
+  }
+
+  /**
+   * Returns the shortest path from the source vertex to the specified vertex, if the two vertices
+   * are connected.
+   *
+   * @param vertex The last vertex to get the shortest path to.
+   *
+   * @return Optionally, the shortest path to the specified vertex.
+   */
+  public Optional<Iterable<Integer>> shortestPathTo(int vertex) {
+    if (!hasPathTo(vertex)) {
+      return Optional.empty();
+    }
+
+    IntStack path = new IntStack();
+    for (int v = vertex; v != sourceVertex; v = edgeTo[v]) {
+      path.push(v);
+    }
+    path.push(sourceVertex);
+
+    return Optional.of(path);
+  }
+}
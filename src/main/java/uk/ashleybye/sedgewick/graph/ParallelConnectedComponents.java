@@ -0,0 +1,249 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import uk.ashleybye.sedgewick.sort.UnionFind;
+
+/**
+ * ParallelConnectedComponents finds the connected components of a partitioned undirected graph.
+ * Each shard first finds the components of its own local edges in parallel, using union-find, and
+ * labels each of its local vertices with the lowest global vertex in its local component. Only
+ * the boundary vertices, ghosts and owned vertices that are ghosts or replicas in other shards,
+ * then send a message pairing their global number with their label to a coordinator, which merges
+ * them with a union-find over just the vertices named in messages. As a ghost is labelled alongside
+ * the owned vertices it is connected to, this links components across shards. Each shard then
+ * resolves the labels of its owned vertices in parallel; a local component with no boundary vertex
+ * is already a whole component.
+ *
+ * Components are numbered in order of their lowest vertex, so identifiers match those of {@link
+ * ConnectedComponents}.
+ */
+public class ParallelConnectedComponents {
+
+  private int[] componentIdentifiers;
+  private int componentCount;
+
+  /**
+   * Construct a new instance of ParallelConnectedComponents with the specified partitioned graph,
+   * using the common {@code ForkJoinPool}.
+   *
+   * @param partition The partitioned graph.
+   */
+  public ParallelConnectedComponents(GraphPartition partition) {
+    this(partition, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Construct a new instance of ParallelConnectedComponents with the specified partitioned graph,
+   * processing the shards in the specified pool.
+   *
+   * @param partition The partitioned graph.
+   * @param pool The pool in which to process the shards.
+   *
+   * @throws IllegalArgumentException If the graph is directed.
+   */
+  public ParallelConnectedComponents(GraphPartition partition, ForkJoinPool pool) {
+    if (partition.isDirected()) {
+      throw new IllegalArgumentException("Connected components require an undirected graph");
+    }
+
+    int numShards = partition.getNumShards();
+    int numVertices = partition.getNumVertices();
+
+    // Find the local components of each shard, label each local vertex with the lowest global
+    // vertex in its local component, and gather the boundary messages.
+    int[][] localLowest = new int[numShards][];
+    IntList[] messages = new IntList[numShards];
+    GraphPartition.forEachShard(pool, numShards, index -> {
+      GraphPartition.Shard shard = partition.getShard(index);
+      UnionFind local = new UnionFind(shard.getNumLocal());
+      boolean[] boundary = new boolean[shard.getNumLocal()];
+      for (int vertex = 0; vertex < shard.getNumLocal(); vertex++) {
+        boundary[vertex] = isBoundary(partition, shard, vertex);
+        for (int adjacentVertex : shard.adjacentTo(vertex)) {
+          local.union(vertex, adjacentVertex);
+          boundary[vertex] |= !shard.isOwned(adjacentVertex);
+        }
+      }
+
+      int[] rootLowest = new int[shard.getNumLocal()];
+      Arrays.fill(rootLowest, Integer.MAX_VALUE);
+      for (int vertex = 0; vertex < shard.getNumLocal(); vertex++) {
+        int root = local.find(vertex);
+        rootLowest[root] = Math.min(rootLowest[root], shard.toGlobal(vertex));
+      }
+      localLowest[index] = new int[shard.getNumLocal()];
+      messages[index] = new IntList();
+      for (int vertex = 0; vertex < shard.getNumLocal(); vertex++) {
+        int lowest = rootLowest[local.find(vertex)];
+        localLowest[index][vertex] = lowest;
+        if (boundary[vertex]) {
+          messages[index].add(lowest);
+          messages[index].add(shard.toGlobal(vertex));
+        }
+      }
+    });
+
+    // Merge the local components across shards, over the boundary vertices and the lowest
+    // vertices of their local components only.
+    int[] keys = boundaryKeys(messages);
+    UnionFind global = new UnionFind(keys.length);
+    for (IntList shardMessages : messages) {
+      for (int i = 0; i < shardMessages.size(); i += 2) {
+        global.union(Arrays.binarySearch(keys, shardMessages.get(i)),
+            Arrays.binarySearch(keys, shardMessages.get(i + 1)));
+      }
+    }
+    int[] rootLowest = new int[keys.length];
+    Arrays.fill(rootLowest, -1);
+    for (int key = 0; key < keys.length; key++) {
+      int root = global.find(key);
+      if (rootLowest[root] < 0) {
+        rootLowest[root] = keys[key];
+      }
+    }
+    int[] keyLowest = new int[keys.length];
+    for (int key = 0; key < keys.length; key++) {
+      keyLowest[key] = rootLowest[global.find(key)];
+    }
+
+    // Label each owned vertex with the lowest vertex in its component. A local component with no
+    // boundary vertex is a whole component, and its lowest vertex is not a key.
+    int[] lowestVertices = new int[numVertices];
+    GraphPartition.forEachShard(pool, numShards, index -> {
+      GraphPartition.Shard shard = partition.getShard(index);
+      for (int vertex = 0; vertex < shard.getNumOwned(); vertex++) {
+        int lowest = localLowest[index][vertex];
+        int key = Arrays.binarySearch(keys, lowest);
+        lowestVertices[shard.toGlobal(vertex)] = key < 0 ? lowest : keyLowest[key];
+      }
+    });
+
+    // Number the components in order of their lowest vertex: count the lowest vertices in each
+    // block of vertices, number them from the total of the blocks before, then label the rest.
+    int[] blockCounts = new int[numShards + 1];
+    GraphPartition.forEachShard(pool, numShards, block -> {
+      for (int vertex = blockStart(block, numShards, numVertices);
+          vertex < blockStart(block + 1, numShards, numVertices); vertex++) {
+        if (lowestVertices[vertex] == vertex) {
+          blockCounts[block + 1]++;
+        }
+      }
+    });
+    for (int block = 0; block < numShards; block++) {
+      blockCounts[block + 1] += blockCounts[block];
+    }
+    componentCount = blockCounts[numShards];
+
+    componentIdentifiers = new int[numVertices];
+    GraphPartition.forEachShard(pool, numShards, block -> {
+      int componentId = blockCounts[block];
+      for (int vertex = blockStart(block, numShards, numVertices);
+          vertex < blockStart(block + 1, numShards, numVertices); vertex++) {
+        if (lowestVertices[vertex] == vertex) {
+          componentIdentifiers[vertex] = componentId++;
+        }
+      }
+    });
+    GraphPartition.forEachShard(pool, numShards, block -> {
+      for (int vertex = blockStart(block, numShards, numVertices);
+          vertex < blockStart(block + 1, numShards, numVertices); vertex++) {
+        componentIdentifiers[vertex] = componentIdentifiers[lowestVertices[vertex]];
+      }
+    });
+  }
+
+  /**
+   * Returns true if the specified local vertex may be connected to vertices outside its shard:
+   * if it is a ghost, or if it is owned and has local edges in other shards. An owned vertex with
+   * an edge to a ghost is also on the boundary, as it is a ghost in the shard of the far end.
+   *
+   * @param partition The partitioned graph.
+   * @param shard The shard.
+   * @param vertex The local vertex.
+   *
+   * @return True if the vertex is on the boundary of the shard.
+   */
+  private static boolean isBoundary(GraphPartition partition, GraphPartition.Shard shard,
+      int vertex) {
+    return !shard.isOwned(vertex)
+        || partition.getReplicaShards(shard.toGlobal(vertex)).iterator().hasNext();
+  }
+
+  /**
+   * Get the distinct global vertices named in the boundary messages, in increasing order.
+   *
+   * @param messages The boundary messages of each shard.
+   *
+   * @return The sorted, distinct vertices.
+   */
+  private static int[] boundaryKeys(IntList[] messages) {
+    int numEndpoints = 0;
+    for (IntList shardMessages : messages) {
+      numEndpoints += shardMessages.size();
+    }
+    int[] keys = new int[numEndpoints];
+    int i = 0;
+    for (IntList shardMessages : messages) {
+      for (int j = 0; j < shardMessages.size(); j++) {
+        keys[i++] = shardMessages.get(j);
+      }
+    }
+    Arrays.sort(keys);
+
+    int numKeys = 0;
+    for (i = 0; i < keys.length; i++) {
+      if (i == 0 || keys[i] != keys[i - 1]) {
+        keys[numKeys++] = keys[i];
+      }
+    }
+    return Arrays.copyOf(keys, numKeys);
+  }
+
+  /**
+   * Get the first vertex of the specified block, when the vertices are split into contiguous
+   * blocks of roughly equal size.
+   *
+   * @param block The block index, between 0 and {@code numBlocks} inclusive.
+   * @param numBlocks The number of blocks.
+   * @param numVertices The number of vertices.
+   *
+   * @return The first vertex of the block.
+   */
+  private static int blockStart(int block, int numBlocks, int numVertices) {
+    return (int) ((long) numVertices * block / numBlocks);
+  }
+
+  /**
+   * Compares the component identifier for each vertex and returns true if two vertices are in the
+   * same component; false, otherwise.
+   *
+   * @param u The first vertex.
+   * @param v The second vertex.
+   *
+   * @return True if the vertices are connected; false, otherwise.
+   */
+  public boolean connected(int u, int v) {
+    return componentIdentifiers[u] == componentIdentifiers[v];
+  }
+
+  /**
+   * Get the component identifier for the specified vertex.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The component id.
+   */
+  public int getComponentId(int vertex) {
+    return componentIdentifiers[vertex];
+  }
+
+  /**
+   * Get the number of components in the graph.
+   *
+   * @return The number of components.
+   */
+  public int getComponentCount() {
+    return componentCount;
+  }
+}
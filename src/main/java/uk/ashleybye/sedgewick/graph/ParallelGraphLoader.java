@@ -0,0 +1,513 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Loads large edge-list files using every core of a {@code ForkJoinPool}. The file is read in the
+ * same text format as the sequential {@code String} constructors, with the restriction that each
+ * edge must be on a line of its own, as in every file in {@code data}.
+ *
+ * After the V and E header has been read, the rest of the file is split into one byte range per
+ * worker thread, each boundary being moved forward to the start of the next line. Loading then
+ * proceeds in four parallel phases:
+ *
+ * 1. each range is parsed into its own primitive edge arrays, with a {@link GraphTextReader};
+ *
+ * 2. each range counts the degree of every vertex amongst its own edges;
+ *
+ * 3. the per-range degrees are summed into the compressed sparse row offsets, and converted into
+ * the position at which each range starts writing each vertex's adjacent vertices; and,
+ *
+ * 4. each range scatters its edges into the shared target arrays. The ranges write disjoint slots,
+ * so no synchronisation is needed.
+ *
+ * Adjacent vertices are placed exactly where the sequential constructors would place them, so the
+ * results, including the edge counts, are identical to those of {@code new CompactGraph(fileName)},
+ * {@code new CompactDigraph(fileName)}, {@code new CompactEdgeWeightedDigraph(fileName)} and {@code
+ * new EdgeWeightedGraph(fileName)}. As for those constructors, edges beyond the first E are ignored
+ * and a file with fewer than E edges results in a {@code NoSuchElementException}.
+ *
+ * Phase 2 uses one vertex-indexed array per range, so peak memory is the graph itself plus its
+ * edge list plus 4V bytes per worker thread. A gzip-compressed file cannot be split, so it is
+ * loaded sequentially.
+ */
+public class ParallelGraphLoader {
+
+  /**
+   * The pool in which to parse and build.
+   */
+  private final ForkJoinPool pool;
+
+  /**
+   * The number of byte ranges into which to split each file.
+   */
+  private final int numChunks;
+
+  /**
+   * Construct a loader that uses the common {@code ForkJoinPool}.
+   */
+  public ParallelGraphLoader() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Construct a loader that uses the specified {@code pool}, splitting each file into one range per
+   * worker thread.
+   *
+   * @param pool The pool.
+   */
+  public ParallelGraphLoader(ForkJoinPool pool) {
+    this.pool = pool;
+    this.numChunks = pool.getParallelism();
+  }
+
+  /**
+   * Load a compact undirected graph from the specified file.
+   *
+   * @param fileName The path to the file.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  public CompactGraph loadGraph(String fileName) throws IOException {
+    if (isGzipped(fileName)) {
+      return new CompactGraph(fileName);
+    }
+
+    Chunk[] chunks = parse(fileName, false);
+    int numVertices = chunks[0].numVertices;
+    int[] offsets = new int[numVertices + 1];
+    int[][] cursors = countDegrees(chunks, numVertices, true);
+    sumDegrees(cursors, offsets);
+
+    int[] targets = new int[offsets[numVertices]];
+    run(chunks.length, chunk -> {
+      int[] cursor = cursors[chunk];
+      Chunk edges = chunks[chunk];
+      for (int e = 0; e < edges.numEdges; e++) {
+        targets[--cursor[edges.us[e]]] = edges.vs[e];
+        targets[--cursor[edges.vs[e]]] = edges.us[e];
+      }
+    });
+
+    return new CompactGraph(totalEdges(chunks), offsets, targets);
+  }
+
+  /**
+   * Load a compact directed graph from the specified file.
+   *
+   * @param fileName The path to the file.
+   *
+   * @return The digraph.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  public CompactDigraph loadDigraph(String fileName) throws IOException {
+    if (isGzipped(fileName)) {
+      return new CompactDigraph(fileName);
+    }
+
+    Chunk[] chunks = parse(fileName, false);
+    int numVertices = chunks[0].numVertices;
+    int[] offsets = new int[numVertices + 1];
+    int[][] cursors = countDegrees(chunks, numVertices, false);
+    sumDegrees(cursors, offsets);
+
+    int[] targets = new int[offsets[numVertices]];
+    run(chunks.length, chunk -> {
+      int[] cursor = cursors[chunk];
+      Chunk edges = chunks[chunk];
+      for (int e = 0; e < edges.numEdges; e++) {
+        targets[--cursor[edges.us[e]]] = edges.vs[e];
+      }
+    });
+
+    return new CompactDigraph(offsets, targets);
+  }
+
+  /**
+   * Load a compact edge-weighted directed graph from the specified file.
+   *
+   * @param fileName The path to the file.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  public CompactEdgeWeightedDigraph loadEdgeWeightedDigraph(String fileName) throws IOException {
+    if (isGzipped(fileName)) {
+      return new CompactEdgeWeightedDigraph(fileName);
+    }
+
+    Chunk[] chunks = parse(fileName, true);
+    int numVertices = chunks[0].numVertices;
+    int[] offsets = new int[numVertices + 1];
+    int[][] cursors = countDegrees(chunks, numVertices, false);
+    sumDegrees(cursors, offsets);
+
+    int[] to = new int[offsets[numVertices]];
+    double[] weights = new double[offsets[numVertices]];
+    run(chunks.length, chunk -> {
+      int[] cursor = cursors[chunk];
+      Chunk edges = chunks[chunk];
+      for (int e = 0; e < edges.numEdges; e++) {
+        int position = --cursor[edges.us[e]];
+        to[position] = edges.vs[e];
+        weights[position] = edges.weights[e];
+      }
+    });
+
+    return new CompactEdgeWeightedDigraph(offsets, to, weights);
+  }
+
+  /**
+   * Load an edge-weighted undirected graph from the specified file. The file is parsed in parallel,
+   * but the {@code Edge} objects are added sequentially, in file order.
+   *
+   * @param fileName The path to the file.
+   *
+   * @return The graph.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  public EdgeWeightedGraph loadEdgeWeightedGraph(String fileName) throws IOException {
+    if (isGzipped(fileName)) {
+      return new EdgeWeightedGraph(fileName);
+    }
+
+    Chunk[] chunks = parse(fileName, true);
+    EdgeWeightedGraph graph = new EdgeWeightedGraph(chunks[0].numVertices);
+    for (Chunk edges : chunks) {
+      for (int e = 0; e < edges.numEdges; e++) {
+        graph.addEdge(new Edge(edges.us[e], edges.vs[e], edges.weights[e]));
+      }
+    }
+
+    return graph;
+  }
+
+  /**
+   * Returns true if the specified file is gzip-compressed; false, otherwise.
+   *
+   * @param fileName The path to the file.
+   *
+   * @return True if the file is gzip-compressed.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  private static boolean isGzipped(String fileName) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      ByteBuffer magic = ByteBuffer.allocate(2);
+      channel.read(magic, 0);
+      return magic.position() == 2 && GraphTextReader.isGzipMagic(magic.get(0), magic.get(1));
+    }
+  }
+
+  /**
+   * Read the header of the specified file, split the remainder into ranges and parse each range in
+   * parallel. The edges are then trimmed, so that exactly the first E edges remain.
+   *
+   * @param fileName The path to the file.
+   * @param weighted True if each edge has a weight.
+   *
+   * @return The parsed ranges, in file order.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  private Chunk[] parse(String fileName, boolean weighted) throws IOException {
+    try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      long size = channel.size();
+      GraphTextReader header = new GraphTextReader(new RangeInputStream(channel, 0, size));
+      int numVertices = header.nextInt();
+      int numEdges = header.nextInt();
+      long start = header.getPosition();
+
+      long[] boundaries = new long[numChunks + 1];
+      boundaries[0] = start;
+      boundaries[numChunks] = size;
+      for (int chunk = 1; chunk < numChunks; chunk++) {
+        long nominal = start + (size - start) * chunk / numChunks;
+        boundaries[chunk] = Math.max(boundaries[chunk - 1], nextLine(channel, nominal, size));
+      }
+
+      Chunk[] chunks = new Chunk[numChunks];
+      run(numChunks, chunk -> {
+        chunks[chunk] = new Chunk(numVertices, weighted);
+        GraphTextReader reader = new GraphTextReader(
+            new RangeInputStream(channel, boundaries[chunk], boundaries[chunk + 1]));
+        while (reader.hasNext()) {
+          chunks[chunk].add(reader, weighted);
+        }
+      });
+
+      // Keep exactly the first E edges, as the sequential constructors do.
+      int remaining = numEdges;
+      for (Chunk chunk : chunks) {
+        chunk.numEdges = Math.min(chunk.numEdges, remaining);
+        remaining -= chunk.numEdges;
+      }
+      if (remaining > 0) {
+        throw new NoSuchElementException();
+      }
+
+      return chunks;
+    }
+  }
+
+  /**
+   * Find the position of the first byte of the line following the specified position.
+   *
+   * @param channel The file.
+   * @param position The position from which to search.
+   * @param size The size of the file.
+   *
+   * @return The position following the next newline, or {@code size} if there is none.
+   *
+   * @throws IOException If the file cannot be read.
+   */
+  private static long nextLine(FileChannel channel, long position, long size) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(256);
+    while (position < size) {
+      buffer.clear();
+      int read = channel.read(buffer, position);
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+
+    return size;
+  }
+
+  /**
+   * Count, for every range, the degree of each vertex amongst the edges in that range.
+   *
+   * @param chunks The parsed ranges.
+   * @param numVertices The number of vertices.
+   * @param undirected True if each edge adds to the degree of both its vertices.
+   *
+   * @return Range-indexed arrays of vertex-indexed degrees.
+   *
+   * @throws IOException Never, as no file is read.
+   */
+  private int[][] countDegrees(Chunk[] chunks, int numVertices, boolean undirected)
+      throws IOException {
+    int[][] degrees = new int[chunks.length][];
+    run(chunks.length, chunk -> {
+      int[] degree = new int[numVertices];
+      Chunk edges = chunks[chunk];
+      for (int e = 0; e < edges.numEdges; e++) {
+        degree[edges.us[e]]++;
+        if (undirected) {
+          degree[edges.vs[e]]++;
+        }
+      }
+      degrees[chunk] = degree;
+    });
+
+    return degrees;
+  }
+
+  /**
+   * Sum the per-range degrees into {@code offsets}, then convert each range's degrees, in place,
+   * into the position one past the slot at which that range writes the first of its adjacent
+   * vertices for each vertex. Ranges later in the file write nearer the front of each vertex's
+   * slots, reproducing the most-recent-first order of the sequential constructors.
+   *
+   * @param degrees Range-indexed arrays of vertex-indexed degrees, replaced with the cursors.
+   * @param offsets Vertex-indexed offsets, of length V + 1, to populate.
+   *
+   * @throws IOException Never, as no file is read.
+   */
+  private void sumDegrees(int[][] degrees, int[] offsets) throws IOException {
+    int numVertices = offsets.length - 1;
+    int blockSize = (numVertices + numChunks - 1) / numChunks;
+
+    run(numChunks, block -> {
+      for (int vertex = block * blockSize;
+          vertex < Math.min(numVertices, (block + 1) * blockSize); vertex++) {
+        int degree = 0;
+        for (int[] chunkDegrees : degrees) {
+          degree += chunkDegrees[vertex];
+        }
+        offsets[vertex + 1] = degree;
+      }
+    });
+
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      offsets[vertex + 1] += offsets[vertex];
+    }
+
+    run(numChunks, block -> {
+      for (int vertex = block * blockSize;
+          vertex < Math.min(numVertices, (block + 1) * blockSize); vertex++) {
+        int cursor = offsets[vertex + 1];
+        for (int[] chunkDegrees : degrees) {
+          int degree = chunkDegrees[vertex];
+          chunkDegrees[vertex] = cursor;
+          cursor -= degree;
+        }
+      }
+    });
+  }
+
+  /**
+   * Get the total number of edges kept across all ranges.
+   *
+   * @param chunks The parsed ranges.
+   *
+   * @return The number of edges.
+   */
+  private static int totalEdges(Chunk[] chunks) {
+    int numEdges = 0;
+    for (Chunk chunk : chunks) {
+      numEdges += chunk.numEdges;
+    }
+
+    return numEdges;
+  }
+
+  /**
+   * Run {@code action} for each of {@code count} indices in parallel in the pool, and wait for them
+   * all to complete.
+   *
+   * @param count The number of indices.
+   * @param action The action.
+   *
+   * @throws IOException If any action throws one.
+   */
+  void run(int count, ChunkAction action) throws IOException {
+    List<ForkJoinTask<Void>> tasks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int index = i;
+      tasks.add(ForkJoinTask.adapt((Callable<Void>) () -> {
+        action.run(index);
+        return null;
+      }));
+    }
+
+    try {
+      pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    } catch (RuntimeException exception) {
+      // The pool wraps a checked exception thrown by a task, and may wrap it again when rethrowing
+      // it on another thread, so look for it anywhere in the chain of causes.
+      for (Throwable cause = exception.getCause(); cause != null; cause = cause.getCause()) {
+        if (cause instanceof IOException) {
+          throw (IOException) cause;
+        }
+      }
+      throw exception;
+    }
+  }
+
+  /**
+   * An action on one range, or one block of vertices.
+   */
+  interface ChunkAction {
+
+    /**
+     * Run the action.
+     *
+     * @param index The index of the range, or block of vertices.
+     *
+     * @throws IOException If the file cannot be read.
+     */
+    void run(int index) throws IOException;
+  }
+
+  /**
+   * The edges parsed from one range of the file, in file order, held in growable primitive arrays.
+   */
+  private static class Chunk {
+
+    private final int numVertices;
+    private int numEdges;
+    private int[] us = new int[1024];
+    private int[] vs = new int[1024];
+    private double[] weights;
+
+    Chunk(int numVertices, boolean weighted) {
+      this.numVertices = numVertices;
+      if (weighted) {
+        weights = new double[1024];
+      }
+    }
+
+    /**
+     * Read the next edge from {@code reader}.
+     *
+     * @param reader The reader.
+     * @param weighted True if the edge has a weight.
+     *
+     * @throws IOException If the file cannot be read.
+     */
+    void add(GraphTextReader reader, boolean weighted) throws IOException {
+      if (numEdges == us.length) {
+        us = Arrays.copyOf(us, 2 * numEdges);
+        vs = Arrays.copyOf(vs, 2 * numEdges);
+        if (weighted) {
+          weights = Arrays.copyOf(weights, 2 * numEdges);
+        }
+      }
+
+      us[numEdges] = reader.nextInt();
+      vs[numEdges] = reader.nextInt();
+      if (weighted) {
+        weights[numEdges] = reader.nextDouble();
+      }
+      numEdges++;
+    }
+  }
+
+  /**
+   * An {@code InputStream} over the byte range {@code [position, end)} of a file. Reads are
+   * positional, so many streams can safely share one {@code FileChannel}.
+   */
+  private static class RangeInputStream extends InputStream {
+
+    private final FileChannel channel;
+    private long position;
+    private final long end;
+
+    RangeInputStream(FileChannel channel, long position, long end) {
+      this.channel = channel;
+      this.position = position;
+      this.end = end;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) == -1 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (position >= end) {
+        return -1;
+      }
+
+      int toRead = (int) Math.min(length, end - position);
+      int read = channel.read(ByteBuffer.wrap(bytes, offset, toRead), position);
+      if (read > 0) {
+        position += read;
+      }
+      return read;
+    }
+  }
+}
@@ -3,7 +3,9 @@ package uk.ashleybye.sedgewick.graph;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import uk.ashleybye.sedgewick.collections.IndexedPriorityQueue;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
+import uk.ashleybye.sedgewick.collections.IndexedDoubleHeap;
+import uk.ashleybye.sedgewick.collections.IndexedDoublePriorityQueue;
 
 /**
  * <p>Implementation of Prim's algorithm to compute the minimum spanning tree of an edge weighted
@@ -14,10 +16,15 @@ import uk.ashleybye.sedgewick.collections.IndexedPriorityQueue;
  */
 public class PrimMinimumSpanningTree {
 
+  /**
+   * Cursor over the edges adjacent to the vertex being visited, reused for every vertex.
+   */
+  private final ChunkedBag.Cursor<Edge> cursor = new ChunkedBag.Cursor<>();
+
   private Edge[] edgeTo;
   private double[] distanceTo;
   private boolean[] markedVertices;
-  private IndexedPriorityQueue<Double> priorityQueue;
+  private IndexedDoublePriorityQueue priorityQueue;
 
   /**
    * Constructs a new instance of PrimMinimumSpanningTree with the given {@code graph} and computes
@@ -26,10 +33,25 @@ public class PrimMinimumSpanningTree {
    * @param graph The graph for which to compute the minimum spanning tree.
    */
   public PrimMinimumSpanningTree(EdgeWeightedGraph graph) {
+    this(graph, new IndexedDoubleHeap(graph.getNumVertices()));
+  }
+
+  /**
+   * Constructs a new instance of PrimMinimumSpanningTree with the given {@code graph} and computes
+   * the minimum spanning tree using the given {@code priorityQueue}, such as a d-ary {@code
+   * IndexedDoubleHeap} of a chosen arity or an {@code IndexedPairingHeap}. The queue is cleared
+   * first. Assumes that the {@code graph} is connected.
+   *
+   * @param graph The graph for which to compute the minimum spanning tree.
+   * @param priorityQueue The priority queue, with capacity for every vertex in the graph.
+   */
+  public PrimMinimumSpanningTree(EdgeWeightedGraph graph,
+      IndexedDoublePriorityQueue priorityQueue) {
     edgeTo = new Edge[graph.getNumVertices()];
     distanceTo = new double[graph.getNumVertices()];
     markedVertices = new boolean[graph.getNumVertices()];
-    priorityQueue = new IndexedPriorityQueue<>(graph.getNumVertices());
+    this.priorityQueue = priorityQueue;
+    priorityQueue.clear();
 
     for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
       distanceTo[vertex] = Double.POSITIVE_INFINITY;
@@ -58,7 +80,9 @@ public class PrimMinimumSpanningTree {
    */
   private void visit(EdgeWeightedGraph graph, int vertex) {
     markedVertices[vertex] = true;
-    for (Edge edge : graph.adjacentTo(vertex)) {
+    graph.adjacentTo(vertex, cursor);
+    while (cursor.hasNext()) {
+      Edge edge = cursor.next();
       int otherVertex = edge.getOtherVertex(vertex);
       if (markedVertices[otherVertex]) {
         // Edge vertex-otherVertex is ineligible.
@@ -71,7 +95,7 @@ public class PrimMinimumSpanningTree {
         edgeTo[otherVertex] = edge;
         distanceTo[otherVertex] = edge.getWeight();
         if (priorityQueue.contains(otherVertex)) {
-          priorityQueue.changeKey(otherVertex, distanceTo[otherVertex]);
+          priorityQueue.decreaseKey(otherVertex, distanceTo[otherVertex]);
         } else {
           priorityQueue.offer(otherVertex, distanceTo[otherVertex]);
         }
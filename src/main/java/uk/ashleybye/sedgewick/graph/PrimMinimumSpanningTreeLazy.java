@@ -3,6 +3,7 @@ package uk.ashleybye.sedgewick.graph;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.PriorityQueue;
+import uk.ashleybye.sedgewick.collections.ChunkedBag;
 
 /**
  * Implements a lazy (evaluates whether an edge is eligible only when it has priority in the
@@ -26,6 +27,11 @@ import java.util.PriorityQueue;
  */
 public class PrimMinimumSpanningTreeLazy {
 
+  /**
+   * Cursor over the edges adjacent to the vertex being visited, reused for every vertex.
+   */
+  private final ChunkedBag.Cursor<Edge> cursor = new ChunkedBag.Cursor<>();
+
   /**
    * Vertex-indexed array of vertices that have been visited.
    */
@@ -90,7 +96,9 @@ public class PrimMinimumSpanningTreeLazy {
    */
   private void visit(EdgeWeightedGraph graph, int vertex) {
     markedVertices[vertex] = true;
-    for (Edge edge : graph.adjacentTo(vertex)) {
+    graph.adjacentTo(vertex, cursor);
+    while (cursor.hasNext()) {
+      Edge edge = cursor.next();
       if (!markedVertices[edge.getOtherVertex(vertex)]) {
         priorityQueue.add(edge);
       }
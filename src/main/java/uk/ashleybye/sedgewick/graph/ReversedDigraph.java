@@ -0,0 +1,131 @@
+package uk.ashleybye.sedgewick.graph;
+
+/**
+ * A read-only view of a digraph with every edge reversed, which follows the incoming edges of the
+ * underlying digraph rather than copying them. For a {@code Digraph} or {@code CompactDigraph} it
+ * returns adjacent vertices in the same order as {@code digraph.reverse()}, so algorithms produce
+ * identical results on either, but needs only the cached incoming adjacency-lists of the
+ * underlying digraph rather than a whole new digraph.
+ */
+class ReversedDigraph extends Digraph {
+
+  /**
+   * The underlying digraph.
+   */
+  private final Digraph digraph;
+
+  /**
+   * Create a reversed view of the specified digraph.
+   *
+   * @param digraph The digraph.
+   */
+  ReversedDigraph(Digraph digraph) {
+    super(digraph.getNumVertices(), digraph.getNumEdges());
+    this.digraph = digraph;
+  }
+
+  /**
+   * Unsupported: the view is read-only.
+   *
+   * @param u Vertex incident to edge.
+   * @param v Vertex incident to edge.
+   *
+   * @throws UnsupportedOperationException Always.
+   */
+  @Override
+  public void addEdge(int u, int v) {
+    throw new UnsupportedOperationException("ReversedDigraph is read-only");
+  }
+
+  /**
+   * Gets the underlying digraph, which is the reverse of this view.
+   *
+   * @return The underlying digraph.
+   */
+  @Override
+  public Digraph reverse() {
+    return digraph;
+  }
+
+  /**
+   * Gets the vertices adjacent to the specified vertex, which are those with edges to it in the
+   * underlying digraph.
+   *
+   * @param vertex The vertex to get adjacent vertices for.
+   *
+   * @return The vertices adjacent to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> adjacentTo(int vertex) {
+    return digraph.incomingTo(vertex);
+  }
+
+  /**
+   * Gets the vertices with edges to the specified vertex, which are those adjacent to it in the
+   * underlying digraph.
+   *
+   * @param vertex The vertex to get incoming adjacent vertices for.
+   *
+   * @return The vertices with edges to the specified vertex.
+   */
+  @Override
+  public Iterable<Integer> incomingTo(int vertex) {
+    return digraph.adjacentTo(vertex);
+  }
+
+  /**
+   * Gets the out-degree of the specified vertex, which is its in-degree in the underlying digraph.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges leaving the specified vertex.
+   */
+  @Override
+  public int getOutDegree(int vertex) {
+    return digraph.getInDegree(vertex);
+  }
+
+  /**
+   * Gets the in-degree of the specified vertex, which is its out-degree in the underlying digraph.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of edges entering the specified vertex.
+   */
+  @Override
+  public int getInDegree(int vertex) {
+    return digraph.getOutDegree(vertex);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices adjacent to the specified vertex,
+   * which are those with edges to it in the underlying digraph.
+   *
+   * @param vertex The vertex to get an adjacent vertex for.
+   * @param index The position, between 0 and {@code getOutDegree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int adjacentTo(int vertex, int index) {
+    return digraph.incomingTo(vertex, index);
+  }
+
+  /**
+   * Gets the vertex at the specified position of the vertices with edges to the specified vertex,
+   * which are those adjacent to it in the underlying digraph.
+   *
+   * @param vertex The vertex to get an incoming adjacent vertex for.
+   * @param index The position, between 0 and {@code getInDegree(vertex) - 1}.
+   *
+   * @return The incoming adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  @Override
+  public int incomingTo(int vertex, int index) {
+    return digraph.adjacentTo(vertex, index);
+  }
+}
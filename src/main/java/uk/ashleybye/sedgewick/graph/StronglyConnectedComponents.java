@@ -27,8 +27,9 @@ public class StronglyConnectedComponents {
     markedVertices = new boolean[digraph.getNumVertices()];
     componentIdentifiers = new int[digraph.getNumVertices()];
 
-    // Conduct depth first search in the reverse digraph.
-    DepthFirstOrder depthFirstOrder = new DepthFirstOrder(digraph.reverse());
+    // Conduct depth first search in the reverse digraph, following the incoming edges of the
+    // digraph rather than building a reversed copy.
+    DepthFirstOrder depthFirstOrder = new DepthFirstOrder(new ReversedDigraph(digraph));
 
     // Conduct a depth first search of the original digraph in reverse post-order of the reverse
     // digraph - Kosaraju's algorithm (Sedgewick, p587).
@@ -51,7 +52,9 @@ public class StronglyConnectedComponents {
     markedVertices[head] = true;
     componentIdentifiers[head] = componentCount;
 
-    for (int tail : digraph.adjacentTo(head)) {
+    int degree = digraph.getOutDegree(head);
+    for (int i = 0; i < degree; i++) {
+      int tail = digraph.adjacentTo(head, i);
       if (!markedVertices[tail]) {
         directedDepthFirstSearch(digraph, tail);
       }
@@ -73,6 +73,22 @@ public class SymbolDigraph {
     }
   }
 
+  /**
+   * Constructs an instance of SymbolDigraph from an already built digraph and the names of its
+   * vertices, as when reloading a {@link GraphSnapshot}.
+   *
+   * @param names Vertex-indexed names.
+   * @param digraph The digraph.
+   */
+  SymbolDigraph(String[] names, Digraph digraph) {
+    symbolTable = new Hashtable<>(2 * names.length);
+    for (int vertex = 0; vertex < names.length; vertex++) {
+      symbolTable.put(names[vertex], vertex);
+    }
+    invertedIndex = names;
+    this.digraph = digraph;
+  }
+
   /**
    * Returns true if the specified key is a vertex in the digraph; false, otherwise.
    *
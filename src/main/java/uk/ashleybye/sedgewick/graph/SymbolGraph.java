@@ -72,6 +72,49 @@ public class SymbolGraph {
     }
   }
 
+  /**
+   * Constructs an instance of SymbolGraph from the provided file, as for {@link
+   * #SymbolGraph(String, String)}, but with vertex indices assigned in the order chosen by the
+   * specified strategy rather than in order of first appearance, so that searches of the graph
+   * access memory in a more cache-friendly order. The underlying graph is then an immutable {@link
+   * CompactGraph}.
+   *
+   * @param filename The file representing the symbol graph.
+   * @param delimiter The delimiter.
+   * @param strategy The vertex ordering strategy.
+   *
+   * @throws IOException If cannot load the file at the given path.
+   */
+  public SymbolGraph(String filename, String delimiter, VertexOrdering.Strategy strategy)
+      throws IOException {
+    this(filename, delimiter);
+
+    VertexOrdering ordering = VertexOrdering.of(graph, strategy);
+    graph = ordering.relabel(graph);
+    String[] reorderedIndex = new String[invertedIndex.length];
+    for (int vertex = 0; vertex < reorderedIndex.length; vertex++) {
+      reorderedIndex[vertex] = invertedIndex[ordering.toOriginal(vertex)];
+      symbolTable.put(reorderedIndex[vertex], vertex);
+    }
+    invertedIndex = reorderedIndex;
+  }
+
+  /**
+   * Constructs an instance of SymbolGraph from an already built graph and the names of its
+   * vertices, as when reloading a {@link GraphSnapshot}.
+   *
+   * @param names Vertex-indexed names.
+   * @param graph The graph.
+   */
+  SymbolGraph(String[] names, Graph graph) {
+    symbolTable = new Hashtable<>(2 * names.length);
+    for (int vertex = 0; vertex < names.length; vertex++) {
+      symbolTable.put(names[vertex], vertex);
+    }
+    invertedIndex = names;
+    this.graph = graph;
+  }
+
   /**
    * Returns true if the specified key is a vertex in the graph; false, otherwise.
    *
@@ -0,0 +1,429 @@
+package uk.ashleybye.sedgewick.graph;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Adjacency-lists compressed as variable-length integers in a single {@code byte[]}, with a
+ * vertex-indexed array of the byte offset at which each list begins, for random access.
+ *
+ * Each vertex's adjacent vertices are sorted, then encoded as: the number of adjacent vertices;
+ * a skip table for lists longer than SKIP_INTERVAL; the first adjacent vertex, as its signed
+ * distance from the vertex itself; and, each remaining adjacent vertex as its gap from the previous
+ * one. Every number is written seven bits per byte, least significant first, with the top bit of
+ * each byte set if more bytes follow. Real-world graphs tend to link vertices that are close in
+ * number, so most gaps fit in one or two bytes rather than the four used by an {@code int[]}.
+ *
+ * Gaps can only be decoded in order, so without the skip table the adjacent vertex at position i
+ * would take i steps to find, and a search that visits every adjacent vertex by position would
+ * take time quadratic in the degree. The skip table holds, for every SKIP_INTERVAL-th position
+ * after the first, the byte offset of its gap and the adjacent vertex before it, as two fixed
+ * four-byte integers, so any position is found in fewer than SKIP_INTERVAL steps. The table adds
+ * at most a quarter of a byte per entry, and only to long lists.
+ */
+class VarintAdjacency {
+
+  /**
+   * The number of positions between entries in the skip table of a list.
+   */
+  private static final int SKIP_INTERVAL = 32;
+
+  /**
+   * The number of bytes in each entry of a skip table: the byte offset of a gap, relative to the
+   * start of the list, and the adjacent vertex before it.
+   */
+  private static final int SKIP_BYTES = 8;
+
+  /**
+   * The most bytes the encoded lists may occupy: the largest array the JVM reliably allocates.
+   */
+  private static final int MAXIMUM_BYTES = Integer.MAX_VALUE - 8;
+
+  /**
+   * Vertex-indexed byte offsets into {@code data}, such that the list of the vertices adjacent to
+   * v is encoded in {@code data[index[v]...index[v + 1] - 1]}.
+   */
+  private final int[] index;
+
+  /**
+   * The encoded adjacency-lists of every vertex, packed end to end.
+   */
+  private final byte[] data;
+
+  /**
+   * Create compressed adjacency-lists from their index and encoded data.
+   *
+   * @param index Vertex-indexed byte offsets into {@code data}, of length V + 1.
+   * @param data The encoded adjacency-lists.
+   */
+  private VarintAdjacency(int[] index, byte[] data) {
+    this.index = index;
+    this.data = data;
+  }
+
+  /**
+   * Compress the adjacency-lists returned by {@code adjacentTo} for every vertex.
+   *
+   * @param numVertices The number of vertices.
+   * @param numEntries The total number of adjacency entries, used to size the initial buffer.
+   * @param adjacentTo The source of each vertex's adjacent vertices.
+   *
+   * @return The compressed adjacency-lists.
+   *
+   * @throws IllegalArgumentException If the encoded lists would exceed 2GB.
+   */
+  static VarintAdjacency of(int numVertices, long numEntries,
+      IntFunction<Iterable<Integer>> adjacentTo) {
+    Builder builder = new Builder(numVertices, numEntries);
+    int[] adjacent = new int[16];
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      int count = 0;
+      for (int adjacentVertex : adjacentTo.apply(vertex)) {
+        if (count == adjacent.length) {
+          adjacent = Arrays.copyOf(adjacent, 2 * count);
+        }
+        adjacent[count++] = adjacentVertex;
+      }
+      builder.append(adjacent, count);
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * Get the number of vertices.
+   *
+   * @return The number of vertices.
+   */
+  int getNumVertices() {
+    return index.length - 1;
+  }
+
+  /**
+   * Get the number of vertices adjacent to the specified vertex, by decoding only the length of its
+   * list.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The number of adjacent vertices.
+   */
+  int degree(int vertex) {
+    int position = index[vertex];
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = data[position++];
+      value |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Get a decoding view of the vertices adjacent to the specified vertex, in ascending order.
+   *
+   * @param vertex The vertex.
+   *
+   * @return The adjacent vertices.
+   */
+  Iterable<Integer> adjacentTo(int vertex) {
+    return () -> new Cursor(vertex);
+  }
+
+  /**
+   * Get the adjacent vertex at the specified position of the ascending list of the vertices
+   * adjacent to the specified vertex. The list is decoded, without allocating, from the nearest
+   * entry of its skip table, so this takes constant time: fewer than SKIP_INTERVAL gaps are
+   * decoded whatever the position.
+   *
+   * @param vertex The vertex.
+   * @param position The position, between 0 and {@code degree(vertex) - 1}.
+   *
+   * @return The adjacent vertex.
+   *
+   * @throws IndexOutOfBoundsException If the position is out of range.
+   */
+  int adjacentTo(int vertex, int position) {
+    int offset = index[vertex];
+    int degree = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = data[offset++];
+      degree |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        break;
+      }
+    }
+    if (position < 0 || position >= degree) {
+      throw new IndexOutOfBoundsException("Index: " + position + ", degree: " + degree);
+    }
+
+    int skip = position / SKIP_INTERVAL;
+    int current;
+    int remaining;
+    if (skip == 0) {
+      // Start from the first adjacent vertex, which follows the skip table.
+      offset += SKIP_BYTES * numSkips(degree);
+      int value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = data[offset++];
+        value |= (b & 0x7f) << shift;
+        if (b >= 0) {
+          break;
+        }
+      }
+      current = vertex + ((value >>> 1) ^ -(value & 1));
+      remaining = position;
+    } else {
+      int entry = offset + SKIP_BYTES * (skip - 1);
+      offset = index[vertex] + readFixed(data, entry);
+      current = readFixed(data, entry + 4);
+      remaining = position - skip * SKIP_INTERVAL + 1;
+    }
+
+    for (; remaining > 0; remaining--) {
+      int gap = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = data[offset++];
+        gap |= (b & 0x7f) << shift;
+        if (b >= 0) {
+          break;
+        }
+      }
+      current += gap;
+    }
+
+    return current;
+  }
+
+  /**
+   * Get the number of entries in the skip table of a list of the specified length: one for each
+   * SKIP_INTERVAL-th position after the first.
+   *
+   * @param degree The length of the list.
+   *
+   * @return The number of entries.
+   */
+  private static int numSkips(int degree) {
+    return degree == 0 ? 0 : (degree - 1) / SKIP_INTERVAL;
+  }
+
+  /**
+   * Read a four-byte integer, least significant byte first.
+   *
+   * @param data The bytes.
+   * @param offset The offset of the first byte.
+   *
+   * @return The integer.
+   */
+  private static int readFixed(byte[] data, int offset) {
+    return (data[offset] & 0xff) | (data[offset + 1] & 0xff) << 8
+        | (data[offset + 2] & 0xff) << 16 | data[offset + 3] << 24;
+  }
+
+  /**
+   * Get the number of bytes used by the encoded lists and their index.
+   *
+   * @return The number of bytes.
+   */
+  long getEncodedBytes() {
+    return (long) data.length + 4L * index.length;
+  }
+
+  /**
+   * Builds compressed adjacency-lists, one vertex at a time in ascending order.
+   */
+  private static class Builder {
+
+    /**
+     * The index under construction.
+     */
+    private final int[] index;
+
+    /**
+     * The encoded data, which grows as needed.
+     */
+    private byte[] data;
+
+    /**
+     * The number of bytes of {@code data} in use.
+     */
+    private int size;
+
+    /**
+     * The next vertex whose list is to be appended.
+     */
+    private int nextVertex;
+
+    /**
+     * Create a builder for the specified number of vertices and adjacency entries.
+     *
+     * @param numVertices The number of vertices.
+     * @param numEntries The total number of adjacency entries, used to size the initial buffer.
+     */
+    Builder(int numVertices, long numEntries) {
+      index = new int[numVertices + 1];
+      data = new byte[(int) Math.min(MAXIMUM_BYTES, Math.max(16, numVertices + 2 * numEntries))];
+    }
+
+    /**
+     * Append the list of vertices adjacent to the next vertex. The list is sorted in place.
+     *
+     * @param adjacent The adjacent vertices, in {@code adjacent[0...count - 1]}.
+     * @param count The number of adjacent vertices.
+     */
+    void append(int[] adjacent, int count) {
+      Arrays.sort(adjacent, 0, count);
+      int start = size;
+      index[nextVertex] = start;
+
+      writeVarint(count);
+      if (count > 0) {
+        // Reserve the skip table, which is filled in as the gaps it points to are written.
+        int skipTable = size;
+        ensureCapacity(SKIP_BYTES * numSkips(count));
+        size += SKIP_BYTES * numSkips(count);
+
+        int first = adjacent[0] - nextVertex;
+        writeVarint((first << 1) ^ (first >> 31));
+        for (int i = 1; i < count; i++) {
+          if (i % SKIP_INTERVAL == 0) {
+            int entry = skipTable + SKIP_BYTES * (i / SKIP_INTERVAL - 1);
+            writeFixed(entry, size - start);
+            writeFixed(entry + 4, adjacent[i - 1]);
+          }
+          writeVarint(adjacent[i] - adjacent[i - 1]);
+        }
+      }
+      nextVertex++;
+    }
+
+    /**
+     * Finish building. Every vertex must have had its list appended.
+     *
+     * @return The compressed adjacency-lists.
+     */
+    VarintAdjacency build() {
+      index[nextVertex] = size;
+      return new VarintAdjacency(index, Arrays.copyOf(data, size));
+    }
+
+    /**
+     * Write a non-negative integer, seven bits per byte.
+     *
+     * @param value The integer.
+     */
+    private void writeVarint(int value) {
+      ensureCapacity(5);
+      while ((value & ~0x7f) != 0) {
+        data[size++] = (byte) ((value & 0x7f) | 0x80);
+        value >>>= 7;
+      }
+      data[size++] = (byte) value;
+    }
+
+    /**
+     * Write a four-byte integer, least significant byte first, over bytes already reserved.
+     *
+     * @param offset The offset of the first byte.
+     * @param value The integer.
+     */
+    private void writeFixed(int offset, int value) {
+      data[offset] = (byte) value;
+      data[offset + 1] = (byte) (value >>> 8);
+      data[offset + 2] = (byte) (value >>> 16);
+      data[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Grow the data, if necessary, so that the specified number of bytes can be written.
+     *
+     * @param numBytes The number of bytes.
+     *
+     * @throws IllegalArgumentException If the data would exceed MAXIMUM_BYTES.
+     */
+    private void ensureCapacity(int numBytes) {
+      long required = (long) size + numBytes;
+      if (required > data.length) {
+        if (required > MAXIMUM_BYTES) {
+          throw new IllegalArgumentException("Compressed adjacency-lists would exceed 2GB, at "
+              + "vertex " + nextVertex + " of " + (index.length - 1));
+        }
+        long grown = Math.max(required, data.length + (data.length >> 1) + 5L);
+        data = Arrays.copyOf(data, (int) Math.min(MAXIMUM_BYTES, grown));
+      }
+    }
+  }
+
+  /**
+   * Decodes one vertex's adjacency-list as it is iterated.
+   */
+  private class Cursor implements Iterator<Integer> {
+
+    /**
+     * The position of the next byte to decode.
+     */
+    private int position;
+
+    /**
+     * The number of adjacent vertices not yet returned.
+     */
+    private int remaining;
+
+    /**
+     * The adjacent vertex most recently returned, or the vertex itself before the first.
+     */
+    private int current;
+
+    /**
+     * True until the first adjacent vertex has been returned.
+     */
+    private boolean first = true;
+
+    Cursor(int vertex) {
+      position = index[vertex];
+      remaining = readVarint();
+      position += SKIP_BYTES * numSkips(remaining);
+      current = vertex;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return remaining > 0;
+    }
+
+    @Override
+    public Integer next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      int value = readVarint();
+      if (first) {
+        current += (value >>> 1) ^ -(value & 1);
+        first = false;
+      } else {
+        current += value;
+      }
+      remaining--;
+      return current;
+    }
+
+    /**
+     * Read the next integer, seven bits per byte.
+     *
+     * @return The integer.
+     */
+    private int readVarint() {
+      int value = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = data[position++];
+        value |= (b & 0x7f) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.graph.CompactDigraph;
+import uk.ashleybye.sedgewick.graph.CompactGraph;
+import uk.ashleybye.sedgewick.graph.CompressedDigraph;
+import uk.ashleybye.sedgewick.graph.CompressedGraph;
+import uk.ashleybye.sedgewick.graph.Digraph;
+import uk.ashleybye.sedgewick.graph.DynamicDigraph;
+import uk.ashleybye.sedgewick.graph.DynamicGraph;
+import uk.ashleybye.sedgewick.graph.Graph;
+
+public class CompactGraphTest {
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 1) {
+      System.out.println("Usage: java CompactGraphTest sourceFile");
+      System.exit(0);
+    }
+
+    Graph graph = new Graph(args[0]);
+    CompactGraph compactGraph = new CompactGraph(args[0]);
+    System.out.print(compactGraph);
+    System.out.println("Matches Graph: "
+        + graph.toString().equals(compactGraph.toString()));
+    System.out.println("Matches copy of Graph: "
+        + graph.toString().equals(new CompactGraph(graph).toString()));
+
+    Digraph digraph = new Digraph(args[0]);
+    CompactDigraph compactDigraph = new CompactDigraph(args[0]);
+    System.out.println("Matches Digraph: "
+        + digraph.toString().equals(compactDigraph.toString()));
+    System.out.println("Matches reverse Digraph: "
+        + digraph.reverse().toString().equals(compactDigraph.reverse().toString()));
+
+    System.out.println("Indexed adjacency matches iteration: "
+        + (matchesIterated(graph) && matchesIterated(compactGraph)
+        && matchesIterated(new CompressedGraph(graph)) && matchesIterated(new DynamicGraph(graph))
+        && matchesIterated(digraph) && matchesIterated(compactDigraph)
+        && matchesIterated(new CompressedDigraph(digraph))
+        && matchesIterated(new DynamicDigraph(digraph))));
+  }
+
+  /**
+   * Returns true if {@code getDegree()} and {@code adjacentTo(vertex, index)} return the same
+   * vertices, in the same order, as iterating {@code adjacentTo(vertex)}.
+   */
+  private static boolean matchesIterated(Graph graph) {
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      int index = 0;
+      for (int adjacentVertex : graph.adjacentTo(vertex)) {
+        if (index == graph.getDegree(vertex)
+            || graph.adjacentTo(vertex, index++) != adjacentVertex) {
+          return false;
+        }
+      }
+      if (index != graph.getDegree(vertex)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns true if the indexed adjacent and incoming vertices match iteration, as for a graph.
+   */
+  private static boolean matchesIterated(Digraph digraph) {
+    for (int vertex = 0; vertex < digraph.getNumVertices(); vertex++) {
+      int index = 0;
+      for (int tail : digraph.adjacentTo(vertex)) {
+        if (index == digraph.getOutDegree(vertex) || digraph.adjacentTo(vertex, index++) != tail) {
+          return false;
+        }
+      }
+      if (index != digraph.getOutDegree(vertex)) {
+        return false;
+      }
+
+      index = 0;
+      for (int head : digraph.incomingTo(vertex)) {
+        if (index == digraph.getInDegree(vertex) || digraph.incomingTo(vertex, index++) != head) {
+          return false;
+        }
+      }
+      if (index != digraph.getInDegree(vertex)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,85 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.collections.BucketQueue;
+import uk.ashleybye.sedgewick.collections.RadixHeap;
+import uk.ashleybye.sedgewick.graph.DijkstraIntegerShortestPath;
+import uk.ashleybye.sedgewick.graph.DijkstraShortestPath;
+import uk.ashleybye.sedgewick.graph.DirectedEdge;
+import uk.ashleybye.sedgewick.graph.EdgeWeightedDigraph;
+
+public class DijkstraIntegerShortestPathTest {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 3) {
+      System.out.println("Usage: java DijkstraIntegerShortestPathTest sourceFile scale sourceVertex");
+      System.exit(0);
+    }
+
+    // Scale the weights and round them to integers.
+    EdgeWeightedDigraph source = new EdgeWeightedDigraph(args[0]);
+    double scale = Double.parseDouble(args[1]);
+    EdgeWeightedDigraph graph = new EdgeWeightedDigraph(source.getNumVertices());
+    int maximumWeight = 0;
+    for (DirectedEdge edge : source.getEdges()) {
+      long weight = Math.round(edge.getWeight() * scale);
+      graph.addEdge(new DirectedEdge(edge.from(), edge.to(), weight));
+      maximumWeight = (int) Math.max(maximumWeight, weight);
+    }
+    int sourceVertex = Integer.parseInt(args[2]);
+
+    long start = System.nanoTime();
+    DijkstraIntegerShortestPath paths = new DijkstraIntegerShortestPath(graph, sourceVertex,
+        new RadixHeap());
+    double radixMillis = (System.nanoTime() - start) / 1e6;
+
+    start = System.nanoTime();
+    DijkstraIntegerShortestPath bucketPaths = new DijkstraIntegerShortestPath(graph, sourceVertex,
+        new BucketQueue(maximumWeight));
+    double bucketMillis = (System.nanoTime() - start) / 1e6;
+
+    start = System.nanoTime();
+    DijkstraShortestPath heapPaths = new DijkstraShortestPath(graph, sourceVertex);
+    double heapMillis = (System.nanoTime() - start) / 1e6;
+
+    if (graph.getNumVertices() <= 100) {
+      for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+        System.out.print(sourceVertex + " to " + vertex);
+        if (paths.shortestPathTo(vertex).isPresent()) {
+          System.out.printf(" (%d): ", paths.getDistanceTo(vertex));
+          for (DirectedEdge edge : paths.shortestPathTo(vertex).get()) {
+            System.out.print(edge + "  ");
+          }
+        } else {
+          System.out.print(" (none)");
+        }
+        System.out.println();
+      }
+    }
+
+    boolean matches = true;
+    for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+      double expected = heapPaths.getDistanceTo(vertex);
+      matches &= paths.getDistanceTo(vertex) == bucketPaths.getDistanceTo(vertex)
+          && (paths.hasPathTo(vertex)
+          ? paths.getDistanceTo(vertex) == expected : expected == Double.POSITIVE_INFINITY);
+    }
+    System.out.println("Distances match: " + matches);
+
+    // An edge the search cannot reach must be rejected too, whichever the source vertex.
+    EdgeWeightedDigraph badGraph = new EdgeWeightedDigraph(graph.getNumVertices() + 2);
+    for (DirectedEdge edge : graph.getEdges()) {
+      badGraph.addEdge(edge);
+    }
+    badGraph.addEdge(new DirectedEdge(graph.getNumVertices(), graph.getNumVertices() + 1, 0.5));
+    boolean rejected = false;
+    try {
+      new DijkstraIntegerShortestPath(badGraph, sourceVertex);
+    } catch (IllegalArgumentException exception) {
+      rejected = true;
+    }
+    System.out.println("Unreachable fractional weight rejected: " + rejected);
+    System.out.printf("Radix heap %.1f ms, bucket queue %.1f ms, binary heap %.1f ms%n",
+        radixMillis, bucketMillis, heapMillis);
+  }
+}
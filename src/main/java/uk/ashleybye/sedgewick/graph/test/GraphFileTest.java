@@ -0,0 +1,37 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.graph.Digraph;
+import uk.ashleybye.sedgewick.graph.Graph;
+import uk.ashleybye.sedgewick.graph.GraphFile;
+import uk.ashleybye.sedgewick.graph.MappedDigraph;
+import uk.ashleybye.sedgewick.graph.MappedGraph;
+
+public class GraphFileTest {
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 2) {
+      System.out.println("Usage: java GraphFileTest sourceFile binaryFile");
+      System.exit(0);
+    }
+
+    long start = System.nanoTime();
+    Graph graph = new Graph(args[0]);
+    System.out.printf("Parsed text in %.3f ms%n", (System.nanoTime() - start) / 1e6);
+
+    GraphFile.write(graph, args[1]);
+
+    start = System.nanoTime();
+    MappedGraph mappedGraph = new MappedGraph(args[1]);
+    System.out.printf("Mapped binary in %.3f ms%n", (System.nanoTime() - start) / 1e6);
+    System.out.println("Matches Graph: " + graph.toString().equals(mappedGraph.toString()));
+
+    Digraph digraph = new Digraph(args[0]);
+    GraphFile.write(digraph, args[1]);
+    MappedDigraph mappedDigraph = new MappedDigraph(args[1]);
+    System.out.println("Matches Digraph: " + digraph.toString().equals(mappedDigraph.toString()));
+    System.out.println("Matches reverse Digraph: "
+        + digraph.reverse().toString().equals(mappedDigraph.reverse().toString()));
+  }
+}
@@ -0,0 +1,33 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.graph.BreadthFirstDirectedPaths;
+import uk.ashleybye.sedgewick.graph.CompactDigraph;
+import uk.ashleybye.sedgewick.graph.GraphGenerator;
+
+public class GraphGeneratorTest {
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 4) {
+      System.out.println("Usage: java GraphGeneratorTest scale numEdges seed outputFile");
+      System.exit(0);
+    }
+
+    GraphGenerator generator = GraphGenerator.rmat(Integer.parseInt(args[0]),
+        Integer.parseInt(args[1]), Long.parseLong(args[2]));
+
+    long start = System.nanoTime();
+    CompactDigraph digraph = generator.digraph();
+    System.out.printf("Generated %d vertices and %d edges in %.1f ms%n",
+        digraph.getNumVertices(), digraph.getNumEdges(), (System.nanoTime() - start) / 1e6);
+
+    start = System.nanoTime();
+    new BreadthFirstDirectedPaths(digraph, 0);
+    System.out.printf("Searched from vertex 0 in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+    start = System.nanoTime();
+    generator.write(args[3], true, false);
+    System.out.printf("Wrote %s in %.1f ms%n", args[3], (System.nanoTime() - start) / 1e6);
+  }
+}
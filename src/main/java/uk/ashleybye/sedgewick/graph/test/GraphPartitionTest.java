@@ -0,0 +1,55 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.graph.BreadthFirstPaths;
+import uk.ashleybye.sedgewick.graph.ConnectedComponents;
+import uk.ashleybye.sedgewick.graph.Graph;
+import uk.ashleybye.sedgewick.graph.GraphPartition;
+import uk.ashleybye.sedgewick.graph.GraphPartition.Strategy;
+import uk.ashleybye.sedgewick.graph.ParallelBreadthFirstPaths;
+import uk.ashleybye.sedgewick.graph.ParallelConnectedComponents;
+
+public class GraphPartitionTest {
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 3) {
+      System.out.println("Usage: java GraphPartitionTest sourceFile numShards sourceVertex");
+      System.exit(0);
+    }
+
+    Graph graph = new Graph(args[0]);
+    int numShards = Integer.parseInt(args[1]);
+    int sourceVertex = Integer.parseInt(args[2]);
+    ConnectedComponents components = new ConnectedComponents(graph);
+    BreadthFirstPaths search = new BreadthFirstPaths(graph, sourceVertex);
+
+    for (Strategy strategy : Strategy.values()) {
+      GraphPartition partition = GraphPartition.of(graph, numShards, strategy);
+      ParallelConnectedComponents parallelComponents = new ParallelConnectedComponents(partition);
+      ParallelBreadthFirstPaths parallelSearch =
+          new ParallelBreadthFirstPaths(partition, sourceVertex);
+
+      boolean componentsMatch =
+          parallelComponents.getComponentCount() == components.getComponentCount();
+      boolean distancesMatch = true;
+      for (int v = 0; v < graph.getNumVertices(); v++) {
+        componentsMatch &= parallelComponents.getComponentId(v) == components.getComponentId(v);
+        distancesMatch &= lengthOf(search, v) == parallelSearch.getDistanceTo(v);
+      }
+      System.out.println(strategy + " ghosts: " + partition.getNumGhosts()
+          + ", components match: " + componentsMatch + ", distances match: " + distancesMatch);
+    }
+  }
+
+  private static int lengthOf(BreadthFirstPaths search, int vertex) {
+    int length = -1;
+    if (search.shortestPathTo(vertex).isPresent()) {
+      for (int ignored : search.shortestPathTo(vertex).get()) {
+        length++;
+      }
+    }
+
+    return length;
+  }
+}
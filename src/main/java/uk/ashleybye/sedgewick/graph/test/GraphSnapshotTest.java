@@ -0,0 +1,47 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.graph.Graph;
+import uk.ashleybye.sedgewick.graph.GraphSnapshot;
+import uk.ashleybye.sedgewick.graph.SymbolGraph;
+
+public class GraphSnapshotTest {
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 3) {
+      System.out.println("Usage: java GraphSnapshotTest sourceFile delimiter snapshotFile");
+      System.exit(0);
+    }
+
+    long start = System.nanoTime();
+    SymbolGraph symbolGraph = new SymbolGraph(args[0], args[1]);
+    System.out.printf("Built from text in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+    GraphSnapshot.save(symbolGraph, args[2]);
+
+    start = System.nanoTime();
+    SymbolGraph reloaded = GraphSnapshot.loadSymbolGraph(args[2]);
+    System.out.printf("Reloaded from snapshot in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+    Graph graph = symbolGraph.getGraph();
+    Graph reloadedGraph = reloaded.getGraph();
+    boolean matches = graph.getNumVertices() == reloadedGraph.getNumVertices()
+        && graph.getNumEdges() == reloadedGraph.getNumEdges();
+    for (int v = 0; matches && v < graph.getNumVertices(); v++) {
+      matches = symbolGraph.nameOf(v).equals(reloaded.nameOf(v))
+          && adjacencyOf(graph, v).equals(adjacencyOf(reloadedGraph, v));
+    }
+    System.out.println("Snapshot matches: " + matches);
+  }
+
+
+  private static String adjacencyOf(Graph graph, int vertex) {
+    StringBuilder adjacency = new StringBuilder();
+    for (int adjacentVertex : graph.adjacentTo(vertex)) {
+      adjacency.append(adjacentVertex).append(" ");
+    }
+
+    return adjacency.toString();
+  }
+}
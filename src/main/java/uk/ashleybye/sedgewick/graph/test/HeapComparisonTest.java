@@ -0,0 +1,71 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.collections.IndexedDoubleHeap;
+import uk.ashleybye.sedgewick.collections.IndexedDoublePriorityQueue;
+import uk.ashleybye.sedgewick.collections.IndexedPairingHeap;
+import uk.ashleybye.sedgewick.graph.CompactEdgeWeightedDigraph;
+import uk.ashleybye.sedgewick.graph.DijkstraShortestPath;
+import uk.ashleybye.sedgewick.graph.EdgeWeightedGraph;
+import uk.ashleybye.sedgewick.graph.GraphGenerator;
+import uk.ashleybye.sedgewick.graph.PrimMinimumSpanningTree;
+
+public class HeapComparisonTest {
+
+  private static final int[] ARITIES = {2, 4, 8, 16};
+  private static final int NUM_SOURCES = 16;
+  private static final int NUM_ROUNDS = 3;
+
+  public static void main(String[] args) throws IOException {
+
+    CompactEdgeWeightedDigraph digraph;
+    EdgeWeightedGraph graph;
+    if (args.length == 1) {
+      digraph = new CompactEdgeWeightedDigraph(args[0]);
+      graph = new EdgeWeightedGraph(args[0]);
+    } else if (args.length == 3) {
+      GraphGenerator generator = GraphGenerator.grid(Integer.parseInt(args[0]),
+          Integer.parseInt(args[1]), Long.parseLong(args[2]));
+      digraph = generator.edgeWeightedDigraph();
+      graph = generator.edgeWeightedGraph();
+    } else {
+      System.out.println("Usage: java HeapComparisonTest sourceFile");
+      System.out.println("       java HeapComparisonTest rows columns seed");
+      System.exit(0);
+      return;
+    }
+    System.out.printf("%d vertices, %d edges%n", digraph.getNumVertices(), digraph.getNumEdges());
+
+    int numVertices = digraph.getNumVertices();
+    int sourceStep = Math.max(1, numVertices / NUM_SOURCES);
+    for (int round = 0; round < NUM_ROUNDS; round++) {
+      System.out.println("Round " + (round + 1) + ":");
+      for (int queue = 0; queue <= ARITIES.length; queue++) {
+        // The last queue is a pairing heap.
+        IndexedDoublePriorityQueue priorityQueue = queue < ARITIES.length
+            ? new IndexedDoubleHeap(numVertices, ARITIES[queue])
+            : new IndexedPairingHeap(numVertices);
+        String name = queue < ARITIES.length ? ARITIES[queue] + "-ary" : "pairing";
+
+        long start = System.nanoTime();
+        double checksum = 0.0;
+        for (int source = 0; source < numVertices; source += sourceStep) {
+          DijkstraShortestPath paths = new DijkstraShortestPath(digraph, source, priorityQueue);
+          for (int vertex = 0; vertex < numVertices; vertex++) {
+            if (paths.getDistanceTo(vertex) < Double.POSITIVE_INFINITY) {
+              checksum += paths.getDistanceTo(vertex);
+            }
+          }
+        }
+        double dijkstraMillis = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        double weight = new PrimMinimumSpanningTree(graph, priorityQueue).getWeight();
+        double primMillis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("  %-7s: Dijkstra %9.1f ms (%.2f), Prim %9.1f ms (%.2f)%n",
+            name, dijkstraMillis, checksum, primMillis, weight);
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package uk.ashleybye.sedgewick.graph.test;
+
+import java.io.IOException;
+import uk.ashleybye.sedgewick.graph.BreadthFirstPaths;
+import uk.ashleybye.sedgewick.graph.Graph;
+import uk.ashleybye.sedgewick.graph.VertexOrdering;
+import uk.ashleybye.sedgewick.graph.VertexOrdering.Strategy;
+
+public class VertexOrderingTest {
+
+  public static void main(String[] args) throws IOException {
+
+    if (args.length != 2) {
+      System.out.println("Usage: java VertexOrderingTest sourceFile sourceVertex");
+      System.exit(0);
+    }
+
+    Graph graph = new Graph(args[0]);
+    int sourceVertex = Integer.parseInt(args[1]);
+    BreadthFirstPaths search = new BreadthFirstPaths(graph, sourceVertex);
+    System.out.println("Original bandwidth: " + bandwidth(graph));
+
+    for (Strategy strategy : Strategy.values()) {
+      VertexOrdering ordering = VertexOrdering.of(graph, strategy);
+      Graph relabelled = ordering.relabel(graph);
+      BreadthFirstPaths relabelledSearch =
+          new BreadthFirstPaths(relabelled, ordering.toNew(sourceVertex));
+
+      boolean matches = true;
+      for (int v = 0; v < graph.getNumVertices(); v++) {
+        matches &= pathOf(search, v, null).equals(
+            pathOf(relabelledSearch, ordering.toNew(v), ordering));
+      }
+      System.out.println(strategy + " bandwidth: " + bandwidth(relabelled)
+          + ", paths match: " + matches);
+    }
+  }
+
+  private static int bandwidth(Graph graph) {
+    int bandwidth = 0;
+    for (int v = 0; v < graph.getNumVertices(); v++) {
+      for (int w : graph.adjacentTo(v)) {
+        bandwidth = Math.max(bandwidth, Math.abs(v - w));
+      }
+    }
+
+    return bandwidth;
+  }
+
+  private static String pathOf(BreadthFirstPaths search, int vertex, VertexOrdering ordering) {
+    StringBuilder path = new StringBuilder();
+    if (search.shortestPathTo(vertex).isPresent()) {
+      for (int v : search.shortestPathTo(vertex).get()) {
+        path.append(ordering == null ? v : ordering.toOriginal(v)).append("-");
+      }
+    }
+
+    return path.toString();
+  }
+}
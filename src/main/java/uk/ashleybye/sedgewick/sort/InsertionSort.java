@@ -41,6 +41,61 @@ public class InsertionSort {
     }
   }
 
+  /*
+   * Primitive overloads. These compare entries directly, so they neither box nor call compareTo(),
+   * and QuickSort uses the ranged forms as its cutoff for small sub-arrays.
+   */
+  public static void sort(int[] array) {
+    sort(array, 0, array.length);
+  }
+
+  public static void sort(int[] array, int low, int high) {
+    // Sort array[low...high - 1] into increasing order, moving larger entries right one position
+    // rather than exchanging them (see Ex 2.1.25).
+    for (int i = low + 1; i < high; i++) {
+      int item = array[i];
+      int j = i;
+      for (; j > low && item < array[j - 1]; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = item;
+    }
+  }
+
+  public static void sort(long[] array) {
+    sort(array, 0, array.length);
+  }
+
+  public static void sort(long[] array, int low, int high) {
+    // Sort array[low...high - 1] into increasing order, moving larger entries right one position
+    // rather than exchanging them (see Ex 2.1.25).
+    for (int i = low + 1; i < high; i++) {
+      long item = array[i];
+      int j = i;
+      for (; j > low && item < array[j - 1]; j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = item;
+    }
+  }
+
+  public static void sort(double[] array) {
+    sort(array, 0, array.length);
+  }
+
+  public static void sort(double[] array, int low, int high) {
+    // Sort array[low...high - 1] into increasing order, moving larger entries right one position
+    // rather than exchanging them (see Ex 2.1.25).
+    for (int i = low + 1; i < high; i++) {
+      double item = array[i];
+      int j = i;
+      for (; j > low && less(item, array[j - 1]); j--) {
+        array[j] = array[j - 1];
+      }
+      array[j] = item;
+    }
+  }
+
   private static boolean less(Comparable v, Comparable w) {
     return v.compareTo(w) < 0;
   }
@@ -51,6 +106,12 @@ public class InsertionSort {
     array[j] = temp;
   }
 
+  private static boolean less(double v, double w) {
+    // Order as Double.compareTo() does, so that -0.0 precedes 0.0 and NaN follows every number,
+    // and a double[] sorts the same as a Double[].
+    return Double.compare(v, w) < 0;
+  }
+
   private static void show(Comparable[] array) {
     // Print the array on a single line.
     for (int i = 0; i < array.length; i++) {
@@ -69,6 +130,36 @@ public class InsertionSort {
     return true;
   }
 
+  public static boolean isSorted(int[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(long[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(double[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (less(array[i], array[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static void main(String[] args) {
     // Read strings from System.in, sort them, and print.
     Scanner scanner = new Scanner(System.in);
@@ -1,6 +1,7 @@
 package uk.ashleybye.sedgewick.sort;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Scanner;
 
 /**
@@ -64,6 +65,39 @@ public class MergeSort {
     }
   }
 
+  /**
+   * Merge array[low...mid] with array[mid + 1...high], as merge(Comparable[], ...) does, but
+   * ordering the items with the specified comparator. Equal items keep their order, those below the
+   * mid-point first.
+   */
+  public static <T> void merge(T[] array,
+      int low,
+      int mid,
+      int high,
+      T[] temp,
+      Comparator<? super T> comparator) {
+
+    // Skip already sorted sub arrays.
+    if (comparator.compare(array[mid], array[mid + 1]) <= 0) {
+      return;
+    }
+
+    int i = low;
+    int j = mid + 1;
+    System.arraycopy(array, low, temp, low, high - low + 1);
+    for (int k = low; k <= high; k++) {
+      if (i > mid) {
+        array[k] = temp[j++];
+      } else if (j > high) {
+        array[k] = temp[i++];
+      } else if (comparator.compare(temp[j], temp[i]) < 0) {
+        array[k] = temp[j++];
+      } else {
+        array[k] = temp[i++];
+      }
+    }
+  }
+
   // The following single sort() method uses a pairwise, bottom-up approach.
   public static void sort(Comparable[] array) {
     // Do lgN passes of pairwise merges.
@@ -98,6 +132,154 @@ public class MergeSort {
 //    }
 //  }
 
+  /*
+   * Primitive overloads of merge() and the bottom-up sort(). The merge buffer is the only
+   * allocation, made once per sort.
+   */
+  public static void merge(int[] array,
+      int low,
+      int mid,
+      int high,
+      int[] temp) {
+
+    // Skip already sorted sub arrays.
+    if (array[mid] <= array[mid + 1]) {
+      return;
+    }
+
+    // Merge array[low...mid] with array[mid + 1...high].
+    int i = low;
+    int j = mid + 1;
+
+    // Copy array[low...high] to temp[low...high].
+    System.arraycopy(array, low, temp, low, high - low + 1);
+
+    // Merge back to array[low...high], taking from below the mid-point on ties, so that the sort
+    // is stable.
+    for (int k = low; k <= high; k++) {
+      if (i > mid) {
+        array[k] = temp[j++];
+      } else if (j > high) {
+        array[k] = temp[i++];
+      } else if (temp[j] < temp[i]) {
+        array[k] = temp[j++];
+      } else {
+        array[k] = temp[i++];
+      }
+    }
+  }
+
+  public static void sort(int[] array) {
+    // Do lgN passes of pairwise merges.
+    int[] temp = new int[array.length];
+
+    for (int size = 1; size < array.length; size *= 2) {
+      for (int low = 0; low < (array.length - size); low += (2 * size)) {
+        merge(array,
+            low,
+            low + size - 1,
+            Math.min((low + (2 * size) - 1), (array.length - 1)),
+            temp);
+      }
+    }
+  }
+
+  public static void merge(long[] array,
+      int low,
+      int mid,
+      int high,
+      long[] temp) {
+
+    // Skip already sorted sub arrays.
+    if (array[mid] <= array[mid + 1]) {
+      return;
+    }
+
+    // Merge array[low...mid] with array[mid + 1...high].
+    int i = low;
+    int j = mid + 1;
+
+    // Copy array[low...high] to temp[low...high].
+    System.arraycopy(array, low, temp, low, high - low + 1);
+
+    // Merge back to array[low...high], taking from below the mid-point on ties, so that the sort
+    // is stable.
+    for (int k = low; k <= high; k++) {
+      if (i > mid) {
+        array[k] = temp[j++];
+      } else if (j > high) {
+        array[k] = temp[i++];
+      } else if (temp[j] < temp[i]) {
+        array[k] = temp[j++];
+      } else {
+        array[k] = temp[i++];
+      }
+    }
+  }
+
+  public static void sort(long[] array) {
+    // Do lgN passes of pairwise merges.
+    long[] temp = new long[array.length];
+
+    for (int size = 1; size < array.length; size *= 2) {
+      for (int low = 0; low < (array.length - size); low += (2 * size)) {
+        merge(array,
+            low,
+            low + size - 1,
+            Math.min((low + (2 * size) - 1), (array.length - 1)),
+            temp);
+      }
+    }
+  }
+
+  public static void merge(double[] array,
+      int low,
+      int mid,
+      int high,
+      double[] temp) {
+
+    // Skip already sorted sub arrays.
+    if (!less(array[mid + 1], array[mid])) {
+      return;
+    }
+
+    // Merge array[low...mid] with array[mid + 1...high].
+    int i = low;
+    int j = mid + 1;
+
+    // Copy array[low...high] to temp[low...high].
+    System.arraycopy(array, low, temp, low, high - low + 1);
+
+    // Merge back to array[low...high], taking from below the mid-point on ties, so that the sort
+    // is stable.
+    for (int k = low; k <= high; k++) {
+      if (i > mid) {
+        array[k] = temp[j++];
+      } else if (j > high) {
+        array[k] = temp[i++];
+      } else if (less(temp[j], temp[i])) {
+        array[k] = temp[j++];
+      } else {
+        array[k] = temp[i++];
+      }
+    }
+  }
+
+  public static void sort(double[] array) {
+    // Do lgN passes of pairwise merges.
+    double[] temp = new double[array.length];
+
+    for (int size = 1; size < array.length; size *= 2) {
+      for (int low = 0; low < (array.length - size); low += (2 * size)) {
+        merge(array,
+            low,
+            low + size - 1,
+            Math.min((low + (2 * size) - 1), (array.length - 1)),
+            temp);
+      }
+    }
+  }
+
   private static boolean less(Comparable v, Comparable w) {
     return v.compareTo(w) < 0;
   }
@@ -108,6 +290,12 @@ public class MergeSort {
     array[j] = temp;
   }
 
+  private static boolean less(double v, double w) {
+    // Order as Double.compareTo() does, so that -0.0 precedes 0.0 and NaN follows every number,
+    // and a double[] sorts the same as a Double[].
+    return Double.compare(v, w) < 0;
+  }
+
   private static void show(Comparable[] array) {
     // Print the array on a single line.
     for (int i = 0; i < array.length; i++) {
@@ -126,6 +314,36 @@ public class MergeSort {
     return true;
   }
 
+  public static boolean isSorted(int[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(long[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(double[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (less(array[i], array[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static void main(String[] args) {
     // Read strings from System.in, sort them, and print.
     Scanner scanner = new Scanner(System.in);
@@ -0,0 +1,283 @@
+package uk.ashleybye.sedgewick.sort;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable merge sort that sorts and merges sub arrays in parallel on a ForkJoinPool.
+ *
+ * The array is split in half recursively, with the halves sorted as separate tasks, until a sub
+ * array is no longer than SEQUENTIAL_LENGTH. Such sub arrays are sorted top-down on one thread,
+ * using MergeSort.merge() for every merge, and so are merges of halves shorter than that.
+ *
+ * Longer halves are merged in parallel, as a single merge of N items would otherwise take ~N
+ * steps on one thread however many threads had sorted the halves. Both halves are copied to the
+ * temp array and merged back by divide and conquer: the midpoint of the longer run is found in
+ * the shorter run by binary search, splitting the merge into two independent merges that each
+ * write to their own part of the array. Searching for the first item not less than the midpoint
+ * of the lower run, or the first item greater than the midpoint of the upper run, keeps equal
+ * items from the lower run before those from the upper run, so the sort is stable.
+ *
+ * Sorting uses a single temp array the same length as the array being sorted; each task only
+ * uses the part of it that covers its own sub array.
+ */
+public class ParallelMergeSort {
+
+  /**
+   * Sub arrays no longer than this are sorted sequentially, as are merges no longer than this.
+   * Long enough that the cost of a task is small compared to the work it does.
+   */
+  private static final int SEQUENTIAL_LENGTH = 1 << 13;
+
+  public static void sort(Comparable[] array) {
+    sort(array, new Comparable[array.length], null, ForkJoinPool.commonPool());
+  }
+
+  public static void sort(Comparable[] array, ForkJoinPool pool) {
+    sort(array, new Comparable[array.length], null, pool);
+  }
+
+  public static <T> void sort(T[] array, Comparator<? super T> comparator) {
+    sort(array, comparator, ForkJoinPool.commonPool());
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> void sort(T[] array, Comparator<? super T> comparator, ForkJoinPool pool) {
+    if (comparator == null) {
+      throw new NullPointerException("comparator must not be null");
+    }
+    sort(array, (T[]) new Object[array.length], comparator, pool);
+  }
+
+  /**
+   * Sort the array, comparing items with the comparator or, if that is null, by their natural
+   * order, in which case both arrays must be Comparable[] arrays.
+   */
+  private static <T> void sort(T[] array, T[] temp, Comparator<? super T> comparator,
+      ForkJoinPool pool) {
+    if (array.length > 1) {
+      pool.invoke(new SortTask<>(array, temp, comparator, 0, array.length - 1));
+    }
+  }
+
+  public static boolean isSorted(Comparable[] array) {
+    return MergeSort.isSorted(array);
+  }
+
+  public static <T> boolean isSorted(T[] array, Comparator<? super T> comparator) {
+    for (int i = 1; i < array.length; i++) {
+      if (comparator.compare(array[i], array[i - 1]) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> int compare(T a, T b, Comparator<? super T> comparator) {
+    if (comparator == null) {
+      return ((Comparable<Object>) a).compareTo(b);
+    }
+    return comparator.compare(a, b);
+  }
+
+  /**
+   * Sorts array[low...high], using temp[low...high] while merging.
+   */
+  private static class SortTask<T> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final T[] array;
+    private final T[] temp;
+    private final Comparator<? super T> comparator;
+    private final int low;
+    private final int high;
+
+    SortTask(T[] array, T[] temp, Comparator<? super T> comparator, int low, int high) {
+      this.array = array;
+      this.temp = temp;
+      this.comparator = comparator;
+      this.low = low;
+      this.high = high;
+    }
+
+    @Override
+    protected void compute() {
+      if (high - low < SEQUENTIAL_LENGTH) {
+        sort(low, high);
+        return;
+      }
+
+      int mid = low + (high - low) / 2;
+      invokeAll(new SortTask<>(array, temp, comparator, low, mid),
+          new SortTask<>(array, temp, comparator, mid + 1, high));
+
+      // Skip already sorted sub arrays, as MergeSort.merge() does.
+      if (compare(array[mid], array[mid + 1], comparator) <= 0) {
+        return;
+      }
+      new CopyTask<>(array, temp, low, high).invoke();
+      new MergeTask<>(temp, array, comparator, low, mid, mid + 1, high, low).invoke();
+    }
+
+    /**
+     * Top-down merge sort of array[low...high] on this thread.
+     */
+    private void sort(int low, int high) {
+      if (high <= low) {
+        return;
+      }
+      int mid = low + (high - low) / 2;
+      sort(low, mid);
+      sort(mid + 1, high);
+      merge(low, mid, high);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void merge(int low, int mid, int high) {
+      if (comparator == null) {
+        MergeSort.merge((Comparable[]) array, low, mid, high, (Comparable[]) temp);
+      } else {
+        MergeSort.merge(array, low, mid, high, temp, comparator);
+      }
+    }
+  }
+
+  /**
+   * Copies source[low...high] to destination[low...high].
+   */
+  private static class CopyTask<T> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final T[] source;
+    private final T[] destination;
+    private final int low;
+    private final int high;
+
+    CopyTask(T[] source, T[] destination, int low, int high) {
+      this.source = source;
+      this.destination = destination;
+      this.low = low;
+      this.high = high;
+    }
+
+    @Override
+    protected void compute() {
+      if (high - low < SEQUENTIAL_LENGTH) {
+        System.arraycopy(source, low, destination, low, high - low + 1);
+        return;
+      }
+      int mid = low + (high - low) / 2;
+      invokeAll(new CopyTask<>(source, destination, low, mid),
+          new CopyTask<>(source, destination, mid + 1, high));
+    }
+  }
+
+  /**
+   * Merges the sorted runs source[lowStart...lowEnd] and source[highStart...highEnd] into
+   * destination, starting at destination[start]. Equal items from the low run come first.
+   */
+  private static class MergeTask<T> extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final T[] source;
+    private final T[] destination;
+    private final Comparator<? super T> comparator;
+    private final int lowStart;
+    private final int lowEnd;
+    private final int highStart;
+    private final int highEnd;
+    private final int start;
+
+    MergeTask(T[] source, T[] destination, Comparator<? super T> comparator,
+        int lowStart, int lowEnd, int highStart, int highEnd, int start) {
+      this.source = source;
+      this.destination = destination;
+      this.comparator = comparator;
+      this.lowStart = lowStart;
+      this.lowEnd = lowEnd;
+      this.highStart = highStart;
+      this.highEnd = highEnd;
+      this.start = start;
+    }
+
+    @Override
+    protected void compute() {
+      int lowLength = lowEnd - lowStart + 1;
+      int highLength = highEnd - highStart + 1;
+      if (lowLength + highLength <= SEQUENTIAL_LENGTH) {
+        merge();
+        return;
+      }
+
+      // Split the longer run at its midpoint, and the shorter run where that item would go.
+      int lowSplit;
+      int highSplit;
+      if (lowLength >= highLength) {
+        lowSplit = lowStart + lowLength / 2;
+        highSplit = firstNotLess(source[lowSplit], highStart, highEnd);
+      } else {
+        highSplit = highStart + highLength / 2;
+        lowSplit = firstGreater(source[highSplit], lowStart, lowEnd);
+      }
+
+      // Items before the splits go before destination[split], the rest from there on.
+      int split = start + (lowSplit - lowStart) + (highSplit - highStart);
+      invokeAll(
+          new MergeTask<>(source, destination, comparator,
+              lowStart, lowSplit - 1, highStart, highSplit - 1, start),
+          new MergeTask<>(source, destination, comparator,
+              lowSplit, lowEnd, highSplit, highEnd, split));
+    }
+
+    /**
+     * Index of the first item in source[low...high] not less than the key, or high + 1 if none.
+     */
+    private int firstNotLess(T key, int low, int high) {
+      while (low <= high) {
+        int mid = low + (high - low) / 2;
+        if (compare(source[mid], key, comparator) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * Index of the first item in source[low...high] greater than the key, or high + 1 if none.
+     */
+    private int firstGreater(T key, int low, int high) {
+      while (low <= high) {
+        int mid = low + (high - low) / 2;
+        if (compare(source[mid], key, comparator) <= 0) {
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+      return low;
+    }
+
+    private void merge() {
+      int i = lowStart;
+      int j = highStart;
+      int k = start;
+      while (i <= lowEnd && j <= highEnd) {
+        if (compare(source[j], source[i], comparator) < 0) {
+          destination[k++] = source[j++];
+        } else {
+          destination[k++] = source[i++];
+        }
+      }
+      System.arraycopy(source, i, destination, k, lowEnd - i + 1);
+      k += lowEnd - i + 1;
+      System.arraycopy(source, j, destination, k, highEnd - j + 1);
+    }
+  }
+}
@@ -116,6 +116,167 @@ public class QuickSort {
     return j;      // array[low...j - 1] <= array[j] <= array[j + 1...high].
   }
 
+  /*
+   * Primitive overloads, with the same shuffle, partitioning and insertion sort cutoff as
+   * sort(Comparable[]). Nothing is allocated, so large arrays of numbers can be sorted in place
+   * without boxing.
+   */
+  public static void sort(int[] array) {
+    shuffle(array);   // Eliminate dependence on input.
+    sort(array, 0, array.length - 1);
+  }
+
+  private static void sort(int[] array, int low, int high) {
+    // For small sub-arrays, use insertion sort.
+    if (high <= low + 15) {
+      InsertionSort.sort(array, low, high + 1);
+      return;
+    }
+
+    // Partition and sort array[] into increasing order.
+    int j = partition(array, low, high);
+    sort(array, low, j - 1);    // Sort left part.
+    sort(array, j + 1, high);   // Sort right part.
+  }
+
+  private static void shuffle(int[] array) {
+    for (int i = 0; i < array.length; i++) {
+      int r = i + uniform(array.length - i);     // between i and n-1
+      exchange(array, i, r);
+    }
+  }
+
+  private static int partition(int[] array, int low, int high) {
+    // Partition into array[low...i], array[i], array[i + 1...high].
+    int i = low;        // Left scan index.
+    int j = high + 1;   // Right scan index.
+    int v = array[low];    // Partitioning item.
+
+    while (true) {
+      // Scan right, scan left, check for scan complete, and exchange.
+      while (array[++i] < v) {
+        if (i == high) {
+          break;
+        }
+      }
+      while (v < array[--j]) {
+        if (j == low) {
+          break;
+        }
+      }
+      if (i >= j) {
+        break;
+      }
+      exchange(array, i, j);
+    }
+    exchange(array, low, j);    // Put v = array[j] into position.
+    return j;      // array[low...j - 1] <= array[j] <= array[j + 1...high].
+  }
+
+  public static void sort(long[] array) {
+    shuffle(array);   // Eliminate dependence on input.
+    sort(array, 0, array.length - 1);
+  }
+
+  private static void sort(long[] array, int low, int high) {
+    // For small sub-arrays, use insertion sort.
+    if (high <= low + 15) {
+      InsertionSort.sort(array, low, high + 1);
+      return;
+    }
+
+    // Partition and sort array[] into increasing order.
+    int j = partition(array, low, high);
+    sort(array, low, j - 1);    // Sort left part.
+    sort(array, j + 1, high);   // Sort right part.
+  }
+
+  private static void shuffle(long[] array) {
+    for (int i = 0; i < array.length; i++) {
+      int r = i + uniform(array.length - i);     // between i and n-1
+      exchange(array, i, r);
+    }
+  }
+
+  private static int partition(long[] array, int low, int high) {
+    // Partition into array[low...i], array[i], array[i + 1...high].
+    int i = low;        // Left scan index.
+    int j = high + 1;   // Right scan index.
+    long v = array[low];    // Partitioning item.
+
+    while (true) {
+      // Scan right, scan left, check for scan complete, and exchange.
+      while (array[++i] < v) {
+        if (i == high) {
+          break;
+        }
+      }
+      while (v < array[--j]) {
+        if (j == low) {
+          break;
+        }
+      }
+      if (i >= j) {
+        break;
+      }
+      exchange(array, i, j);
+    }
+    exchange(array, low, j);    // Put v = array[j] into position.
+    return j;      // array[low...j - 1] <= array[j] <= array[j + 1...high].
+  }
+
+  public static void sort(double[] array) {
+    shuffle(array);   // Eliminate dependence on input.
+    sort(array, 0, array.length - 1);
+  }
+
+  private static void sort(double[] array, int low, int high) {
+    // For small sub-arrays, use insertion sort.
+    if (high <= low + 15) {
+      InsertionSort.sort(array, low, high + 1);
+      return;
+    }
+
+    // Partition and sort array[] into increasing order.
+    int j = partition(array, low, high);
+    sort(array, low, j - 1);    // Sort left part.
+    sort(array, j + 1, high);   // Sort right part.
+  }
+
+  private static void shuffle(double[] array) {
+    for (int i = 0; i < array.length; i++) {
+      int r = i + uniform(array.length - i);     // between i and n-1
+      exchange(array, i, r);
+    }
+  }
+
+  private static int partition(double[] array, int low, int high) {
+    // Partition into array[low...i], array[i], array[i + 1...high].
+    int i = low;        // Left scan index.
+    int j = high + 1;   // Right scan index.
+    double v = array[low];    // Partitioning item.
+
+    while (true) {
+      // Scan right, scan left, check for scan complete, and exchange.
+      while (less(array[++i], v)) {
+        if (i == high) {
+          break;
+        }
+      }
+      while (less(v, array[--j])) {
+        if (j == low) {
+          break;
+        }
+      }
+      if (i >= j) {
+        break;
+      }
+      exchange(array, i, j);
+    }
+    exchange(array, low, j);    // Put v = array[j] into position.
+    return j;      // array[low...j - 1] <= array[j] <= array[j + 1...high].
+  }
+
   private static boolean less(Comparable v, Comparable w) {
     return v.compareTo(w) < 0;
   }
@@ -126,6 +287,30 @@ public class QuickSort {
     array[j] = temp;
   }
 
+  private static boolean less(double v, double w) {
+    // Order as Double.compareTo() does, so that -0.0 precedes 0.0 and NaN follows every number,
+    // and a double[] sorts the same as a Double[].
+    return Double.compare(v, w) < 0;
+  }
+
+  private static void exchange(int[] array, int i, int j) {
+    int temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  private static void exchange(long[] array, int i, int j) {
+    long temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  private static void exchange(double[] array, int i, int j) {
+    double temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
   private static void show(Comparable[] array) {
     // Print the array on a single line.
     for (int i = 0; i < array.length; i++) {
@@ -144,6 +329,36 @@ public class QuickSort {
     return true;
   }
 
+  public static boolean isSorted(int[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(long[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(double[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (less(array[i], array[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static void main(String[] args) {
     // Read strings from System.in, sort them, and print.
     Scanner scanner = new Scanner(System.in);
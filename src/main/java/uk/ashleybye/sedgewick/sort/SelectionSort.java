@@ -25,6 +25,52 @@ public class SelectionSort {
     }
   }
 
+  /*
+   * Primitive overloads of sort(Comparable[]), comparing entries directly rather than through
+   * compareTo().
+   */
+  public static void sort(int[] array) {
+    // Sort array[] into increasing order.
+    for (int i = 0; i < array.length; i++) {
+      // Exchange array[i] with smallest entry in array[i+1...array.length].
+      int min = i;    // Index of smallest entry.
+      for (int j = i + 1; j < array.length; j++) {
+        if (array[j] < array[min]) {
+          min = j;
+        }
+      }
+      exchange(array, i, min);
+    }
+  }
+
+  public static void sort(long[] array) {
+    // Sort array[] into increasing order.
+    for (int i = 0; i < array.length; i++) {
+      // Exchange array[i] with smallest entry in array[i+1...array.length].
+      int min = i;    // Index of smallest entry.
+      for (int j = i + 1; j < array.length; j++) {
+        if (array[j] < array[min]) {
+          min = j;
+        }
+      }
+      exchange(array, i, min);
+    }
+  }
+
+  public static void sort(double[] array) {
+    // Sort array[] into increasing order.
+    for (int i = 0; i < array.length; i++) {
+      // Exchange array[i] with smallest entry in array[i+1...array.length].
+      int min = i;    // Index of smallest entry.
+      for (int j = i + 1; j < array.length; j++) {
+        if (less(array[j], array[min])) {
+          min = j;
+        }
+      }
+      exchange(array, i, min);
+    }
+  }
+
   private static boolean less(Comparable v, Comparable w) {
     return v.compareTo(w) < 0;
   }
@@ -35,6 +81,30 @@ public class SelectionSort {
     array[j] = temp;
   }
 
+  private static boolean less(double v, double w) {
+    // Order as Double.compareTo() does, so that -0.0 precedes 0.0 and NaN follows every number,
+    // and a double[] sorts the same as a Double[].
+    return Double.compare(v, w) < 0;
+  }
+
+  private static void exchange(int[] array, int i, int j) {
+    int temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  private static void exchange(long[] array, int i, int j) {
+    long temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
+  private static void exchange(double[] array, int i, int j) {
+    double temp = array[i];
+    array[i] = array[j];
+    array[j] = temp;
+  }
+
   private static void show(Comparable[] array) {
     // Print the array on a single line.
     for (int i = 0; i < array.length; i++) {
@@ -53,6 +123,36 @@ public class SelectionSort {
     return true;
   }
 
+  public static boolean isSorted(int[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(long[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(double[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (less(array[i], array[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static void main(String[] args) {
     // Read strings from System.in, sort them, and print.
     Scanner scanner = new Scanner(System.in);
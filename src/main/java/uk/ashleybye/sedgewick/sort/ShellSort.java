@@ -27,6 +27,69 @@ public class ShellSort {
     }
   }
 
+  /*
+   * Primitive overloads, with the same increment sequence as sort(Comparable[]).
+   */
+  public static void sort(int[] array) {
+    // Sort array[] into increasing order.
+    int h = 1;
+    while (h < array.length / 3) {
+      h = (3 * h) + 1;  // 1, 4, 13, 40, 121, 364, 1093, ...
+    }
+    while (h >= 1) {
+      // h-sort the array, moving larger entries right h positions rather than exchanging them.
+      for (int i = h; i < array.length; i++) {
+        int item = array[i];
+        int j = i;
+        for (; j >= h && item < array[j - h]; j -= h) {
+          array[j] = array[j - h];
+        }
+        array[j] = item;
+      }
+      h = h / 3;
+    }
+  }
+
+  public static void sort(long[] array) {
+    // Sort array[] into increasing order.
+    int h = 1;
+    while (h < array.length / 3) {
+      h = (3 * h) + 1;  // 1, 4, 13, 40, 121, 364, 1093, ...
+    }
+    while (h >= 1) {
+      // h-sort the array, moving larger entries right h positions rather than exchanging them.
+      for (int i = h; i < array.length; i++) {
+        long item = array[i];
+        int j = i;
+        for (; j >= h && item < array[j - h]; j -= h) {
+          array[j] = array[j - h];
+        }
+        array[j] = item;
+      }
+      h = h / 3;
+    }
+  }
+
+  public static void sort(double[] array) {
+    // Sort array[] into increasing order.
+    int h = 1;
+    while (h < array.length / 3) {
+      h = (3 * h) + 1;  // 1, 4, 13, 40, 121, 364, 1093, ...
+    }
+    while (h >= 1) {
+      // h-sort the array, moving larger entries right h positions rather than exchanging them.
+      for (int i = h; i < array.length; i++) {
+        double item = array[i];
+        int j = i;
+        for (; j >= h && less(item, array[j - h]); j -= h) {
+          array[j] = array[j - h];
+        }
+        array[j] = item;
+      }
+      h = h / 3;
+    }
+  }
+
   private static boolean less(Comparable v, Comparable w) {
     return v.compareTo(w) < 0;
   }
@@ -37,6 +100,12 @@ public class ShellSort {
     array[j] = temp;
   }
 
+  private static boolean less(double v, double w) {
+    // Order as Double.compareTo() does, so that -0.0 precedes 0.0 and NaN follows every number,
+    // and a double[] sorts the same as a Double[].
+    return Double.compare(v, w) < 0;
+  }
+
   private static void show(Comparable[] array) {
     // Print the array on a single line.
     for (int i = 0; i < array.length; i++) {
@@ -55,6 +124,36 @@ public class ShellSort {
     return true;
   }
 
+  public static boolean isSorted(int[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(long[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (array[i] < array[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public static boolean isSorted(double[] array) {
+    // Test whether the array entries are in order.
+    for (int i = 1; i < array.length; i++) {
+      if (less(array[i], array[i - 1])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public static void main(String[] args) {
     // Read strings from System.in, sort them, and print.
     Scanner scanner = new Scanner(System.in);
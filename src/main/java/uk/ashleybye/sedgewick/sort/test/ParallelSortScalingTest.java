@@ -0,0 +1,70 @@
+package uk.ashleybye.sedgewick.sort.test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import uk.ashleybye.sedgewick.sort.MergeSort;
+import uk.ashleybye.sedgewick.sort.ParallelMergeSort;
+
+public class ParallelSortScalingTest {
+
+  private static final int NUM_ROUNDS = 3;
+
+  public static void main(String[] args) {
+
+    if (args.length != 2) {
+      System.out.println("Usage: java ParallelSortScalingTest length seed");
+      System.exit(0);
+    }
+
+    int length = Integer.parseInt(args[0]);
+    Random random = new Random(Long.parseLong(args[1]));
+    Long[] unsorted = new Long[length];
+    for (int i = 0; i < length; i++) {
+      unsorted[i] = random.nextLong();
+    }
+
+    int processors = Runtime.getRuntime().availableProcessors();
+    for (int round = 0; round < NUM_ROUNDS; round++) {
+      System.out.println("Round " + (round + 1) + " (ms to sort " + length + " Longs):");
+      double sequentialTime = time("MergeSort", unsorted, MergeSort::sort, 0);
+
+      // Double the number of threads up to the number of processors, then try that number too.
+      for (int parallelism = 1; ; parallelism = Math.min(2 * parallelism, processors)) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+          time("Parallel x" + parallelism, unsorted,
+              array -> ParallelMergeSort.sort(array, pool), sequentialTime);
+        } finally {
+          pool.shutdown();
+        }
+        if (parallelism == processors) {
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Time one sort on a copy of the keys, check that it sorted them, and print the time and, if
+   * given the time MergeSort took, the speed up over that.
+   */
+  private static double time(String name, Long[] unsorted, Consumer<Long[]> sort,
+      double sequentialTime) {
+    Long[] array = unsorted.clone();
+    long start = System.nanoTime();
+    sort.accept(array);
+    double time = (System.nanoTime() - start) / 1e6;
+
+    if (!MergeSort.isSorted(array)) {
+      throw new IllegalStateException(name + " did not sort the keys");
+    }
+
+    if (sequentialTime > 0) {
+      System.out.printf("  %-13s  %9.1f  (x%.2f)%n", name, time, sequentialTime / time);
+    } else {
+      System.out.printf("  %-13s  %9.1f%n", name, time);
+    }
+    return time;
+  }
+}
@@ -0,0 +1,77 @@
+package uk.ashleybye.sedgewick.sort.test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import uk.ashleybye.sedgewick.sort.InsertionSort;
+import uk.ashleybye.sedgewick.sort.MergeSort;
+import uk.ashleybye.sedgewick.sort.QuickSort;
+import uk.ashleybye.sedgewick.sort.SelectionSort;
+import uk.ashleybye.sedgewick.sort.ShellSort;
+
+public class SortComparisonTest {
+
+  private static final int NUM_ROUNDS = 3;
+
+  /**
+   * The longest array given to the quadratic sorts, which would otherwise take hours.
+   */
+  private static final int MAXIMUM_QUADRATIC_LENGTH = 20000;
+
+  public static void main(String[] args) {
+
+    if (args.length != 2) {
+      System.out.println("Usage: java SortComparisonTest length seed");
+      System.exit(0);
+    }
+
+    int length = Integer.parseInt(args[0]);
+    Random random = new Random(Long.parseLong(args[1]));
+    long[] unsorted = new long[length];
+    for (int i = 0; i < length; i++) {
+      unsorted[i] = random.nextLong();
+    }
+    Long[] unsortedBoxed = new Long[length];
+    for (int i = 0; i < length; i++) {
+      unsortedBoxed[i] = unsorted[i];
+    }
+
+    for (int round = 0; round < NUM_ROUNDS; round++) {
+      System.out.println("Round " + (round + 1) + " (ms to sort " + length + " longs):");
+      System.out.println("  sort            long[]     Long[]");
+      compare("Arrays.sort", unsorted, unsortedBoxed, Arrays::sort, Arrays::sort);
+      compare("QuickSort", unsorted, unsortedBoxed, QuickSort::sort, QuickSort::sort);
+      compare("MergeSort", unsorted, unsortedBoxed, MergeSort::sort, MergeSort::sort);
+      compare("ShellSort", unsorted, unsortedBoxed, ShellSort::sort, ShellSort::sort);
+      if (length <= MAXIMUM_QUADRATIC_LENGTH) {
+        compare("InsertionSort", unsorted, unsortedBoxed, InsertionSort::sort, InsertionSort::sort);
+        compare("SelectionSort", unsorted, unsortedBoxed, SelectionSort::sort, SelectionSort::sort);
+      }
+    }
+  }
+
+  /**
+   * Time the primitive and boxed forms of one sort on copies of the same keys, check that both
+   * sorted them, and print the times.
+   */
+  private static void compare(String name, long[] unsorted, Long[] unsortedBoxed,
+      Consumer<long[]> sort, Consumer<Long[]> boxedSort) {
+    long[] array = unsorted.clone();
+    long start = System.nanoTime();
+    sort.accept(array);
+    double time = (System.nanoTime() - start) / 1e6;
+
+    Long[] boxedArray = unsortedBoxed.clone();
+    start = System.nanoTime();
+    boxedSort.accept(boxedArray);
+    double boxedTime = (System.nanoTime() - start) / 1e6;
+
+    for (int i = 0; i < array.length; i++) {
+      if (array[i] != boxedArray[i] || (i > 0 && array[i - 1] > array[i])) {
+        throw new IllegalStateException(name + " did not sort the keys");
+      }
+    }
+
+    System.out.printf("  %-13s  %8.1f  %9.1f%n", name, time, boxedTime);
+  }
+}
@@ -0,0 +1,104 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class ArrayQueueTest {
+
+  @Test
+  public void matchesArrayDequeAcrossWrapAndGrowth() throws Exception {
+    ArrayQueue<Integer> queue = new ArrayQueue<>(2);
+    ArrayDeque<Integer> expected = new ArrayDeque<>();
+    Random random = new Random(42);
+
+    for (int operation = 0; operation < 10000; operation++) {
+      if (expected.isEmpty() || random.nextInt(3) > 0) {
+        queue.enqueue(operation);
+        expected.addLast(operation);
+      } else {
+        assertEquals(expected.peekFirst(), queue.peek());
+        assertEquals(expected.removeFirst(), queue.dequeue());
+      }
+      assertEquals(expected.size(), queue.size());
+    }
+
+    assertEquals(new ArrayList<>(expected), toList(queue));
+  }
+
+  @Test
+  public void growingWhileWrappedKeepsOrder() throws Exception {
+    ArrayQueue<Integer> queue = new ArrayQueue<>(4);
+    for (int item = 0; item < 4; item++) {
+      queue.enqueue(item);
+    }
+    queue.dequeue();
+    queue.dequeue();
+    // Items 2 and 3 are at the back of the buffer, 4 and 5 wrap round to the front.
+    queue.enqueue(4);
+    queue.enqueue(5);
+    // Full, so this grows the buffer, which must unwrap the items.
+    queue.enqueue(6);
+
+    List<Integer> expected = new ArrayList<>();
+    for (int item = 2; item <= 6; item++) {
+      expected.add(item);
+    }
+    assertEquals(expected, toList(queue));
+    for (int item = 2; item <= 6; item++) {
+      assertEquals(Integer.valueOf(item), queue.dequeue());
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void clearKeepsQueueUsable() throws Exception {
+    ArrayQueue<String> queue = new ArrayQueue<>(4);
+    for (int lap = 0; lap < 3; lap++) {
+      // Dequeue some first so that the items wrap round the buffer when it is cleared.
+      for (int item = 0; item < 3; item++) {
+        queue.enqueue("x" + item);
+      }
+      queue.dequeue();
+      queue.dequeue();
+      queue.enqueue("y");
+      queue.enqueue("z");
+      queue.clear();
+      assertTrue(queue.isEmpty());
+      assertEquals(0, queue.size());
+      assertFalse(queue.iterator().hasNext());
+
+      queue.enqueue("a");
+      queue.enqueue("b");
+      assertEquals("a", queue.dequeue());
+      assertEquals("b", queue.peek());
+      queue.clear();
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void dequeueEmpty() throws Exception {
+    new ArrayQueue<Integer>().dequeue();
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void peekEmpty() throws Exception {
+    ArrayQueue<Integer> queue = new ArrayQueue<>();
+    queue.enqueue(1);
+    queue.clear();
+    queue.peek();
+  }
+
+  private static <T> List<T> toList(ArrayQueue<T> queue) {
+    List<T> list = new ArrayList<>();
+    queue.forEach(list::add);
+    return list;
+  }
+}
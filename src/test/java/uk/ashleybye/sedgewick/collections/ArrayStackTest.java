@@ -0,0 +1,72 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class ArrayStackTest {
+
+  @Test
+  public void matchesArrayDequeAcrossGrowth() throws Exception {
+    ArrayStack<Integer> stack = new ArrayStack<>(1);
+    ArrayDeque<Integer> expected = new ArrayDeque<>();
+    Random random = new Random(42);
+
+    for (int operation = 0; operation < 10000; operation++) {
+      if (expected.isEmpty() || random.nextInt(3) > 0) {
+        stack.push(operation);
+        expected.push(operation);
+      } else {
+        assertEquals(expected.peek(), stack.peek());
+        assertEquals(expected.pop(), stack.pop());
+      }
+      assertEquals(expected.size(), stack.size());
+    }
+
+    // Both iterate from the top.
+    List<Integer> iterated = new ArrayList<>();
+    stack.forEach(iterated::add);
+    assertEquals(new ArrayList<>(expected), iterated);
+  }
+
+  @Test
+  public void clearKeepsStackUsable() throws Exception {
+    ArrayStack<String> stack = new ArrayStack<>(2);
+    for (int lap = 0; lap < 3; lap++) {
+      for (int item = 0; item < 20; item++) {
+        stack.push("x" + item);
+      }
+      stack.pop();
+      stack.clear();
+      assertTrue(stack.isEmpty());
+      assertEquals(0, stack.size());
+      assertFalse(stack.iterator().hasNext());
+
+      stack.push("a");
+      stack.push("b");
+      assertEquals("b", stack.pop());
+      assertEquals("a", stack.peek());
+      stack.clear();
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void popEmpty() throws Exception {
+    new ArrayStack<Integer>().pop();
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void peekEmpty() throws Exception {
+    ArrayStack<Integer> stack = new ArrayStack<>();
+    stack.push(1);
+    stack.clear();
+    stack.peek();
+  }
+}
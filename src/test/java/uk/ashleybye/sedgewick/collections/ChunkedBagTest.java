@@ -0,0 +1,93 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.Test;
+
+public class ChunkedBagTest {
+
+  @Test
+  public void iteratesInTheSameOrderAsBag() throws Exception {
+    // Sizes either side of each chunk boundary: 4, 12, 28, 60.
+    for (int size : new int[]{0, 1, 3, 4, 5, 11, 12, 13, 28, 60, 61, 1000}) {
+      Bag<Integer> bag = new Bag<>();
+      ChunkedBag<Integer> chunkedBag = new ChunkedBag<>();
+      for (int item = 0; item < size; item++) {
+        bag.add(item);
+        chunkedBag.add(item);
+      }
+
+      List<Integer> expected = new ArrayList<>();
+      bag.forEach(expected::add);
+      List<Integer> actual = new ArrayList<>();
+      chunkedBag.forEach(actual::add);
+
+      assertEquals(expected, actual);
+      assertEquals(size, chunkedBag.size());
+      assertEquals(size == 0, chunkedBag.isEmpty());
+      for (int index = 0; index < size; index++) {
+        assertEquals(expected.get(index), chunkedBag.get(index));
+      }
+      assertArrayEquals(expected.toArray(), chunkedBag.toArray());
+      assertArrayEquals(expected.toArray(new Integer[0]), chunkedBag.toArray(new Integer[0]));
+    }
+  }
+
+  @Test
+  public void toArrayUsesTheGivenArrayIfLargeEnough() throws Exception {
+    ChunkedBag<String> bag = new ChunkedBag<>();
+    bag.add("a");
+    bag.add("b");
+    bag.add("c");
+
+    String[] array = new String[3];
+    assertSame(array, bag.toArray(array));
+    assertArrayEquals(new String[]{"c", "b", "a"}, array);
+  }
+
+  @Test
+  public void cursorCanBeResetToIterateAnotherBag() throws Exception {
+    ChunkedBag<Integer> first = new ChunkedBag<>();
+    ChunkedBag<Integer> second = new ChunkedBag<>();
+    ChunkedBag<Integer> empty = new ChunkedBag<>();
+    for (int item = 0; item < 20; item++) {
+      first.add(item);
+    }
+    second.add(100);
+
+    ChunkedBag.Cursor<Integer> cursor = new ChunkedBag.Cursor<>();
+    for (int lap = 0; lap < 2; lap++) {
+      cursor.reset(first);
+      for (int item = 19; item >= 0; item--) {
+        assertTrue(cursor.hasNext());
+        assertEquals(Integer.valueOf(item), cursor.next());
+      }
+      assertFalse(cursor.hasNext());
+
+      assertFalse(cursor.reset(empty).hasNext());
+
+      assertSame(cursor, cursor.reset(second));
+      assertEquals(Integer.valueOf(100), cursor.next());
+      assertFalse(cursor.hasNext());
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void cursorThrowsWhenExhausted() throws Exception {
+    new ChunkedBag.Cursor<Integer>().reset(new ChunkedBag<>()).next();
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getThrowsIfIndexOutOfRange() throws Exception {
+    ChunkedBag<Integer> bag = new ChunkedBag<>();
+    bag.add(1);
+    bag.get(1);
+  }
+}
@@ -0,0 +1,81 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Test;
+
+public class ConcurrentArrayQueueTest {
+
+  @Test
+  public void firstInFirstOutUntilFull() throws Exception {
+    ConcurrentArrayQueue<Integer> queue = new ConcurrentArrayQueue<>(3);
+    assertEquals(4, queue.getCapacity());
+
+    for (int lap = 0; lap < 3; lap++) {
+      for (int item = 0; item < 4; item++) {
+        assertTrue(queue.offer(item));
+      }
+      assertFalse(queue.offer(4));
+      assertEquals(4, queue.size());
+
+      for (int item = 0; item < 4; item++) {
+        assertEquals(Integer.valueOf(item), queue.poll());
+      }
+      assertNull(queue.poll());
+      assertTrue(queue.isEmpty());
+    }
+  }
+
+  @Test
+  public void concurrentProducersAndConsumersPollEachItemOnce() throws Exception {
+    int numProducers = 3;
+    int numConsumers = 3;
+    int itemsPerProducer = 100000;
+    ConcurrentArrayQueue<Integer> queue = new ConcurrentArrayQueue<>(64);
+    AtomicIntegerArray polled = new AtomicIntegerArray(numProducers * itemsPerProducer);
+    AtomicInteger remaining = new AtomicInteger(numProducers * itemsPerProducer);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int producer = 0; producer < numProducers; producer++) {
+      int first = producer * itemsPerProducer;
+      threads.add(new Thread(() -> {
+        for (int item = first; item < first + itemsPerProducer; item++) {
+          while (!queue.offer(item)) {
+            Thread.yield();
+          }
+        }
+      }));
+    }
+    for (int consumer = 0; consumer < numConsumers; consumer++) {
+      threads.add(new Thread(() -> {
+        while (remaining.get() > 0) {
+          Integer item = queue.poll();
+          if (item == null) {
+            Thread.yield();
+          } else {
+            polled.incrementAndGet(item);
+            remaining.decrementAndGet();
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertTrue(queue.isEmpty());
+    for (int item = 0; item < polled.length(); item++) {
+      assertEquals(1, polled.get(item));
+    }
+  }
+}
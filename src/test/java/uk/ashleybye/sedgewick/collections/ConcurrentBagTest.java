@@ -0,0 +1,43 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class ConcurrentBagTest {
+
+  @Test
+  public void bagMergesStripesOfEveryThread() throws Exception {
+    int numThreads = 4;
+    int itemsPerThread = 10000;
+    ConcurrentBag<Integer> bag = new ConcurrentBag<>();
+
+    List<Thread> threads = new ArrayList<>();
+    for (int thread = 0; thread < numThreads; thread++) {
+      int first = thread * itemsPerThread;
+      threads.add(new Thread(() -> {
+        for (int item = first; item < first + itemsPerThread; item++) {
+          bag.add(item);
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(numThreads * itemsPerThread, bag.size());
+    int[] counts = new int[numThreads * itemsPerThread];
+    for (int item : bag) {
+      counts[item]++;
+    }
+    for (int count : counts) {
+      assertEquals(1, count);
+    }
+    assertEquals(bag.size(), bag.toArray().length);
+  }
+}
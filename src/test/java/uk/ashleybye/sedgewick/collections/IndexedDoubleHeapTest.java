@@ -0,0 +1,180 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+import org.junit.Test;
+
+public class IndexedDoubleHeapTest {
+
+  @Test
+  public void binaryHeapMatchesIndexedPriorityQueue() throws Exception {
+    int size = 200;
+    IndexedDoubleHeap queue = new IndexedDoubleHeap(size);
+    IndexedPriorityQueue<Double> expected = new IndexedPriorityQueue<>(size);
+    Random random = new Random(42);
+
+    for (int operation = 0; operation < 20000; operation++) {
+      int index = random.nextInt(size);
+      double key = random.nextInt(1000) / 10.0;
+      int choice = random.nextInt(4);
+      if (!expected.contains(index)) {
+        queue.offer(index, key);
+        expected.offer(index, key);
+      } else if (choice == 0 && key < expected.getKeyFor(index)) {
+        queue.decreaseKey(index, key);
+        expected.decreaseKey(index, key);
+      } else if (choice == 1) {
+        queue.remove(index);
+        expected.remove(index);
+      } else if (choice == 2) {
+        assertEquals(expected.pollMinimum(), queue.pollMinimum());
+      } else {
+        queue.changeKey(index, key);
+        expected.changeKey(index, key);
+      }
+      assertEquals(expected.size(), queue.size());
+    }
+
+    while (!expected.isEmpty()) {
+      assertEquals(expected.getMinimumKey(), queue.getMinimumKey(), 0.0);
+      assertEquals(expected.pollMinimum(), queue.pollMinimum());
+    }
+  }
+
+  @Test
+  public void wideHeapsPollMinimumKeys() throws Exception {
+    for (int arity = 2; arity <= 8; arity++) {
+      pollsMinimumKeys(arity);
+    }
+  }
+
+  private void pollsMinimumKeys(int arity) {
+    int size = 200;
+    IndexedDoubleHeap queue = new IndexedDoubleHeap(size, arity);
+    double[] keys = new double[size];
+    boolean[] present = new boolean[size];
+    Random random = new Random(arity);
+
+    for (int operation = 0; operation < 20000; operation++) {
+      int index = random.nextInt(size);
+      double key = random.nextInt(1000) / 10.0;
+      int choice = random.nextInt(4);
+      if (!present[index]) {
+        queue.offer(index, key);
+        present[index] = true;
+        keys[index] = key;
+      } else if (choice == 0 && key < keys[index]) {
+        queue.decreaseKey(index, key);
+        keys[index] = key;
+      } else if (choice == 1) {
+        queue.remove(index);
+        present[index] = false;
+      } else if (choice == 2) {
+        int minimum = queue.pollMinimum();
+        assertEquals(minimumKey(keys, present), keys[minimum], 0.0);
+        present[minimum] = false;
+      } else {
+        queue.changeKey(index, key);
+        keys[index] = key;
+      }
+    }
+
+    while (!queue.isEmpty()) {
+      int minimum = queue.pollMinimum();
+      assertEquals(minimumKey(keys, present), keys[minimum], 0.0);
+      present[minimum] = false;
+    }
+    for (boolean isPresent : present) {
+      assertFalse(isPresent);
+    }
+  }
+
+  private static double minimumKey(double[] keys, boolean[] present) {
+    double minimum = Double.POSITIVE_INFINITY;
+    for (int index = 0; index < keys.length; index++) {
+      if (present[index]) {
+        minimum = Math.min(minimum, keys[index]);
+      }
+    }
+    return minimum;
+  }
+
+  @Test
+  public void bulkConstructionAndBatchesPollMinimumKeys() throws Exception {
+    for (int arity = 2; arity <= 8; arity++) {
+      // Batches of 4 restore heap order per key; batches of 150 heapify once.
+      for (int batchSize : new int[]{4, 150}) {
+        int size = 500;
+        int[] indices = new int[size];
+        double[] keys = new double[size];
+        boolean[] present = new boolean[size];
+        Random random = new Random(arity * batchSize);
+        for (int index = 0; index < size; index++) {
+          indices[index] = index;
+          keys[index] = 100 + random.nextInt(1000) / 10.0;
+          present[index] = true;
+        }
+        IndexedDoubleHeap queue = new IndexedDoubleHeap(size, arity, indices, keys.clone());
+
+        int[] batch = new int[batchSize];
+        double[] batchKeys = new double[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+          batch[i] = 3 * i;
+          batchKeys[i] = random.nextInt(1000) / 10.0;
+          keys[batch[i]] = batchKeys[i];
+        }
+        queue.decreaseKeys(batch, batchKeys);
+
+        for (int i = 0; i < batchSize; i++) {
+          batch[i] = 3 * i + 1;
+          present[batch[i]] = false;
+        }
+        queue.removeAll(batch);
+
+        while (!queue.isEmpty()) {
+          int minimum = queue.pollMinimum();
+          assertTrue(present[minimum]);
+          assertEquals(minimumKey(keys, present), keys[minimum], 0.0);
+          present[minimum] = false;
+        }
+        for (boolean isPresent : present) {
+          assertFalse(isPresent);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void clearKeepsQueueUsable() throws Exception {
+    IndexedDoubleHeap queue = new IndexedDoubleHeap(10);
+    for (int index = 0; index < 10; index++) {
+      queue.offer(index, 10 - index);
+    }
+    queue.pollMinimum();
+    queue.clear();
+    assertTrue(queue.isEmpty());
+    for (int index = 0; index < 10; index++) {
+      assertFalse(queue.contains(index));
+    }
+
+    queue.offer(3, 2.5);
+    queue.offer(9, 1.5);
+    assertEquals(9, queue.pollMinimum());
+    assertEquals(3, queue.getMinimumIndex());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsUnaryHeap() throws Exception {
+    new IndexedDoubleHeap(10, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void decreaseKeyRejectsLargerKey() throws Exception {
+    IndexedDoubleHeap queue = new IndexedDoubleHeap(2);
+    queue.offer(0, 1.0);
+    queue.decreaseKey(0, 2.0);
+  }
+}
@@ -0,0 +1,99 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class IndexedPriorityQueueTest {
+
+  @Test
+  public void bulkConstructionPollsInKeyOrder() throws Exception {
+    int size = 1000;
+    int[] indices = new int[size / 2];
+    Integer[] keys = new Integer[size / 2];
+    Random random = new Random(7);
+    for (int i = 0; i < indices.length; i++) {
+      indices[i] = 2 * i + 1;
+      keys[i] = random.nextInt(100);
+    }
+
+    IndexedPriorityQueue<Integer> queue = new IndexedPriorityQueue<>(size, indices, keys);
+    assertEquals(indices.length, queue.size());
+    assertTrue(queue.contains(1));
+    assertFalse(queue.contains(0));
+
+    int previous = Integer.MIN_VALUE;
+    while (!queue.isEmpty()) {
+      int key = queue.getMinimumKey();
+      assertTrue(previous <= key);
+      assertEquals(keys[queue.pollMinimum() / 2], Integer.valueOf(key));
+      previous = key;
+    }
+  }
+
+  @Test
+  public void batchesMatchSingleOperations() throws Exception {
+    // Batches of 5 restore heap order per key; batches of 200 heapify once.
+    for (int batchSize : new int[]{5, 200}) {
+      int size = 400;
+      IndexedPriorityQueue<Integer> queue = new IndexedPriorityQueue<>(size);
+      IndexedPriorityQueue<Integer> expected = new IndexedPriorityQueue<>(size);
+      Random random = new Random(batchSize);
+      for (int index = 0; index < size; index++) {
+        int key = 1000 + random.nextInt(1000);
+        queue.offer(index, key);
+        expected.offer(index, key);
+      }
+
+      int[] indices = new int[batchSize];
+      Integer[] keys = new Integer[batchSize];
+      for (int i = 0; i < batchSize; i++) {
+        indices[i] = 2 * i;
+        keys[i] = random.nextInt(1000);
+        expected.decreaseKey(indices[i], keys[i]);
+      }
+      queue.decreaseKeys(indices, keys);
+
+      for (int i = 0; i < batchSize; i++) {
+        indices[i] = 2 * i + 1;
+        expected.remove(indices[i]);
+      }
+      queue.removeAll(indices);
+
+      assertEquals(expected.size(), queue.size());
+      while (!expected.isEmpty()) {
+        assertEquals(expected.getMinimumKey(), queue.getMinimumKey());
+        assertEquals(expected.getKeyFor(queue.getMinimumIndex()), queue.getMinimumKey());
+        expected.remove(queue.pollMinimum());
+      }
+    }
+  }
+
+  @Test
+  public void failedBatchLeavesEarlierRemovalsApplied() throws Exception {
+    IndexedPriorityQueue<Integer> queue = new IndexedPriorityQueue<>(8);
+    for (int index = 0; index < 8; index++) {
+      queue.offer(index, index);
+    }
+
+    try {
+      queue.removeAll(new int[]{0, 1, 2, 3, 4, 4});
+    } catch (NoSuchElementException exception) {
+      assertEquals(3, queue.size());
+      for (int index = 5; index < 8; index++) {
+        assertEquals(index, queue.pollMinimum());
+      }
+      return;
+    }
+    throw new AssertionError("Removing an index twice should fail");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bulkConstructionRejectsDuplicateIndex() throws Exception {
+    new IndexedPriorityQueue<>(4, new int[]{1, 2, 1}, new Integer[]{1, 2, 3});
+  }
+}
@@ -0,0 +1,53 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class IntBagTest {
+
+  @Test
+  public void iteratesInSameOrderAsBag() throws Exception {
+    Bag<Integer> bag = new Bag<>();
+    IntBag intBag = new IntBag();
+    for (int item = 0; item < 100; item++) {
+      bag.add(item * 7 % 13);
+      intBag.add(item * 7 % 13);
+    }
+
+    List<Integer> expected = new ArrayList<>();
+    bag.forEach(expected::add);
+    List<Integer> iterated = new ArrayList<>();
+    intBag.forEach(iterated::add);
+    List<Integer> visited = new ArrayList<>();
+    intBag.forEachInt(visited::add);
+    List<Integer> indexed = new ArrayList<>();
+    for (int i = 0; i < intBag.size(); i++) {
+      indexed.add(intBag.get(i));
+    }
+
+    assertEquals(expected, iterated);
+    assertEquals(expected, visited);
+    assertEquals(expected, indexed);
+    assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), intBag.toArray());
+  }
+
+  @Test
+  public void emptyBag() throws Exception {
+    IntBag intBag = new IntBag();
+    assertTrue(intBag.isEmpty());
+    assertEquals(0, intBag.size());
+    assertEquals(0, intBag.toArray().length);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void getOutOfRange() throws Exception {
+    IntBag intBag = new IntBag();
+    intBag.add(1);
+    intBag.get(1);
+  }
+}
@@ -0,0 +1,56 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class IntQueueTest {
+
+  @Test
+  public void matchesArrayDequeAcrossWrapAndGrowth() throws Exception {
+    IntQueue queue = new IntQueue(2);
+    ArrayDeque<Integer> expected = new ArrayDeque<>();
+    Random random = new Random(42);
+
+    for (int operation = 0; operation < 10000; operation++) {
+      if (expected.isEmpty() || random.nextInt(3) > 0) {
+        queue.enqueue(operation);
+        expected.addLast(operation);
+      } else {
+        assertEquals((int) expected.removeFirst(), queue.dequeue());
+      }
+      assertEquals(expected.size(), queue.size());
+    }
+
+    List<Integer> iterated = new ArrayList<>();
+    queue.forEach(iterated::add);
+    assertEquals(new ArrayList<>(expected), iterated);
+  }
+
+  @Test
+  public void clearKeepsQueueUsable() throws Exception {
+    IntQueue queue = new IntQueue();
+    for (int item = 0; item < 20; item++) {
+      queue.enqueue(item);
+    }
+    queue.dequeue();
+    queue.clear();
+    assertTrue(queue.isEmpty());
+
+    queue.enqueue(7);
+    queue.enqueue(8);
+    assertEquals(7, queue.dequeue());
+    assertEquals(8, queue.peek());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void dequeueEmpty() throws Exception {
+    new IntQueue().dequeue();
+  }
+}
@@ -0,0 +1,64 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.Test;
+
+public class MonotonePriorityQueueTest {
+
+  @Test
+  public void radixHeapPollsInKeyOrder() throws Exception {
+    pollsInKeyOrder(new RadixHeap(), 1 << 20);
+  }
+
+  @Test
+  public void bucketQueuePollsInKeyOrder() throws Exception {
+    pollsInKeyOrder(new BucketQueue(100), 100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void radixHeapRejectsKeyBelowLast() throws Exception {
+    RadixHeap heap = new RadixHeap();
+    heap.offer(1, 10);
+    heap.pollMinimum();
+    heap.offer(2, 9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bucketQueueRejectsKeyBeyondRange() throws Exception {
+    new BucketQueue(10).offer(1, 11);
+  }
+
+  private void pollsInKeyOrder(MonotonePriorityQueue queue, int maximumIncrease) {
+    // Entries are offered as (key, item) pairs, with keys no less than the last polled.
+    PriorityQueue<long[]> expected = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+    long[] keyOf = new long[20000];
+    Random random = new Random(42);
+
+    for (int round = 0; round < 2; round++) {
+      for (int operation = 0; operation < 20000; operation++) {
+        if (expected.isEmpty() || random.nextInt(3) > 0) {
+          long key = queue.getLastKey() + random.nextInt(maximumIncrease + 1);
+          queue.offer(operation, key);
+          keyOf[operation] = key;
+          expected.add(new long[] {key, operation});
+        } else {
+          int item = queue.pollMinimum();
+          assertEquals(expected.poll()[0], queue.getLastKey());
+          assertEquals(keyOf[item], queue.getLastKey());
+        }
+        assertEquals(expected.size(), queue.size());
+      }
+
+      while (!expected.isEmpty()) {
+        int item = queue.pollMinimum();
+        assertEquals(expected.poll()[0], queue.getLastKey());
+        assertEquals(keyOf[item], queue.getLastKey());
+      }
+      queue.clear();
+      assertEquals(0, queue.getLastKey());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.Test;
+
+public class MultiQueueTest {
+
+  @Test
+  public void singleHeapPollsInKeyOrder() throws Exception {
+    MultiQueue queue = new MultiQueue(1);
+    Random random = new Random(42);
+    for (int item = 0; item < 1000; item++) {
+      queue.offer(item, random.nextDouble());
+    }
+
+    MultiQueue.Entry entry = new MultiQueue.Entry();
+    double last = Double.NEGATIVE_INFINITY;
+    for (int item = 0; item < 1000; item++) {
+      assertTrue(queue.poll(entry));
+      assertTrue(entry.getKey() >= last);
+      last = entry.getKey();
+    }
+    assertFalse(queue.poll(entry));
+  }
+
+  @Test
+  public void concurrentProducersAndConsumersPollEachItemOnce() throws Exception {
+    int numThreads = 4;
+    int itemsPerThread = 50000;
+    MultiQueue queue = new MultiQueue(2 * numThreads);
+    AtomicIntegerArray polled = new AtomicIntegerArray(numThreads * itemsPerThread);
+
+    List<Thread> threads = new ArrayList<>();
+    for (int thread = 0; thread < numThreads; thread++) {
+      int first = thread * itemsPerThread;
+      threads.add(new Thread(() -> {
+        MultiQueue.Entry entry = new MultiQueue.Entry();
+        Random random = new Random(first);
+        for (int item = first; item < first + itemsPerThread; item++) {
+          queue.offer(item, random.nextDouble());
+          if (item % 2 == 1 && queue.poll(entry)) {
+            polled.incrementAndGet(entry.getItem());
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    MultiQueue.Entry entry = new MultiQueue.Entry();
+    while (queue.poll(entry)) {
+      polled.incrementAndGet(entry.getItem());
+    }
+    assertTrue(queue.isEmpty());
+    for (int item = 0; item < polled.length(); item++) {
+      assertEquals(1, polled.get(item));
+    }
+  }
+}
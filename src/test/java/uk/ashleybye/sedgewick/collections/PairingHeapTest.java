@@ -0,0 +1,78 @@
+package uk.ashleybye.sedgewick.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+public class PairingHeapTest {
+
+  @Test
+  public void indexedHeapMatchesIndexedDoubleHeap() throws Exception {
+    int size = 200;
+    IndexedPairingHeap queue = new IndexedPairingHeap(size);
+    IndexedDoubleHeap expected = new IndexedDoubleHeap(size);
+    Random random = new Random(42);
+
+    for (int operation = 0; operation < 20000; operation++) {
+      int index = random.nextInt(size);
+      // Distinct keys, so that both queues poll the same index.
+      double key = random.nextInt(1000000) + index / 1000.0;
+      int choice = random.nextInt(3);
+      if (operation % 5000 == 4999) {
+        queue.clear();
+        expected.clear();
+      } else if (!expected.contains(index)) {
+        queue.offer(index, key);
+        expected.offer(index, key);
+      } else if (choice == 0 && key < expected.getKeyFor(index)) {
+        queue.decreaseKey(index, key);
+        expected.decreaseKey(index, key);
+      } else if (choice == 1) {
+        queue.remove(index);
+        expected.remove(index);
+      } else if (choice == 2) {
+        assertEquals(expected.pollMinimum(), queue.pollMinimum());
+      }
+      assertEquals(expected.size(), queue.size());
+      assertEquals(expected.contains(index), queue.contains(index));
+    }
+
+    while (!expected.isEmpty()) {
+      assertEquals(expected.getMinimumKey(), queue.getMinimumKey(), 0.0);
+      assertEquals(expected.pollMinimum(), queue.pollMinimum());
+    }
+    assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void meldKeepsHandles() throws Exception {
+    PairingHeap first = new PairingHeap();
+    PairingHeap second = new PairingHeap();
+    first.offer(1, 5.0);
+    PairingHeap.Handle handle = second.offer(2, 7.0);
+    second.offer(3, 6.0);
+
+    first.meld(second);
+    assertTrue(second.isEmpty());
+    assertEquals(3, first.size());
+
+    first.decreaseKey(handle, 1.0);
+    assertEquals(2, first.pollMinimum());
+    assertFalse(first.contains(handle));
+    assertEquals(1, first.pollMinimum());
+    assertEquals(3, first.pollMinimum());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void decreaseKeyOfRemovedItem() throws Exception {
+    PairingHeap heap = new PairingHeap();
+    PairingHeap.Handle handle = heap.offer(1, 5.0);
+    heap.offer(2, 6.0);
+    heap.remove(handle);
+    heap.decreaseKey(handle, 1.0);
+  }
+}
@@ -0,0 +1,189 @@
+package uk.ashleybye.sedgewick.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class CompressedGraphTest {
+
+  /**
+   * The number of leaves of the star searched below: enough that a search taking time quadratic in
+   * the degree of the centre would run for minutes rather than milliseconds.
+   */
+  private static final int NUM_LEAVES = 200000;
+
+  @Test
+  public void roundTripsGraph() throws Exception {
+    Random random = new Random(6);
+    for (int lap = 0; lap < 5; lap++) {
+      Graph graph = new Graph(200);
+      addRandomEdges(graph::addEdge, 200, random);
+      CompressedGraph compressed = new CompressedGraph(graph);
+
+      assertEquals(graph.getNumVertices(), compressed.getNumVertices());
+      assertEquals(graph.getNumEdges(), compressed.getNumEdges());
+      for (int vertex = 0; vertex < graph.getNumVertices(); vertex++) {
+        List<Integer> expected = sorted(graph.adjacentTo(vertex));
+        assertEquals(expected, toList(compressed.adjacentTo(vertex)));
+        assertEquals(expected.size(), compressed.getDegree(vertex));
+        for (int index = 0; index < expected.size(); index++) {
+          assertEquals((int) expected.get(index), compressed.adjacentTo(vertex, index));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void roundTripsDigraphAndItsReverse() throws Exception {
+    Random random = new Random(7);
+    for (int lap = 0; lap < 5; lap++) {
+      Digraph digraph = new Digraph(200);
+      addRandomEdges(digraph::addEdge, 200, random);
+      CompressedDigraph compressed = new CompressedDigraph(digraph);
+      CompressedDigraph reverse = compressed.reverse();
+      Digraph expectedReverse = digraph.reverse();
+
+      assertEquals(digraph.getNumEdges(), compressed.getNumEdges());
+      assertEquals(digraph.getNumEdges(), reverse.getNumEdges());
+      for (int vertex = 0; vertex < digraph.getNumVertices(); vertex++) {
+        List<Integer> expected = sorted(digraph.adjacentTo(vertex));
+        assertEquals(expected, toList(compressed.adjacentTo(vertex)));
+        assertEquals(expected.size(), compressed.getOutDegree(vertex));
+        for (int index = 0; index < expected.size(); index++) {
+          assertEquals((int) expected.get(index), compressed.adjacentTo(vertex, index));
+        }
+
+        List<Integer> expectedIncoming = sorted(expectedReverse.adjacentTo(vertex));
+        assertEquals(expectedIncoming, toList(reverse.adjacentTo(vertex)));
+        // Incoming vertices come in the order of Digraph.reverse(), not ascending.
+        List<Integer> incoming = toList(compressed.incomingTo(vertex));
+        assertEquals(expectedIncoming, sorted(incoming));
+        for (int index = 0; index < incoming.size(); index++) {
+          assertEquals((int) incoming.get(index), compressed.incomingTo(vertex, index));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void encodesVerticesBelowTheFirstAsNegativeDistances() throws Exception {
+    // Vertex 5's first adjacent vertex is 0, five below it; vertex 4's only edge is a self-loop.
+    Digraph digraph = new Digraph(6);
+    digraph.addEdge(5, 3);
+    digraph.addEdge(5, 0);
+    digraph.addEdge(5, 0);
+    digraph.addEdge(4, 4);
+    CompressedDigraph compressed = new CompressedDigraph(digraph);
+
+    assertEquals(listOf(0, 0, 3), toList(compressed.adjacentTo(5)));
+    assertEquals(0, compressed.adjacentTo(5, 1));
+    assertEquals(listOf(4), toList(compressed.adjacentTo(4)));
+    assertEquals(4, compressed.adjacentTo(4, 0));
+    assertEquals(0, compressed.getOutDegree(0));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void indexedAccessRejectsPositionPastDegree() throws Exception {
+    Graph graph = new Graph(2);
+    graph.addEdge(0, 1);
+    new CompressedGraph(graph).adjacentTo(0, 1);
+  }
+
+  @Test(timeout = 10000)
+  public void searchesHighDegreeGraphInLinearTime() throws Exception {
+    // A star, with a few leaves also joined in pairs, so that some have a degree greater than 1.
+    Graph graph = new Graph(NUM_LEAVES + 1);
+    for (int leaf = 1; leaf <= NUM_LEAVES; leaf++) {
+      graph.addEdge(0, leaf);
+    }
+    for (int leaf = 1; leaf < NUM_LEAVES; leaf += 1000) {
+      graph.addEdge(leaf, leaf + 1);
+    }
+    CompressedGraph compressed = new CompressedGraph(graph);
+
+    int degree = compressed.getDegree(0);
+    assertEquals(NUM_LEAVES, degree);
+    for (int index = 0; index < degree; index++) {
+      assertEquals(index + 1, compressed.adjacentTo(0, index));
+    }
+
+    BreadthFirstPaths paths = new BreadthFirstPaths(compressed, 0);
+    for (int leaf = 1; leaf <= NUM_LEAVES; leaf++) {
+      assertEquals(2, count(paths.shortestPathTo(leaf).get()));
+    }
+    assertEquals(NUM_LEAVES + 1, new DepthFirstSearch(compressed, 0).count());
+    assertEquals(1, new ConnectedComponents(compressed).getComponentCount());
+  }
+
+  @Test(timeout = 10000)
+  public void searchesHighOutDegreeDigraphInLinearTime() throws Exception {
+    Digraph digraph = new Digraph(NUM_LEAVES + 1);
+    for (int leaf = NUM_LEAVES; leaf > 0; leaf--) {
+      digraph.addEdge(0, leaf);
+    }
+    CompressedDigraph compressed = new CompressedDigraph(digraph);
+
+    BreadthFirstDirectedPaths paths = new BreadthFirstDirectedPaths(compressed, 0);
+    DirectedDepthFirstSearch search = new DirectedDepthFirstSearch(compressed, 0);
+    for (int leaf = 1; leaf <= NUM_LEAVES; leaf++) {
+      assertEquals(2, count(paths.shortestPathTo(leaf).get()));
+      assertTrue(search.isMarked(leaf));
+    }
+  }
+
+  /**
+   * Adds random edges, including self-loops, parallel edges and a few hubs whose adjacency-lists
+   * are long enough to have skip tables, and whose first adjacent vertex is often below them.
+   */
+  private static void addRandomEdges(EdgeAdder graph, int numVertices, Random random) {
+    for (int edge = 0; edge < 4 * numVertices; edge++) {
+      int u = random.nextInt(numVertices);
+      int v = random.nextInt(10) == 0 ? u : random.nextInt(numVertices);
+      graph.addEdge(u, v);
+      if (random.nextInt(10) == 0) {
+        graph.addEdge(u, v);
+      }
+    }
+    for (int hub = numVertices - 3; hub < numVertices; hub++) {
+      for (int edge = 0; edge < 100 * (hub - numVertices + 4); edge++) {
+        graph.addEdge(hub, random.nextInt(numVertices));
+      }
+    }
+  }
+
+  private interface EdgeAdder {
+
+    void addEdge(int u, int v);
+  }
+
+  private static List<Integer> sorted(Iterable<Integer> vertices) {
+    List<Integer> list = toList(vertices);
+    Collections.sort(list);
+    return list;
+  }
+
+  private static List<Integer> toList(Iterable<Integer> vertices) {
+    List<Integer> list = new ArrayList<>();
+    vertices.forEach(list::add);
+    return list;
+  }
+
+  private static List<Integer> listOf(Integer... vertices) {
+    List<Integer> list = new ArrayList<>();
+    Collections.addAll(list, vertices);
+    return list;
+  }
+
+  private static int count(Iterable<Integer> vertices) {
+    int count = 0;
+    for (int ignored : vertices) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,254 @@
+package uk.ashleybye.sedgewick.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class DynamicGraphTest {
+
+  @Test
+  public void graphMatchesReferenceMultigraph() throws Exception {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      DynamicGraph graph = new DynamicGraph(8);
+      Multigraph expected = new Multigraph(8, false);
+
+      for (int operation = 0; operation < 3000; operation++) {
+        applyRandomOperation(random, expected, graph::addVertex, graph::removeVertex,
+            graph::addEdge, graph::removeEdge);
+        if (operation % 50 == 0) {
+          assertGraphMatches(expected, graph);
+        }
+      }
+      assertGraphMatches(expected, graph);
+      assertGraphMatches(expected, new DynamicGraph(graph));
+    }
+  }
+
+  @Test
+  public void digraphMatchesReferenceMultigraph() throws Exception {
+    for (long seed = 0; seed < 10; seed++) {
+      Random random = new Random(seed);
+      DynamicDigraph digraph = new DynamicDigraph(8);
+      Multigraph expected = new Multigraph(8, true);
+
+      for (int operation = 0; operation < 3000; operation++) {
+        applyRandomOperation(random, expected, digraph::addVertex, digraph::removeVertex,
+            digraph::addEdge, digraph::removeEdge);
+        if (operation % 50 == 0) {
+          assertDigraphMatches(expected, digraph);
+        }
+      }
+      assertDigraphMatches(expected, digraph);
+      assertDigraphMatches(expected, new DynamicDigraph(digraph));
+      assertDigraphMatches(expected.reverse(), digraph.reverse());
+    }
+  }
+
+  @Test
+  public void removingLastVertexRenumbersNothing() throws Exception {
+    DynamicGraph graph = new DynamicGraph(3);
+    graph.addEdge(0, 2);
+    graph.addEdge(2, 2);
+
+    assertEquals(2, graph.removeVertex(2));
+    assertEquals(2, graph.getNumVertices());
+    assertEquals(0, graph.getNumEdges());
+    assertEquals(0, graph.getDegree(0));
+  }
+
+  /**
+   * Applies the same randomly chosen operation to the reference and the graph under test, checking
+   * that they return the same. Edges are drawn from few vertices, so that parallel edges and
+   * self-loops are common.
+   */
+  private static void applyRandomOperation(Random random, Multigraph expected,
+      VertexAdder addVertex, VertexRemover removeVertex, EdgeAdder addEdge,
+      EdgeRemover removeEdge) {
+    int numVertices = expected.numVertices;
+    int choice = random.nextInt(20);
+    if (choice == 0 || numVertices == 0) {
+      assertEquals(expected.addVertex(), addVertex.addVertex());
+    } else if (choice == 1 && numVertices > 1) {
+      int vertex = random.nextInt(numVertices);
+      assertEquals(expected.removeVertex(vertex), removeVertex.removeVertex(vertex));
+    } else if (choice < 11) {
+      int u = random.nextInt(numVertices);
+      int v = random.nextInt(5) == 0 ? u : random.nextInt(numVertices);
+      expected.addEdge(u, v);
+      addEdge.addEdge(u, v);
+    } else {
+      int u = random.nextInt(numVertices);
+      int v = random.nextInt(5) == 0 ? u : random.nextInt(numVertices);
+      assertEquals(expected.removeEdge(u, v), removeEdge.removeEdge(u, v));
+    }
+  }
+
+  private static void assertGraphMatches(Multigraph expected, DynamicGraph graph) {
+    assertEquals(expected.numVertices, graph.getNumVertices());
+    assertEquals(expected.edges.size(), graph.getNumEdges());
+    for (int vertex = 0; vertex < expected.numVertices; vertex++) {
+      List<Integer> adjacent = toList(graph.adjacentTo(vertex));
+      assertEquals(expected.adjacentTo(vertex), sorted(adjacent));
+      assertEquals(adjacent.size(), graph.getDegree(vertex));
+      for (int index = 0; index < adjacent.size(); index++) {
+        assertEquals((int) adjacent.get(index), graph.adjacentTo(vertex, index));
+      }
+      for (int other = 0; other < expected.numVertices; other++) {
+        assertEquals(expected.hasEdge(vertex, other), graph.hasEdge(vertex, other));
+      }
+    }
+  }
+
+  private static void assertDigraphMatches(Multigraph expected, DynamicDigraph digraph) {
+    assertEquals(expected.numVertices, digraph.getNumVertices());
+    assertEquals(expected.edges.size(), digraph.getNumEdges());
+    for (int vertex = 0; vertex < expected.numVertices; vertex++) {
+      List<Integer> adjacent = toList(digraph.adjacentTo(vertex));
+      assertEquals(expected.adjacentTo(vertex), sorted(adjacent));
+      assertEquals(adjacent.size(), digraph.getOutDegree(vertex));
+      for (int index = 0; index < adjacent.size(); index++) {
+        assertEquals((int) adjacent.get(index), digraph.adjacentTo(vertex, index));
+      }
+
+      List<Integer> incoming = toList(digraph.incomingTo(vertex));
+      assertEquals(expected.incomingTo(vertex), sorted(incoming));
+      assertEquals(incoming.size(), digraph.getInDegree(vertex));
+      for (int index = 0; index < incoming.size(); index++) {
+        assertEquals((int) incoming.get(index), digraph.incomingTo(vertex, index));
+      }
+
+      for (int other = 0; other < expected.numVertices; other++) {
+        assertEquals(expected.hasEdge(vertex, other), digraph.hasEdge(vertex, other));
+      }
+    }
+  }
+
+  private static List<Integer> sorted(List<Integer> vertices) {
+    List<Integer> list = new ArrayList<>(vertices);
+    Collections.sort(list);
+    return list;
+  }
+
+  private static List<Integer> toList(Iterable<Integer> vertices) {
+    List<Integer> list = new ArrayList<>();
+    vertices.forEach(list::add);
+    return list;
+  }
+
+  private interface VertexAdder {
+
+    int addVertex();
+  }
+
+  private interface VertexRemover {
+
+    int removeVertex(int vertex);
+  }
+
+  private interface EdgeAdder {
+
+    void addEdge(int u, int v);
+  }
+
+  private interface EdgeRemover {
+
+    boolean removeEdge(int u, int v);
+  }
+
+  /**
+   * A deliberately simple reference: a list of edges, searched in full for every query.
+   */
+  private static class Multigraph {
+
+    private final boolean directed;
+    private final List<int[]> edges = new ArrayList<>();
+    private int numVertices;
+
+    Multigraph(int numVertices, boolean directed) {
+      this.numVertices = numVertices;
+      this.directed = directed;
+    }
+
+    int addVertex() {
+      return numVertices++;
+    }
+
+    /**
+     * Removes the vertex and its edges, then renumbers vertex V - 1 as the removed vertex.
+     */
+    int removeVertex(int vertex) {
+      edges.removeIf(edge -> edge[0] == vertex || edge[1] == vertex);
+      int last = --numVertices;
+      for (int[] edge : edges) {
+        for (int end = 0; end < 2; end++) {
+          if (edge[end] == last) {
+            edge[end] = vertex;
+          }
+        }
+      }
+      return last;
+    }
+
+    void addEdge(int u, int v) {
+      edges.add(new int[]{u, v});
+    }
+
+    boolean removeEdge(int u, int v) {
+      for (int e = 0; e < edges.size(); e++) {
+        if (joins(edges.get(e), u, v)) {
+          edges.remove(e);
+          return true;
+        }
+      }
+      return false;
+    }
+
+    boolean hasEdge(int u, int v) {
+      for (int[] edge : edges) {
+        if (joins(edge, u, v)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * The sorted vertices adjacent to the vertex, once for each edge, and for an undirected
+     * self-loop twice, as in {@link Graph}.
+     */
+    List<Integer> adjacentTo(int vertex) {
+      List<Integer> adjacent = new ArrayList<>();
+      for (int[] edge : edges) {
+        if (edge[0] == vertex) {
+          adjacent.add(edge[1]);
+        }
+        if (!directed && edge[1] == vertex) {
+          adjacent.add(edge[0]);
+        }
+      }
+      Collections.sort(adjacent);
+      return adjacent;
+    }
+
+    List<Integer> incomingTo(int vertex) {
+      return reverse().adjacentTo(vertex);
+    }
+
+    Multigraph reverse() {
+      Multigraph reverse = new Multigraph(numVertices, directed);
+      for (int[] edge : edges) {
+        reverse.addEdge(edge[1], edge[0]);
+      }
+      return reverse;
+    }
+
+    private boolean joins(int[] edge, int u, int v) {
+      return (edge[0] == u && edge[1] == v) || (!directed && edge[0] == v && edge[1] == u);
+    }
+  }
+}
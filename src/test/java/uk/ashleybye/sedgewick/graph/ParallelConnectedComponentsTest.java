@@ -0,0 +1,67 @@
+package uk.ashleybye.sedgewick.graph;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Test;
+import uk.ashleybye.sedgewick.graph.GraphPartition.Strategy;
+
+public class ParallelConnectedComponentsTest {
+
+  /**
+   * Shard counts from one shard for the whole graph to more shards than the tiny graph has
+   * vertices, so that some shards own no vertices.
+   */
+  private static final int[] SHARD_COUNTS = {1, 2, 3, 8, 20};
+
+  @Test
+  public void findsComponentsAsConnectedComponentsDoes() throws Exception {
+    assertMatches("data/tinyG.txt", new Graph("data/tinyG.txt"));
+    assertMatches("data/mediumG.txt", new Graph("data/mediumG.txt"));
+  }
+
+  @Test
+  public void findsComponentsOfSparseRandomGraphs() {
+    Random random = new Random(1);
+    for (int trial = 0; trial < 20; trial++) {
+      // Arrange: fewer edges than vertices leaves many components, some spanning several shards,
+      // together with self-loops, parallel edges and isolated vertices.
+      int numVertices = 1 + random.nextInt(300);
+      Graph graph = new Graph(numVertices);
+      int numEdges = random.nextInt(numVertices);
+      for (int e = 0; e < numEdges; e++) {
+        int u = random.nextInt(numVertices);
+        int v = random.nextInt(10) == 0 ? u : random.nextInt(numVertices);
+        graph.addEdge(u, v);
+        if (random.nextInt(10) == 0) {
+          graph.addEdge(v, u);
+        }
+      }
+
+      assertMatches("trial " + trial, graph);
+    }
+  }
+
+  private static void assertMatches(String name, Graph graph) {
+    ConnectedComponents expected = new ConnectedComponents(graph);
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      for (Strategy strategy : Strategy.values()) {
+        for (int numShards : SHARD_COUNTS) {
+          GraphPartition partition = GraphPartition.of(graph, numShards, strategy);
+          ParallelConnectedComponents actual = new ParallelConnectedComponents(partition, pool);
+
+          String message = name + ", " + strategy + " with " + numShards;
+          assertEquals(message, expected.getComponentCount(), actual.getComponentCount());
+          for (int v = 0; v < graph.getNumVertices(); v++) {
+            assertEquals(message + ", vertex " + v, expected.getComponentId(v),
+                actual.getComponentId(v));
+          }
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
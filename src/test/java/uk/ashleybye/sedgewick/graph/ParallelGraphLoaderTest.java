@@ -0,0 +1,189 @@
+package uk.ashleybye.sedgewick.graph;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.zip.GZIPOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelGraphLoaderTest {
+
+  /**
+   * Pool sizes from one range for the whole file to more ranges than the tiny files have lines.
+   */
+  private static final int[] POOL_SIZES = {1, 2, 3, 8, 100};
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void loadsGraphsAsGraphDoes() throws Exception {
+    for (String fileName : new String[]{"data/tinyG.txt", "data/tinyCG.txt", "data/mediumG.txt"}) {
+      String expected = new Graph(fileName).toString();
+      for (int poolSize : POOL_SIZES) {
+        ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+          CompactGraph graph = new ParallelGraphLoader(pool).loadGraph(fileName);
+          assertEquals(fileName + " with " + poolSize, expected, graph.toString());
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void loadsDigraphsAsDigraphDoes() throws Exception {
+    for (String fileName : new String[]{"data/tinyDG.txt", "data/tinyDAG.txt",
+        "data/mediumDG.txt"}) {
+      String expected = new Digraph(fileName).toString();
+      for (int poolSize : POOL_SIZES) {
+        ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+          CompactDigraph digraph = new ParallelGraphLoader(pool).loadDigraph(fileName);
+          assertEquals(fileName + " with " + poolSize, expected, digraph.toString());
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void loadsEdgeWeightedDigraphsAsEdgeWeightedDigraphDoes() throws Exception {
+    for (String fileName : new String[]{"data/tinyEWD.txt", "data/tinyEWDn.txt",
+        "data/tinyEWDAG.txt", "data/mediumEWD.txt"}) {
+      EdgeWeightedDigraph expected = new EdgeWeightedDigraph(fileName);
+      for (int poolSize : POOL_SIZES) {
+        ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+          CompactEdgeWeightedDigraph graph =
+              new ParallelGraphLoader(pool).loadEdgeWeightedDigraph(fileName);
+          assertEquals(expected.getNumEdges(), graph.getNumEdges());
+          assertEquals(fileName + " with " + poolSize,
+              describe(expected.getNumVertices(), expected::adjacentTo),
+              describe(graph.getNumVertices(), graph::adjacentTo));
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void loadsEdgeWeightedGraphsAsEdgeWeightedGraphDoes() throws Exception {
+    for (String fileName : new String[]{"data/tinyEWG.txt", "data/mediumEWG.txt"}) {
+      EdgeWeightedGraph expected = new EdgeWeightedGraph(fileName);
+      for (int poolSize : POOL_SIZES) {
+        ForkJoinPool pool = new ForkJoinPool(poolSize);
+        try {
+          EdgeWeightedGraph graph = new ParallelGraphLoader(pool).loadEdgeWeightedGraph(fileName);
+          assertEquals(expected.getNumEdges(), graph.getNumEdges());
+          assertEquals(fileName + " with " + poolSize,
+              describe(expected.getNumVertices(), expected::adjacentTo),
+              describe(graph.getNumVertices(), graph::adjacentTo));
+        } finally {
+          pool.shutdown();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void loadsGzippedFilesSequentially() throws Exception {
+    String graphFile = gzip("data/mediumG.txt");
+    String digraphFile = gzip("data/mediumDG.txt");
+    String weightedFile = gzip("data/mediumEWD.txt");
+    EdgeWeightedDigraph expectedWeighted = new EdgeWeightedDigraph("data/mediumEWD.txt");
+
+    for (int poolSize : POOL_SIZES) {
+      ForkJoinPool pool = new ForkJoinPool(poolSize);
+      try {
+        ParallelGraphLoader loader = new ParallelGraphLoader(pool);
+        assertEquals(new Graph("data/mediumG.txt").toString(),
+            loader.loadGraph(graphFile).toString());
+        assertEquals(new Digraph("data/mediumDG.txt").toString(),
+            loader.loadDigraph(digraphFile).toString());
+        CompactEdgeWeightedDigraph weighted = loader.loadEdgeWeightedDigraph(weightedFile);
+        assertEquals(describe(expectedWeighted.getNumVertices(), expectedWeighted::adjacentTo),
+            describe(weighted.getNumVertices(), weighted::adjacentTo));
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  public void rethrowsReadFailuresOnWorkersAsIOException() {
+    for (int poolSize : POOL_SIZES) {
+      ForkJoinPool pool = new ForkJoinPool(poolSize);
+      try {
+        // Arrange: one range fails to read, as a parse action would if the file could not be read.
+        IOException failure = new IOException("Read failed");
+        ParallelGraphLoader loader = new ParallelGraphLoader(pool);
+
+        // Act
+        try {
+          loader.run(poolSize, index -> {
+            if (index == poolSize - 1) {
+              throw failure;
+            }
+          });
+          fail("Expected an IOException with " + poolSize);
+        } catch (IOException exception) {
+          // Assert
+          assertSame(failure, exception);
+        }
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void rethrowsUncheckedFailuresOnWorkers() throws IOException {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      new ParallelGraphLoader(pool).run(3, index -> {
+        throw new IllegalStateException("Bad range " + index);
+      });
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Lists the edges adjacent to each vertex, in order, one vertex per line.
+   */
+  private static List<String> describe(int numVertices, IntFunction<Iterable<?>> adjacentTo) {
+    List<String> lines = new ArrayList<>();
+    for (int vertex = 0; vertex < numVertices; vertex++) {
+      StringBuilder line = new StringBuilder(vertex + ":");
+      for (Object edge : adjacentTo.apply(vertex)) {
+        line.append(' ').append(edge);
+      }
+      lines.add(line.toString());
+    }
+    return lines;
+  }
+
+  private String gzip(String fileName) throws IOException {
+    Path path = folder.getRoot().toPath().resolve(Paths.get(fileName).getFileName() + ".gz");
+    try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(path))) {
+      Files.copy(Paths.get(fileName), output);
+    }
+    return path.toString();
+  }
+}
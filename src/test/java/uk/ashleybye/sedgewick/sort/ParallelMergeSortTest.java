@@ -0,0 +1,101 @@
+package uk.ashleybye.sedgewick.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelMergeSortTest {
+
+  // Long enough to be sorted and merged in parallel, and short enough to be merged sequentially.
+  private static final int[] LENGTHS = {0, 1, 2, 100, 8192, 8193, 100000};
+
+  @Test
+  public void sortsComparableArrayStably() {
+    Random random = new Random(1);
+    for (int length : LENGTHS) {
+      // Arrange: few keys, so most records have the same key as many others.
+      Record[] unsorted = records(length, 50, random);
+      Record[] expected = unsorted.clone();
+      Arrays.sort(expected);
+
+      // Act
+      Record[] actual = unsorted.clone();
+      ParallelMergeSort.sort(actual);
+
+      // Assert: Arrays.sort() is stable, so the records must be in the same order.
+      Assert.assertArrayEquals(expected, actual);
+      Assert.assertTrue(ParallelMergeSort.isSorted(actual));
+    }
+  }
+
+  @Test
+  public void sortsWithComparatorStably() {
+    Comparator<Record> descending = (a, b) -> Integer.compare(b.key, a.key);
+    Random random = new Random(2);
+    for (int length : LENGTHS) {
+      // Arrange
+      Record[] unsorted = records(length, 1000, random);
+      Record[] expected = unsorted.clone();
+      Arrays.sort(expected, descending);
+
+      // Act
+      Record[] actual = unsorted.clone();
+      ParallelMergeSort.sort(actual, descending);
+
+      // Assert
+      Assert.assertArrayEquals(expected, actual);
+      Assert.assertTrue(ParallelMergeSort.isSorted(actual, descending));
+    }
+  }
+
+  @Test
+  public void sortsOnTheGivenPool() {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      // Arrange: sorted runs, so some merges are skipped and others split unevenly.
+      String[] unsorted = new String[50000];
+      for (int i = 0; i < unsorted.length; i++) {
+        unsorted[i] = Integer.toString(i % 7919);
+      }
+      String[] expected = unsorted.clone();
+      Arrays.sort(expected);
+
+      // Act
+      ParallelMergeSort.sort(unsorted, pool);
+
+      // Assert
+      Assert.assertArrayEquals(expected, unsorted);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static Record[] records(int length, int numKeys, Random random) {
+    Record[] records = new Record[length];
+    for (int i = 0; i < length; i++) {
+      records[i] = new Record(random.nextInt(numKeys));
+    }
+    return records;
+  }
+
+  /**
+   * Ordered by key only, and equal only to itself, so the order of records with equal keys shows
+   * whether a sort was stable.
+   */
+  private static class Record implements Comparable<Record> {
+
+    private final int key;
+
+    Record(int key) {
+      this.key = key;
+    }
+
+    @Override
+    public int compareTo(Record that) {
+      return Integer.compare(key, that.key);
+    }
+  }
+}
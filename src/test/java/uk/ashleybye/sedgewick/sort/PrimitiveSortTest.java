@@ -0,0 +1,128 @@
+package uk.ashleybye.sedgewick.sort;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveSortTest {
+
+  private static final int[] LENGTHS = {0, 1, 2, 15, 16, 17, 100, 1000};
+
+  @Test
+  public void sortsInts() {
+    Random random = new Random(1);
+    for (int length : LENGTHS) {
+      // Arrange
+      int[] unsorted = new int[length];
+      for (int i = 0; i < length; i++) {
+        unsorted[i] = random.nextInt(length + 1) - length / 2;
+      }
+      int[] expected = unsorted.clone();
+      Arrays.sort(expected);
+
+      // Act
+      int[] insertion = unsorted.clone();
+      InsertionSort.sort(insertion);
+      int[] selection = unsorted.clone();
+      SelectionSort.sort(selection);
+      int[] shell = unsorted.clone();
+      ShellSort.sort(shell);
+      int[] merge = unsorted.clone();
+      MergeSort.sort(merge);
+      int[] quick = unsorted.clone();
+      QuickSort.sort(quick);
+
+      // Assert
+      Assert.assertArrayEquals(expected, insertion);
+      Assert.assertArrayEquals(expected, selection);
+      Assert.assertArrayEquals(expected, shell);
+      Assert.assertArrayEquals(expected, merge);
+      Assert.assertArrayEquals(expected, quick);
+      Assert.assertTrue(QuickSort.isSorted(quick));
+    }
+  }
+
+  @Test
+  public void sortsLongs() {
+    Random random = new Random(2);
+    for (int length : LENGTHS) {
+      // Arrange
+      long[] unsorted = new long[length];
+      for (int i = 0; i < length; i++) {
+        unsorted[i] = random.nextBoolean() ? random.nextLong() : random.nextInt(10);
+      }
+      long[] expected = unsorted.clone();
+      Arrays.sort(expected);
+
+      // Act
+      long[] insertion = unsorted.clone();
+      InsertionSort.sort(insertion);
+      long[] selection = unsorted.clone();
+      SelectionSort.sort(selection);
+      long[] shell = unsorted.clone();
+      ShellSort.sort(shell);
+      long[] merge = unsorted.clone();
+      MergeSort.sort(merge);
+      long[] quick = unsorted.clone();
+      QuickSort.sort(quick);
+
+      // Assert
+      Assert.assertArrayEquals(expected, insertion);
+      Assert.assertArrayEquals(expected, selection);
+      Assert.assertArrayEquals(expected, shell);
+      Assert.assertArrayEquals(expected, merge);
+      Assert.assertArrayEquals(expected, quick);
+      Assert.assertTrue(MergeSort.isSorted(merge));
+    }
+  }
+
+  @Test
+  public void sortsDoublesInTheOrderOfDoubleCompareTo() {
+    double[] specials = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+    Random random = new Random(3);
+    for (int length : LENGTHS) {
+      // Arrange
+      double[] unsorted = new double[length];
+      for (int i = 0; i < length; i++) {
+        unsorted[i] = random.nextInt(4) == 0
+            ? specials[random.nextInt(specials.length)] : random.nextInt(20) - 10.5;
+      }
+      double[] expected = unsorted.clone();
+      Arrays.sort(expected);
+
+      // Act
+      double[] insertion = unsorted.clone();
+      InsertionSort.sort(insertion);
+      double[] selection = unsorted.clone();
+      SelectionSort.sort(selection);
+      double[] shell = unsorted.clone();
+      ShellSort.sort(shell);
+      double[] merge = unsorted.clone();
+      MergeSort.sort(merge);
+      double[] quick = unsorted.clone();
+      QuickSort.sort(quick);
+
+      // Assert: Arrays.equals() compares the bits of each entry, so NaN equals NaN but -0.0 does
+      // not equal 0.0.
+      Assert.assertTrue(Arrays.equals(expected, insertion));
+      Assert.assertTrue(Arrays.equals(expected, selection));
+      Assert.assertTrue(Arrays.equals(expected, shell));
+      Assert.assertTrue(Arrays.equals(expected, merge));
+      Assert.assertTrue(Arrays.equals(expected, quick));
+      Assert.assertTrue(ShellSort.isSorted(shell));
+    }
+  }
+
+  @Test
+  public void insertionSortSortsOnlyTheRange() {
+    // Arrange
+    int[] array = {9, 5, 4, 3, 2, 1, 0};
+
+    // Act
+    InsertionSort.sort(array, 1, 5);
+
+    // Assert
+    Assert.assertArrayEquals(new int[]{9, 2, 3, 4, 5, 1, 0}, array);
+  }
+}